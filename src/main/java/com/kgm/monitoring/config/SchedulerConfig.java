@@ -1,9 +1,18 @@
 package com.kgm.monitoring.config;
 
+import com.kgm.monitoring.service.ConfigService;
+import com.kgm.monitoring.service.HistoryService;
+import com.kgm.monitoring.service.MonitoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import java.util.Date;
+
 /**
  * 스케줄러 설정
  * - SNMP 폴링 스케줄러 (3~10초 주기)
@@ -11,9 +20,51 @@ import org.springframework.scheduling.config.ScheduledTaskRegistrar;
  */
 @Configuration
 public class SchedulerConfig implements SchedulingConfigurer {
-    
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Value("${monitoring.batch.summary.enabled:true}")
+    private boolean summaryEnabled;
+
+    @Value("${monitoring.batch.summary.cron:0 5 0 * * ?}")
+    private String summaryCron;
+
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
-        // TODO: Task 2.2, 2.5에서 구현 예정
+        // SNMP 폴링: global.polling.interval 값을 매 주기마다 다시 읽어 설정 리로드를 반영
+        taskRegistrar.addTriggerTask(new Runnable() {
+            public void run() {
+                try {
+                    monitoringService.pollAllServices();
+                } catch (Exception e) {
+                    System.err.println("SNMP 폴링 주기 수행 중 오류: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }, new Trigger() {
+            public Date nextExecutionTime(TriggerContext triggerContext) {
+                Date lastScheduled = triggerContext.lastScheduledExecutionTime();
+                if (lastScheduled == null) {
+                    return new Date();
+                }
+                return new Date(lastScheduled.getTime() + configService.getPollingInterval());
+            }
+        });
+
+        // 일별 집계 배치: 전일 로그를 서비스별 5분 단위로 집계
+        if (summaryEnabled) {
+            taskRegistrar.addCronTask(new Runnable() {
+                public void run() {
+                    historyService.summarizePreviousDay();
+                }
+            }, summaryCron);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.kgm.monitoring.config;
 
 import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.FlightEvents;
+import com.kgm.monitoring.util.MetricRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
@@ -71,6 +73,8 @@ public class SystemPropertiesConfig {
      * 설정 파일 로딩
      */
     public synchronized void loadConfiguration() {
+        Object loadEvent = FlightEvents.beginConfigLoad();
+        boolean success = false;
         try {
             File configFile = new File(propertiesFilePath);
             if (!configFile.exists()) {
@@ -102,10 +106,14 @@ public class SystemPropertiesConfig {
             notifyConfigChanged(newServiceConfig);
             
             System.out.println("설정 파일 로딩 완료: " + serviceInfoCache.size() + "개 서비스");
+            success = true;
             
         } catch (Exception e) {
             System.err.println("설정 파일 로딩 실패: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            // 리스너(폴링 대상/알림 규칙 재구성) 처리 시간 포함
+            FlightEvents.endConfigLoad(loadEvent, propertiesFilePath, serviceInfoCache.size(), success);
         }
     }
     
@@ -120,7 +128,19 @@ public class SystemPropertiesConfig {
             "global.snmp.timeout",
             "global.snmp.retries", 
             "global.polling.interval",
-            "global.ringbuffer.size"
+            "global.ringbuffer.size",
+            "global.alert.ratio.min",
+            "global.alert.ratio.max",
+            "global.alert.error.yellow",
+            "global.alert.error.red",
+            "global.alert.stale.cycles",
+            "global.alert.shift.window",
+            "global.alert.shift.percent",
+            "global.snmp.v3.user",
+            "global.snmp.v3.auth.protocol",
+            "global.snmp.v3.auth.password",
+            "global.snmp.v3.priv.protocol",
+            "global.snmp.v3.priv.password"
         };
         
         for (String key : globalKeys) {
@@ -190,6 +210,18 @@ public class SystemPropertiesConfig {
         ServiceInfo.SnmpConfig snmpConfig = loadSnmpConfig(props, prefix + "snmp");
         serviceInfo.setSnmpConfig(snmpConfig);
         
+        // 알림 규칙 로딩
+        serviceInfo.setAlertConfig(loadAlertConfig(props, prefix + "alert"));
+        
+        // 사용자 정의 그룹 (쉼표 구분)
+        List<String> groups = new ArrayList<String>();
+        for (String group : props.getProperty(prefix + "groups", "").split(",")) {
+            if (!group.trim().isEmpty() && !groups.contains(group.trim())) {
+                groups.add(group.trim());
+            }
+        }
+        serviceInfo.setGroups(groups);
+        
         return serviceInfo;
     }
     
@@ -241,9 +273,120 @@ public class SystemPropertiesConfig {
                                             globalConfig.getProperty("global.snmp.retries", "2"));
         snmpConfig.setRetries(Integer.parseInt(retriesStr));
         
+        if (snmpConfig.isV3()) {
+            loadV3User(props, prefix, snmpConfig);
+        }
+        loadMetrics(props, prefix, snmpConfig);
+        
         return snmpConfig;
     }
     
+    /**
+     * SNMPv3 사용자 설정 로딩 (서비스 설정이 없으면 global.snmp.v3.* 사용)
+     * - v3.user: 보안 이름
+     * - v3.auth.protocol / v3.auth.password: 인증 (MD5, SHA(기본), SHA224, SHA256, SHA384, SHA512)
+     * - v3.priv.protocol / v3.priv.password: 암호화 (DES, AES(기본), AES192, AES256)
+     * - 암호를 지정하지 않으면 해당 단계 미사용 (authPriv → authNoPriv → noAuthNoPriv)
+     * - 암호 값이 env:이름 형식이면 환경 변수에서 읽음 (설정 파일에 암호를 남기지 않기 위함)
+     */
+    private void loadV3User(Properties props, String prefix, ServiceInfo.SnmpConfig snmpConfig) {
+        snmpConfig.setSecurityName(v3Property(props, prefix, "user", null));
+        snmpConfig.setAuthProtocol(v3Property(props, prefix, "auth.protocol", "SHA").toUpperCase());
+        snmpConfig.setAuthPassword(resolveSecret(v3Property(props, prefix, "auth.password", null)));
+        snmpConfig.setPrivProtocol(v3Property(props, prefix, "priv.protocol", "AES").toUpperCase());
+        snmpConfig.setPrivPassword(resolveSecret(v3Property(props, prefix, "priv.password", null)));
+    }
+    
+    private String v3Property(Properties props, String prefix, String key, String defaultValue) {
+        String value = props.getProperty(prefix + ".v3." + key,
+                globalConfig.getProperty("global.snmp.v3." + key, defaultValue));
+        return value != null ? value.trim() : null;
+    }
+    
+    private static String resolveSecret(String value) {
+        if (value == null || !value.startsWith("env:")) {
+            return value;
+        }
+        String name = value.substring(4).trim();
+        String resolved = System.getenv(name);
+        if (resolved == null) {
+            System.err.println("SNMPv3 암호 환경 변수가 설정되지 않았습니다: " + name);
+        }
+        return resolved;
+    }
+    
+    /**
+     * 추가 지표 로딩
+     * - {prefix}.metrics: 지표 이름 목록 (쉼표로 구분)
+     * - {prefix}.metric.{이름}.oid: 조회 OID
+     * - {prefix}.metric.{이름}.type: gauge(기본) / counter (초당 증가량으로 변환)
+     * - {prefix}.metric.{이름}.aggregate: 서비스 합계 방식 sum(기본) / avg / max
+     */
+    private void loadMetrics(Properties props, String prefix, ServiceInfo.SnmpConfig snmpConfig) {
+        String metricsStr = props.getProperty(prefix + ".metrics");
+        if (metricsStr == null || metricsStr.trim().isEmpty()) {
+            return;
+        }
+        
+        List<String> names = new ArrayList<String>();
+        for (String name : metricsStr.split(",")) {
+            name = name.trim();
+            if (name.isEmpty() || names.contains(name)) {
+                continue;
+            }
+            if (props.getProperty(prefix + ".metric." + name + ".oid") == null) {
+                System.err.println("지표 OID 설정 누락으로 제외: " + prefix + ".metric." + name + ".oid");
+                continue;
+            }
+            names.add(name);
+        }
+        
+        int[] ids = new int[names.size()];
+        String[] oids = new String[names.size()];
+        boolean[] counters = new boolean[names.size()];
+        int[] aggregations = new int[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            String metricPrefix = prefix + ".metric." + names.get(i) + ".";
+            ids[i] = MetricRegistry.intern(names.get(i));
+            oids[i] = props.getProperty(metricPrefix + "oid").trim();
+            counters[i] = "counter".equalsIgnoreCase(props.getProperty(metricPrefix + "type", "gauge").trim());
+            String aggregate = props.getProperty(metricPrefix + "aggregate", "sum").trim();
+            aggregations[i] = "avg".equalsIgnoreCase(aggregate) ? ServiceInfo.SnmpConfig.AGGREGATE_AVG
+                    : "max".equalsIgnoreCase(aggregate) ? ServiceInfo.SnmpConfig.AGGREGATE_MAX
+                    : ServiceInfo.SnmpConfig.AGGREGATE_SUM;
+        }
+        snmpConfig.setMetrics(ids, oids, counters, aggregations);
+    }
+    
+    /**
+     * 알림 규칙 로딩 (서비스별 설정이 없으면 global.alert.* 값 사용)
+     */
+    private ServiceInfo.AlertConfig loadAlertConfig(Properties props, String prefix) {
+        ServiceInfo.AlertConfig alertConfig = new ServiceInfo.AlertConfig();
+        
+        alertConfig.setRatioMin(Double.parseDouble(alertProperty(props, prefix, "ratio.min",
+                String.valueOf(alertConfig.getRatioMin()))));
+        alertConfig.setRatioMax(Double.parseDouble(alertProperty(props, prefix, "ratio.max",
+                String.valueOf(alertConfig.getRatioMax()))));
+        alertConfig.setErrorYellowCycles(Integer.parseInt(alertProperty(props, prefix, "error.yellow",
+                String.valueOf(alertConfig.getErrorYellowCycles()))));
+        alertConfig.setErrorRedCycles(Integer.parseInt(alertProperty(props, prefix, "error.red",
+                String.valueOf(alertConfig.getErrorRedCycles()))));
+        alertConfig.setStaleCycles(Integer.parseInt(alertProperty(props, prefix, "stale.cycles",
+                String.valueOf(alertConfig.getStaleCycles()))));
+        alertConfig.setShiftWindow(Integer.parseInt(alertProperty(props, prefix, "shift.window",
+                String.valueOf(alertConfig.getShiftWindow()))));
+        alertConfig.setShiftPercent(Double.parseDouble(alertProperty(props, prefix, "shift.percent",
+                String.valueOf(alertConfig.getShiftPercent()))));
+        
+        return alertConfig;
+    }
+    
+    private String alertProperty(Properties props, String prefix, String key, String defaultValue) {
+        return props.getProperty(prefix + "." + key,
+                globalConfig.getProperty("global.alert." + key, defaultValue)).trim();
+    }
+    
     /**
      * 파일 변경 감지 시작
      */
@@ -0,0 +1,174 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.service.AlertService;
+import com.kgm.monitoring.service.ConfigService;
+import com.kgm.monitoring.service.MonitoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 알림 상태 REST API 컨트롤러
+ * - /api/alerts (서비스별 현재 알림 상태)
+ * - /api/alerts/stream (알림 상태 변경 푸시, Server-Sent Events)
+ *
+ * 푸시 채널:
+ * - 연결 시 현재 상태 전체를 "alert" 이벤트로 전송 후, 상태가 바뀔 때마다 해당 서비스만 전송
+ * - 전송은 별도 스레드에서 수행하여 느린 클라이언트가 폴링 주기를 지연시키지 않음
+ */
+@RestController
+@RequestMapping("/api")
+public class AlertController implements AlertService.AlertListener {
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${monitoring.alert.stream.timeout:1800000}")
+    private long streamTimeout = 1800000L;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<SseEmitter>();
+    private ExecutorService pushExecutor;
+
+    @PostConstruct
+    public void initialize() {
+        pushExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "alert-push");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        alertService.addAlertListener(this);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        pushExecutor.shutdownNow();
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * 서비스별 현재 알림 상태 (평가 전인 서비스는 GREY/nodata)
+     * - 게시된 스냅샷 기준 (클러스터 모드에서는 다른 구성원이 평가한 서비스 포함)
+     */
+    @RequestMapping(value = "/alerts", method = RequestMethod.GET)
+    public List<Map<String, Object>> getAlerts() {
+        Map<String, AlertState> states = monitoringService.getSnapshot().getAlerts();
+        List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+        for (ServiceInfo service : configService.getEnabledServices()) {
+            result.add(toEvent(service.getServiceId(), states.get(service.getServiceId()), null));
+        }
+        return result;
+    }
+
+    /**
+     * 알림 상태 변경 구독
+     */
+    @RequestMapping(value = "/alerts/stream", method = RequestMethod.GET)
+    public SseEmitter stream() {
+        final SseEmitter emitter = new SseEmitter(streamTimeout);
+        Runnable remove = new Runnable() {
+            public void run() {
+                emitters.remove(emitter);
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitters.add(emitter);
+
+        final List<Map<String, Object>> current = getAlerts();
+        pushExecutor.execute(new Runnable() {
+            public void run() {
+                for (Map<String, Object> event : current) {
+                    if (!send(emitter, event)) {
+                        return;
+                    }
+                }
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * 알림 상태 변경 시 구독 중인 클라이언트에 전송
+     */
+    public void onAlertChanged(AlertState previous, AlertState current) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        final Map<String, Object> event = toEvent(current.getServiceId(), current, previous);
+        pushExecutor.execute(new Runnable() {
+            public void run() {
+                for (SseEmitter emitter : emitters) {
+                    send(emitter, event);
+                }
+            }
+        });
+    }
+
+    /**
+     * 구독 중인 클라이언트 수
+     */
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    private boolean send(SseEmitter emitter, Map<String, Object> event) {
+        try {
+            emitter.send(SseEmitter.event().name("alert").data(event));
+            return true;
+        } catch (IOException e) {
+            // 연결이 끊긴 클라이언트
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        } catch (IllegalStateException e) {
+            // 이미 종료된 연결
+            emitters.remove(emitter);
+            return false;
+        }
+    }
+
+    static Map<String, Object> toEvent(String serviceId, AlertState state, AlertState previous) {
+        Map<String, Object> event = new LinkedHashMap<String, Object>();
+        event.put("serviceId", serviceId);
+        if (state == null) {
+            event.put("level", AlertState.Level.GREY.name().toLowerCase());
+            event.put("reason", AlertState.REASON_NO_DATA);
+            return event;
+        }
+        event.put("level", state.getLevel().name().toLowerCase());
+        event.put("reason", state.getReason());
+        event.put("since", state.getSince());
+        event.put("sequence", state.getSequence());
+        if (previous != null) {
+            event.put("previousLevel", previous.getLevel().name().toLowerCase());
+        }
+        return event;
+    }
+}
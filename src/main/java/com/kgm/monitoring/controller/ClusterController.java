@@ -0,0 +1,56 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.service.ClusterService;
+import com.kgm.monitoring.service.MonitoringService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 클러스터 모드 REST API 컨트롤러
+ * - /api/cluster (구성원 상태 및 구성원별 담당 서비스)
+ * - /api/cluster/local (이 인스턴스가 직접 수집한 서비스의 현재 값/알림 상태, 다른 구성원이 주기마다 조회)
+ */
+@RestController
+@RequestMapping("/api/cluster")
+public class ClusterController {
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @RequestMapping(value = "", method = RequestMethod.GET)
+    public Map<String, Object> getStatus() {
+        return clusterService.getStatus();
+    }
+
+    /**
+     * 직접 수집한 서비스만 반환 (다른 구성원에게서 받은 값은 제외하여 순환 전달 방지)
+     */
+    @RequestMapping(value = "/local", method = RequestMethod.GET)
+    public Map<String, Object> getLocal() {
+        MonitoringSnapshot snapshot = monitoringService.getSnapshot();
+        List<Map<String, Object>> services = new ArrayList<Map<String, Object>>();
+        for (MonitoringData data : snapshot.getData().values()) {
+            if (clusterService.isLocal(data.getServiceId())) {
+                services.add(ClusterService.toLocalItem(data, snapshot.getAlert(data.getServiceId())));
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("node", clusterService.getSelf());
+        result.put("sequence", snapshot.getSequence());
+        result.put("publishedAt", snapshot.getPublishedAt());
+        result.put("services", services);
+        return result;
+    }
+}
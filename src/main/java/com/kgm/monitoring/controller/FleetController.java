@@ -0,0 +1,109 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.model.FleetAggregate;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.service.FleetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전체/타입별/그룹별 합계 REST API 컨트롤러
+ * - /api/fleet (묶음별 현재 NBP/DR 합계와 비율, 묶음 수에만 비례)
+ * - /api/fleet/{id}/recent (묶음 합계 Ring Buffer)
+ * - /api/fleet/{id}/rollup (묶음 합계 구간 평균, monitoring.fleet.rollup.minutes 단위)
+ * 묶음 ID: all, type:L4, type:GLB, group:{이름}
+ */
+@RestController
+@RequestMapping("/api/fleet")
+public class FleetController {
+
+    @Autowired
+    private FleetService fleetService;
+
+    @RequestMapping(value = "", method = RequestMethod.GET)
+    public Map<String, Object> getAggregates() {
+        List<FleetAggregate> aggregates = fleetService.getAggregates();
+        List<Map<String, Object>> items = new ArrayList<Map<String, Object>>(aggregates.size());
+        long publishedAt = 0L;
+        for (FleetAggregate aggregate : aggregates) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("id", aggregate.getId());
+            item.put("kind", aggregate.getKind());
+            item.put("name", aggregate.getName());
+            item.put("services", aggregate.getServiceCount());
+            item.put("errorServices", aggregate.getErrorServiceCount());
+            item.put("nbpSessions", aggregate.getNbpSessions());
+            item.put("drSessions", aggregate.getDrSessions());
+            item.put("nbpTraffic", aggregate.getNbpTraffic());
+            item.put("drTraffic", aggregate.getDrTraffic());
+            item.put("nbpRatio", ServiceController.ratio(aggregate.getNbpSessions(), aggregate.getDrSessions()));
+            item.put("drRatio", ServiceController.ratio(aggregate.getDrSessions(), aggregate.getNbpSessions()));
+            item.put("nbpTrafficRatio", ServiceController.ratio(aggregate.getNbpTraffic(), aggregate.getDrTraffic()));
+            item.put("drTrafficRatio", ServiceController.ratio(aggregate.getDrTraffic(), aggregate.getNbpTraffic()));
+            items.add(item);
+            publishedAt = aggregate.getTimestamp();
+        }
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("publishedAt", publishedAt);
+        result.put("groups", items);
+        return result;
+    }
+
+    @RequestMapping(value = "/{id:.+}/recent", method = RequestMethod.GET)
+    public ResponseEntity<Map<String, Object>> getRecent(@PathVariable("id") String groupId) {
+        return toSeries(groupId, fleetService.getRecentData(groupId), null);
+    }
+
+    @RequestMapping(value = "/{id:.+}/rollup", method = RequestMethod.GET)
+    public ResponseEntity<Map<String, Object>> getRollup(@PathVariable("id") String groupId) {
+        return toSeries(groupId, fleetService.getRollup(groupId), fleetService.getRollupMinutes());
+    }
+
+    /**
+     * 열 단위 배열 응답 (timestamps, nbpSessions, drSessions, nbpTraffic, drTraffic, errors)
+     */
+    private static ResponseEntity<Map<String, Object>> toSeries(String groupId, List<MonitoringData> data,
+                                                                Integer bucketMinutes) {
+        if (data == null) {
+            return new ResponseEntity<Map<String, Object>>(HttpStatus.NOT_FOUND);
+        }
+        int size = data.size();
+        long[] timestamps = new long[size];
+        long[] nbpSessions = new long[size];
+        long[] drSessions = new long[size];
+        long[] nbpTraffic = new long[size];
+        long[] drTraffic = new long[size];
+        boolean[] errors = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            MonitoringData item = data.get(i);
+            timestamps[i] = item.getTimestampMillis();
+            nbpSessions[i] = item.getNbpSessions();
+            drSessions[i] = item.getDrSessions();
+            nbpTraffic[i] = item.getNbpTraffic();
+            drTraffic[i] = item.getDrTraffic();
+            errors[i] = item.isHasError();
+        }
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("id", groupId);
+        if (bucketMinutes != null) {
+            result.put("bucketMinutes", bucketMinutes);
+        }
+        result.put("timestamps", timestamps);
+        result.put("nbpSessions", nbpSessions);
+        result.put("drSessions", drSessions);
+        result.put("nbpTraffic", nbpTraffic);
+        result.put("drTraffic", drTraffic);
+        result.put("errors", errors);
+        return new ResponseEntity<Map<String, Object>>(result, HttpStatus.OK);
+    }
+}
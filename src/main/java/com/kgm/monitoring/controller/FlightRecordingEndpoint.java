@@ -0,0 +1,68 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.service.FlightRecordingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.mvc.AbstractMvcEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.ActuatorMediaTypes;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * JFR 상시 기록 Actuator 엔드포인트
+ * - GET /actuator/jfr: 기록 상태, 보관 기준, 현재 크기
+ * - POST /actuator/jfr: 현재까지의 기록을 파일로 저장하고 경로/크기 반환
+ *   (기록 중이 아니면 503, 저장 중이거나 저장 간격 이내면 Retry-After와 함께 503)
+ * - 디스크에 파일을 만드는 엔드포인트이므로 sensitive(기본값) 유지, 관리 인증이 있어야 호출 가능
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.jfr")
+public class FlightRecordingEndpoint extends AbstractMvcEndpoint {
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
+    public FlightRecordingEndpoint() {
+        super("/jfr", true);
+    }
+
+    @RequestMapping(method = RequestMethod.GET, produces = {
+            ActuatorMediaTypes.APPLICATION_ACTUATOR_V1_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseBody
+    public Map<String, Object> status() {
+        return flightRecordingService.getStatus();
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = {
+            ActuatorMediaTypes.APPLICATION_ACTUATOR_V1_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> dump() throws IOException {
+        Map<String, Object> body = new LinkedHashMap<String, Object>();
+        try {
+            File file = flightRecordingService.dump();
+            body.put("path", file.getAbsolutePath());
+            body.put("bytes", file.length());
+            return new ResponseEntity<Map<String, Object>>(body, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            body.put("error", e.getMessage());
+            return new ResponseEntity<Map<String, Object>>(body, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RejectedExecutionException e) {
+            body.put("error", e.getMessage());
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(flightRecordingService.getDumpRetryAfterSeconds()));
+            return new ResponseEntity<Map<String, Object>>(body, headers, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.service.PrometheusExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Prometheus 수집용 지표 컨트롤러
+ * - /metrics (text exposition format 0.0.4)
+ * - 폴링 주기마다 미리 생성된 본문을 그대로 전송
+ */
+@RestController
+public class MetricsController {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    private PrometheusExportService prometheusExportService;
+
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET)
+    public void metrics(HttpServletResponse response) throws IOException {
+        byte[] body = prometheusExportService.getBody();
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,52 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.service.BurstService;
+import com.kgm.monitoring.service.HistoryService;
+import com.kgm.monitoring.service.PollMetricsService;
+import com.kgm.monitoring.service.ServerSeriesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 폴링 성능 지표 Actuator 엔드포인트
+ * - /actuator/polling
+ * - 폴링 주기 소요 시간 및 주기 초과 횟수
+ * - 서비스별 / 에이전트별 응답 지연 p50/p90/p99/max (밀리초)
+ * - 타임아웃, 재전송, 오류, 연속 실패 횟수
+ * - 서버별 시계열 저장 현황
+ * - 수행 중인 burst 모드 현황
+ * - 이력 조회 스레드 풀 현황 (실행/공유/거부 건수)
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.polling")
+public class PollingMetricsEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    private PollMetricsService pollMetricsService;
+
+    @Autowired
+    private ServerSeriesService serverSeriesService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private BurstService burstService;
+
+    public PollingMetricsEndpoint() {
+        super("polling");
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        Map<String, Object> report = pollMetricsService.report();
+        report.put("series", serverSeriesService.getStorageStats());
+        report.put("historyQueries", historyService.getQueryStats());
+        report.put("bursts", burstService.getStats());
+        return report;
+    }
+}
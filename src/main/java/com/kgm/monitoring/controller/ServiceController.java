@@ -1,17 +1,617 @@
 package com.kgm.monitoring.controller;
 
-import org.springframework.web.bind.annotation.RestController;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.HistorySeries;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.model.SketchSeries;
+import com.kgm.monitoring.service.BurstService;
+import com.kgm.monitoring.service.ConfigService;
+import com.kgm.monitoring.service.HistoryService;
+import com.kgm.monitoring.service.MonitoringService;
+import com.kgm.monitoring.service.ServerSeriesService;
+import com.kgm.monitoring.util.HistoryCodec;
+import com.kgm.monitoring.util.MetricRegistry;
+import com.kgm.monitoring.util.QuantileSketch;
+import com.kgm.monitoring.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 서비스 모니터링 REST API 컨트롤러
  * - /api/services (서비스 목록 조회)
- * - /api/services/{id}/ratio (실시간 상세 조회)
+ * - /api/services/{id}/ratio (실시간 상세 조회, since 지정 시 그래프 데이터는 커서 이후 값만)
+ * - /api/services/ratio?ids=A,B,C (여러 서비스 실시간 일괄 조회, ids=* 는 전체)
  * - /api/services/{id}/history (이력 조회)
+ * - /api/services/{id}/percentiles (세션 수 백분위)
+ * - /api/services/{id}/servers (서버별 현재 값)
+ * - /api/services/{id}/servers/{ip}/history (서버별 시계열)
+ * - /api/services/{id}/burst (전환 작업용 고해상도 수집 시작/종료/조회)
  */
 @RestController
 @RequestMapping("/api")
 public class ServiceController {
-    
-    // TODO: Task 3.1, 3.2, 3.3에서 구현 예정
-}
\ No newline at end of file
+
+    // 서버 이력 기본 조회 구간 (1시간)
+    private static final long DEFAULT_SERVER_HISTORY_MILLIS = 60L * 60L * 1000L;
+
+    @Value("${monitoring.history.query.timeout:30000}")
+    private long historyTimeout = 30000L;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private ServerSeriesService serverSeriesService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private BurstService burstService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // TODO: Task 3.1에서 구현 예정
+
+    /**
+     * 서비스 실시간 상세 조회 (현재 NBP/DR 값, 비율, 최근 10분 그래프 데이터)
+     * - 응답의 cursor(주기 번호)와 epoch(기동 시각)를 다음 요청의 since/epoch로 전달하면
+     *   그래프 데이터는 그 이후 추가된 값만 응답 (resync=false)
+     * - 커서 이후 값 일부가 이미 Ring Buffer에서 밀려났거나 재기동된 경우 전체 데이터 응답 (resync=true)
+     */
+    @RequestMapping(value = "/services/{id}/ratio", method = RequestMethod.GET)
+    public void getRatio(@PathVariable("id") String serviceId,
+                         @RequestParam(value = "since", required = false) Long since,
+                         @RequestParam(value = "epoch", required = false) Long epoch,
+                         HttpServletResponse response) throws IOException {
+        ServiceInfo service = configService.getService(serviceId);
+        if (service == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        MonitoringSnapshot snapshot = monitoringService.getSnapshot();
+        JsonGenerator json = startJson(response);
+        try {
+            writeRatio(json, service, snapshot, since, epoch);
+        } finally {
+            json.close();
+        }
+    }
+
+    /**
+     * 여러 서비스 실시간 일괄 조회
+     * - 모든 서비스 값을 같은 스냅샷(같은 폴링 주기)에서 읽어 응답
+     * - 응답은 객체로 모으지 않고 출력 스트림에 바로 기록
+     * - 설정에 없는 ID는 missing 목록으로 반환
+     * - since/epoch는 단건 조회와 같음 (주기 번호는 모든 서비스 공통)
+     */
+    @RequestMapping(value = "/services/ratio", method = RequestMethod.GET)
+    public void getRatios(@RequestParam(value = "ids", defaultValue = "*") String ids,
+                          @RequestParam(value = "since", required = false) Long since,
+                          @RequestParam(value = "epoch", required = false) Long epoch,
+                          HttpServletResponse response) throws IOException {
+        MonitoringSnapshot snapshot = monitoringService.getSnapshot();
+        List<ServiceInfo> services = new ArrayList<ServiceInfo>();
+        List<String> missing = new ArrayList<String>();
+        if ("*".equals(ids.trim())) {
+            services.addAll(configService.getEnabledServices());
+        } else {
+            for (String id : ids.split(",")) {
+                ServiceInfo service = configService.getService(id.trim());
+                if (service != null) {
+                    services.add(service);
+                } else if (!id.trim().isEmpty()) {
+                    missing.add(id.trim());
+                }
+            }
+        }
+
+        JsonGenerator json = startJson(response);
+        try {
+            json.writeStartObject();
+            json.writeNumberField("sequence", snapshot.getSequence());
+            json.writeNumberField("publishedAt", snapshot.getPublishedAt());
+            json.writeArrayFieldStart("services");
+            for (ServiceInfo service : services) {
+                writeRatio(json, service, snapshot, since, epoch);
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("missing");
+            for (String id : missing) {
+                json.writeString(id);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } finally {
+            json.close();
+        }
+    }
+
+    private JsonGenerator startJson(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        return objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+    }
+
+    /**
+     * 서비스 1건의 현재 값/비율, 추가 지표, 알림 상태 및 Ring Buffer 그래프 데이터(열 단위 배열) 기록
+     * - since 지정 시 그래프 데이터는 커서 이후 값만 (커서를 쓸 수 없으면 전체, resync=true)
+     */
+    private void writeRatio(JsonGenerator json, ServiceInfo service, MonitoringSnapshot snapshot,
+                            Long since, Long epoch) throws IOException {
+        MonitoringData data = snapshot.get(service.getServiceId());
+        json.writeStartObject();
+        json.writeStringField("serviceId", service.getServiceId());
+        json.writeStringField("name", service.getServiceName());
+        json.writeStringField("type", service.getMonitoringType());
+        AlertState alert = snapshot.getAlert(service.getServiceId());
+        if (alert != null) {
+            json.writeStringField("alert", alert.getLevel().name().toLowerCase());
+            json.writeStringField("alertReason", alert.getReason());
+            json.writeNumberField("alertSince", alert.getSince());
+        } else {
+            json.writeStringField("alert", "grey");
+            json.writeStringField("alertReason", AlertState.REASON_NO_DATA);
+        }
+        if (data == null) {
+            // 아직 수집되지 않은 서비스
+            json.writeStringField("status", "nodata");
+            json.writeEndObject();
+            return;
+        }
+        json.writeStringField("status", data.isHasError() ? "error" : "ok");
+        json.writeNumberField("timestamp", data.getTimestampMillis());
+        json.writeNumberField("nbpSessions", data.getNbpSessions());
+        json.writeNumberField("drSessions", data.getDrSessions());
+        json.writeNumberField("nbpTraffic", data.getNbpTraffic());
+        json.writeNumberField("drTraffic", data.getDrTraffic());
+        json.writeNumberField("nbpRatio", ratio(data.getNbpSessions(), data.getDrSessions()));
+        json.writeNumberField("drRatio", ratio(data.getDrSessions(), data.getNbpSessions()));
+        json.writeNumberField("nbpTrafficRatio", ratio(data.getNbpTraffic(), data.getDrTraffic()));
+        json.writeNumberField("drTrafficRatio", ratio(data.getDrTraffic(), data.getNbpTraffic()));
+        if (data.getErrorMessage() != null) {
+            json.writeStringField("errorMessage", data.getErrorMessage());
+        }
+        int[] metricIds = data.getMetricIds();
+        if (metricIds.length > 0) {
+            json.writeObjectFieldStart("metrics");
+            for (int i = 0; i < metricIds.length; i++) {
+                json.writeObjectFieldStart(MetricRegistry.name(metricIds[i]));
+                json.writeNumberField("nbp", data.getNbpMetrics()[i]);
+                json.writeNumberField("dr", data.getDrMetrics()[i]);
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        }
+
+        List<MonitoringData> recent = null;
+        if (since != null && (epoch == null || epoch == monitoringService.getEpoch())) {
+            recent = monitoringService.getRecentDataSince(service.getServiceId(), since, snapshot);
+        }
+        if (since != null) {
+            json.writeBooleanField("resync", recent == null);
+        }
+        if (recent == null) {
+            recent = monitoringService.getRecentData(service.getServiceId(), snapshot);
+        }
+        json.writeNumberField("cursor", snapshot.getSequence());
+        json.writeNumberField("epoch", monitoringService.getEpoch());
+        json.writeObjectFieldStart("recent");
+        json.writeArrayFieldStart("timestamps");
+        for (MonitoringData item : recent) {
+            json.writeNumber(item.getTimestampMillis());
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("nbpSessions");
+        for (MonitoringData item : recent) {
+            json.writeNumber(item.getNbpSessions());
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("drSessions");
+        for (MonitoringData item : recent) {
+            json.writeNumber(item.getDrSessions());
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("nbpTraffic");
+        for (MonitoringData item : recent) {
+            json.writeNumber(item.getNbpTraffic());
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("drTraffic");
+        for (MonitoringData item : recent) {
+            json.writeNumber(item.getDrTraffic());
+        }
+        json.writeEndArray();
+        if (metricIds.length > 0) {
+            // 현재 지표 구성 기준, 해당 지표가 없던 시점은 null
+            json.writeObjectFieldStart("metrics");
+            for (int id : metricIds) {
+                json.writeObjectFieldStart(MetricRegistry.name(id));
+                json.writeArrayFieldStart("nbp");
+                for (MonitoringData item : recent) {
+                    int column = item.metricColumn(id);
+                    if (column >= 0) {
+                        json.writeNumber(item.getNbpMetrics()[column]);
+                    } else {
+                        json.writeNull();
+                    }
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("dr");
+                for (MonitoringData item : recent) {
+                    int column = item.metricColumn(id);
+                    if (column >= 0) {
+                        json.writeNumber(item.getDrMetrics()[column]);
+                    } else {
+                        json.writeNull();
+                    }
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    /**
+     * 비율(%) 계산, 소수점 1자리 (합계가 0이면 0)
+     */
+    static double ratio(long value, long other) {
+        long total = value + other;
+        return total > 0 ? Math.round(value * 1000.0 / total) / 10.0 : 0.0;
+    }
+
+    /**
+     * 이력 조회
+     * - hours (기본 24, 최대 24): 원본 로그 기반, 기본 5분 단위 평균
+     * - days (최대 90): 일별 집계 기반, 기본 30분 단위 평균
+     * - maxPoints: 지정 시 평균 대신 LTTB 다운샘플링 (전환 구간 스파이크 유지)
+     * - format: json(기본, 필드별 배열) / columnar(시작 시각 + step + 차이값) / binary(little-endian float64 배열)
+     * - 이력 조회 대기열이 가득 차면 503 (Retry-After: 1)
+     * - 비동기 처리: 이력 조회 스레드에서 완료되며 요청 스레드는 즉시 반환
+     * - 요청별 타임아웃(monitoring.history.query.timeout) 초과 시 503, 연결 종료/타임아웃 시 조회 대기 해제
+     */
+    @RequestMapping(value = "/services/{id}/history", method = RequestMethod.GET)
+    public DeferredResult<ResponseEntity<Object>> getHistory(@PathVariable("id") final String serviceId,
+                                                             @RequestParam(value = "hours", required = false) Integer hours,
+                                                             @RequestParam(value = "days", required = false) Integer days,
+                                                             @RequestParam(value = "maxPoints", required = false) Integer maxPoints,
+                                                             @RequestParam(value = "format", required = false, defaultValue = "json") final String format) {
+        final DeferredResult<ResponseEntity<Object>> result = new DeferredResult<ResponseEntity<Object>>(
+                historyTimeout, new ResponseEntity<Object>(HttpStatus.SERVICE_UNAVAILABLE));
+        if (!configService.hasService(serviceId)) {
+            result.setResult(new ResponseEntity<Object>(HttpStatus.NOT_FOUND));
+            return result;
+        }
+        if ((maxPoints != null && maxPoints < 3)
+                || !("json".equals(format) || "columnar".equals(format) || "binary".equals(format))) {
+            result.setResult(new ResponseEntity<Object>(HttpStatus.BAD_REQUEST));
+            return result;
+        }
+
+        final SingleFlight.Flight<HistorySeries> flight;
+        try {
+            flight = historyService.submitQuery(serviceId, hours, days, maxPoints);
+        } catch (RejectedExecutionException e) {
+            result.setResult(rejected());
+            return result;
+        }
+        complete(result, flight, new ResponseBuilder<HistorySeries>() {
+            public ResponseEntity<Object> build(HistorySeries series) {
+                return toHistoryResponse(serviceId, series, format);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 세션 수 백분위 조회 (DR 용량 산정용)
+     * - 전체 세션 수(NBP+DR)의 5분 구간 분위수 스케치를 병합하여 계산 (원본 로그 불필요, 상대 오차 1% 이내)
+     * - days (기본 90, 최대 90), q: 분위수 목록 (기본 0.5,0.95,0.99)
+     * - step: 구간 길이(분, 5분 단위), 지정 시 구간별 백분위 배열 포함
+     * - 이력 조회와 같은 스레드 풀/타임아웃 적용
+     */
+    @RequestMapping(value = "/services/{id}/percentiles", method = RequestMethod.GET)
+    public DeferredResult<ResponseEntity<Object>> getPercentiles(@PathVariable("id") final String serviceId,
+                                                                 @RequestParam(value = "days", required = false) Integer days,
+                                                                 @RequestParam(value = "q", required = false, defaultValue = "0.5,0.95,0.99") String q,
+                                                                 @RequestParam(value = "step", required = false) Integer step) {
+        final DeferredResult<ResponseEntity<Object>> result = new DeferredResult<ResponseEntity<Object>>(
+                historyTimeout, new ResponseEntity<Object>(HttpStatus.SERVICE_UNAVAILABLE));
+        if (!configService.hasService(serviceId)) {
+            result.setResult(new ResponseEntity<Object>(HttpStatus.NOT_FOUND));
+            return result;
+        }
+        final double[] quantiles = parseQuantiles(q);
+        if (quantiles == null || (step != null && step <= 0)) {
+            result.setResult(new ResponseEntity<Object>(HttpStatus.BAD_REQUEST));
+            return result;
+        }
+
+        final SingleFlight.Flight<SketchSeries> flight;
+        try {
+            flight = historyService.submitPercentileQuery(serviceId, days, step);
+        } catch (RejectedExecutionException e) {
+            result.setResult(rejected());
+            return result;
+        }
+        complete(result, flight, new ResponseBuilder<SketchSeries>() {
+            public ResponseEntity<Object> build(SketchSeries series) {
+                return toPercentileResponse(serviceId, series, quantiles);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 분위수 목록 해석 (0~1 범위가 아니거나 형식이 잘못되면 null)
+     */
+    static double[] parseQuantiles(String text) {
+        String[] parts = text.split(",");
+        double[] quantiles = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                quantiles[i] = Double.parseDouble(parts[i].trim());
+                if (!(quantiles[i] >= 0.0 && quantiles[i] <= 1.0)) {
+                    return null;
+                }
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return quantiles;
+    }
+
+    private static ResponseEntity<Object> toPercentileResponse(String serviceId, SketchSeries series,
+                                                               double[] quantiles) {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("serviceId", serviceId);
+        result.put("metric", "totalSessions");
+        result.put("samples", series.getTotal().getCount());
+        Map<String, Object> overall = new LinkedHashMap<String, Object>();
+        for (double quantile : quantiles) {
+            overall.put(quantileName(quantile), round(series.getTotal().quantile(quantile)));
+        }
+        result.put("overall", overall);
+
+        if (series.getStep() > 0) {
+            List<QuantileSketch> sketches = series.getSketches();
+            result.put("step", series.getStep());
+            result.put("timestamps", series.getTimestamps());
+            Map<String, Object> buckets = new LinkedHashMap<String, Object>();
+            for (double quantile : quantiles) {
+                double[] values = new double[sketches.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = round(sketches.get(i).quantile(quantile));
+                }
+                buckets.put(quantileName(quantile), values);
+            }
+            result.put("buckets", buckets);
+        }
+        return new ResponseEntity<Object>(result, HttpStatus.OK);
+    }
+
+    /**
+     * 분위수 이름 (0.95 → p95, 0.999 → p99.9)
+     */
+    static String quantileName(double quantile) {
+        return "p" + BigDecimal.valueOf(quantile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static double round(double value) {
+        return Double.isNaN(value) ? 0.0 : Math.round(value * 10.0) / 10.0;
+    }
+
+    /**
+     * 이력 조회 대기열 초과: 실시간 API 보호를 위해 즉시 거절 (503, Retry-After: 1)
+     */
+    private static ResponseEntity<Object> rejected() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<Object>(headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * 조회 완료 시 응답 변환
+     */
+    private interface ResponseBuilder<T> {
+        ResponseEntity<Object> build(T value);
+    }
+
+    /**
+     * 조회 완료 시 DeferredResult 응답 설정
+     * - 타임아웃 또는 클라이언트 연결 종료로 결과 없이 끝나면 조회 대기 해제
+     */
+    private static <T> void complete(final DeferredResult<ResponseEntity<Object>> result,
+                                     final SingleFlight.Flight<T> flight, final ResponseBuilder<T> builder) {
+        result.onCompletion(new Runnable() {
+            public void run() {
+                if (!flight.isDone()) {
+                    flight.leave();
+                }
+            }
+        });
+        flight.addListener(new Runnable() {
+            public void run() {
+                if (flight.isCancelled()) {
+                    result.setResult(new ResponseEntity<Object>(HttpStatus.SERVICE_UNAVAILABLE));
+                    return;
+                }
+                try {
+                    result.setResult(builder.build(flight.get()));
+                } catch (ExecutionException e) {
+                    result.setErrorResult(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.setResult(new ResponseEntity<Object>(HttpStatus.SERVICE_UNAVAILABLE));
+                }
+            }
+        });
+    }
+
+    private static ResponseEntity<Object> toHistoryResponse(String serviceId, HistorySeries series, String format) {
+        if ("binary".equals(format)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(HistoryCodec.BINARY_CONTENT_TYPE));
+            return new ResponseEntity<Object>(HistoryCodec.toBinary(series), headers, HttpStatus.OK);
+        }
+        if ("columnar".equals(format)) {
+            return new ResponseEntity<Object>(HistoryCodec.toColumnar(serviceId, series), HttpStatus.OK);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("serviceId", serviceId);
+        result.put("points", series.size());
+        result.put("timestamps", series.getTimestamps());
+        result.put("nbpSessions", series.getNbpSessions());
+        result.put("drSessions", series.getDrSessions());
+        result.put("nbpTraffic", series.getNbpTraffic());
+        result.put("drTraffic", series.getDrTraffic());
+        result.put("errors", series.getErrors());
+        return new ResponseEntity<Object>(result, HttpStatus.OK);
+    }
+
+    /**
+     * 서버별 현재 세션 수/트래픽 (NBP/DR 비율 이상 시 원인 서버 확인용)
+     */
+    @RequestMapping(value = "/services/{id}/servers", method = RequestMethod.GET)
+    public ResponseEntity<List<Map<String, Object>>> getServers(@PathVariable("id") String serviceId) {
+        List<Map<String, Object>> servers = serverSeriesService.getServerBreakdown(serviceId);
+        if (servers == null) {
+            return new ResponseEntity<List<Map<String, Object>>>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<List<Map<String, Object>>>(servers, HttpStatus.OK);
+    }
+
+    /**
+     * 서버별 시계열 조회
+     * - from/to: epoch 밀리초 (기본: 최근 1시간)
+     */
+    @RequestMapping(value = "/services/{id}/servers/{ip:.+}/history", method = RequestMethod.GET)
+    public ResponseEntity<Map<String, Object>> getServerHistory(@PathVariable("id") String serviceId,
+                                                                @PathVariable("ip") String ip,
+                                                                @RequestParam(value = "from", required = false) Long from,
+                                                                @RequestParam(value = "to", required = false) Long to) {
+        long toMillis = to != null ? to : System.currentTimeMillis();
+        long fromMillis = from != null ? from : toMillis - DEFAULT_SERVER_HISTORY_MILLIS;
+        Map<String, Object> history = serverSeriesService.getServerHistory(serviceId, ip, fromMillis, toMillis);
+        if (history == null) {
+            return new ResponseEntity<Map<String, Object>>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<Map<String, Object>>(history, HttpStatus.OK);
+    }
+
+    /**
+     * burst 모드 시작 (전환 작업 중 해당 서비스만 고해상도 수집)
+     * - seconds: 수행 시간(기본 300초), interval: 폴링 주기(밀리초, 기본 monitoring.burst.interval)
+     * - 수행 중이면 종료 시각 연장, 동시 수행 서비스 수 초과 시 409
+     */
+    @RequestMapping(value = "/services/{id}/burst", method = RequestMethod.POST)
+    public ResponseEntity<Map<String, Object>> startBurst(@PathVariable("id") String serviceId,
+                                                          @RequestParam(value = "seconds", defaultValue = "300") int seconds,
+                                                          @RequestParam(value = "interval", required = false) Long interval) {
+        if (!configService.hasService(serviceId)) {
+            return new ResponseEntity<Map<String, Object>>(HttpStatus.NOT_FOUND);
+        }
+        try {
+            BurstService.Burst burst = burstService.start(serviceId, seconds, interval);
+            return new ResponseEntity<Map<String, Object>>(toBurstResponse(burst, false), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<Map<String, Object>>(errorBody(e), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<Map<String, Object>>(errorBody(e), HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * burst 모드 조기 종료
+     */
+    @RequestMapping(value = "/services/{id}/burst", method = RequestMethod.DELETE)
+    public ResponseEntity<Void> stopBurst(@PathVariable("id") String serviceId) {
+        return new ResponseEntity<Void>(burstService.stop(serviceId) ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * burst 수집 결과 (수행 중이거나 마지막으로 수행한 burst)
+     */
+    @RequestMapping(value = "/services/{id}/burst", method = RequestMethod.GET)
+    public ResponseEntity<Map<String, Object>> getBurst(@PathVariable("id") String serviceId) {
+        BurstService.Burst burst = burstService.getBurst(serviceId);
+        if (burst == null) {
+            return new ResponseEntity<Map<String, Object>>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<Map<String, Object>>(toBurstResponse(burst, true), HttpStatus.OK);
+    }
+
+    private static Map<String, Object> toBurstResponse(BurstService.Burst burst, boolean includeSamples) {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("serviceId", burst.getServiceId());
+        result.put("active", burst.isActive());
+        result.put("interval", burst.getInterval());
+        result.put("startedAt", burst.getStartedAt());
+        result.put("endsAt", burst.getEndsAt());
+        if (!includeSamples) {
+            return result;
+        }
+        List<MonitoringData> samples = burst.getSamples();
+        long[] timestamps = new long[samples.size()];
+        long[] nbpSessions = new long[samples.size()];
+        long[] drSessions = new long[samples.size()];
+        long[] nbpTraffic = new long[samples.size()];
+        long[] drTraffic = new long[samples.size()];
+        long[] errors = new long[samples.size()];
+        for (int i = 0; i < timestamps.length; i++) {
+            MonitoringData data = samples.get(i);
+            timestamps[i] = data.getTimestampMillis();
+            nbpSessions[i] = data.getNbpSessions();
+            drSessions[i] = data.getDrSessions();
+            nbpTraffic[i] = data.getNbpTraffic();
+            drTraffic[i] = data.getDrTraffic();
+            errors[i] = data.isHasError() ? 1L : 0L;
+        }
+        result.put("points", timestamps.length);
+        result.put("timestamps", timestamps);
+        result.put("nbpSessions", nbpSessions);
+        result.put("drSessions", drSessions);
+        result.put("nbpTraffic", nbpTraffic);
+        result.put("drTraffic", drTraffic);
+        result.put("errors", errors);
+        return result;
+    }
+
+    private static Map<String, Object> errorBody(RuntimeException e) {
+        Map<String, Object> body = new LinkedHashMap<String, Object>();
+        body.put("error", e.getMessage());
+        return body;
+    }
+}
@@ -0,0 +1,38 @@
+package com.kgm.monitoring.controller;
+
+import com.kgm.monitoring.service.HistoryService;
+import com.kgm.monitoring.service.HistoryWarmupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 이력 캐시 적재 현황 Actuator 엔드포인트
+ * - /actuator/warmup
+ * - ready: 적재 완료 여부 (적재 중에도 실시간/이력 조회는 가능, 이력은 파일에서 직접 조회)
+ * - 대상/완료/실패 일수, 진행률(%), 읽은 바이트, 소요 시간, 현재 캐시된 일수
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.warmup")
+public class WarmupEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    @Autowired
+    private HistoryWarmupService historyWarmupService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    public WarmupEndpoint() {
+        super("warmup");
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        Map<String, Object> status = historyWarmupService.getStatus();
+        status.put("cachedDays", historyService.getCachedDayCount());
+        return status;
+    }
+}
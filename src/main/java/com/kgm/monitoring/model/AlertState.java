@@ -0,0 +1,57 @@
+package com.kgm.monitoring.model;
+
+/**
+ * 서비스 알림 상태 (상태가 바뀔 때만 생성, 이후 변경되지 않음)
+ * - level: 정상(GREEN) / 주의(YELLOW) / 장애(RED) / 데이터 미수집(GREY)
+ * - reason: 상태 원인 (정상이면 null)
+ * - since: 이 상태로 바뀐 시각, sequence: 바뀐 폴링 주기
+ */
+public class AlertState {
+
+    /**
+     * 알림 단계 (대시보드 표시 색상)
+     */
+    public enum Level {
+        GREEN, YELLOW, RED, GREY
+    }
+
+    public static final String REASON_NO_DATA = "nodata";
+    public static final String REASON_STALE = "stale";
+    public static final String REASON_SNMP_ERROR = "snmp-error";
+    public static final String REASON_RATIO_BAND = "ratio-band";
+    public static final String REASON_RATIO_SHIFT = "ratio-shift";
+
+    private final String serviceId;
+    private final Level level;
+    private final String reason;
+    private final long since;
+    private final long sequence;
+
+    public AlertState(String serviceId, Level level, String reason, long since, long sequence) {
+        this.serviceId = serviceId;
+        this.level = level;
+        this.reason = reason;
+        this.since = since;
+        this.sequence = sequence;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
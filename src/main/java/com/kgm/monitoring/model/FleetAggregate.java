@@ -0,0 +1,61 @@
+package com.kgm.monitoring.model;
+
+/**
+ * 서비스 묶음의 NBP/DR 합계 (불변, 폴링 주기마다 묶음별로 1개 게시)
+ * - 묶음 ID: all(전체), type:{L4|GLB}(모니터링 타입), group:{이름}(사용자 정의 그룹)
+ * - 값은 묶음에 속한 서비스 합계의 합 (오류 서비스는 직전 정상 값 기준)
+ */
+public class FleetAggregate {
+
+    public static final String ALL = "all";
+    public static final String TYPE_PREFIX = "type:";
+    public static final String GROUP_PREFIX = "group:";
+
+    private final String id;
+    private final long timestamp;
+    private final int serviceCount;
+    private final int errorServiceCount;
+    private final long nbpSessions;
+    private final long drSessions;
+    private final long nbpTraffic;
+    private final long drTraffic;
+
+    public FleetAggregate(String id, long timestamp, int serviceCount, int errorServiceCount,
+                          long nbpSessions, long drSessions, long nbpTraffic, long drTraffic) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.serviceCount = serviceCount;
+        this.errorServiceCount = errorServiceCount;
+        this.nbpSessions = nbpSessions;
+        this.drSessions = drSessions;
+        this.nbpTraffic = nbpTraffic;
+        this.drTraffic = drTraffic;
+    }
+
+    public String getId() { return id; }
+    public long getTimestamp() { return timestamp; }
+    public int getServiceCount() { return serviceCount; }
+    public int getErrorServiceCount() { return errorServiceCount; }
+    public long getNbpSessions() { return nbpSessions; }
+    public long getDrSessions() { return drSessions; }
+    public long getNbpTraffic() { return nbpTraffic; }
+    public long getDrTraffic() { return drTraffic; }
+
+    /**
+     * 묶음 종류 (all / type / group)
+     */
+    public String getKind() {
+        if (id.startsWith(TYPE_PREFIX)) {
+            return "type";
+        }
+        return id.startsWith(GROUP_PREFIX) ? "group" : ALL;
+    }
+
+    /**
+     * 묶음 이름 (접두어 제외)
+     */
+    public String getName() {
+        int colon = id.indexOf(':');
+        return colon >= 0 ? id.substring(colon + 1) : id;
+    }
+}
@@ -0,0 +1,144 @@
+package com.kgm.monitoring.model;
+
+import java.util.Arrays;
+
+/**
+ * 서비스 이력 데이터 (열 단위 기본형 배열)
+ * - timestamps: epoch 밀리초 (오름차순)
+ * - NBP/DR 세션 수, 트래픽(bytes/s)
+ * - errors: 해당 시점(또는 구간)의 오류 수집 건수
+ * - step: 구간 평균인 경우 구간 길이(밀리초), 원본/다운샘플 결과는 0
+ */
+public class HistorySeries {
+
+    private long[] timestamps;
+    private long[] nbpSessions;
+    private long[] drSessions;
+    private long[] nbpTraffic;
+    private long[] drTraffic;
+    private long[] errors;
+    private int size;
+    private long step;
+
+    public HistorySeries() {
+        this(256);
+    }
+
+    public HistorySeries(int capacity) {
+        capacity = Math.max(capacity, 16);
+        timestamps = new long[capacity];
+        nbpSessions = new long[capacity];
+        drSessions = new long[capacity];
+        nbpTraffic = new long[capacity];
+        drTraffic = new long[capacity];
+        errors = new long[capacity];
+    }
+
+    public void add(long timestamp, long nbpSessions, long drSessions, long nbpTraffic, long drTraffic, long errors) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+            this.nbpSessions = Arrays.copyOf(this.nbpSessions, capacity);
+            this.drSessions = Arrays.copyOf(this.drSessions, capacity);
+            this.nbpTraffic = Arrays.copyOf(this.nbpTraffic, capacity);
+            this.drTraffic = Arrays.copyOf(this.drTraffic, capacity);
+            this.errors = Arrays.copyOf(this.errors, capacity);
+        }
+        this.timestamps[size] = timestamp;
+        this.nbpSessions[size] = nbpSessions;
+        this.drSessions[size] = drSessions;
+        this.nbpTraffic[size] = nbpTraffic;
+        this.drTraffic[size] = drTraffic;
+        this.errors[size] = errors;
+        size++;
+    }
+
+    /**
+     * 지정 위치의 데이터만 추출
+     */
+    public HistorySeries select(int[] indices) {
+        HistorySeries result = new HistorySeries(indices.length);
+        for (int index : indices) {
+            result.add(timestamps[index], nbpSessions[index], drSessions[index],
+                    nbpTraffic[index], drTraffic[index], errors[index]);
+        }
+        return result;
+    }
+
+    /**
+     * 고정 구간 평균 (구간 시작 시각 기준, 오류는 합계)
+     */
+    public HistorySeries average(long bucketMillis) {
+        HistorySeries result = new HistorySeries(Math.max(16, size / 8));
+        int start = 0;
+        while (start < size) {
+            long bucket = timestamps[start] - timestamps[start] % bucketMillis;
+            long nbpS = 0, drS = 0, nbpT = 0, drT = 0, err = 0;
+            int end = start;
+            while (end < size && timestamps[end] < bucket + bucketMillis) {
+                nbpS += nbpSessions[end];
+                drS += drSessions[end];
+                nbpT += nbpTraffic[end];
+                drT += drTraffic[end];
+                err += errors[end];
+                end++;
+            }
+            int count = end - start;
+            result.add(bucket, nbpS / count, drS / count, nbpT / count, drT / count, err);
+            start = end;
+        }
+        result.step = bucketMillis;
+        return result;
+    }
+
+    /**
+     * 시점별 NBP 세션 비율 (0~1, NBP/DR 모두 0이면 0)
+     */
+    public double[] nbpSessionShare() {
+        double[] share = new double[size];
+        for (int i = 0; i < size; i++) {
+            long total = nbpSessions[i] + drSessions[i];
+            share[i] = total > 0 ? (double) nbpSessions[i] / total : 0.0;
+        }
+        return share;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public long[] getTimestamps() {
+        return Arrays.copyOf(timestamps, size);
+    }
+
+    public long[] getNbpSessions() {
+        return Arrays.copyOf(nbpSessions, size);
+    }
+
+    public long[] getDrSessions() {
+        return Arrays.copyOf(drSessions, size);
+    }
+
+    public long[] getNbpTraffic() {
+        return Arrays.copyOf(nbpTraffic, size);
+    }
+
+    public long[] getDrTraffic() {
+        return Arrays.copyOf(drTraffic, size);
+    }
+
+    public long[] getErrors() {
+        return Arrays.copyOf(errors, size);
+    }
+
+    /**
+     * 내부 시각 배열 (앞에서 size()개만 유효, 복사 없음)
+     */
+    public long[] timestampArray() {
+        return timestamps;
+    }
+}
@@ -5,19 +5,28 @@ import java.util.Date;
 /**
  * 모니터링 데이터 모델
  * - NBP/DR 세션 수 및 트래픽 정보
- * - 수집 시간
- * - 에러 상태
+ * - NBP/DR 추가 지표 (지표 ID 배열과 같은 열 번호 순의 값 배열)
+ * - 수집 시간 (epoch ms)
+ * - 에러 상태 (오류 코드와 첫 오류 서버, 문구는 조회 시 조합)
  */
 public class MonitoringData {
     
     private String serviceId;
-    private Date timestamp;
+    private long timestamp;
     private long nbpSessions;
     private long drSessions;
     private long nbpTraffic;
     private long drTraffic;
     private boolean hasError;
     private String errorMessage;
+    private PollError errorCode = PollError.NONE;
+    private String errorServer;
+    private int[] metricIds = NO_IDS;
+    private long[] nbpMetrics = NO_VALUES;
+    private long[] drMetrics = NO_VALUES;
+    
+    private static final int[] NO_IDS = new int[0];
+    private static final long[] NO_VALUES = new long[0];
     
     // TODO: Task 2.3에서 상세 구현 예정
     
@@ -30,14 +39,25 @@ public class MonitoringData {
         this.serviceId = serviceId;
     }
     
-    public Date getTimestamp() {
+    public long getTimestampMillis() {
         return timestamp;
     }
     
-    public void setTimestamp(Date timestamp) {
+    public void setTimestampMillis(long timestamp) {
         this.timestamp = timestamp;
     }
     
+    /**
+     * 수집 시간 (호출마다 새 Date)
+     */
+    public Date getTimestamp() {
+        return new Date(timestamp);
+    }
+    
+    public void setTimestamp(Date timestamp) {
+        this.timestamp = timestamp != null ? timestamp.getTime() : 0L;
+    }
+    
     public long getNbpSessions() {
         return nbpSessions;
     }
@@ -78,11 +98,67 @@ public class MonitoringData {
         this.hasError = hasError;
     }
     
+    /**
+     * 오류 문구 (직접 설정한 문구가 없으면 "첫 오류 서버: 오류 코드 설명")
+     */
     public String getErrorMessage() {
-        return errorMessage;
+        if (errorMessage != null || errorCode == PollError.NONE) {
+            return errorMessage;
+        }
+        return errorServer != null ? errorServer + ": " + errorCode.getDescription() : errorCode.getDescription();
     }
     
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+    
+    public PollError getErrorCode() {
+        return errorCode;
+    }
+    
+    public String getErrorServer() {
+        return errorServer;
+    }
+    
+    /**
+     * 오류 코드와 첫 오류 서버 설정 (NONE이면 오류 없음)
+     */
+    public void setError(PollError errorCode, String errorServer) {
+        this.errorCode = errorCode;
+        this.errorServer = errorServer;
+        this.hasError = errorCode != PollError.NONE;
+    }
+    
+    /**
+     * 추가 지표 값 설정 (세 배열의 길이가 같아야 함)
+     */
+    public void setMetrics(int[] metricIds, long[] nbpMetrics, long[] drMetrics) {
+        this.metricIds = metricIds;
+        this.nbpMetrics = nbpMetrics;
+        this.drMetrics = drMetrics;
+    }
+    
+    public int[] getMetricIds() {
+        return metricIds;
+    }
+    
+    public long[] getNbpMetrics() {
+        return nbpMetrics;
+    }
+    
+    public long[] getDrMetrics() {
+        return drMetrics;
+    }
+    
+    /**
+     * 지표 ID의 열 번호 (없으면 -1)
+     */
+    public int metricColumn(int metricId) {
+        for (int i = 0; i < metricIds.length; i++) {
+            if (metricIds[i] == metricId) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
\ No newline at end of file
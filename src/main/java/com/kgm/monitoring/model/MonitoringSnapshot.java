@@ -0,0 +1,146 @@
+package com.kgm.monitoring.model;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 폴링 주기 단위로 게시되는 실시간 데이터 스냅샷
+ * - 게시 순번 (폴링 주기 번호)
+ * - 게시 시각
+ * - 서비스별 현재 데이터 (게시 후 변경되지 않음, 서비스별 저장소에서 조회 시점에 생성 가능)
+ * - 서비스별 알림 상태 (상태가 바뀐 주기에만 새 맵, 그 외에는 직전 맵을 그대로 공유)
+ */
+public class MonitoringSnapshot {
+
+    public static final MonitoringSnapshot EMPTY =
+            new MonitoringSnapshot(0L, 0L, new HashMap<String, MonitoringData>());
+
+    private final long sequence;
+    private final long publishedAt;
+    private final Map<String, MonitoringData> data;
+    private final Map<String, AlertState> alerts;
+
+    public MonitoringSnapshot(long sequence, long publishedAt, Map<String, MonitoringData> data) {
+        this(sequence, publishedAt, data, Collections.<String, AlertState>emptyMap());
+    }
+
+    public MonitoringSnapshot(long sequence, long publishedAt, Map<String, MonitoringData> data,
+                              Map<String, AlertState> alerts) {
+        this.sequence = sequence;
+        this.publishedAt = publishedAt;
+        this.data = Collections.unmodifiableMap(data);
+        this.alerts = alerts;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    public Map<String, MonitoringData> getData() {
+        return data;
+    }
+
+    public Map<String, AlertState> getAlerts() {
+        return alerts;
+    }
+
+    /**
+     * 서비스별 저장소의 sequence 주기 값으로 구성되는 스냅샷
+     * - 게시 시에는 MonitoringData를 만들지 않고, 서비스 값을 처음 조회할 때 생성하여 이 스냅샷 안에서 재사용
+     */
+    public static MonitoringSnapshot of(long sequence, long publishedAt, Map<String, ServiceSamples> samples,
+                                        Map<String, AlertState> alerts) {
+        return new MonitoringSnapshot(sequence, publishedAt, new SamplesView(samples, sequence), alerts);
+    }
+
+    /**
+     * 특정 서비스의 알림 상태 반환 (아직 평가되지 않았으면 null)
+     */
+    public AlertState getAlert(String serviceId) {
+        return alerts.get(serviceId);
+    }
+
+    /**
+     * 특정 서비스의 현재 데이터 반환
+     */
+    public MonitoringData get(String serviceId) {
+        return data.get(serviceId);
+    }
+
+    /**
+     * 서비스별 저장소에 대한 읽기 전용 맵
+     * - get: 해당 서비스 값을 생성하여 보관 (같은 스냅샷에서 다시 조회하면 같은 객체)
+     * - 전체 순회: 모든 서비스 값을 생성하여 보관한 맵 사용
+     */
+    private static final class SamplesView extends AbstractMap<String, MonitoringData> {
+        private final Map<String, ServiceSamples> samples;
+        private final long sequence;
+        private volatile ConcurrentHashMap<String, MonitoringData> created;
+        private volatile Map<String, MonitoringData> all;
+
+        SamplesView(Map<String, ServiceSamples> samples, long sequence) {
+            this.samples = samples;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public MonitoringData get(Object key) {
+            Map<String, MonitoringData> cache = created;
+            MonitoringData data = cache != null ? cache.get(key) : null;
+            if (data != null) {
+                return data;
+            }
+            ServiceSamples serviceSamples = samples.get(key);
+            data = serviceSamples != null ? serviceSamples.get(sequence) : null;
+            if (data == null) {
+                return null;
+            }
+            MonitoringData existing = cache().putIfAbsent(serviceSamples.getServiceId(), data);
+            return existing != null ? existing : data;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, MonitoringData>> entrySet() {
+            Map<String, MonitoringData> result = all;
+            if (result == null) {
+                Map<String, MonitoringData> map = new HashMap<String, MonitoringData>();
+                for (String serviceId : samples.keySet()) {
+                    MonitoringData data = get(serviceId);
+                    if (data != null) {
+                        map.put(serviceId, data);
+                    }
+                }
+                result = Collections.unmodifiableMap(map);
+                all = result;
+            }
+            return result.entrySet();
+        }
+
+        private ConcurrentHashMap<String, MonitoringData> cache() {
+            ConcurrentHashMap<String, MonitoringData> cache = created;
+            if (cache == null) {
+                synchronized (this) {
+                    cache = created;
+                    if (cache == null) {
+                        cache = new ConcurrentHashMap<String, MonitoringData>();
+                        created = cache;
+                    }
+                }
+            }
+            return cache;
+        }
+    }
+}
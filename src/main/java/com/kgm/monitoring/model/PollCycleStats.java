@@ -0,0 +1,45 @@
+package com.kgm.monitoring.model;
+
+/**
+ * 폴링 주기 1회 수행 통계
+ * - 주기 시작 시각 및 소요 시간
+ * - 요청/성공/실패 건수
+ */
+public class PollCycleStats {
+
+    private final long sequence;
+    private final long startTime;
+    private final long durationMillis;
+    private final int requestCount;
+    private final int successCount;
+    private final int failureCount;
+    private final boolean completed;
+
+    public PollCycleStats(long sequence, long startTime, long durationMillis,
+                          int requestCount, int successCount, int failureCount, boolean completed) {
+        this.sequence = sequence;
+        this.startTime = startTime;
+        this.durationMillis = durationMillis;
+        this.requestCount = requestCount;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.completed = completed;
+    }
+
+    public long getSequence() { return sequence; }
+    public long getStartTime() { return startTime; }
+    public long getDurationMillis() { return durationMillis; }
+    public int getRequestCount() { return requestCount; }
+    public int getSuccessCount() { return successCount; }
+    public int getFailureCount() { return failureCount; }
+
+    /**
+     * 대기 시간 내에 모든 응답(또는 타임아웃)이 도착했는지 여부
+     */
+    public boolean isCompleted() { return completed; }
+
+    public String toString() {
+        return String.format("PollCycleStats{seq=%d, duration=%dms, requests=%d, success=%d, failure=%d, completed=%s}",
+                sequence, durationMillis, requestCount, successCount, failureCount, completed);
+    }
+}
@@ -0,0 +1,30 @@
+package com.kgm.monitoring.model;
+
+/**
+ * 폴링 오류 코드
+ * - 수집/집계 경로에서는 오류 문자열 대신 코드만 보관하고, 문구는 API 응답 생성 시 조합
+ */
+public enum PollError {
+
+    NONE("정상"),
+    TIMEOUT("SNMP 응답 시간 초과"),
+    NO_RESPONSE("SNMP 응답 대기 시간 초과"),
+    TRANSPORT("SNMP 전송 오류"),
+    ERROR_STATUS("SNMP 오류 응답"),
+    MISSING_VALUE("SNMP 응답에 OID 값이 없습니다"),
+    V3_REPORT("SNMPv3 보고 응답"),
+    V3_DISCOVERY("SNMPv3 엔진 ID 탐색 실패"),
+    AGENT_LIMIT("에이전트 동시 요청 한도 초과"),
+    REQUEST_FAILED("SNMP 요청 실패"),
+    SNMP_ERROR("SNMP 오류");
+
+    private final String description;
+
+    PollError(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,165 @@
+package com.kgm.monitoring.model;
+
+/**
+ * 서버 단위 SNMP 폴링 결과 모델
+ * - 세션 수 (Gauge)
+ * - 트래픽 카운터 원본값 (Counter32/Counter64)
+ * - 추가 지표 원본값 (SnmpConfig 추가 지표 열 번호 순, 응답에 없는 지표는 present=false)
+ * - 응답 지연 시간 및 오류 정보 (오류 코드 + 상세 문구)
+ * - 요청 태그 (요청자가 지정한 값, 폴링 주기 번호 등)
+ */
+public class ServerPollResult {
+
+    private String ip;
+    private boolean success;
+    private boolean timeout;
+    private long sessions;
+    private long trafficCounter;
+    // 카운터 순환 범위 (Counter32 = 2^32, 순환 보정 불필요 시 0)
+    private long trafficCounterRange;
+    private long latencyNanos;
+    private String errorMessage;
+    private PollError errorCode;
+    private long tag;
+    private long[] metricValues = EMPTY_VALUES;
+    // 추가 지표 카운터 순환 범위 (trafficCounterRange와 동일)
+    private long[] metricRanges = EMPTY_VALUES;
+    private boolean[] metricPresent = EMPTY_PRESENT;
+    
+    private static final long[] EMPTY_VALUES = new long[0];
+    private static final boolean[] EMPTY_PRESENT = new boolean[0];
+
+    public ServerPollResult() {}
+
+    public ServerPollResult(String ip) {
+        this.ip = ip;
+    }
+
+    // Getters and Setters
+    public String getIp() {
+        return ip;
+    }
+
+    public void setIp(String ip) {
+        this.ip = ip;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public boolean isTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(boolean timeout) {
+        this.timeout = timeout;
+    }
+
+    public long getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(long sessions) {
+        this.sessions = sessions;
+    }
+
+    public long getTrafficCounter() {
+        return trafficCounter;
+    }
+
+    public void setTrafficCounter(long trafficCounter) {
+        this.trafficCounter = trafficCounter;
+    }
+
+    public long getTrafficCounterRange() {
+        return trafficCounterRange;
+    }
+
+    public void setTrafficCounterRange(long trafficCounterRange) {
+        this.trafficCounterRange = trafficCounterRange;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public void setLatencyNanos(long latencyNanos) {
+        this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * 추가 지표 열 할당 (요청 OID 수만큼)
+     */
+    public void initMetrics(int count) {
+        if (count > 0) {
+            metricValues = new long[count];
+            metricRanges = new long[count];
+            metricPresent = new boolean[count];
+        }
+    }
+    
+    public int getMetricCount() {
+        return metricValues.length;
+    }
+    
+    public void setMetric(int column, long value, long range) {
+        metricValues[column] = value;
+        metricRanges[column] = range;
+        metricPresent[column] = true;
+    }
+    
+    public boolean hasMetric(int column) {
+        return metricPresent[column];
+    }
+    
+    public long getMetricValue(int column) {
+        return metricValues[column];
+    }
+    
+    public long getMetricRange(int column) {
+        return metricRanges[column];
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * 실패 처리 (오류 코드와 상세 문구)
+     */
+    public void setError(PollError errorCode, String errorMessage) {
+        this.success = false;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * 오류 코드 (코드 없이 실패로만 설정된 경우 타임아웃 여부로 판단)
+     */
+    public PollError getErrorCode() {
+        if (success) {
+            return PollError.NONE;
+        }
+        if (errorCode != null) {
+            return errorCode;
+        }
+        return timeout ? PollError.TIMEOUT : PollError.SNMP_ERROR;
+    }
+
+    public long getTag() {
+        return tag;
+    }
+
+    public void setTag(long tag) {
+        this.tag = tag;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kgm.monitoring.model;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +11,7 @@ import java.util.Map;
  * - VIP, Port 정보
  * - 서버 목록 (NBP/DR)
  * - SNMP 설정 정보
+ * - 사용자 정의 그룹 (전체 합계를 그룹별로 볼 때 사용, 서비스 1개가 여러 그룹에 속할 수 있음)
  */
 public class ServiceInfo {
     
@@ -29,6 +31,12 @@ public class ServiceInfo {
     // SNMP 설정 정보
     private SnmpConfig snmpConfig;
     
+    // 알림 규칙
+    private AlertConfig alertConfig = new AlertConfig();
+    
+    // 사용자 정의 그룹
+    private List<String> groups = Collections.emptyList();
+    
     /**
      * 서버 정보 내부 클래스
      */
@@ -58,8 +66,15 @@ public class ServiceInfo {
     
     /**
      * SNMP 설정 정보 내부 클래스
+     * - 버전 1/2c는 community, 버전 3은 USM 사용자(인증/암호화 프로토콜 및 암호) 사용
+     * - 세션 수/트래픽 OID (기본 지표)
+     * - 추가 지표: 열 번호 순 배열 (지표 ID, OID, 카운터 여부, 서비스 합계 방식)
      */
     public static class SnmpConfig {
+        public static final int AGGREGATE_SUM = 0;
+        public static final int AGGREGATE_AVG = 1;
+        public static final int AGGREGATE_MAX = 2;
+        
         private String community;
         private int port;
         private String version;
@@ -67,6 +82,15 @@ public class ServiceInfo {
         private String trafficOid;
         private int timeout;
         private int retries;
+        private String securityName;
+        private String authProtocol;
+        private String authPassword;
+        private String privProtocol;
+        private String privPassword;
+        private int[] metricIds = new int[0];
+        private String[] metricOids = new String[0];
+        private boolean[] metricCounters = new boolean[0];
+        private int[] metricAggregations = new int[0];
         
         public SnmpConfig() {
             this.port = 161;
@@ -96,6 +120,91 @@ public class ServiceInfo {
         
         public int getRetries() { return retries; }
         public void setRetries(int retries) { this.retries = retries; }
+        
+        public boolean isV3() { return "3".equals(version); }
+        
+        public String getSecurityName() { return securityName; }
+        public void setSecurityName(String securityName) { this.securityName = securityName; }
+        
+        public String getAuthProtocol() { return authProtocol; }
+        public void setAuthProtocol(String authProtocol) { this.authProtocol = authProtocol; }
+        
+        public String getAuthPassword() { return authPassword; }
+        public void setAuthPassword(String authPassword) { this.authPassword = authPassword; }
+        
+        public String getPrivProtocol() { return privProtocol; }
+        public void setPrivProtocol(String privProtocol) { this.privProtocol = privProtocol; }
+        
+        public String getPrivPassword() { return privPassword; }
+        public void setPrivPassword(String privPassword) { this.privPassword = privPassword; }
+        
+        /**
+         * 추가 지표 설정 (배열 길이가 같아야 함, 설정 후 변경하지 않음)
+         */
+        public void setMetrics(int[] ids, String[] oids, boolean[] counters, int[] aggregations) {
+            if (ids.length != oids.length || ids.length != counters.length || ids.length != aggregations.length) {
+                throw new IllegalArgumentException("추가 지표 설정 배열 길이가 일치하지 않습니다");
+            }
+            this.metricIds = ids;
+            this.metricOids = oids;
+            this.metricCounters = counters;
+            this.metricAggregations = aggregations;
+        }
+        
+        public int getMetricCount() { return metricIds.length; }
+        public int[] getMetricIds() { return metricIds; }
+        public String[] getMetricOids() { return metricOids; }
+        public boolean[] getMetricCounters() { return metricCounters; }
+        public int[] getMetricAggregations() { return metricAggregations; }
+    }
+    
+    /**
+     * 알림 규칙 내부 클래스
+     * - ratioMin / ratioMax: NBP 세션 비율(%) 허용 범위 (음수면 미사용)
+     * - errorYellowCycles / errorRedCycles: SNMP 오류가 연속된 폴링 주기 수 기준
+     * - staleCycles: 응답 서버 없이 연속된 폴링 주기 수 기준 (데이터 미수집)
+     * - shiftWindow / shiftPercent: shiftWindow 주기 전 대비 NBP 비율 변화(%p) 기준 (0이면 미사용)
+     */
+    public static class AlertConfig {
+        private double ratioMin;
+        private double ratioMax;
+        private int errorYellowCycles;
+        private int errorRedCycles;
+        private int staleCycles;
+        private int shiftWindow;
+        private double shiftPercent;
+        
+        public AlertConfig() {
+            this.ratioMin = -1;
+            this.ratioMax = -1;
+            this.errorYellowCycles = 1;
+            this.errorRedCycles = 3;
+            this.staleCycles = 3;
+            this.shiftWindow = 12;
+            this.shiftPercent = 0;
+        }
+        
+        // Getters and Setters
+        public double getRatioMin() { return ratioMin; }
+        public void setRatioMin(double ratioMin) { this.ratioMin = ratioMin; }
+        
+        public double getRatioMax() { return ratioMax; }
+        public void setRatioMax(double ratioMax) { this.ratioMax = ratioMax; }
+        
+        public int getErrorYellowCycles() { return errorYellowCycles; }
+        public void setErrorYellowCycles(int errorYellowCycles) { this.errorYellowCycles = errorYellowCycles; }
+        
+        public int getErrorRedCycles() { return errorRedCycles; }
+        public void setErrorRedCycles(int errorRedCycles) { this.errorRedCycles = errorRedCycles; }
+        
+        public int getStaleCycles() { return staleCycles; }
+        public void setStaleCycles(int staleCycles) { this.staleCycles = staleCycles; }
+        
+        public int getShiftWindow() { return shiftWindow; }
+        public void setShiftWindow(int shiftWindow) { this.shiftWindow = shiftWindow; }
+        
+        public double getShiftPercent() { return shiftPercent; }
+        public void setShiftPercent(double shiftPercent) { this.shiftPercent = shiftPercent; }
     }
     
     // 기본 생성자
@@ -174,6 +283,22 @@ public class ServiceInfo {
         this.snmpConfig = snmpConfig;
     }
     
+    public AlertConfig getAlertConfig() {
+        return alertConfig;
+    }
+    
+    public void setAlertConfig(AlertConfig alertConfig) {
+        this.alertConfig = alertConfig;
+    }
+    
+    public List<String> getGroups() {
+        return groups;
+    }
+    
+    public void setGroups(List<String> groups) {
+        this.groups = groups != null ? groups : Collections.<String>emptyList();
+    }
+    
     /**
      * 전체 서버 수 반환 (NBP + DR)
      */
@@ -207,4 +332,28 @@ public class ServiceInfo {
         }
         return count;
     }
+    
+    /**
+     * IP로 서버 검색 (NBP 서버 먼저, 다음 DR 서버)
+     * @return 없으면 null
+     */
+    public ServerInfo findServer(String ip) {
+        ServerInfo server = findServer(nbpServers, ip);
+        return server != null ? server : findServer(drServers, ip);
+    }
+    
+    /**
+     * NBP 서버 여부 (DR 서버이거나 없는 IP이면 false)
+     */
+    public boolean isNbpServer(String ip) {
+        return findServer(nbpServers, ip) != null;
+    }
+    
+    private static ServerInfo findServer(List<ServerInfo> servers, String ip) {
+        if (servers == null) return null;
+        for (ServerInfo server : servers) {
+            if (ip.equals(server.getIp())) return server;
+        }
+        return null;
+    }
 }
\ No newline at end of file
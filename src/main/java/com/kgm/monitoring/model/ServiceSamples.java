@@ -0,0 +1,236 @@
+package com.kgm.monitoring.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 서비스별 최근 값 저장소 (열 단위 원형 버퍼)
+ * - 값은 기본형 배열에 보관하고 MonitoringData는 조회할 때만 생성 (기록 경로는 객체 생성 없음)
+ * - 추가 지표 배열은 항목별로 미리 두고 지표 수가 바뀔 때만 재할당
+ * - 항목마다 폴링 주기 번호를 함께 보관하여 스냅샷 시점의 값을 찾음
+ * - 주기 번호를 커서로 특정 주기 이후 추가된 값만 조회 (덮어쓴 구간 이전 커서는 전체 재전송 필요)
+ * - 기록은 폴링 스레드 1개, 조회는 여러 스레드 (객체 모니터로 보호, 기록은 주기당 1회)
+ */
+public class ServiceSamples {
+
+    private static final int[] NO_IDS = new int[0];
+    private static final long[] NO_VALUES = new long[0];
+
+    private final String serviceId;
+    private final int capacity;
+    private final long[] sequences;
+    private final long[] timestamps;
+    private final long[] nbpSessions;
+    private final long[] drSessions;
+    private final long[] nbpTraffic;
+    private final long[] drTraffic;
+    private final boolean[] hasError;
+    private final PollError[] errorCodes;
+    private final String[] errorServers;
+    private final String[] errorMessages;
+    private final int[][] metricIds;
+    private final long[][] nbpMetrics;
+    private final long[][] drMetrics;
+
+    // 다음 기록 위치, 보관 항목 수
+    private int head;
+    private int count;
+    // 최신 항목이 유효한 마지막 주기 번호 (새 값이 없는 주기에도 최신 값을 그대로 게시한 경우)
+    private long validThrough;
+    // 이 주기 번호보다 앞선 커서는 이후 값 일부가 사라짐 (덮어쓴 항목 또는 초기화)
+    private long cursorFloor;
+
+    public ServiceSamples(String serviceId, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("용량은 0보다 커야 합니다: " + capacity);
+        }
+        this.serviceId = serviceId;
+        this.capacity = capacity;
+        this.sequences = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.nbpSessions = new long[capacity];
+        this.drSessions = new long[capacity];
+        this.nbpTraffic = new long[capacity];
+        this.drTraffic = new long[capacity];
+        this.hasError = new boolean[capacity];
+        this.errorCodes = new PollError[capacity];
+        this.errorServers = new String[capacity];
+        this.errorMessages = new String[capacity];
+        this.metricIds = new int[capacity][];
+        this.nbpMetrics = new long[capacity][];
+        this.drMetrics = new long[capacity][];
+        Arrays.fill(metricIds, NO_IDS);
+        Arrays.fill(nbpMetrics, NO_VALUES);
+        Arrays.fill(drMetrics, NO_VALUES);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 값 기록 (가장 오래된 항목을 덮어씀, data의 값은 복사되므로 호출 후 재사용 가능)
+     */
+    public synchronized void add(long sequence, MonitoringData data) {
+        int i = head;
+        if (count == capacity && sequences[i] > cursorFloor) {
+            cursorFloor = sequences[i];
+        }
+        sequences[i] = sequence;
+        timestamps[i] = data.getTimestampMillis();
+        nbpSessions[i] = data.getNbpSessions();
+        drSessions[i] = data.getDrSessions();
+        nbpTraffic[i] = data.getNbpTraffic();
+        drTraffic[i] = data.getDrTraffic();
+        hasError[i] = data.isHasError();
+        errorCodes[i] = data.getErrorCode();
+        errorServers[i] = data.getErrorServer();
+        // 직접 설정된 문구만 보관 (코드 기반 문구는 조회 시 조합)
+        errorMessages[i] = data.getErrorCode() == PollError.NONE ? data.getErrorMessage() : null;
+        int[] ids = data.getMetricIds();
+        metricIds[i] = ids;
+        nbpMetrics[i] = copyInto(nbpMetrics[i], data.getNbpMetrics(), ids.length);
+        drMetrics[i] = copyInto(drMetrics[i], data.getDrMetrics(), ids.length);
+        head = i + 1 == capacity ? 0 : i + 1;
+        if (count < capacity) {
+            count++;
+        }
+        validThrough = sequence;
+    }
+
+    /**
+     * 새 값 없이 최신 값을 sequence 주기에도 유효한 것으로 표시
+     */
+    public synchronized void touch(long sequence) {
+        if (count > 0 && sequence > validThrough) {
+            validThrough = sequence;
+        }
+    }
+
+    /**
+     * sequence 주기 시점의 값 (해당 주기 값이 없거나 이미 덮어쓴 경우 null)
+     */
+    public synchronized MonitoringData get(long sequence) {
+        if (count == 0) {
+            return null;
+        }
+        int latest = index(count - 1);
+        if (sequence >= sequences[latest] && sequence <= validThrough) {
+            return toData(latest);
+        }
+        for (int n = count - 2; n >= 0; n--) {
+            int i = index(n);
+            if (sequences[i] == sequence) {
+                return toData(i);
+            }
+            if (sequences[i] < sequence) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 최신 값 (없으면 null)
+     */
+    public synchronized MonitoringData latest() {
+        return count == 0 ? null : toData(index(count - 1));
+    }
+
+    /**
+     * 최신 값의 수집 시각 (없으면 0)
+     */
+    public synchronized long latestTimestamp() {
+        return count == 0 ? 0L : timestamps[index(count - 1)];
+    }
+
+    /**
+     * 보관 중인 값 목록 (오래된 순)
+     */
+    public synchronized List<MonitoringData> toList() {
+        List<MonitoringData> list = new ArrayList<MonitoringData>(count);
+        for (int n = 0; n < count; n++) {
+            list.add(toData(index(n)));
+        }
+        return list;
+    }
+
+    /**
+     * since 주기 이후 until 주기까지 추가된 값 (오래된 순)
+     * @return since 이후 값 일부를 이미 덮어썼거나 초기화했거나 since가 until 이후이면 null (전체 재전송 필요)
+     */
+    public synchronized List<MonitoringData> since(long since, long until) {
+        if (since < cursorFloor || since > until) {
+            return null;
+        }
+        int first = count;
+        while (first > 0 && sequences[index(first - 1)] > since) {
+            first--;
+        }
+        List<MonitoringData> list = new ArrayList<MonitoringData>(count - first);
+        for (int n = first; n < count; n++) {
+            int i = index(n);
+            if (sequences[i] > until) {
+                break;
+            }
+            list.add(toData(i));
+        }
+        return list;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized void clear() {
+        if (count > 0) {
+            cursorFloor = Math.max(cursorFloor, validThrough + 1);
+        }
+        head = 0;
+        count = 0;
+        validThrough = 0L;
+        Arrays.fill(errorServers, null);
+        Arrays.fill(errorMessages, null);
+    }
+
+    // n번째로 오래된 항목의 배열 위치
+    private int index(int n) {
+        int start = count < capacity ? 0 : head;
+        int i = start + n;
+        return i >= capacity ? i - capacity : i;
+    }
+
+    private MonitoringData toData(int i) {
+        MonitoringData data = new MonitoringData();
+        data.setServiceId(serviceId);
+        data.setTimestampMillis(timestamps[i]);
+        data.setNbpSessions(nbpSessions[i]);
+        data.setDrSessions(drSessions[i]);
+        data.setNbpTraffic(nbpTraffic[i]);
+        data.setDrTraffic(drTraffic[i]);
+        data.setError(errorCodes[i], errorServers[i]);
+        data.setHasError(hasError[i]);
+        data.setErrorMessage(errorMessages[i]);
+        int columns = metricIds[i].length;
+        if (columns > 0) {
+            data.setMetrics(metricIds[i], Arrays.copyOf(nbpMetrics[i], columns), Arrays.copyOf(drMetrics[i], columns));
+        }
+        return data;
+    }
+
+    private static long[] copyInto(long[] target, long[] source, int length) {
+        if (length == 0) {
+            return target;
+        }
+        if (target.length < length) {
+            target = new long[length];
+        }
+        System.arraycopy(source, 0, target, 0, length);
+        return target;
+    }
+}
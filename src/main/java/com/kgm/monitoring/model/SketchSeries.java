@@ -0,0 +1,72 @@
+package com.kgm.monitoring.model;
+
+import com.kgm.monitoring.util.QuantileSketch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 구간별 분위수 스케치 시계열
+ * - step 단위 구간(구간 시작 시각 기준)별로 스케치를 병합
+ * - step이 0이면 구간 없이 전체 스케치만 유지
+ * - 시각 오름차순으로 추가된다고 가정 (직전 구간과 같으면 병합, 다르면 새 구간)
+ */
+public class SketchSeries {
+
+    private final long step;
+    private final List<Long> timestamps = new ArrayList<Long>();
+    private final List<QuantileSketch> sketches = new ArrayList<QuantileSketch>();
+    private final QuantileSketch total = new QuantileSketch();
+
+    public SketchSeries(long step) {
+        this.step = step;
+    }
+
+    /**
+     * 값 1건 추가
+     */
+    public void add(long timestamp, long value) {
+        total.add(value);
+        if (step > 0) {
+            bucket(timestamp).add(value);
+        }
+    }
+
+    /**
+     * 스케치 병합
+     */
+    public void add(long timestamp, QuantileSketch sketch) {
+        total.merge(sketch);
+        if (step > 0) {
+            bucket(timestamp).merge(sketch);
+        }
+    }
+
+    private QuantileSketch bucket(long timestamp) {
+        long start = timestamp - timestamp % step;
+        int last = timestamps.size() - 1;
+        if (last >= 0 && timestamps.get(last) == start) {
+            return sketches.get(last);
+        }
+        QuantileSketch sketch = new QuantileSketch();
+        timestamps.add(start);
+        sketches.add(sketch);
+        return sketch;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public List<Long> getTimestamps() {
+        return timestamps;
+    }
+
+    public List<QuantileSketch> getSketches() {
+        return sketches;
+    }
+
+    public QuantileSketch getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,234 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 알림 상태 평가 서비스 (PRD 4.5)
+ * - 폴링 주기마다 서비스별 합계 데이터를 규칙(system.properties의 service.{id}.alert.*)으로 평가
+ * - 서비스별 평가 상태(연속 오류/미수집 주기, NBP 비율 순환 배열)는 미리 할당하여 평가 시 객체 생성 없음
+ * - 상태가 바뀐 경우에만 AlertState를 생성하고 상태 맵을 새로 게시, 리스너(푸시 채널)에 통지
+ *
+ * 규칙 우선순위:
+ * 1. 응답 서버 없음이 staleCycles 주기 연속 → GREY (stale)
+ * 2. SNMP 오류가 errorRedCycles / errorYellowCycles 주기 연속 → RED / YELLOW (snmp-error)
+ * 3. NBP 비율이 ratioMin~ratioMax 범위 밖 → YELLOW (ratio-band)
+ * 4. shiftWindow 주기 전 대비 NBP 비율이 shiftPercent(%p) 이상 변화 → YELLOW (ratio-shift)
+ */
+@Service
+public class AlertService implements ConfigService.ServiceConfigChangeListener {
+
+    @Autowired
+    private ConfigService configService;
+
+    // 서비스별 평가 상태 (폴링 스레드에서만 변경)
+    private final Map<String, Evaluator> evaluators = new ConcurrentHashMap<String, Evaluator>();
+
+    // 마지막으로 게시된 서비스별 알림 상태 (상태 변경 시에만 교체)
+    private volatile Map<String, AlertState> states = Collections.emptyMap();
+
+    // 이번 주기에 상태가 바뀐 서비스가 있는지 여부
+    private volatile boolean dirty;
+
+    private final List<AlertListener> listeners = new CopyOnWriteArrayList<AlertListener>();
+    private final AtomicLong transitions = new AtomicLong();
+
+    /**
+     * 알림 상태 변경 리스너 인터페이스
+     * - 폴링 스레드에서 스냅샷 게시 후 호출됨 (previous는 최초 평가 시 null)
+     */
+    public interface AlertListener {
+        void onAlertChanged(AlertState previous, AlertState current);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        configService.addServiceConfigChangeListener(this);
+    }
+
+    /**
+     * 서비스 1건 평가 (폴링 스레드, 스냅샷 게시 전 호출)
+     * @param answered 이번 주기에 정상 응답한 서버 수
+     * @return 상태가 바뀌었으면 true
+     */
+    public boolean evaluate(ServiceInfo service, MonitoringData data, int answered, long sequence, long now) {
+        Evaluator evaluator = evaluators.get(service.getServiceId());
+        if (evaluator == null || evaluator.config != service.getAlertConfig()) {
+            // 최초 평가 또는 설정 재로딩 시에만 생성
+            evaluator = new Evaluator(service.getAlertConfig(), evaluator);
+            evaluators.put(service.getServiceId(), evaluator);
+        }
+        if (!evaluator.evaluate(service.getServiceId(), data, answered, sequence, now)) {
+            return false;
+        }
+        dirty = true;
+        transitions.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 평가 결과 확정 (상태가 바뀐 주기에만 상태 맵 재생성)
+     * @return 스냅샷에 게시할 서비스별 알림 상태
+     */
+    public Map<String, AlertState> commit() {
+        if (dirty) {
+            Map<String, AlertState> next = new HashMap<String, AlertState>();
+            for (Map.Entry<String, Evaluator> entry : evaluators.entrySet()) {
+                if (entry.getValue().state != null) {
+                    next.put(entry.getKey(), entry.getValue().state);
+                }
+            }
+            states = Collections.unmodifiableMap(next);
+        }
+        return states;
+    }
+
+    /**
+     * 상태가 바뀐 서비스를 리스너에 통지 (스냅샷 게시 후 호출)
+     */
+    public void notifyTransitions() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        for (Evaluator evaluator : evaluators.values()) {
+            if (!evaluator.changed) {
+                continue;
+            }
+            evaluator.changed = false;
+            for (AlertListener listener : listeners) {
+                try {
+                    listener.onAlertChanged(evaluator.previous, evaluator.state);
+                } catch (Exception e) {
+                    System.err.println("알림 리스너 호출 중 오류: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 설정 변경 시 제거된 서비스의 평가 상태 정리
+     */
+    public void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        for (String serviceId : new ArrayList<String>(evaluators.keySet())) {
+            if (!newServiceConfig.containsKey(serviceId)) {
+                evaluators.remove(serviceId);
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * 알림 상태 변경 리스너 등록
+     */
+    public void addAlertListener(AlertListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 마지막으로 게시된 서비스별 알림 상태
+     */
+    public Map<String, AlertState> getStates() {
+        return states;
+    }
+
+    /**
+     * 누적 상태 변경 횟수
+     */
+    public long getTransitionCount() {
+        return transitions.get();
+    }
+
+    /**
+     * 서비스별 평가 상태
+     */
+    private static final class Evaluator {
+        final ServiceInfo.AlertConfig config;
+        // 최근 shiftWindow 주기 NBP 비율 (0.1% 단위, 세션이 없으면 -1), 비율 변화 규칙 미사용 시 길이 0
+        final int[] ratios;
+        final int shiftPerMille;
+        int ratioIndex;
+        int ratioCount;
+        int errorCycles;
+        int staleCycles;
+        AlertState state;
+        AlertState previous;
+        boolean changed;
+
+        Evaluator(ServiceInfo.AlertConfig config, Evaluator old) {
+            this.config = config;
+            this.ratios = new int[config.getShiftPercent() > 0 ? Math.max(config.getShiftWindow(), 0) : 0];
+            this.shiftPerMille = (int) Math.round(config.getShiftPercent() * 10);
+            if (old != null) {
+                // 설정이 바뀌어도 현재 상태와 연속 주기 수는 유지
+                this.errorCycles = old.errorCycles;
+                this.staleCycles = old.staleCycles;
+                this.state = old.state;
+            }
+        }
+
+        boolean evaluate(String serviceId, MonitoringData data, int answered, long sequence, long now) {
+            staleCycles = answered == 0 ? staleCycles + 1 : 0;
+            errorCycles = data.isHasError() ? errorCycles + 1 : 0;
+
+            long total = data.getNbpSessions() + data.getDrSessions();
+            int ratio = total > 0 ? (int) (data.getNbpSessions() * 1000L / total) : -1;
+            boolean shifted = false;
+            if (ratios.length > 0) {
+                int old = ratioCount == ratios.length ? ratios[ratioIndex] : -1;
+                ratios[ratioIndex] = ratio;
+                ratioIndex = ratioIndex + 1 == ratios.length ? 0 : ratioIndex + 1;
+                if (ratioCount < ratios.length) {
+                    ratioCount++;
+                }
+                shifted = ratio >= 0 && old >= 0 && Math.abs(ratio - old) >= shiftPerMille;
+            }
+            boolean outOfBand = ratio >= 0
+                    && ((config.getRatioMin() >= 0 && ratio < config.getRatioMin() * 10)
+                    || (config.getRatioMax() >= 0 && ratio > config.getRatioMax() * 10));
+
+            AlertState.Level level;
+            String reason;
+            if (staleCycles >= Math.max(config.getStaleCycles(), 1)) {
+                level = AlertState.Level.GREY;
+                reason = AlertState.REASON_STALE;
+            } else if (errorCycles >= Math.max(config.getErrorRedCycles(), 1)) {
+                level = AlertState.Level.RED;
+                reason = AlertState.REASON_SNMP_ERROR;
+            } else if (errorCycles >= Math.max(config.getErrorYellowCycles(), 1)) {
+                level = AlertState.Level.YELLOW;
+                reason = AlertState.REASON_SNMP_ERROR;
+            } else if (outOfBand) {
+                level = AlertState.Level.YELLOW;
+                reason = AlertState.REASON_RATIO_BAND;
+            } else if (shifted) {
+                level = AlertState.Level.YELLOW;
+                reason = AlertState.REASON_RATIO_SHIFT;
+            } else {
+                level = AlertState.Level.GREEN;
+                reason = null;
+            }
+
+            if (state != null && state.getLevel() == level && state.getReason() == reason) {
+                return false;
+            }
+            previous = state;
+            state = new AlertState(serviceId, level, reason, now, sequence);
+            changed = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.RingBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전환 작업용 고해상도 수집 (burst 모드)
+ * - L4 조정/GLB 전환 중인 서비스 하나만 짧은 주기(기본 1초)로 별도 폴링
+ * - 전체 폴링 주기(global.polling.interval)와 실시간 스냅샷/Ring Buffer에는 영향 없음
+ * - 수집 값은 burst 구간 크기(구간 / 주기)의 별도 Ring Buffer에 저장
+ * - 지정 시간이 지나면 자동 종료 (종료 후에도 다음 burst 시작 전까지 결과 조회 가능)
+ * - 짧은 주기에 맞춰 SNMP 타임아웃은 주기 이하, 재시도 없음으로 요청하고
+ *   직전 요청이 끝나지 않은 주기는 건너뜀
+ */
+@Service
+public class BurstService implements ConfigService.ServiceConfigChangeListener {
+
+    static final long MIN_INTERVAL = 200L;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private SnmpService snmpService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${monitoring.burst.interval:1000}")
+    private long defaultInterval = 1000L;
+
+    @Value("${monitoring.burst.max.seconds:900}")
+    private int maxSeconds = 900;
+
+    @Value("${monitoring.burst.max.services:3}")
+    private int maxServices = 3;
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private final Map<String, Burst> bursts = new ConcurrentHashMap<String, Burst>();
+
+    @PostConstruct
+    public void initialize() {
+        configService.addServiceConfigChangeListener(this);
+        scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "burst-poll");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * burst 시작 (같은 서비스가 같은 주기로 수행 중이면 종료 시각만 연장)
+     * @param seconds 수행 시간(초, 최대 monitoring.burst.max.seconds)
+     * @param interval 폴링 주기(밀리초, null이면 monitoring.burst.interval)
+     * @throws IllegalArgumentException 서비스가 없거나 시간/주기가 잘못된 경우
+     * @throws IllegalStateException 동시에 수행 가능한 서비스 수를 초과한 경우
+     */
+    public synchronized Burst start(String serviceId, int seconds, Long interval) {
+        ServiceInfo service = configService.getService(serviceId);
+        if (service == null || !service.isEnabled()) {
+            throw new IllegalArgumentException("모니터링 대상 서비스가 아닙니다: " + serviceId);
+        }
+        long period = interval != null ? interval : defaultInterval;
+        if (seconds <= 0 || seconds > maxSeconds || period < MIN_INTERVAL || period > seconds * 1000L) {
+            throw new IllegalArgumentException("잘못된 burst 설정: seconds=" + seconds + ", interval=" + period
+                    + " (최대 " + maxSeconds + "초, 최소 주기 " + MIN_INTERVAL + "ms)");
+        }
+        long now = System.currentTimeMillis();
+        Burst current = bursts.get(serviceId);
+        if (current != null && current.isActive()) {
+            if (current.interval == period) {
+                current.extend(now + seconds * 1000L);
+                return current;
+            }
+            current.stop();
+        } else if (activeCount() >= maxServices) {
+            throw new IllegalStateException("동시에 burst 가능한 서비스 수(" + maxServices + ") 초과");
+        }
+
+        Burst burst = new Burst(service, period, now, now + seconds * 1000L);
+        bursts.put(serviceId, burst);
+        burst.schedule();
+        System.out.println("burst 시작: " + serviceId + " (" + period + "ms 주기, " + seconds + "초)");
+        return burst;
+    }
+
+    /**
+     * burst 조기 종료
+     * @return 수행 중이던 burst가 있었으면 true
+     */
+    public synchronized boolean stop(String serviceId) {
+        Burst burst = bursts.get(serviceId);
+        if (burst == null || !burst.isActive()) {
+            return false;
+        }
+        burst.stop();
+        return true;
+    }
+
+    /**
+     * 서비스의 현재(또는 마지막) burst
+     */
+    public Burst getBurst(String serviceId) {
+        return bursts.get(serviceId);
+    }
+
+    /**
+     * 수행 중인 burst 현황 (서비스ID → 주기, 종료 시각, 수집/건너뜀 건수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        for (Burst burst : bursts.values()) {
+            if (burst.isActive()) {
+                stats.put(burst.serviceId, burst.describe());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 설정 변경 시 제거된 서비스의 burst 종료
+     */
+    public synchronized void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        for (String serviceId : new ArrayList<String>(bursts.keySet())) {
+            if (!newServiceConfig.containsKey(serviceId)) {
+                bursts.remove(serviceId).stop();
+            }
+        }
+    }
+
+    private int activeCount() {
+        int count = 0;
+        for (Burst burst : bursts.values()) {
+            if (burst.isActive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 서비스 1개의 burst 수집 상태
+     */
+    public class Burst {
+        private final String serviceId;
+        private final long interval;
+        private final long startedAt;
+        private final List<ServiceInfo.ServerInfo> nbpServers = new ArrayList<ServiceInfo.ServerInfo>();
+        private final List<ServiceInfo.ServerInfo> drServers = new ArrayList<ServiceInfo.ServerInfo>();
+        private final ServiceInfo.SnmpConfig snmpConfig;
+        private final RingBuffer<MonitoringData> samples;
+        // 서버별 직전 값 [세션 수, 트래픽(bytes/s), 마지막 카운터, 마지막 카운터 시각(0이면 없음)]
+        private final Map<String, long[]> serverValues = new HashMap<String, long[]>();
+        private long endsAt;
+        private boolean active = true;
+        private boolean polling;
+        private long ticks;
+        private long skipped;
+        private ScheduledFuture<?> pollTask;
+        private ScheduledFuture<?> stopTask;
+
+        Burst(ServiceInfo service, long interval, long startedAt, long endsAt) {
+            this.serviceId = service.getServiceId();
+            this.interval = interval;
+            this.startedAt = startedAt;
+            this.endsAt = endsAt;
+            addEnabled(service.getNbpServers(), nbpServers);
+            addEnabled(service.getDrServers(), drServers);
+            this.snmpConfig = burstSnmpConfig(service.getSnmpConfig(), interval);
+            this.samples = new RingBuffer<MonitoringData>((int) Math.max(1L, (endsAt - startedAt) / interval));
+
+            // 응답이 없는 서버는 전체 폴링의 직전 값으로 시작
+            long[] values = new long[3];
+            for (ServiceInfo.ServerInfo server : servers()) {
+                long[] value = new long[4];
+                if (monitoringService.copyServerValues(serviceId, server.getIp(), values)) {
+                    value[0] = values[0];
+                    value[1] = values[1];
+                }
+                serverValues.put(server.getIp(), value);
+            }
+        }
+
+        synchronized void schedule() {
+            pollTask = scheduler.scheduleAtFixedRate(new Runnable() {
+                public void run() {
+                    poll();
+                }
+            }, 0L, interval, TimeUnit.MILLISECONDS);
+            scheduleStop();
+        }
+
+        synchronized void extend(long newEndsAt) {
+            if (newEndsAt <= endsAt) {
+                return;
+            }
+            endsAt = newEndsAt;
+            stopTask.cancel(false);
+            scheduleStop();
+        }
+
+        private void scheduleStop() {
+            stopTask = scheduler.schedule(new Runnable() {
+                public void run() {
+                    stop();
+                    System.out.println("burst 종료: " + serviceId);
+                }
+            }, Math.max(0L, endsAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void stop() {
+            active = false;
+            if (pollTask != null) {
+                pollTask.cancel(false);
+            }
+            if (stopTask != null) {
+                stopTask.cancel(false);
+            }
+        }
+
+        /**
+         * 주기 1회: 전체 서버 동시 요청, 마지막 응답 수신 시 합계를 Ring Buffer에 추가
+         */
+        private void poll() {
+            final List<ServiceInfo.ServerInfo> targets = servers();
+            synchronized (this) {
+                if (!active) {
+                    return;
+                }
+                if (polling) {
+                    skipped++;
+                    return;
+                }
+                if (targets.isEmpty()) {
+                    return;
+                }
+                polling = true;
+                ticks++;
+            }
+            final long tickTime = System.currentTimeMillis();
+            final int[] remaining = { targets.size() };
+            final String[] firstError = { null };
+            for (ServiceInfo.ServerInfo server : targets) {
+                snmpService.pollServer(server.getIp(), snmpConfig, new SnmpService.PollCallback() {
+                    public void onPollComplete(ServerPollResult result) {
+                        synchronized (Burst.this) {
+                            update(result, System.currentTimeMillis());
+                            if (!result.isSuccess() && firstError[0] == null) {
+                                firstError[0] = result.getIp() + ": " + result.getErrorMessage();
+                            }
+                            if (--remaining[0] == 0) {
+                                samples.add(aggregate(tickTime, firstError[0]));
+                                polling = false;
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        private void update(ServerPollResult result, long now) {
+            long[] value = serverValues.get(result.getIp());
+            if (value == null || !result.isSuccess()) {
+                return;
+            }
+            value[0] = result.getSessions();
+            long counter = result.getTrafficCounter();
+            if (value[3] > 0 && now > value[3]) {
+                long delta = counter - value[2];
+                if (delta < 0 && result.getTrafficCounterRange() > 0) {
+                    delta += result.getTrafficCounterRange();
+                }
+                if (delta >= 0) {
+                    value[1] = delta * 1000L / (now - value[3]);
+                }
+            }
+            value[2] = counter;
+            value[3] = now;
+        }
+
+        private MonitoringData aggregate(long timestamp, String error) {
+            MonitoringData data = new MonitoringData();
+            data.setServiceId(serviceId);
+            data.setTimestampMillis(timestamp);
+            for (ServiceInfo.ServerInfo server : nbpServers) {
+                long[] value = serverValues.get(server.getIp());
+                data.setNbpSessions(data.getNbpSessions() + value[0]);
+                data.setNbpTraffic(data.getNbpTraffic() + value[1]);
+            }
+            for (ServiceInfo.ServerInfo server : drServers) {
+                long[] value = serverValues.get(server.getIp());
+                data.setDrSessions(data.getDrSessions() + value[0]);
+                data.setDrTraffic(data.getDrTraffic() + value[1]);
+            }
+            data.setHasError(error != null);
+            data.setErrorMessage(error);
+            return data;
+        }
+
+        private List<ServiceInfo.ServerInfo> servers() {
+            List<ServiceInfo.ServerInfo> servers = new ArrayList<ServiceInfo.ServerInfo>(nbpServers);
+            servers.addAll(drServers);
+            return servers;
+        }
+
+        public String getServiceId() {
+            return serviceId;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        public synchronized long getEndsAt() {
+            return endsAt;
+        }
+
+        public synchronized boolean isActive() {
+            return active;
+        }
+
+        /**
+         * 수집 값 (오래된 순)
+         */
+        public List<MonitoringData> getSamples() {
+            return samples.toList();
+        }
+
+        synchronized Map<String, Object> describe() {
+            Map<String, Object> result = new LinkedHashMap<String, Object>();
+            result.put("interval", interval);
+            result.put("startedAt", startedAt);
+            result.put("endsAt", endsAt);
+            result.put("ticks", ticks);
+            result.put("skipped", skipped);
+            result.put("samples", samples.size());
+            return result;
+        }
+    }
+
+    private static void addEnabled(List<ServiceInfo.ServerInfo> source, List<ServiceInfo.ServerInfo> target) {
+        if (source == null) {
+            return;
+        }
+        for (ServiceInfo.ServerInfo server : source) {
+            if (server.isEnabled()) {
+                target.add(server);
+            }
+        }
+    }
+
+    /**
+     * burst용 SNMP 설정 (타임아웃은 주기 이하, 재시도 없음)
+     */
+    static ServiceInfo.SnmpConfig burstSnmpConfig(ServiceInfo.SnmpConfig source, long interval) {
+        ServiceInfo.SnmpConfig config = new ServiceInfo.SnmpConfig();
+        config.setCommunity(source.getCommunity());
+        config.setPort(source.getPort());
+        config.setVersion(source.getVersion());
+        config.setSessionsOid(source.getSessionsOid());
+        config.setTrafficOid(source.getTrafficOid());
+        config.setSecurityName(source.getSecurityName());
+        config.setAuthProtocol(source.getAuthProtocol());
+        config.setAuthPassword(source.getAuthPassword());
+        config.setPrivProtocol(source.getPrivProtocol());
+        config.setPrivPassword(source.getPrivPassword());
+        config.setTimeout((int) Math.min(source.getTimeout(), interval));
+        config.setRetries(0);
+        return config;
+    }
+}
@@ -0,0 +1,504 @@
+package com.kgm.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.ConsistentHashRing;
+import com.kgm.monitoring.util.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 다중 인스턴스 분산 폴링 (클러스터 모드)
+ * - 모든 인스턴스가 같은 system.properties와 구성원 목록(고정 목록 또는 파일)을 사용
+ * - 서비스 ID를 일관 해시 링으로 나누어 각 인스턴스는 자신이 담당하는 서비스만 SNMP 폴링
+ *   (NBP/DR 합계가 서비스 단위이므로 서비스의 서버 전체를 같은 인스턴스가 담당)
+ * - 폴링 주기마다 다른 구성원의 담당 서비스 현재 값/알림 상태를 HTTP(/api/cluster/local)로 가져와
+ *   스냅샷에 합쳐 어느 인스턴스에서나 전체 서비스를 조회
+ * - 연속 failureThreshold회 응답하지 않은 구성원은 링에서 제외(담당 서비스 재분배), 응답하면 다시 포함
+ */
+@Service
+public class ClusterService {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    static final String LOCAL_PATH = "/api/cluster/local";
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${monitoring.cluster.enabled:false}")
+    private boolean enabled = false;
+
+    // 이 인스턴스의 주소 (구성원 목록과 같은 표기, 예: http://10.0.0.5:8080)
+    @Value("${monitoring.cluster.self:}")
+    private String self = "";
+
+    // 고정 구성원 목록 (쉼표로 구분)
+    @Value("${monitoring.cluster.nodes:}")
+    private String nodes = "";
+
+    // 구성원 목록 파일 (한 줄에 하나, #은 주석, 변경 시 다음 주기에 반영, 지정 시 nodes보다 우선)
+    @Value("${monitoring.cluster.nodes.file:}")
+    private String nodesFile = "";
+
+    @Value("${monitoring.cluster.virtual.nodes:128}")
+    private int virtualNodes = 128;
+
+    @Value("${monitoring.cluster.fetch.timeout:2000}")
+    private int fetchTimeout = 2000;
+
+    @Value("${monitoring.cluster.failure.threshold:3}")
+    private int failureThreshold = 3;
+
+    private ScheduledExecutorService scheduler;
+
+    // 구성원 목록 (self 포함, 설정 순서)
+    private volatile List<String> members = Collections.emptyList();
+    private long membersFileModified = -1L;
+
+    // 다른 구성원 상태 (키: 구성원 주소)
+    private final Map<String, Peer> peers = new ConcurrentHashMap<String, Peer>();
+
+    // 응답 중인 구성원으로 만든 링 (구성원 변경 시 교체)
+    private volatile Assignment assignment = new Assignment(new ConsistentHashRing(Collections.<String>emptyList(), 1));
+
+    // 다른 구성원 담당 서비스의 최신 값 (동기화 주기마다 교체)
+    private volatile Map<String, RemoteService> remoteServices = Collections.emptyMap();
+
+    private final AtomicLong rebalances = new AtomicLong();
+
+    /**
+     * 다른 구성원이 수집한 서비스 1건
+     */
+    public static class RemoteService {
+        private final String node;
+        private final MonitoringData data;
+        private final AlertState alert;
+
+        public RemoteService(String node, MonitoringData data, AlertState alert) {
+            this.node = node;
+            this.data = data;
+            this.alert = alert;
+        }
+
+        public String getNode() { return node; }
+        public MonitoringData getData() { return data; }
+        public AlertState getAlert() { return alert; }
+    }
+
+    /**
+     * 링과 서비스별 담당 구성원 캐시 (링과 함께 교체되므로 이전 링의 담당이 섞이지 않음)
+     */
+    private static class Assignment {
+        final ConsistentHashRing ring;
+        final ConcurrentHashMap<String, String> owners = new ConcurrentHashMap<String, String>();
+
+        Assignment(ConsistentHashRing ring) {
+            this.ring = ring;
+        }
+    }
+
+    /**
+     * 다른 구성원 상태 (동기화 스레드에서만 변경)
+     */
+    private static class Peer {
+        final String node;
+        volatile boolean alive = true;
+        volatile int failures;
+        volatile long lastSuccess;
+        volatile String lastError;
+        volatile Map<String, RemoteService> services = Collections.emptyMap();
+
+        Peer(String node) {
+            this.node = node;
+        }
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        self = normalize(self);
+        if (self.isEmpty()) {
+            throw new IllegalStateException("클러스터 모드에는 monitoring.cluster.self 설정이 필요합니다");
+        }
+        reloadMembers();
+        rebuildRing();
+        System.out.println("클러스터 모드 시작: self=" + self + ", 구성원=" + members);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "cluster-sync");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                try {
+                    sync();
+                } catch (Exception e) {
+                    System.err.println("클러스터 동기화 중 오류: " + e.getMessage());
+                }
+            }
+        }, 0L, configService.getPollingInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * 이 인스턴스가 폴링할 서비스인지 여부 (클러스터 모드가 아니면 항상 true)
+     */
+    public boolean isLocal(String serviceId) {
+        if (!enabled) {
+            return true;
+        }
+        Assignment current = assignment;
+        String owner = current.owners.get(serviceId);
+        if (owner == null) {
+            owner = current.ring.nodeFor(serviceId);
+            if (owner == null) {
+                return true;
+            }
+            current.owners.put(serviceId, owner);
+        }
+        return owner.equals(self);
+    }
+
+    /**
+     * 서비스 목록 중 이 인스턴스 담당만 반환
+     */
+    public List<ServiceInfo> filterLocal(List<ServiceInfo> services) {
+        if (!enabled) {
+            return services;
+        }
+        List<ServiceInfo> result = new ArrayList<ServiceInfo>(services.size());
+        for (ServiceInfo service : services) {
+            if (isLocal(service.getServiceId())) {
+                result.add(service);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 다른 구성원이 수집한 서비스별 최신 값
+     */
+    public Map<String, RemoteService> getRemoteServices() {
+        return remoteServices;
+    }
+
+    /**
+     * 동기화 1회: 구성원 목록 재확인 → 구성원별 현재 값 조회 → 응답 구성원 기준 링 갱신
+     */
+    synchronized void sync() {
+        reloadMembers();
+        for (String member : members) {
+            if (member.equals(self)) {
+                continue;
+            }
+            Peer peer = peers.get(member);
+            if (peer == null) {
+                peer = new Peer(member);
+                peers.put(member, peer);
+            }
+            fetch(peer);
+        }
+        rebuildRing();
+
+        Map<String, RemoteService> merged = new HashMap<String, RemoteService>();
+        for (Peer peer : peers.values()) {
+            if (!peer.alive) {
+                continue;
+            }
+            for (RemoteService remote : peer.services.values()) {
+                String serviceId = remote.getData().getServiceId();
+                if (isLocal(serviceId)) {
+                    // 링 변경 직후 이전 담당 구성원의 값은 사용하지 않음
+                    continue;
+                }
+                RemoteService existing = merged.get(serviceId);
+                if (existing == null || existing.getData().getTimestampMillis() < remote.getData().getTimestampMillis()) {
+                    merged.put(serviceId, remote);
+                }
+            }
+        }
+        remoteServices = Collections.unmodifiableMap(merged);
+    }
+
+    private void fetch(Peer peer) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(peer.node + LOCAL_PATH).openConnection();
+            connection.setConnectTimeout(fetchTimeout);
+            connection.setReadTimeout(fetchTimeout);
+            if (connection.getResponseCode() != 200) {
+                throw new IOException("HTTP " + connection.getResponseCode());
+            }
+            InputStream in = connection.getInputStream();
+            try {
+                peer.services = parseLocal(peer.node, objectMapper.readValue(in, Map.class));
+            } finally {
+                in.close();
+            }
+            if (!peer.alive) {
+                System.out.println("클러스터 구성원 복구: " + peer.node);
+            }
+            peer.alive = true;
+            peer.failures = 0;
+            peer.lastSuccess = System.currentTimeMillis();
+            peer.lastError = null;
+        } catch (Exception e) {
+            peer.failures++;
+            peer.lastError = e.getMessage();
+            if (peer.alive && peer.failures >= Math.max(failureThreshold, 1)) {
+                System.err.println("클러스터 구성원 응답 없음, 링에서 제외: " + peer.node + " (" + e.getMessage() + ")");
+                peer.alive = false;
+                peer.services = Collections.emptyMap();
+            }
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * 구성원 목록 로딩 (파일은 수정 시각이 바뀐 경우에만 다시 읽음)
+     */
+    private void reloadMembers() {
+        List<String> loaded;
+        if (nodesFile != null && !nodesFile.trim().isEmpty()) {
+            File file = new File(nodesFile.trim());
+            if (!file.isFile()) {
+                if (membersFileModified != 0L) {
+                    System.err.println("클러스터 구성원 파일이 없습니다: " + file.getAbsolutePath());
+                    membersFileModified = 0L;
+                }
+                return;
+            }
+            if (file.lastModified() == membersFileModified) {
+                return;
+            }
+            try {
+                loaded = parseMembers(new String(Files.readAllBytes(file.toPath()), UTF_8).split("\n"));
+                membersFileModified = file.lastModified();
+            } catch (IOException e) {
+                System.err.println("클러스터 구성원 파일 읽기 실패: " + e.getMessage());
+                return;
+            }
+        } else {
+            loaded = parseMembers(nodes.split(","));
+        }
+        if (!loaded.contains(self)) {
+            loaded.add(self);
+        }
+        if (!loaded.equals(members)) {
+            for (String node : new ArrayList<String>(peers.keySet())) {
+                if (!loaded.contains(node)) {
+                    peers.remove(node);
+                }
+            }
+            members = Collections.unmodifiableList(loaded);
+        }
+    }
+
+    private void rebuildRing() {
+        List<String> live = new ArrayList<String>();
+        for (String member : members) {
+            Peer peer = peers.get(member);
+            if (member.equals(self) || peer == null || peer.alive) {
+                live.add(member);
+            }
+        }
+        ConsistentHashRing next = new ConsistentHashRing(live, virtualNodes);
+        if (!next.getNodes().equals(assignment.ring.getNodes())) {
+            assignment = new Assignment(next);
+            rebalances.incrementAndGet();
+            System.out.println("클러스터 담당 재분배: " + next.getNodes());
+        }
+    }
+
+    static List<String> parseMembers(String[] entries) {
+        List<String> result = new ArrayList<String>();
+        for (String entry : entries) {
+            String node = normalize(entry.replaceAll("#.*", ""));
+            if (!node.isEmpty() && !result.contains(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node == null ? "" : node.trim();
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * 구성원 응답(/api/cluster/local) 해석
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, RemoteService> parseLocal(String node, Map<String, Object> body) {
+        Map<String, RemoteService> result = new HashMap<String, RemoteService>();
+        List<Map<String, Object>> services = (List<Map<String, Object>>) body.get("services");
+        if (services == null) {
+            return result;
+        }
+        for (Map<String, Object> item : services) {
+            MonitoringData data = new MonitoringData();
+            data.setServiceId((String) item.get("serviceId"));
+            data.setTimestampMillis(number(item.get("timestamp")));
+            data.setNbpSessions(number(item.get("nbpSessions")));
+            data.setDrSessions(number(item.get("drSessions")));
+            data.setNbpTraffic(number(item.get("nbpTraffic")));
+            data.setDrTraffic(number(item.get("drTraffic")));
+            data.setHasError(Boolean.TRUE.equals(item.get("hasError")));
+            data.setErrorMessage((String) item.get("errorMessage"));
+
+            Map<String, List<Number>> metrics = (Map<String, List<Number>>) item.get("metrics");
+            if (metrics != null && !metrics.isEmpty()) {
+                int[] ids = new int[metrics.size()];
+                long[] nbp = new long[ids.length];
+                long[] dr = new long[ids.length];
+                int i = 0;
+                for (Map.Entry<String, List<Number>> entry : metrics.entrySet()) {
+                    ids[i] = MetricRegistry.intern(entry.getKey());
+                    nbp[i] = entry.getValue().get(0).longValue();
+                    dr[i] = entry.getValue().get(1).longValue();
+                    i++;
+                }
+                data.setMetrics(ids, nbp, dr);
+            }
+
+            AlertState alert = null;
+            Map<String, Object> alertItem = (Map<String, Object>) item.get("alert");
+            if (alertItem != null) {
+                alert = new AlertState(data.getServiceId(),
+                        AlertState.Level.valueOf(((String) alertItem.get("level")).toUpperCase()),
+                        (String) alertItem.get("reason"),
+                        number(alertItem.get("since")), number(alertItem.get("sequence")));
+            }
+            result.put(data.getServiceId(), new RemoteService(node, data, alert));
+        }
+        return result;
+    }
+
+    /**
+     * 이 인스턴스가 수집한 서비스 1건을 구성원 응답 형식으로 변환
+     */
+    public static Map<String, Object> toLocalItem(MonitoringData data, AlertState alert) {
+        Map<String, Object> item = new LinkedHashMap<String, Object>();
+        item.put("serviceId", data.getServiceId());
+        item.put("timestamp", data.getTimestampMillis());
+        item.put("nbpSessions", data.getNbpSessions());
+        item.put("drSessions", data.getDrSessions());
+        item.put("nbpTraffic", data.getNbpTraffic());
+        item.put("drTraffic", data.getDrTraffic());
+        item.put("hasError", data.isHasError());
+        item.put("errorMessage", data.getErrorMessage());
+        if (data.getMetricIds().length > 0) {
+            Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+            for (int i = 0; i < data.getMetricIds().length; i++) {
+                metrics.put(MetricRegistry.name(data.getMetricIds()[i]),
+                        new long[] { data.getNbpMetrics()[i], data.getDrMetrics()[i] });
+            }
+            item.put("metrics", metrics);
+        }
+        if (alert != null) {
+            Map<String, Object> alertItem = new LinkedHashMap<String, Object>();
+            alertItem.put("level", alert.getLevel().name().toLowerCase());
+            alertItem.put("reason", alert.getReason());
+            alertItem.put("since", alert.getSince());
+            alertItem.put("sequence", alert.getSequence());
+            item.put("alert", alertItem);
+        }
+        return item;
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * 클러스터 상태 (구성원별 응답 상태, 담당 서비스)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<String, Object>();
+        status.put("enabled", enabled);
+        if (!enabled) {
+            return status;
+        }
+        status.put("self", self);
+        status.put("rebalances", rebalances.get());
+
+        List<String> serviceIds = new ArrayList<String>();
+        for (ServiceInfo service : configService.getEnabledServices()) {
+            serviceIds.add(service.getServiceId());
+        }
+        Map<String, List<String>> owned = assignment.ring.assign(serviceIds);
+
+        List<Map<String, Object>> memberList = new ArrayList<Map<String, Object>>();
+        for (String member : members) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("node", member);
+            item.put("self", member.equals(self));
+            Peer peer = peers.get(member);
+            item.put("alive", member.equals(self) || peer == null || peer.alive);
+            if (peer != null) {
+                item.put("failures", peer.failures);
+                item.put("lastSuccess", peer.lastSuccess);
+                item.put("lastError", peer.lastError);
+            }
+            List<String> services = owned.get(member);
+            item.put("services", services != null ? services : Collections.<String>emptyList());
+            memberList.add(item);
+        }
+        status.put("members", memberList);
+        return status;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,9 @@ public class ConfigService implements SystemPropertiesConfig.ConfigChangeListene
     private final List<ServiceConfigChangeListener> serviceChangeListeners = 
             new ArrayList<ServiceConfigChangeListener>();
     
+    // 활성 서비스 목록 (폴링 주기마다 조회되므로 설정 로딩 시점에 만들어 한 번에 게시)
+    private volatile List<ServiceInfo> enabledServices;
+    
     /**
      * 서비스 설정 변경 리스너 인터페이스
      */
@@ -35,9 +39,10 @@ public class ConfigService implements SystemPropertiesConfig.ConfigChangeListene
     }
     
     @PostConstruct
-    public void initialize() {
+    public synchronized void initialize() {
         // 설정 변경 리스너 등록
         systemPropertiesConfig.addConfigChangeListener(this);
+        enabledServices = buildEnabledServices(systemPropertiesConfig.getAllServices());
         
         // 초기 설정 검증
         validateAllServices();
@@ -51,19 +56,25 @@ public class ConfigService implements SystemPropertiesConfig.ConfigChangeListene
     }
     
     /**
-     * 활성화된 서비스 목록 반환
+     * 활성화된 서비스 목록 반환 (읽기 전용, 설정 로딩마다 새 목록으로 교체)
      */
     public List<ServiceInfo> getEnabledServices() {
-        List<ServiceInfo> enabledServices = new ArrayList<ServiceInfo>();
-        
-        Map<String, ServiceInfo> allServices = systemPropertiesConfig.getAllServices();
+        List<ServiceInfo> cached = enabledServices;
+        if (cached != null) {
+            return cached;
+        }
+        // 초기화 전에는 게시하지 않고 매번 생성 (늦게 끝난 생성이 새 설정 목록을 덮어쓰지 않도록)
+        return buildEnabledServices(systemPropertiesConfig.getAllServices());
+    }
+    
+    private static List<ServiceInfo> buildEnabledServices(Map<String, ServiceInfo> allServices) {
+        List<ServiceInfo> services = new ArrayList<ServiceInfo>();
         for (ServiceInfo service : allServices.values()) {
             if (service.isEnabled()) {
-                enabledServices.add(service);
+                services.add(service);
             }
         }
-        
-        return enabledServices;
+        return Collections.unmodifiableList(services);
     }
     
     /**
@@ -133,6 +144,7 @@ public class ConfigService implements SystemPropertiesConfig.ConfigChangeListene
      * 설정 파일 수동 리로드
      */
     public void reloadConfiguration() {
+        // 로딩이 끝나면 onConfigChanged에서 활성 서비스 목록을 다시 게시
         systemPropertiesConfig.reloadConfiguration();
     }
     
@@ -192,11 +204,19 @@ public class ConfigService implements SystemPropertiesConfig.ConfigChangeListene
         serviceChangeListeners.add(listener);
     }
     
+    /**
+     * 새 설정의 활성 서비스 목록을 만들어 한 번의 쓰기로 게시 (initialize와 순서를 맞추기 위해 동기화)
+     */
+    private synchronized void publishEnabledServices(Map<String, ServiceInfo> newServiceConfig) {
+        enabledServices = buildEnabledServices(newServiceConfig);
+    }
+    
     /**
      * 설정 변경 이벤트 처리 (SystemPropertiesConfig.ConfigChangeListener 구현)
      */
     public void onConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
         System.out.println("서비스 설정 변경 감지: " + newServiceConfig.size() + "개 서비스");
+        publishEnabledServices(newServiceConfig);
         
         // 새로운 설정 검증
         List<String> errors = validateAllServices();
@@ -0,0 +1,396 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.FleetAggregate;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.model.ServiceSamples;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 전체/타입별/그룹별 NBP·DR 합계 서비스 (DR 전환 훈련 시 전체 현황 조회용)
+ * - 묶음: all(전체), type:L4 / type:GLB(모니터링 타입), group:{이름}(service.{id}.groups)
+ * - 서비스 합계가 나올 때마다 직전 값과의 차이만 묶음 합계에 반영 (주기마다 전체 서비스를 다시 더하지 않음)
+ * - 이번 주기에 값이 없는 서비스(비활성, 삭제, 다른 구성원 담당)는 주기 완료 시 묶음에서 제외
+ * - 설정에서 더 이상 쓰지 않고 소속 서비스도 없는 묶음은 설정 변경/주기 완료 시 삭제
+ * - 주기 완료 시 묶음별 합계를 불변 목록으로 게시하고 묶음별 Ring Buffer / 구간 평균(rollup)에 기록
+ * - 조회는 게시된 목록만 읽으므로 묶음 수에만 비례
+ */
+@Service
+public class FleetService implements MonitoringService.ServiceAggregateListener,
+        MonitoringService.PollCycleListener, ConfigService.ServiceConfigChangeListener {
+
+    // 게시 순서: 전체, 타입, 그룹 (같은 종류는 이름 순)
+    private static final Comparator<Group> ORDER = new Comparator<Group>() {
+        public int compare(Group a, Group b) {
+            int rank = rank(a.id) - rank(b.id);
+            return rank != 0 ? rank : a.id.compareTo(b.id);
+        }
+
+        private int rank(String id) {
+            return FleetAggregate.ALL.equals(id) ? 0 : id.startsWith(FleetAggregate.TYPE_PREFIX) ? 1 : 2;
+        }
+    };
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${monitoring.fleet.rollup.minutes:5}")
+    private int rollupMinutes = 5;
+
+    @Value("${monitoring.fleet.rollup.size:288}")
+    private int rollupSize = 288;
+
+    // 묶음 (쓰기는 이 객체 잠금 안에서, 조회는 잠금 없이)
+    private final Map<String, Group> groups = new ConcurrentHashMap<String, Group>();
+    private Group[] ordered = new Group[0];
+
+    // 서비스별 마지막 반영 값 (키: 서비스ID)
+    private final Map<String, Contribution> contributions = new HashMap<String, Contribution>();
+
+    // 현재 설정의 활성 서비스가 쓰는 묶음 ID (첫 설정 변경 전에는 null, 묶음 삭제 안 함)
+    private Set<String> referencedGroups;
+
+    // 마지막으로 게시된 묶음별 합계
+    private volatile List<FleetAggregate> published = Collections.emptyList();
+    private long publishedAt;
+
+    @PostConstruct
+    public void initialize() {
+        monitoringService.addServiceAggregateListener(this);
+        monitoringService.addPollCycleListener(this);
+        configService.addServiceConfigChangeListener(this);
+    }
+
+    /**
+     * 서비스 합계 반영 (직전 반영 값과의 차이만 소속 묶음에 더함)
+     * - 서비스 설정 객체가 바뀐 경우(재로딩)에만 소속 묶음을 다시 계산
+     */
+    public synchronized void onServiceAggregated(ServiceInfo service, MonitoringData data, long sequence) {
+        Contribution contribution = contributions.get(service.getServiceId());
+        if (contribution == null) {
+            contribution = new Contribution();
+            contributions.put(service.getServiceId(), contribution);
+        }
+        if (contribution.service != service) {
+            Group[] resolved = resolveGroups(service);
+            if (contribution.service == null || !Arrays.equals(contribution.groups, resolved)) {
+                detach(contribution);
+                contribution.groups = resolved;
+                for (Group group : resolved) {
+                    group.services++;
+                }
+            }
+            contribution.service = service;
+        }
+
+        long nbpSessions = data.getNbpSessions() - contribution.nbpSessions;
+        long drSessions = data.getDrSessions() - contribution.drSessions;
+        long nbpTraffic = data.getNbpTraffic() - contribution.nbpTraffic;
+        long drTraffic = data.getDrTraffic() - contribution.drTraffic;
+        int errors = (data.isHasError() ? 1 : 0) - (contribution.error ? 1 : 0);
+        Group[] memberOf = contribution.groups;
+        for (int i = 0; i < memberOf.length; i++) {
+            Group group = memberOf[i];
+            group.nbpSessions += nbpSessions;
+            group.drSessions += drSessions;
+            group.nbpTraffic += nbpTraffic;
+            group.drTraffic += drTraffic;
+            group.errorServices += errors;
+        }
+        contribution.nbpSessions = data.getNbpSessions();
+        contribution.drSessions = data.getDrSessions();
+        contribution.nbpTraffic = data.getNbpTraffic();
+        contribution.drTraffic = data.getDrTraffic();
+        contribution.error = data.isHasError();
+        contribution.sequence = sequence;
+    }
+
+    /**
+     * 주기 완료 시 이번 주기에 값이 없는 서비스를 제외하고 묶음별 합계 게시
+     */
+    public synchronized void onPollCycleCompleted(PollCycleStats stats) {
+        long sequence = stats.getSequence();
+        long now = monitoringService.getSnapshot().getPublishedAt();
+        Iterator<Contribution> iterator = contributions.values().iterator();
+        while (iterator.hasNext()) {
+            Contribution contribution = iterator.next();
+            if (contribution.sequence != sequence) {
+                detach(contribution);
+                iterator.remove();
+            }
+        }
+        // 재로딩으로 소속을 옮긴 서비스가 이번 주기에 빠져나가 빈 묶음 삭제
+        pruneGroups();
+
+        long bucketMillis = Math.max(1, rollupMinutes) * 60L * 1000L;
+        long bucket = now - now % bucketMillis;
+        for (Group group : ordered) {
+            MonitoringData record = group.record;
+            record.setTimestampMillis(now);
+            record.setNbpSessions(group.nbpSessions);
+            record.setDrSessions(group.drSessions);
+            record.setNbpTraffic(group.nbpTraffic);
+            record.setDrTraffic(group.drTraffic);
+            record.setHasError(group.errorServices > 0);
+            group.recent.add(sequence, record);
+            group.accumulate(bucket);
+        }
+        publish(now);
+    }
+
+    private void publish(long timestamp) {
+        List<FleetAggregate> aggregates = new ArrayList<FleetAggregate>(ordered.length);
+        for (Group group : ordered) {
+            aggregates.add(new FleetAggregate(group.id, timestamp, group.services, group.errorServices,
+                    group.nbpSessions, group.drSessions, group.nbpTraffic, group.drTraffic));
+        }
+        published = Collections.unmodifiableList(aggregates);
+        publishedAt = timestamp;
+    }
+
+    /**
+     * 설정 변경 시 삭제/비활성 서비스를 묶음에서 제외하고, 더 이상 쓰이지 않는 묶음 삭제
+     * - 타입/그룹이 바뀐 서비스는 다음 주기 합계 반영 시 소속 묶음을 옮기고, 비게 된 이전 묶음은 그 주기 완료 시 삭제
+     */
+    public synchronized void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        Set<String> referenced = new HashSet<String>();
+        referenced.add(FleetAggregate.ALL);
+        for (ServiceInfo service : newServiceConfig.values()) {
+            if (service.isEnabled()) {
+                referenced.addAll(groupIds(service));
+            }
+        }
+        Iterator<Map.Entry<String, Contribution>> iterator = contributions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Contribution> entry = iterator.next();
+            ServiceInfo service = newServiceConfig.get(entry.getKey());
+            if (service == null || !service.isEnabled()) {
+                detach(entry.getValue());
+                iterator.remove();
+            }
+        }
+        referencedGroups = referenced;
+        pruneGroups();
+        // 다음 주기까지 기다리지 않고 제외 결과 게시
+        publish(publishedAt);
+    }
+
+    /**
+     * 마지막으로 게시된 묶음별 합계 (전체, 타입, 그룹 순)
+     */
+    public List<FleetAggregate> getAggregates() {
+        return published;
+    }
+
+    /**
+     * 묶음 합계 최근 값 (Ring Buffer, 오래된 순), 없는 묶음이면 null
+     */
+    public List<MonitoringData> getRecentData(String groupId) {
+        Group group = groups.get(groupId);
+        return group != null ? group.recent.toList() : null;
+    }
+
+    /**
+     * 묶음 합계 구간 평균 (구간 시작 시각 순, 진행 중인 구간 포함), 없는 묶음이면 null
+     */
+    public List<MonitoringData> getRollup(String groupId) {
+        Group group = groups.get(groupId);
+        if (group == null) {
+            return null;
+        }
+        synchronized (this) {
+            List<MonitoringData> rollup = group.rollup.toList();
+            MonitoringData partial = group.partial();
+            if (partial != null) {
+                rollup.add(partial);
+            }
+            return rollup;
+        }
+    }
+
+    public int getRollupMinutes() {
+        return rollupMinutes;
+    }
+
+    /**
+     * 설정에서 쓰지 않고 소속 서비스도 없는 묶음 삭제
+     */
+    private void pruneGroups() {
+        if (referencedGroups == null) {
+            return;
+        }
+        boolean removed = false;
+        for (Group group : ordered) {
+            if (group.services == 0 && !referencedGroups.contains(group.id)) {
+                groups.remove(group.id);
+                removed = true;
+            }
+        }
+        if (removed) {
+            reorder();
+        }
+    }
+
+    private void detach(Contribution contribution) {
+        if (contribution.groups == null) {
+            return;
+        }
+        for (Group group : contribution.groups) {
+            group.nbpSessions -= contribution.nbpSessions;
+            group.drSessions -= contribution.drSessions;
+            group.nbpTraffic -= contribution.nbpTraffic;
+            group.drTraffic -= contribution.drTraffic;
+            group.errorServices -= contribution.error ? 1 : 0;
+            group.services--;
+        }
+        contribution.groups = null;
+        contribution.nbpSessions = 0L;
+        contribution.drSessions = 0L;
+        contribution.nbpTraffic = 0L;
+        contribution.drTraffic = 0L;
+        contribution.error = false;
+    }
+
+    private Group[] resolveGroups(ServiceInfo service) {
+        List<String> ids = groupIds(service);
+        Group[] resolved = new Group[ids.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            Group group = groups.get(ids.get(i));
+            if (group == null) {
+                group = new Group(ids.get(i), configService.getRingBufferSize(), rollupSize);
+                groups.put(group.id, group);
+                reorder();
+            }
+            resolved[i] = group;
+        }
+        return resolved;
+    }
+
+    private static List<String> groupIds(ServiceInfo service) {
+        List<String> ids = new ArrayList<String>(2 + service.getGroups().size());
+        ids.add(FleetAggregate.ALL);
+        if (service.getMonitoringType() != null && !service.getMonitoringType().isEmpty()) {
+            ids.add(FleetAggregate.TYPE_PREFIX + service.getMonitoringType());
+        }
+        for (String name : service.getGroups()) {
+            ids.add(FleetAggregate.GROUP_PREFIX + name);
+        }
+        return ids;
+    }
+
+    private void reorder() {
+        Group[] sorted = groups.values().toArray(new Group[groups.size()]);
+        Arrays.sort(sorted, ORDER);
+        ordered = sorted;
+    }
+
+    /**
+     * 서비스별 마지막 반영 값과 소속 묶음
+     */
+    private static final class Contribution {
+        ServiceInfo service;
+        Group[] groups;
+        long nbpSessions;
+        long drSessions;
+        long nbpTraffic;
+        long drTraffic;
+        boolean error;
+        long sequence;
+    }
+
+    /**
+     * 묶음 합계와 기록 버퍼
+     */
+    private static final class Group {
+        final String id;
+        final ServiceSamples recent;
+        final ServiceSamples rollup;
+        final MonitoringData record = new MonitoringData();
+        int services;
+        int errorServices;
+        long nbpSessions;
+        long drSessions;
+        long nbpTraffic;
+        long drTraffic;
+
+        // 진행 중인 구간 누적값
+        long bucketStart = -1L;
+        int bucketCount;
+        boolean bucketError;
+        long bucketNbpSessions;
+        long bucketDrSessions;
+        long bucketNbpTraffic;
+        long bucketDrTraffic;
+
+        Group(String id, int recentSize, int rollupSize) {
+            this.id = id;
+            this.recent = new ServiceSamples(id, recentSize);
+            this.rollup = new ServiceSamples(id, Math.max(1, rollupSize));
+            record.setServiceId(id);
+            record.setError(PollError.NONE, null);
+        }
+
+        /**
+         * 현재 합계를 구간 누적값에 더함 (구간이 바뀌면 직전 구간 평균을 rollup에 기록)
+         */
+        void accumulate(long bucket) {
+            if (bucket != bucketStart) {
+                MonitoringData closed = partial();
+                if (closed != null) {
+                    rollup.add(bucketStart, closed);
+                }
+                bucketStart = bucket;
+                bucketCount = 0;
+                bucketError = false;
+                bucketNbpSessions = 0L;
+                bucketDrSessions = 0L;
+                bucketNbpTraffic = 0L;
+                bucketDrTraffic = 0L;
+            }
+            bucketCount++;
+            bucketError |= errorServices > 0;
+            bucketNbpSessions += nbpSessions;
+            bucketDrSessions += drSessions;
+            bucketNbpTraffic += nbpTraffic;
+            bucketDrTraffic += drTraffic;
+        }
+
+        /**
+         * 진행 중인 구간의 평균 (누적값이 없으면 null)
+         */
+        MonitoringData partial() {
+            if (bucketCount == 0) {
+                return null;
+            }
+            MonitoringData data = new MonitoringData();
+            data.setServiceId(id);
+            data.setTimestampMillis(bucketStart);
+            data.setNbpSessions(bucketNbpSessions / bucketCount);
+            data.setDrSessions(bucketDrSessions / bucketCount);
+            data.setNbpTraffic(bucketNbpTraffic / bucketCount);
+            data.setDrTraffic(bucketDrTraffic / bucketCount);
+            data.setHasError(bucketError);
+            return data;
+        }
+    }
+}
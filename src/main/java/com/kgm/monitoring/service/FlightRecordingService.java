@@ -0,0 +1,167 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.util.FlightEvents;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JFR 상시 기록 서비스
+ * - 기동 시 저부하 설정(monitoring.jfr.settings)으로 상시 기록 시작, 최근 N분(max.age)/N MB(max.size)만 보관
+ * - 폴링 주기/SNMP 실패/설정 로딩/일별 집계/이력 조회 사용자 정의 이벤트(FlightEvents)를 GC·스레드·파일 I/O 이벤트와 함께 기록
+ * - 장애 시점 기록 저장: POST /actuator/jfr (monitoring.jfr.dump.path 아래 .jfr 파일, JMC 또는 jfr 도구로 확인)
+ * - 저장은 한 번에 하나, monitoring.jfr.dump.interval초에 1회만 허용하고 최근 monitoring.jfr.dump.keep개 파일만 보관
+ * - jdk.jfr이 없는 JVM(Java 8u262 이전)에서는 기록하지 않음
+ */
+@Service
+public class FlightRecordingService {
+
+    static final String RECORDING_NAME = "nbp-dr-monitoring";
+    static final String DUMP_PREFIX = "monitoring-";
+
+    @Value("${monitoring.jfr.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${monitoring.jfr.settings:default}")
+    private String settings = "default";
+
+    @Value("${monitoring.jfr.max.age:30}")
+    private long maxAgeMinutes = 30L;
+
+    @Value("${monitoring.jfr.max.size:100}")
+    private long maxSizeMegabytes = 100L;
+
+    @Value("${monitoring.jfr.dump.path:logs/jfr}")
+    private String dumpPath = "logs/jfr";
+
+    @Value("${monitoring.jfr.dump.keep:5}")
+    private int dumpKeep = 5;
+
+    @Value("${monitoring.jfr.dump.interval:60}")
+    private long dumpIntervalSeconds = 60L;
+
+    private volatile boolean recording;
+
+    // 저장 중 여부, 마지막 저장 시각 (동시/연속 저장 요청 거부)
+    private final AtomicBoolean dumping = new AtomicBoolean();
+    private volatile long lastDumpAt;
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        if (!FlightEvents.isSupported()) {
+            System.out.println("JFR 미지원 JVM, 상시 기록 생략: " + System.getProperty("java.version"));
+            return;
+        }
+        try {
+            recording = FlightEvents.startRecording(RECORDING_NAME, settings, maxAgeMinutes * 60L * 1000L,
+                    maxSizeMegabytes * 1024L * 1024L);
+            System.out.println("JFR 상시 기록 시작: " + settings + ", 최근 " + maxAgeMinutes + "분/"
+                    + maxSizeMegabytes + "MB 보관");
+        } catch (Exception e) {
+            System.err.println("JFR 상시 기록 시작 실패: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (recording) {
+            recording = false;
+            FlightEvents.stopRecording();
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * 현재까지의 상시 기록을 파일로 저장 (기록은 계속됨)
+     * - 저장 후 오래된 저장 파일은 최근 dumpKeep개만 남기고 삭제
+     * @return 저장된 파일
+     * @throws IllegalStateException 기록 중이 아닌 경우
+     * @throws RejectedExecutionException 다른 저장이 진행 중이거나 저장 간격이 지나지 않은 경우
+     */
+    public File dump() throws IOException {
+        if (!recording) {
+            throw new IllegalStateException("JFR 상시 기록 중이 아닙니다");
+        }
+        if (!dumping.compareAndSet(false, true)) {
+            throw new RejectedExecutionException("JFR 기록을 저장하는 중입니다");
+        }
+        try {
+            long now = System.currentTimeMillis();
+            if (lastDumpAt > 0L && now - lastDumpAt < dumpIntervalSeconds * 1000L) {
+                throw new RejectedExecutionException("JFR 기록 저장은 " + dumpIntervalSeconds + "초에 1회만 가능합니다");
+            }
+            // 실패한 저장도 간격에 포함 (반복 요청으로 디스크/CPU를 쓰지 않도록)
+            lastDumpAt = now;
+
+            File directory = new File(dumpPath);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("디렉토리 생성 실패: " + directory.getPath());
+            }
+            String name = DUMP_PREFIX + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date(now)) + ".jfr";
+            File file = new File(directory, name);
+            FlightEvents.dump(file);
+            System.out.println("JFR 기록 저장: " + file.getPath() + " (" + file.length() / 1024 + "KB)");
+            removeOldDumps(directory);
+            return file;
+        } finally {
+            dumping.set(false);
+        }
+    }
+
+    /**
+     * 다음 저장까지 남은 시간 (초, 최소 1)
+     */
+    public long getDumpRetryAfterSeconds() {
+        long remaining = lastDumpAt + dumpIntervalSeconds * 1000L - System.currentTimeMillis();
+        return Math.max(1L, (remaining + 999L) / 1000L);
+    }
+
+    private void removeOldDumps(File directory) {
+        File[] dumps = directory.listFiles(new FilenameFilter() {
+            public boolean accept(File dir, String name) {
+                return name.startsWith(DUMP_PREFIX) && name.endsWith(".jfr");
+            }
+        });
+        if (dumps == null || dumps.length <= dumpKeep) {
+            return;
+        }
+        // 파일 이름이 저장 시각 순
+        Arrays.sort(dumps);
+        for (int i = 0; i < dumps.length - Math.max(dumpKeep, 1); i++) {
+            if (!dumps[i].delete()) {
+                System.err.println("오래된 JFR 기록 삭제 실패: " + dumps[i].getPath());
+            }
+        }
+    }
+
+    /**
+     * 상시 기록 현황 (상태, 설정, 보관 기준, 현재 크기, 저장 경로)
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = FlightEvents.getRecordingStatus();
+        if (recording) {
+            status.put("settings", settings);
+            status.put("dumpPath", new File(dumpPath).getAbsolutePath());
+            status.put("dumpKeep", dumpKeep);
+            status.put("dumpIntervalSeconds", dumpIntervalSeconds);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,748 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.HistorySeries;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.model.SketchSeries;
+import com.kgm.monitoring.util.Lttb;
+import com.kgm.monitoring.util.BoundedExecutor;
+import com.kgm.monitoring.util.FlightEvents;
+import com.kgm.monitoring.util.QuantileSketch;
+import com.kgm.monitoring.util.SingleFlight;
+import com.kgm.monitoring.util.VirtualThreads;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이력 데이터 서비스
+ * - 폴링 주기마다 서비스별 NBP/DR 합계를 날짜별 로그 파일(YYYYMMDD.csv)에 append
+ *   (서비스 집계 시 재사용 버퍼에 행을 모아 두었다가 주기 완료 시 한 번에 기록, 주기마다 새 객체를 만들지 않음)
+ * - 일별 집계 배치: 전일 로그를 서비스별 5분 단위 평균으로 집계하여 summary/YYYYMMDD.csv 저장
+ * - 이력 조회: 24시간 이내는 원본 로그, 일 단위 조회는 집계 파일 기반
+ * - maxPoints 지정 시 LTTB 다운샘플링으로 전환 구간의 급격한 변화를 유지
+ * - 이력 조회는 전용 스레드 풀(대기열 제한)에서 수행하고, 동일 조건의 동시 조회는 1회만 수행하여 결과 공유
+ * - monitoring.threads.virtual=true이고 Java 21 이상이면 조회마다 가상 스레드에서 수행 (스레드 수 대신 동시 조회 수만 제한)
+ * - 집계 시 5분 구간별 전체 세션 수(NBP+DR) 분위수 스케치를 함께 저장하여 장기간 백분위 조회 지원
+ * - 최근 N일(monitoring.history.prewarm.days) 일별 집계는 메모리 캐시에서 조회 (기동 후 HistoryWarmupService가 적재,
+ *   캐시에 없거나 파일이 바뀐 일자는 파일에서 직접 읽음)
+ *
+ * 로그 형식: 시각(epoch ms),서비스ID,NBP 세션,DR 세션,NBP 트래픽,DR 트래픽,오류(0/1)
+ * 집계 형식: 구간 시작(epoch ms),서비스ID,NBP 세션,DR 세션,NBP 트래픽,DR 트래픽,오류 건수,수집 건수
+ * 스케치 형식 (summary/YYYYMMDD.sketch): 구간 시작(epoch ms),서비스ID,전체 세션 스케치(QuantileSketch)
+ */
+@Service
+public class HistoryService implements MonitoringService.PollCycleListener,
+        MonitoringService.ServiceAggregateListener {
+
+    static final long FIVE_MINUTES = 5L * 60L * 1000L;
+    static final long THIRTY_MINUTES = 30L * 60L * 1000L;
+    static final int MAX_HOURS = 24;
+    static final int MAX_DAYS = 90;
+
+    static final String SKETCH_SUFFIX = ".sketch";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${monitoring.history.path:logs/history}")
+    private String historyPath = "logs/history";
+
+    @Value("${monitoring.history.summary.path:logs/summary}")
+    private String summaryPath = "logs/summary";
+
+    @Value("${monitoring.history.query.threads:2}")
+    private int queryThreads = 2;
+
+    @Value("${monitoring.history.query.queue:16}")
+    private int queryQueueSize = 16;
+
+    @Value("${monitoring.threads.virtual:false}")
+    private boolean virtualThreads = false;
+
+    @Value("${monitoring.history.prewarm.days:7}")
+    private int prewarmDays = 7;
+
+    // 현재 기록 중인 로그 파일 (폴링 스레드에서만 사용)
+    private Writer writer;
+    private long writerDayStart;
+    private long writerDayEnd;
+
+    // 이번 주기에 집계된 서비스별 로그 행 (시각 제외) 및 기록용 버퍼 (주기마다 재사용)
+    private final StringBuilder pendingRows = new StringBuilder(4096);
+    private final StringBuilder lineBuffer = new StringBuilder(4096);
+    private char[] writeBuffer = new char[4096];
+
+    // 이력 조회 전용 스레드 풀 (가상 스레드 사용 시 virtualQueryExecutor) 및 동일 조회 병합
+    private ThreadPoolExecutor queryExecutor;
+    private BoundedExecutor virtualQueryExecutor;
+    private final SingleFlight<String, HistorySeries> queries = new SingleFlight<String, HistorySeries>();
+    private final SingleFlight<String, SketchSeries> percentileQueries = new SingleFlight<String, SketchSeries>();
+    private final AtomicLong rejectedQueries = new AtomicLong();
+
+    // 최근 일별 집계 캐시 (키: 일자)
+    private final Map<String, SummaryDay> summaryCache = new ConcurrentHashMap<String, SummaryDay>();
+
+    @PostConstruct
+    public void initialize() {
+        monitoringService.addServiceAggregateListener(this);
+        monitoringService.addPollCycleListener(this);
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            // 스레드 풀 크기와 대기열을 합한 수만큼 동시에 수행 (전체 수용 건수는 플랫폼 스레드 방식과 동일)
+            virtualQueryExecutor = new BoundedExecutor(VirtualThreads.newThreadPerTaskExecutor("history-query"),
+                    queryThreads + queryQueueSize);
+            return;
+        }
+        if (virtualThreads) {
+            System.err.println("가상 스레드를 지원하지 않는 JVM(" + System.getProperty("java.version")
+                    + ")이므로 이력 조회는 스레드 풀로 수행합니다");
+        }
+        queryExecutor = new ThreadPoolExecutor(queryThreads, queryThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queryQueueSize), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "history-query-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        queryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public synchronized void cleanup() {
+        if (queryExecutor != null) {
+            queryExecutor.shutdownNow();
+        }
+        if (virtualQueryExecutor != null) {
+            virtualQueryExecutor.shutdownNow();
+        }
+        closeWriter();
+    }
+
+    /**
+     * 이력 조회 요청 (전용 스레드 풀에서 수행)
+     * - 같은 서비스/구간/해상도의 조회가 수행 중이면 그 결과를 공유
+     * - days 지정 시 일 단위, 아니면 hours 단위 조회
+     * - 결과가 필요 없어지면(타임아웃, 연결 종료) leave() 호출, 모든 요청이 떠나면 조회 취소
+     * @throws RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public SingleFlight.Flight<HistorySeries> submitQuery(final String serviceId, Integer hours, Integer days,
+                                             final Integer maxPoints) {
+        final boolean daily = days != null;
+        final int range = daily ? Math.min(Math.max(days, 1), MAX_DAYS)
+                : Math.min(Math.max(hours != null ? hours : MAX_HOURS, 1), MAX_HOURS);
+        String key = serviceId + '|' + (daily ? "d" : "h") + range + '|' + maxPoints;
+        try {
+            return queries.execute(key, new Callable<HistorySeries>() {
+                public HistorySeries call() throws IOException {
+                    return daily ? getDailyHistory(serviceId, range, maxPoints)
+                            : getRecentHistory(serviceId, range, maxPoints);
+                }
+            }, queryExecutor());
+        } catch (RejectedExecutionException e) {
+            rejectedQueries.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 세션 수 백분위 조회 요청 (전용 스레드 풀에서 수행, 동일 조건 조회 결과 공유)
+     * @param stepMinutes 구간 길이(분, 5분 단위로 맞춤), null이면 전체 구간만
+     * @throws RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public SingleFlight.Flight<SketchSeries> submitPercentileQuery(final String serviceId, Integer days,
+                                                                  Integer stepMinutes) {
+        final int range = Math.min(Math.max(days != null ? days : MAX_DAYS, 1), MAX_DAYS);
+        final long step = stepMinutes == null ? 0L
+                : Math.max(1, (stepMinutes + 4) / 5) * FIVE_MINUTES;
+        String key = serviceId + '|' + range + '|' + step;
+        try {
+            return percentileQueries.execute(key, new Callable<SketchSeries>() {
+                public SketchSeries call() throws IOException {
+                    return getSessionPercentiles(serviceId, range, step);
+                }
+            }, queryExecutor());
+        } catch (RejectedExecutionException e) {
+            rejectedQueries.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private Executor queryExecutor() {
+        return virtualQueryExecutor != null ? virtualQueryExecutor : queryExecutor;
+    }
+
+    /**
+     * 이력 조회 처리 현황 (실행, 공유, 거부, 대기 건수)
+     */
+    public Map<String, Object> getQueryStats() {
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        if (virtualQueryExecutor != null) {
+            stats.put("threads", "virtual");
+            stats.put("concurrencyLimit", virtualQueryExecutor.getLimit());
+            stats.put("active", virtualQueryExecutor.getActiveCount());
+            stats.put("queued", 0);
+        } else {
+            stats.put("threads", queryThreads);
+            stats.put("queueCapacity", queryQueueSize);
+            stats.put("active", queryExecutor != null ? queryExecutor.getActiveCount() : 0);
+            stats.put("queued", queryExecutor != null ? queryExecutor.getQueue().size() : 0);
+        }
+        stats.put("inFlight", queries.getInFlight() + percentileQueries.getInFlight());
+        stats.put("executed", queries.getExecuted() + percentileQueries.getExecuted());
+        stats.put("shared", queries.getShared() + percentileQueries.getShared());
+        stats.put("rejected", rejectedQueries.get());
+        stats.put("cancelled", queries.getCancelled() + percentileQueries.getCancelled());
+        return stats;
+    }
+
+    /**
+     * 서비스 집계 시 로그 행을 버퍼에 추가 (data는 재사용 레코드이므로 값만 복사)
+     */
+    public synchronized void onServiceAggregated(ServiceInfo service, MonitoringData data, long sequence) {
+        pendingRows.append(service.getServiceId()).append(',')
+                .append(data.getNbpSessions()).append(',').append(data.getDrSessions()).append(',')
+                .append(data.getNbpTraffic()).append(',').append(data.getDrTraffic()).append(',')
+                .append(data.isHasError() ? 1 : 0).append('\n');
+    }
+
+    /**
+     * 폴링 주기 완료 시 모아 둔 서비스별 합계를 당일 로그 파일에 기록 (시각은 스냅샷 게시 시각)
+     */
+    public void onPollCycleCompleted(PollCycleStats stats) {
+        try {
+            append(stats.getStartTime() + stats.getDurationMillis());
+        } catch (IOException e) {
+            System.err.println("이력 로그 기록 실패: " + e.getMessage());
+            closeWriter();
+        }
+    }
+
+    synchronized void append(long timestamp) throws IOException {
+        try {
+            if (pendingRows.length() == 0) {
+                return;
+            }
+            if (writer == null || timestamp < writerDayStart || timestamp >= writerDayEnd) {
+                closeWriter();
+                File file = new File(historyPath, dayOf(timestamp) + ".csv");
+                mkdirs(file.getParentFile());
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), UTF_8));
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTimeInMillis(timestamp);
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                writerDayStart = calendar.getTimeInMillis();
+                calendar.add(Calendar.DAY_OF_MONTH, 1);
+                writerDayEnd = calendar.getTimeInMillis();
+            }
+
+            lineBuffer.setLength(0);
+            int start = 0;
+            for (int i = 0; i < pendingRows.length(); i++) {
+                if (pendingRows.charAt(i) == '\n') {
+                    lineBuffer.append(timestamp).append(',').append(pendingRows, start, i + 1);
+                    start = i + 1;
+                }
+            }
+            int length = lineBuffer.length();
+            if (writeBuffer.length < length) {
+                writeBuffer = new char[Math.max(length, writeBuffer.length * 2)];
+            }
+            lineBuffer.getChars(0, length, writeBuffer, 0);
+            writer.write(writeBuffer, 0, length);
+            writer.flush();
+        } finally {
+            pendingRows.setLength(0);
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("이력 로그 파일 종료 중 오류: " + e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * 일별 집계 배치 (매일 00:05, 전일 로그 대상)
+     */
+    public void summarizePreviousDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+        String day = dayOf(calendar.getTimeInMillis());
+        try {
+            int services = summarize(day);
+            System.out.println("일별 집계 완료: " + day + " (" + services + "개 서비스)");
+            if (services > 0) {
+                cacheSummaryDay(day);
+            }
+        } catch (IOException e) {
+            System.err.println("일별 집계 실패: " + day + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * 지정 일자 로그를 서비스별 5분 단위로 집계하여 저장
+     * - 구간별 전체 세션 수 스케치는 별도 파일(.sketch)에 저장 (기존 집계 형식 유지)
+     * @return 집계된 서비스 수
+     */
+    int summarize(String day) throws IOException {
+        File source = new File(historyPath, day + ".csv");
+        if (!source.isFile()) {
+            return 0;
+        }
+        Object summaryEvent = FlightEvents.beginSummary();
+        long rows = 0;
+        Map<String, HistorySeries> byService = new HashMap<String, HistorySeries>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(source), UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length < 7) {
+                    continue;
+                }
+                HistorySeries series = byService.get(fields[1]);
+                if (series == null) {
+                    series = new HistorySeries();
+                    byService.put(fields[1], series);
+                }
+                addFields(series, fields);
+                rows++;
+            }
+        } finally {
+            reader.close();
+        }
+
+        List<String> serviceIds = new ArrayList<String>(byService.keySet());
+        Collections.sort(serviceIds);
+        File target = new File(summaryPath, day + ".csv");
+        mkdirs(target.getParentFile());
+        File temp = new File(target.getPath() + ".tmp");
+        File sketchTarget = new File(summaryPath, day + SKETCH_SUFFIX);
+        File sketchTemp = new File(sketchTarget.getPath() + ".tmp");
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), UTF_8));
+        Writer sketchOut = null;
+        try {
+            sketchOut = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(sketchTemp), UTF_8));
+            for (String serviceId : serviceIds) {
+                HistorySeries raw = byService.get(serviceId);
+                HistorySeries summary = raw.average(FIVE_MINUTES);
+                long[] rawTimestamps = raw.timestampArray();
+                long[] rawNbp = raw.getNbpSessions();
+                long[] rawDr = raw.getDrSessions();
+                long[] timestamps = summary.getTimestamps();
+                long[] nbpSessions = summary.getNbpSessions();
+                long[] drSessions = summary.getDrSessions();
+                long[] nbpTraffic = summary.getNbpTraffic();
+                long[] drTraffic = summary.getDrTraffic();
+                long[] errors = summary.getErrors();
+                int rawIndex = 0;
+                for (int i = 0; i < summary.size(); i++) {
+                    int samples = 0;
+                    QuantileSketch sketch = new QuantileSketch();
+                    while (rawIndex < raw.size() && rawTimestamps[rawIndex] < timestamps[i] + FIVE_MINUTES) {
+                        sketch.add(rawNbp[rawIndex] + rawDr[rawIndex]);
+                        samples++;
+                        rawIndex++;
+                    }
+                    out.write(timestamps[i] + "," + serviceId + "," + nbpSessions[i] + "," + drSessions[i] + ","
+                            + nbpTraffic[i] + "," + drTraffic[i] + "," + errors[i] + "," + samples + "\n");
+                    sketchOut.write(timestamps[i] + "," + serviceId + "," + sketch.encode() + "\n");
+                }
+            }
+        } finally {
+            out.close();
+            if (sketchOut != null) {
+                sketchOut.close();
+            }
+        }
+        Files.move(sketchTemp.toPath(), sketchTarget.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        summaryCache.remove(day);
+        FlightEvents.endSummary(summaryEvent, day, serviceIds.size(), rows);
+        return serviceIds.size();
+    }
+
+    int getPrewarmDays() {
+        return prewarmDays;
+    }
+
+    /**
+     * 현재 캐시된 일별 집계 일수
+     */
+    public int getCachedDayCount() {
+        return summaryCache.size();
+    }
+
+    /**
+     * 캐시 대상 기간(어제부터 최근 N일)에 있는 일별 집계 일자 목록 (최근 일자부터)
+     */
+    List<String> listSummaryDays() {
+        List<String> days = new ArrayList<String>();
+        String[] names = new File(summaryPath).list();
+        if (names == null || prewarmDays <= 0) {
+            return days;
+        }
+        String oldest = oldestCachedDay();
+        String today = dayOf(System.currentTimeMillis());
+        for (String name : names) {
+            if (name.length() != 12 || !name.endsWith(".csv")) {
+                continue;
+            }
+            String day = name.substring(0, 8);
+            if (day.compareTo(oldest) >= 0 && day.compareTo(today) < 0) {
+                days.add(day);
+            }
+        }
+        Collections.sort(days, Collections.reverseOrder());
+        return days;
+    }
+
+    /**
+     * 일별 집계 파일을 서비스별로 읽어 캐시에 적재 (캐시 대상 기간을 벗어난 일자는 제거)
+     * @return 읽은 바이트 수, 집계 파일이 없으면 -1
+     */
+    long cacheSummaryDay(String day) throws IOException {
+        File file = new File(summaryPath, day + ".csv");
+        // 읽기 전 파일 상태 기록 (읽는 중 재집계되면 조회 시 불일치로 파일을 다시 읽음)
+        long modified = file.lastModified();
+        long length = file.length();
+        if (prewarmDays <= 0 || !file.isFile()) {
+            return -1L;
+        }
+        final Map<String, HistorySeries> services = new HashMap<String, HistorySeries>();
+        readFile(file, null, Long.MIN_VALUE, Long.MAX_VALUE, 8, new LineHandler() {
+            public void handle(String[] fields) {
+                HistorySeries series = services.get(fields[1]);
+                if (series == null) {
+                    series = new HistorySeries(288);
+                    services.put(fields[1], series);
+                }
+                addFields(series, fields);
+            }
+        });
+        summaryCache.put(day, new SummaryDay(modified, length, services));
+        String oldest = oldestCachedDay();
+        for (String cached : summaryCache.keySet()) {
+            if (cached.compareTo(oldest) < 0) {
+                summaryCache.remove(cached);
+            }
+        }
+        return length;
+    }
+
+    private String oldestCachedDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -Math.max(prewarmDays, 0));
+        return dayOf(calendar.getTimeInMillis());
+    }
+
+    /**
+     * 최근 N시간 이력 (당일 + 전일 원본 로그)
+     * - maxPoints 지정 시 LTTB, 미지정 시 5분 단위 평균
+     */
+    public HistorySeries getRecentHistory(String serviceId, int hours, Integer maxPoints) throws IOException {
+        Object readEvent = FlightEvents.beginHistoryRead();
+        long now = System.currentTimeMillis();
+        long from = now - Math.min(Math.max(hours, 1), MAX_HOURS) * 60L * 60L * 1000L;
+        HistorySeries raw = new HistorySeries(4096);
+        int files = readDays(historyPath, serviceId, from, now, 7, raw);
+        HistorySeries result = downsample(raw, maxPoints, FIVE_MINUTES);
+        FlightEvents.endHistoryRead(readEvent, serviceId, "recent", hours, result.size(), files, 0);
+        return result;
+    }
+
+    /**
+     * 최근 N일 이력 (일별 집계 파일, 집계 전인 일자는 원본 로그를 5분 단위로 집계)
+     * - maxPoints 지정 시 LTTB, 미지정 시 30분 단위 평균
+     */
+    public HistorySeries getDailyHistory(String serviceId, int days, Integer maxPoints) throws IOException {
+        Object readEvent = FlightEvents.beginHistoryRead();
+        int files = 0;
+        int cachedDays = 0;
+        long now = System.currentTimeMillis();
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.add(Calendar.DAY_OF_MONTH, -Math.min(Math.max(days, 1), MAX_DAYS));
+        long from = calendar.getTimeInMillis();
+
+        HistorySeries series = new HistorySeries(4096);
+        for (String day : daysBetween(from, now)) {
+            File summary = new File(summaryPath, day + ".csv");
+            if (summary.isFile()) {
+                SummaryDay cached = summaryCache.get(day);
+                if (cached != null && cached.matches(summary)) {
+                    appendRange(cached.services.get(serviceId), from, now, series);
+                    cachedDays++;
+                } else {
+                    readFile(summary, serviceId, from, now, 8, series);
+                    files++;
+                }
+            } else {
+                HistorySeries raw = new HistorySeries(4096);
+                File log = new File(historyPath, day + ".csv");
+                if (log.isFile()) {
+                    readFile(log, serviceId, from, now, 7, raw);
+                    files++;
+                }
+                appendAll(raw.average(FIVE_MINUTES), series);
+            }
+        }
+        HistorySeries result = downsample(series, maxPoints, THIRTY_MINUTES);
+        FlightEvents.endHistoryRead(readEvent, serviceId, "daily", days, result.size(), files, cachedDays);
+        return result;
+    }
+
+    /**
+     * 최근 N일 전체 세션 수(NBP+DR) 분위수 스케치
+     * - 스케치 파일이 있는 일자는 5분 구간 스케치를 병합 (원본 로그 불필요)
+     * - 집계 전인 일자는 원본 로그, 스케치 도입 전 집계만 있는 일자는 5분 평균값(수집 건수 가중)으로 대체
+     * @param step 구간 길이(밀리초), 0이면 전체 구간만
+     */
+    public SketchSeries getSessionPercentiles(String serviceId, int days, long step) throws IOException {
+        Object readEvent = FlightEvents.beginHistoryRead();
+        int files = 0;
+        long now = System.currentTimeMillis();
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.add(Calendar.DAY_OF_MONTH, -Math.min(Math.max(days, 1), MAX_DAYS));
+        long from = calendar.getTimeInMillis();
+
+        final SketchSeries series = new SketchSeries(step);
+        for (String day : daysBetween(from, now)) {
+            File sketches = new File(summaryPath, day + SKETCH_SUFFIX);
+            File log = new File(historyPath, day + ".csv");
+            File summary = new File(summaryPath, day + ".csv");
+            if (sketches.isFile()) {
+                readFile(sketches, serviceId, from, now, 3, new LineHandler() {
+                    public void handle(String[] fields) {
+                        series.add(Long.parseLong(fields[0]), QuantileSketch.decode(fields[2]));
+                    }
+                });
+                files++;
+            } else if (log.isFile()) {
+                readFile(log, serviceId, from, now, 7, new LineHandler() {
+                    public void handle(String[] fields) {
+                        series.add(Long.parseLong(fields[0]), Long.parseLong(fields[2]) + Long.parseLong(fields[3]));
+                    }
+                });
+                files++;
+            } else if (summary.isFile()) {
+                readFile(summary, serviceId, from, now, 8, new LineHandler() {
+                    public void handle(String[] fields) {
+                        QuantileSketch sketch = new QuantileSketch();
+                        sketch.add(Long.parseLong(fields[2]) + Long.parseLong(fields[3]), Long.parseLong(fields[7]));
+                        series.add(Long.parseLong(fields[0]), sketch);
+                    }
+                });
+                files++;
+            }
+        }
+        FlightEvents.endHistoryRead(readEvent, serviceId, "percentiles", days, series.getTimestamps().size(),
+                files, 0);
+        return series;
+    }
+
+    private static HistorySeries downsample(HistorySeries series, Integer maxPoints, long defaultBucket) {
+        if (maxPoints == null) {
+            return series.average(defaultBucket);
+        }
+        int[] indices = Lttb.downsample(series.timestampArray(), series.nbpSessionShare(), series.size(), maxPoints);
+        return indices.length == series.size() ? series : series.select(indices);
+    }
+
+    /**
+     * @return 읽은 파일 수
+     */
+    private int readDays(String path, String serviceId, long from, long to, int fieldCount, HistorySeries series)
+            throws IOException {
+        int files = 0;
+        for (String day : daysBetween(from, to)) {
+            File file = new File(path, day + ".csv");
+            if (file.isFile()) {
+                readFile(file, serviceId, from, to, fieldCount, series);
+                files++;
+            }
+        }
+        return files;
+    }
+
+    private static void readFile(File file, String serviceId, long from, long to, int fieldCount,
+                                 final HistorySeries series) throws IOException {
+        readFile(file, serviceId, from, to, fieldCount, new LineHandler() {
+            public void handle(String[] fields) {
+                addFields(series, fields);
+            }
+        });
+    }
+
+    /**
+     * 로그/집계 파일에서 서비스 데이터만 읽기 (서비스ID가 다른 행은 분해하지 않음, serviceId가 null이면 전체)
+     */
+    private static void readFile(File file, String serviceId, long from, long to, int fieldCount,
+                                 LineHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+        try {
+            String line;
+            int lines = 0;
+            while ((line = reader.readLine()) != null) {
+                // 조회 취소 시 파일 읽기 중단
+                if ((++lines & 0x3FFF) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("이력 조회 취소: " + file.getName());
+                }
+                int comma = line.indexOf(',');
+                if (comma < 0 || serviceId != null && !line.startsWith(serviceId, comma + 1)
+                        || serviceId != null && (line.length() <= comma + 1 + serviceId.length()
+                        || line.charAt(comma + 1 + serviceId.length()) != ',')) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length < fieldCount) {
+                    continue;
+                }
+                long timestamp = Long.parseLong(fields[0]);
+                if (timestamp < from || timestamp > to) {
+                    continue;
+                }
+                handler.handle(fields);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("이력 파일 형식 오류: " + file.getName() + " - " + e.getMessage());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 파일 행 처리 (시각·서비스ID 조건을 통과한 행만 전달)
+     */
+    private interface LineHandler {
+        void handle(String[] fields);
+    }
+
+    private static void addFields(HistorySeries series, String[] fields) {
+        series.add(Long.parseLong(fields[0]), Long.parseLong(fields[2]), Long.parseLong(fields[3]),
+                Long.parseLong(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+    }
+
+    private static void appendRange(HistorySeries source, long from, long to, HistorySeries target) {
+        if (source == null) {
+            return;
+        }
+        long[] timestamps = source.timestampArray();
+        long[] nbpSessions = source.getNbpSessions();
+        long[] drSessions = source.getDrSessions();
+        long[] nbpTraffic = source.getNbpTraffic();
+        long[] drTraffic = source.getDrTraffic();
+        long[] errors = source.getErrors();
+        for (int i = 0; i < source.size(); i++) {
+            if (timestamps[i] >= from && timestamps[i] <= to) {
+                target.add(timestamps[i], nbpSessions[i], drSessions[i], nbpTraffic[i], drTraffic[i], errors[i]);
+            }
+        }
+    }
+
+    private static void appendAll(HistorySeries source, HistorySeries target) {
+        long[] timestamps = source.getTimestamps();
+        long[] nbpSessions = source.getNbpSessions();
+        long[] drSessions = source.getDrSessions();
+        long[] nbpTraffic = source.getNbpTraffic();
+        long[] drTraffic = source.getDrTraffic();
+        long[] errors = source.getErrors();
+        for (int i = 0; i < source.size(); i++) {
+            target.add(timestamps[i], nbpSessions[i], drSessions[i], nbpTraffic[i], drTraffic[i], errors[i]);
+        }
+    }
+
+    /**
+     * 캐시된 일별 집계 (적재 시점의 파일 수정 시각·크기와 같을 때만 사용)
+     */
+    private static class SummaryDay {
+        final long modified;
+        final long length;
+        final Map<String, HistorySeries> services;
+
+        SummaryDay(long modified, long length, Map<String, HistorySeries> services) {
+            this.modified = modified;
+            this.length = length;
+            this.services = services;
+        }
+
+        boolean matches(File file) {
+            return file.lastModified() == modified && file.length() == length;
+        }
+    }
+
+    private static List<String> daysBetween(long from, long to) {
+        List<String> days = new ArrayList<String>();
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(from);
+        String last = dayOf(to);
+        String day = dayOf(calendar.getTimeInMillis());
+        days.add(day);
+        while (!day.equals(last)) {
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            day = dayOf(calendar.getTimeInMillis());
+            days.add(day);
+        }
+        return days;
+    }
+
+    static String dayOf(long millis) {
+        return new SimpleDateFormat("yyyyMMdd").format(new Date(millis));
+    }
+
+    private static void mkdirs(File dir) throws IOException {
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("디렉토리 생성 실패: " + dir);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.kgm.monitoring.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이력 캐시 백그라운드 적재 서비스
+ * - 기동 완료(포트 수신 시작) 후 최근 N일(monitoring.history.prewarm.days) 일별 집계 목록을 만들고 캐시에 적재
+ * - 기동은 적재를 기다리지 않으므로 실시간 조회는 첫 폴링 주기부터 가능, 적재 전 이력 조회는 파일에서 직접 읽음
+ * - 적재 스레드 수(monitoring.history.prewarm.threads)와 파일 간 대기(monitoring.history.prewarm.pause)로 디스크 I/O 제한
+ * - 진행 현황: /actuator/warmup
+ */
+@Service
+public class HistoryWarmupService implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String PENDING = "pending";
+    static final String WARMING = "warming";
+    static final String READY = "ready";
+    static final String DISABLED = "disabled";
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Value("${monitoring.history.prewarm.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${monitoring.history.prewarm.threads:2}")
+    private int threads = 2;
+
+    @Value("${monitoring.history.prewarm.pause:50}")
+    private long pauseMillis = 50L;
+
+    private volatile String state = PENDING;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int total;
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger missing = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private ThreadPoolExecutor executor;
+
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        start();
+    }
+
+    @PreDestroy
+    public synchronized void cleanup() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 적재 시작 (한 번만 수행, 호출 스레드는 목록 작성 후 바로 반환)
+     */
+    synchronized void start() {
+        if (!PENDING.equals(state)) {
+            return;
+        }
+        if (!enabled || historyService.getPrewarmDays() <= 0) {
+            state = DISABLED;
+            return;
+        }
+        startedAt = System.currentTimeMillis();
+        state = WARMING;
+        List<String> days = historyService.listSummaryDays();
+        total = days.size();
+        if (days.isEmpty()) {
+            finish();
+            return;
+        }
+
+        int size = Math.max(1, Math.min(threads, days.size()));
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "history-warmup-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        return thread;
+                    }
+                });
+        final AtomicInteger remaining = new AtomicInteger(days.size());
+        // 최근 일자부터 적재 (가장 자주 조회되는 구간)
+        for (final String day : days) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        long read = historyService.cacheSummaryDay(day);
+                        if (read < 0) {
+                            missing.incrementAndGet();
+                        } else {
+                            loaded.incrementAndGet();
+                            bytes.addAndGet(read);
+                        }
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                        System.err.println("이력 캐시 적재 실패: " + day + " - " + e.getMessage());
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        finish();
+                        return;
+                    }
+                    try {
+                        Thread.sleep(pauseMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    private void finish() {
+        finishedAt = System.currentTimeMillis();
+        state = READY;
+        System.out.println("이력 캐시 적재 완료: " + loaded.get() + "/" + total + "일, "
+                + bytes.get() / 1024 + "KB, " + (finishedAt - startedAt) + "ms");
+    }
+
+    public boolean isReady() {
+        return READY.equals(state) || DISABLED.equals(state);
+    }
+
+    /**
+     * 적재 현황 (상태, 대상/완료/실패 일수, 진행률, 읽은 바이트, 소요 시간)
+     */
+    public Map<String, Object> getStatus() {
+        String current = state;
+        Map<String, Object> status = new LinkedHashMap<String, Object>();
+        status.put("state", current);
+        status.put("ready", isReady());
+        status.put("days", total);
+        status.put("loaded", loaded.get());
+        status.put("missing", missing.get());
+        status.put("failed", failed.get());
+        int done = loaded.get() + missing.get() + failed.get();
+        status.put("progress", total == 0 ? (isReady() ? 100 : 0) : done * 100 / total);
+        status.put("bytes", bytes.get());
+        if (startedAt > 0) {
+            long end = READY.equals(current) ? finishedAt : System.currentTimeMillis();
+            status.put("elapsedMillis", end - startedAt);
+        }
+        return status;
+    }
+}
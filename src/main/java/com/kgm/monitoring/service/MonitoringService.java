@@ -1,15 +1,873 @@
 package com.kgm.monitoring.service;
 
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.model.ServiceSamples;
+import com.kgm.monitoring.util.FlightEvents;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 /**
  * 모니터링 비즈니스 로직 서비스
  * - 서비스별 NBP/DR 비율 계산
  * - 실시간 데이터 처리
  * - 이력 데이터 조회
+ *
+ * 수집/집계 경로는 서비스별로 미리 만들어 둔 슬롯(서버 상태 배열, 재사용 집계 레코드, 열 단위 최근 값 저장소)에
+ * 값을 기록하며 주기마다 서비스/서버 수에 비례하는 객체를 만들지 않음. MonitoringData는 API에서 조회할 때만 생성.
  */
 @Service
-public class MonitoringService {
-    
-    // TODO: Task 2.1, 2.2, 2.3에서 구현 예정
-}
\ No newline at end of file
+public class MonitoringService implements ConfigService.ServiceConfigChangeListener {
+
+    // 응답 대기 여유 시간 (밀리초)
+    private static final long RESPONSE_WAIT_MARGIN = 1000L;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private SnmpService snmpService;
+
+    @Autowired(required = false)
+    private AlertService alertService;
+
+    @Autowired(required = false)
+    private ClusterService clusterService;
+
+    // 서비스별 최근 값 저장소 (Ring Buffer)
+    private final Map<String, ServiceSamples> samples = new ConcurrentHashMap<String, ServiceSamples>();
+
+    // 서비스별 폴링/집계 슬롯 (서비스 설정 객체가 바뀔 때만 다시 생성)
+    private final Map<String, ServiceSlot> slots = new ConcurrentHashMap<String, ServiceSlot>();
+
+    // 서버별 직전 수집 상태 (키: 서비스ID/IP)
+    private final Map<String, ServerState> serverStates = new ConcurrentHashMap<String, ServerState>();
+
+    // 폴링 결과 리스너 목록 (응답마다 순회하므로 배열로 보관)
+    private volatile PollResultListener[] pollResultListeners = new PollResultListener[0];
+
+    // 폴링 주기 완료 리스너 목록
+    private final List<PollCycleListener> pollCycleListeners = new CopyOnWriteArrayList<PollCycleListener>();
+
+    // 서비스 합계 리스너 목록 (주기마다 서비스 수만큼 호출되므로 배열로 보관)
+    private volatile ServiceAggregateListener[] serviceAggregateListeners = new ServiceAggregateListener[0];
+
+    // 마지막으로 게시된 스냅샷
+    private volatile MonitoringSnapshot snapshot = MonitoringSnapshot.EMPTY;
+
+    private long cycleSequence = 0L;
+    private final long epoch = System.currentTimeMillis();
+
+    /**
+     * 서버 단위 폴링 결과 리스너 인터페이스
+     * - SNMP 응답 수신 스레드에서 호출됨
+     */
+    public interface PollResultListener {
+        void onPollResult(String serviceId, ServerPollResult result);
+    }
+
+    /**
+     * 폴링 주기 완료 리스너 인터페이스
+     */
+    public interface PollCycleListener {
+        void onPollCycleCompleted(PollCycleStats stats);
+    }
+
+    /**
+     * 서비스 합계 리스너 인터페이스
+     * - 폴링 스레드에서 주기마다 서비스별로 호출 (직접 수집한 서비스, 클러스터 모드에서는 다른 구성원 값 포함)
+     * - data는 재사용되는 집계 레코드이므로 호출 중에만 사용하고 보관하지 않아야 함
+     * - 이번 주기 호출이 끝나면 같은 주기의 PollCycleListener가 호출됨
+     */
+    public interface ServiceAggregateListener {
+        void onServiceAggregated(ServiceInfo service, MonitoringData data, long sequence);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        configService.addServiceConfigChangeListener(this);
+    }
+
+    /**
+     * 전체 서비스 폴링 주기 1회 수행
+     * 1. 서비스별 각 서버(NBP / DR)에 대해 SNMP 요청
+     * 2. 응답(또는 타임아웃) 대기
+     * 3. 서비스 단위 NBP 합계 / DR 합계 계산
+     * 4. 실시간 캐시 및 Ring Buffer 갱신, 알림 규칙 평가 후 스냅샷 게시
+     * - 클러스터 모드에서는 담당 서비스만 폴링하고 다른 구성원의 담당 서비스 값을 합쳐 게시
+     */
+    public synchronized PollCycleStats pollAllServices() {
+        final long sequence = ++cycleSequence;
+        long startTime = System.currentTimeMillis();
+        Object cycleEvent = FlightEvents.beginPollCycle();
+
+        List<ServiceInfo> services = configService.getEnabledServices();
+        if (clusterService != null) {
+            services = clusterService.filterLocal(services);
+        }
+
+        int serviceCount = services.size();
+        int requestCount = 0;
+        long maxWait = 0L;
+        for (int i = 0; i < serviceCount; i++) {
+            ServiceSlot slot = getSlot(services.get(i));
+            requestCount += slot.activeServerCount();
+            ServiceInfo.SnmpConfig snmpConfig = slot.service.getSnmpConfig();
+            maxWait = Math.max(maxWait, (long) snmpConfig.getTimeout() * (snmpConfig.getRetries() + 1));
+        }
+
+        long sendStart = System.nanoTime();
+        CycleTicket ticket = new CycleTicket(sequence, new CountDownLatch(requestCount));
+        for (int i = 0; i < serviceCount; i++) {
+            ServiceSlot slot = slots.get(services.get(i).getServiceId());
+            pollServers(slot, slot.nbpServers, slot.nbpStates, ticket);
+            pollServers(slot, slot.drServers, slot.drStates, ticket);
+        }
+        CountDownLatch latch = ticket.latch;
+        long waitStart = System.nanoTime();
+
+        boolean completed;
+        try {
+            completed = latch.await(maxWait + RESPONSE_WAIT_MARGIN, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed = false;
+        }
+        long waitEnd = System.nanoTime();
+
+        // 서비스별 합계 계산 및 스냅샷 게시 (집계 레코드는 슬롯별로 재사용하고 저장소에 값만 복사)
+        long now = System.currentTimeMillis();
+        int failureCount = 0;
+        for (int i = 0; i < serviceCount; i++) {
+            ServiceSlot slot = slots.get(services.get(i).getServiceId());
+            MonitoringData data = aggregate(slot, sequence, now);
+            getSamples(slot.service.getServiceId()).add(sequence, data);
+            int failures = countFailures(slot, sequence);
+            failureCount += failures;
+            if (alertService != null) {
+                alertService.evaluate(slot.service, data, slot.activeServerCount() - failures, sequence, now);
+            }
+            notifyServiceAggregated(slot.service, data, sequence);
+        }
+        Map<String, AlertState> alerts = alertService != null
+                ? alertService.commit() : Collections.<String, AlertState>emptyMap();
+        if (clusterService != null && clusterService.isEnabled()) {
+            alerts = mergeRemote(sequence, alerts);
+        }
+        snapshot = MonitoringSnapshot.of(sequence, now, samples, alerts);
+        if (alertService != null) {
+            alertService.notifyTransitions();
+        }
+
+        PollCycleStats stats = new PollCycleStats(sequence, startTime, now - startTime,
+                requestCount, requestCount - failureCount, failureCount, completed);
+        FlightEvents.endPollCycle(cycleEvent, sequence, serviceCount, requestCount, failureCount,
+                (waitStart - sendStart) / 1000000L, (waitEnd - waitStart) / 1000000L, completed);
+        for (PollCycleListener listener : pollCycleListeners) {
+            try {
+                listener.onPollCycleCompleted(stats);
+            } catch (Exception e) {
+                System.err.println("폴링 주기 리스너 호출 중 오류: " + e.getMessage());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 다른 구성원이 수집한 서비스 값/알림 상태 합치기
+     * - Ring Buffer에는 직전 값보다 새로운 경우에만 추가 (구성원 폴링 주기가 어긋나도 중복 없음)
+     * @return 다른 구성원 알림 상태를 포함한 알림 상태 맵
+     */
+    private Map<String, AlertState> mergeRemote(long sequence, Map<String, AlertState> alerts) {
+        Map<String, ClusterService.RemoteService> remoteServices = clusterService.getRemoteServices();
+        if (remoteServices.isEmpty()) {
+            return alerts;
+        }
+        Map<String, AlertState> merged = new HashMap<String, AlertState>(alerts);
+        for (Map.Entry<String, ClusterService.RemoteService> entry : remoteServices.entrySet()) {
+            String serviceId = entry.getKey();
+            ServiceSlot slot = slots.get(serviceId);
+            if ((slot != null && slot.aggregatedSequence == sequence) || !configService.hasService(serviceId)) {
+                continue;
+            }
+            MonitoringData data = entry.getValue().getData();
+            ServiceSamples buffer = getSamples(serviceId);
+            if (buffer.size() == 0 || buffer.latestTimestamp() < data.getTimestampMillis()) {
+                buffer.add(sequence, data);
+            } else {
+                // 새 값이 없어도 이번 스냅샷에 직전 값 게시
+                buffer.touch(sequence);
+            }
+            ServiceInfo service = configService.getService(serviceId);
+            if (service != null) {
+                notifyServiceAggregated(service, data, sequence);
+            }
+            if (entry.getValue().getAlert() != null) {
+                merged.put(serviceId, entry.getValue().getAlert());
+            }
+        }
+        return Collections.unmodifiableMap(merged);
+    }
+
+    /**
+     * 서버 목록 비동기 폴링 요청 (서버별 콜백은 상태 객체와 함께 한 번만 생성하여 재사용)
+     */
+    private void pollServers(ServiceSlot slot, ServiceInfo.ServerInfo[] servers, ServerState[] states,
+                             CycleTicket ticket) {
+        ServiceInfo.SnmpConfig snmpConfig = slot.service.getSnmpConfig();
+        boolean[] metricCounters = snmpConfig.getMetricCounters();
+        for (int i = 0; i < servers.length; i++) {
+            if (!servers[i].isEnabled()) {
+                continue;
+            }
+            ServerState state = states[i];
+            state.arm(ticket, metricCounters);
+            snmpService.pollServer(servers[i].getIp(), snmpConfig, ticket.sequence, state.callback);
+        }
+    }
+
+    /**
+     * 서비스 단위 NBP / DR 합계 계산 (슬롯의 집계 레코드에 기록)
+     * - 오류 서버는 직전 정상 값 유지
+     * - 추가 지표는 설정된 합계 방식(sum / avg / max)으로 계산
+     * - 오류는 첫 오류 서버와 오류 코드만 기록 (문구는 조회 시 조합)
+     */
+    private MonitoringData aggregate(ServiceSlot slot, long sequence, long now) {
+        ServiceInfo.SnmpConfig snmpConfig = slot.service.getSnmpConfig();
+        int[] aggregations = snmpConfig.getMetricAggregations();
+        long[] nbp = slot.nbpSums;
+        long[] dr = slot.drSums;
+        Arrays.fill(nbp, 0L);
+        Arrays.fill(dr, 0L);
+        int nbpError = sumServers(slot.nbpServers, slot.nbpStates, sequence, aggregations, nbp, slot.counts);
+        int drError = sumServers(slot.drServers, slot.drStates, sequence, aggregations, dr, slot.counts);
+
+        MonitoringData data = slot.record;
+        data.setTimestampMillis(now);
+        data.setNbpSessions(nbp[0]);
+        data.setNbpTraffic(nbp[1]);
+        data.setDrSessions(dr[0]);
+        data.setDrTraffic(dr[1]);
+        if (nbpError >= 0) {
+            data.setError(slot.nbpStates[nbpError].errorCode(sequence), slot.nbpServers[nbpError].getIp());
+        } else if (drError >= 0) {
+            data.setError(slot.drStates[drError].errorCode(sequence), slot.drServers[drError].getIp());
+        } else {
+            data.setError(PollError.NONE, null);
+        }
+        int metricCount = slot.nbpMetrics.length;
+        if (metricCount > 0) {
+            System.arraycopy(nbp, 2, slot.nbpMetrics, 0, metricCount);
+            System.arraycopy(dr, 2, slot.drMetrics, 0, metricCount);
+        }
+        slot.aggregatedSequence = sequence;
+        return data;
+    }
+
+    /**
+     * 서버 목록의 세션 수 / 트래픽 / 추가 지표 합계 계산
+     * - sums[0] = 세션, sums[1] = 트래픽, sums[2 + i] = 추가 지표 i
+     * - 평균(avg) 지표는 counts[i]에 값이 있는 서버 수를 누적하여 나눔 (NBP/DR 별로 호출되므로 호출마다 초기화)
+     * @return 첫 번째 오류 서버의 위치 (오류가 없으면 -1)
+     */
+    private static int sumServers(ServiceInfo.ServerInfo[] servers, ServerState[] states, long sequence,
+                                  int[] aggregations, long[] sums, int[] counts) {
+        Arrays.fill(counts, 0);
+        int firstError = -1;
+        for (int s = 0; s < servers.length; s++) {
+            if (!servers[s].isEnabled()) {
+                continue;
+            }
+            ServerState state = states[s];
+            synchronized (state) {
+                sums[0] += state.sessions;
+                sums[1] += state.trafficRate;
+                int columns = Math.min(aggregations.length, state.metrics.length);
+                for (int i = 0; i < columns; i++) {
+                    if (!state.metricPresent[i]) {
+                        continue;
+                    }
+                    long value = state.metrics[i];
+                    if (aggregations[i] == ServiceInfo.SnmpConfig.AGGREGATE_MAX) {
+                        sums[2 + i] = counts[i] == 0 ? value : Math.max(sums[2 + i], value);
+                    } else {
+                        sums[2 + i] += value;
+                    }
+                    counts[i]++;
+                }
+                if (firstError < 0 && !state.isHealthy(sequence)) {
+                    firstError = s;
+                }
+            }
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (aggregations[i] == ServiceInfo.SnmpConfig.AGGREGATE_AVG && counts[i] > 0) {
+                sums[2 + i] /= counts[i];
+            }
+        }
+        return firstError;
+    }
+
+    /**
+     * 이번 주기에서 실패(또는 미응답)한 서버 수
+     */
+    private static int countFailures(ServiceSlot slot, long sequence) {
+        return countFailures(slot.nbpServers, slot.nbpStates, sequence)
+                + countFailures(slot.drServers, slot.drStates, sequence);
+    }
+
+    private static int countFailures(ServiceInfo.ServerInfo[] servers, ServerState[] states, long sequence) {
+        int failures = 0;
+        for (int i = 0; i < servers.length; i++) {
+            if (servers[i].isEnabled() && !states[i].isHealthy(sequence)) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 서비스 슬롯 (최초 폴링 또는 설정 재로딩으로 서비스 설정 객체가 바뀐 경우에만 생성)
+     */
+    private ServiceSlot getSlot(ServiceInfo service) {
+        ServiceSlot slot = slots.get(service.getServiceId());
+        if (slot == null || slot.service != service || slot.metricIds != service.getSnmpConfig().getMetricIds()) {
+            ServiceInfo.ServerInfo[] nbpServers = toArray(service.getNbpServers());
+            ServiceInfo.ServerInfo[] drServers = toArray(service.getDrServers());
+            slot = new ServiceSlot(service, nbpServers, states(service.getServiceId(), nbpServers),
+                    drServers, states(service.getServiceId(), drServers));
+            slots.put(service.getServiceId(), slot);
+        }
+        return slot;
+    }
+
+    private ServerState[] states(String serviceId, ServiceInfo.ServerInfo[] servers) {
+        ServerState[] states = new ServerState[servers.length];
+        for (int i = 0; i < servers.length; i++) {
+            states[i] = getServerState(serviceId, servers[i].getIp());
+        }
+        return states;
+    }
+
+    private static ServiceInfo.ServerInfo[] toArray(List<ServiceInfo.ServerInfo> servers) {
+        return servers != null ? servers.toArray(new ServiceInfo.ServerInfo[servers.size()])
+                : new ServiceInfo.ServerInfo[0];
+    }
+
+    private ServerState getServerState(String serviceId, String ip) {
+        String key = serverKey(serviceId, ip);
+        ServerState state = serverStates.get(key);
+        if (state == null) {
+            state = new ServerState();
+            state.callback = new ServerCallback(serviceId, state);
+            serverStates.put(key, state);
+        }
+        return state;
+    }
+
+    private ServiceSamples getSamples(String serviceId) {
+        ServiceSamples buffer = samples.get(serviceId);
+        if (buffer == null) {
+            buffer = new ServiceSamples(serviceId, configService.getRingBufferSize());
+            samples.put(serviceId, buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * 서버별 상태 키 (서비스ID/IP, 주기마다 조회하는 쪽은 미리 만들어 두고 copyServerValues(key, values) 사용)
+     */
+    public static String serverKey(String serviceId, String ip) {
+        return serviceId + "/" + ip;
+    }
+
+    private void notifyServiceAggregated(ServiceInfo service, MonitoringData data, long sequence) {
+        ServiceAggregateListener[] listeners = serviceAggregateListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onServiceAggregated(service, data, sequence);
+            } catch (Exception e) {
+                System.err.println("서비스 합계 리스너 호출 중 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    private void notifyPollResult(String serviceId, ServerPollResult result) {
+        PollResultListener[] listeners = pollResultListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onPollResult(serviceId, result);
+            } catch (Exception e) {
+                System.err.println("폴링 결과 리스너 호출 중 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 설정 변경 시 제거된 서비스/서버의 상태 정리
+     */
+    public void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        for (String key : new ArrayList<String>(serverStates.keySet())) {
+            String serviceId = key.substring(0, key.indexOf('/'));
+            ServiceInfo service = newServiceConfig.get(serviceId);
+            if (service == null || service.findServer(key.substring(key.indexOf('/') + 1)) == null) {
+                serverStates.remove(key);
+            }
+        }
+        for (String serviceId : new ArrayList<String>(samples.keySet())) {
+            if (!newServiceConfig.containsKey(serviceId)) {
+                samples.remove(serviceId);
+            }
+        }
+        for (String serviceId : new ArrayList<String>(slots.keySet())) {
+            if (!newServiceConfig.containsKey(serviceId)) {
+                slots.remove(serviceId);
+            }
+        }
+    }
+
+    // Public API 메서드들
+
+    /**
+     * 폴링 결과 리스너 등록
+     */
+    public synchronized void addPollResultListener(PollResultListener listener) {
+        PollResultListener[] listeners = Arrays.copyOf(pollResultListeners, pollResultListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        pollResultListeners = listeners;
+    }
+
+    /**
+     * 서비스 합계 리스너 등록
+     */
+    public synchronized void addServiceAggregateListener(ServiceAggregateListener listener) {
+        ServiceAggregateListener[] listeners =
+                Arrays.copyOf(serviceAggregateListeners, serviceAggregateListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        serviceAggregateListeners = listeners;
+    }
+
+    /**
+     * 폴링 주기 완료 리스너 등록
+     */
+    public void addPollCycleListener(PollCycleListener listener) {
+        pollCycleListeners.add(listener);
+    }
+
+    /**
+     * 마지막으로 게시된 스냅샷 반환
+     */
+    public MonitoringSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 서비스의 현재 데이터 반환
+     */
+    public MonitoringData getCurrentData(String serviceId) {
+        return snapshot.get(serviceId);
+    }
+
+    /**
+     * 서버별 직전 수집 값 복사
+     * - values[0] = 세션 수, values[1] = 트래픽(bytes/s), values[2] = 마지막 주기 정상 여부(1/0)
+     * - values[3 + i] = 추가 지표 i (배열이 충분히 길 때만, 미수집 지표는 -1)
+     * @return 수집된 값이 없으면 false
+     */
+    public boolean copyServerValues(String serviceId, String ip, long[] values) {
+        return copyServerValues(serverKey(serviceId, ip), values);
+    }
+
+    /**
+     * 서버별 직전 수집 값 복사 (serverKey로 미리 만든 키 사용, 조회 시 객체를 만들지 않음)
+     */
+    public boolean copyServerValues(String serverKey, long[] values) {
+        ServerState state = serverStates.get(serverKey);
+        if (state == null) {
+            return false;
+        }
+        synchronized (state) {
+            if (!state.hasValue) {
+                return false;
+            }
+            values[0] = state.sessions;
+            values[1] = state.trafficRate;
+            values[2] = state.lastSuccessSequence == snapshot.getSequence() ? 1L : 0L;
+            for (int i = 0; i + 3 < values.length; i++) {
+                values[3 + i] = i < state.metrics.length && state.metricPresent[i] ? state.metrics[i] : -1L;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 서비스의 최근 Ring Buffer 데이터 반환 (오래된 순)
+     */
+    public List<MonitoringData> getRecentData(String serviceId) {
+        ServiceSamples buffer = samples.get(serviceId);
+        if (buffer == null) {
+            return Collections.emptyList();
+        }
+        return buffer.toList();
+    }
+
+    /**
+     * 지정 스냅샷 시점까지의 Ring Buffer 데이터 반환 (오래된 순)
+     * - 스냅샷 조회 이후 다음 주기 데이터가 추가되었더라도 제외하여 현재 값과 그래프 시점을 일치시킴
+     */
+    public List<MonitoringData> getRecentData(String serviceId, MonitoringSnapshot snapshot) {
+        List<MonitoringData> recent = getRecentData(serviceId);
+        int end = recent.size();
+        while (end > 0 && recent.get(end - 1).getTimestampMillis() > snapshot.getPublishedAt()) {
+            end--;
+        }
+        return end == recent.size() ? recent : recent.subList(0, end);
+    }
+
+    /**
+     * since 주기 이후 추가된 Ring Buffer 데이터 반환 (오래된 순, 스냅샷 주기까지)
+     * @return 커서 이후 데이터 일부가 이미 Ring Buffer에서 밀려났거나 다른 기동 시점의 커서이면 null (전체 재전송 필요)
+     */
+    public List<MonitoringData> getRecentDataSince(String serviceId, long since, MonitoringSnapshot snapshot) {
+        ServiceSamples buffer = samples.get(serviceId);
+        if (buffer == null) {
+            return null;
+        }
+        return buffer.since(since, snapshot.getSequence());
+    }
+
+    /**
+     * 기동 시각 (주기 번호는 기동마다 1부터 다시 시작하므로 커서와 함께 비교)
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 서비스별 Ring Buffer 데이터 전체 반환 (재기동 스냅샷 저장용)
+     */
+    public Map<String, List<MonitoringData>> exportRecentData() {
+        Map<String, List<MonitoringData>> result = new HashMap<String, List<MonitoringData>>();
+        for (Map.Entry<String, ServiceSamples> entry : samples.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toList());
+        }
+        return result;
+    }
+
+    /**
+     * 서버별 카운터 상태 반환 (재기동 후 첫 주기의 트래픽 계산 기준값 유지용)
+     * - 키: 서비스ID/IP
+     * - 값: [세션 수, 트래픽(bytes/s), 마지막 카운터, 마지막 카운터 수집 시각]
+     */
+    public Map<String, long[]> exportServerCounters() {
+        Map<String, long[]> result = new HashMap<String, long[]>();
+        for (Map.Entry<String, ServerState> entry : serverStates.entrySet()) {
+            ServerState state = entry.getValue();
+            synchronized (state) {
+                if (state.hasCounter) {
+                    result.put(entry.getKey(), new long[] {
+                            state.sessions, state.trafficRate, state.lastCounter, state.lastCounterTime });
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 저장된 Ring Buffer 데이터 복원 후 서비스별 최신 값으로 스냅샷 게시
+     * - 현재 설정에 없는 서비스는 무시
+     * - Ring Buffer 크기를 초과하는 오래된 데이터는 버림
+     */
+    public synchronized void restoreRecentData(Map<String, List<MonitoringData>> recentData) {
+        Map<String, MonitoringData> latest = new HashMap<String, MonitoringData>();
+        long publishedAt = 0L;
+        for (Map.Entry<String, List<MonitoringData>> entry : recentData.entrySet()) {
+            if (!configService.hasService(entry.getKey()) || entry.getValue().isEmpty()) {
+                continue;
+            }
+            ServiceSamples buffer = getSamples(entry.getKey());
+            buffer.clear();
+            for (MonitoringData data : entry.getValue()) {
+                buffer.add(0L, data);
+            }
+            MonitoringData last = buffer.latest();
+            latest.put(entry.getKey(), last);
+            publishedAt = Math.max(publishedAt, last.getTimestampMillis());
+        }
+        if (snapshot.getSequence() == 0L && !latest.isEmpty()) {
+            snapshot = new MonitoringSnapshot(0L, publishedAt, latest);
+        }
+    }
+
+    /**
+     * 저장된 서버별 카운터 상태 복원 (현재 설정에 없는 서버는 무시)
+     */
+    public synchronized void restoreServerCounters(Map<String, long[]> counters) {
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            String key = entry.getKey();
+            int slash = key.indexOf('/');
+            if (slash < 0) {
+                continue;
+            }
+            ServiceInfo service = configService.getService(key.substring(0, slash));
+            if (service == null || service.findServer(key.substring(slash + 1)) == null) {
+                continue;
+            }
+            long[] values = entry.getValue();
+            ServerState state = getServerState(key.substring(0, slash), key.substring(slash + 1));
+            synchronized (state) {
+                if (!state.hasCounter) {
+                    state.sessions = values[0];
+                    state.trafficRate = values[1];
+                    state.lastCounter = values[2];
+                    state.lastCounterTime = values[3];
+                    state.hasCounter = true;
+                    state.hasValue = true;
+                    // 복원 값은 첫 폴링 응답 전까지 정상(up)으로 표시하지 않음
+                    state.lastSuccessSequence = -1L;
+                }
+            }
+        }
+    }
+
+    /**
+     * 서버별 직전 수집 상태
+     * - 세션 수는 마지막 정상 값 유지
+     * - 트래픽은 카운터 증가분으로 초당 바이트 계산 (Counter32 순환 보정)
+     */
+    private static class ServerState {
+        private static final long[] NO_VALUES = new long[0];
+        private static final boolean[] NO_FLAGS = new boolean[0];
+
+        private boolean hasValue;
+        private long sessions;
+        private long trafficRate;
+        private boolean hasCounter;
+        private long lastCounter;
+        private long lastCounterTime;
+        // 카운터 값을 마지막으로 반영한 주기 (이후 주기 표본끼리만 증가율 계산)
+        private long lastCounterSequence;
+        private long lastSuccessSequence;
+        private long lastUpdateSequence;
+        private int consecutiveErrors;
+        private PollError lastError;
+        // 재사용 폴링 콜백과 현재 주기 정보
+        private ServerCallback callback;
+        private volatile CycleTicket ticket;
+        private volatile boolean[] counterFlags;
+        // 추가 지표 (게이지 값 또는 카운터 초당 증가량), 열 수가 바뀔 때만 재할당
+        private long[] metrics = NO_VALUES;
+        private boolean[] metricPresent = NO_FLAGS;
+        private long[] metricCounters = NO_VALUES;
+        private long[] metricCounterTimes = NO_VALUES;
+
+        synchronized void update(ServerPollResult result, boolean[] counterFlags, long sequence, long now) {
+            // 이미 이후 주기 응답을 반영했으면 늦게 도착한 이전 주기 응답은 무시
+            // (이전 카운터 값과의 음수 차이가 Counter32 순환으로 보정되어 가짜 급증이 생기지 않도록)
+            if (sequence < lastUpdateSequence) {
+                return;
+            }
+            lastUpdateSequence = sequence;
+
+            if (!result.isSuccess()) {
+                consecutiveErrors++;
+                lastError = result.getErrorCode();
+                return;
+            }
+
+            sessions = result.getSessions();
+            // 같은 주기 응답이 다시 들어온 경우 카운터는 그대로 두고 게이지 값만 반영
+            boolean advance = sequence > lastCounterSequence;
+            if (advance) {
+                long counter = result.getTrafficCounter();
+                if (hasCounter && now > lastCounterTime) {
+                    long delta = counter - lastCounter;
+                    if (delta < 0 && result.getTrafficCounterRange() > 0) {
+                        delta += result.getTrafficCounterRange();
+                    }
+                    // 카운터 리셋(재부팅 등)은 직전 값 유지
+                    if (delta >= 0) {
+                        trafficRate = delta * 1000L / (now - lastCounterTime);
+                    }
+                }
+                lastCounter = counter;
+                lastCounterTime = now;
+                lastCounterSequence = sequence;
+                hasCounter = true;
+            }
+            updateMetrics(result, counterFlags, now, advance);
+            hasValue = true;
+            consecutiveErrors = 0;
+            lastError = null;
+            lastSuccessSequence = sequence;
+        }
+
+        private void updateMetrics(ServerPollResult result, boolean[] counterFlags, long now, boolean advance) {
+            int count = result.getMetricCount();
+            if (metrics.length != count) {
+                metrics = new long[count];
+                metricPresent = new boolean[count];
+                metricCounters = new long[count];
+                metricCounterTimes = new long[count];
+            }
+            for (int i = 0; i < count; i++) {
+                if (!result.hasMetric(i)) {
+                    continue;
+                }
+                long value = result.getMetricValue(i);
+                if (i >= counterFlags.length || !counterFlags[i]) {
+                    metrics[i] = value;
+                    metricPresent[i] = true;
+                    continue;
+                }
+                // 카운터: 트래픽과 같은 방식으로 초당 증가량 계산
+                if (!advance) {
+                    continue;
+                }
+                if (metricCounterTimes[i] > 0 && now > metricCounterTimes[i]) {
+                    long delta = value - metricCounters[i];
+                    if (delta < 0 && result.getMetricRange(i) > 0) {
+                        delta += result.getMetricRange(i);
+                    }
+                    if (delta >= 0) {
+                        metrics[i] = delta * 1000L / (now - metricCounterTimes[i]);
+                        metricPresent[i] = true;
+                    }
+                }
+                metricCounters[i] = value;
+                metricCounterTimes[i] = now;
+            }
+        }
+
+        void arm(CycleTicket ticket, boolean[] counterFlags) {
+            this.counterFlags = counterFlags;
+            this.ticket = ticket;
+        }
+
+        boolean isHealthy(long sequence) {
+            return hasValue && lastSuccessSequence == sequence;
+        }
+
+        synchronized PollError errorCode(long sequence) {
+            if (lastUpdateSequence != sequence) {
+                return PollError.NO_RESPONSE;
+            }
+            return lastError != null ? lastError : PollError.SNMP_ERROR;
+        }
+    }
+
+    /**
+     * 폴링 주기 정보 (주기마다 1개, 서버 콜백이 현재 주기 응답인지 판단하는 데 사용)
+     */
+    private static final class CycleTicket {
+        final long sequence;
+        final CountDownLatch latch;
+
+        CycleTicket(long sequence, CountDownLatch latch) {
+            this.sequence = sequence;
+            this.latch = latch;
+        }
+    }
+
+    /**
+     * 서버별 폴링 콜백 (서버 상태와 함께 1회 생성하여 매 주기 재사용)
+     * - 응답의 요청 태그(주기 번호)가 현재 주기와 같을 때만 주기 대기 해제 (늦게 도착한 이전 주기 응답은 값만 반영)
+     */
+    private final class ServerCallback implements SnmpService.PollCallback {
+        private final String serviceId;
+        private final ServerState state;
+
+        ServerCallback(String serviceId, ServerState state) {
+            this.serviceId = serviceId;
+            this.state = state;
+        }
+
+        public void onPollComplete(ServerPollResult result) {
+            CycleTicket current = state.ticket;
+            try {
+                state.update(result, state.counterFlags, result.getTag(), System.currentTimeMillis());
+                if (!result.isSuccess()) {
+                    FlightEvents.snmpFailure(serviceId, result.getIp(), String.valueOf(result.getErrorCode()),
+                            result.getLatencyNanos());
+                }
+                notifyPollResult(serviceId, result);
+            } finally {
+                if (current != null && current.sequence == result.getTag()) {
+                    current.latch.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * 서비스별 폴링/집계 슬롯
+     * - 서버 목록과 서버 상태를 같은 순서의 배열로 보관 (주기마다 키 문자열 생성/맵 조회 없음)
+     * - 집계 레코드와 합계 배열은 주기마다 덮어써서 재사용 (저장소에는 값만 복사)
+     */
+    private static final class ServiceSlot {
+        final ServiceInfo service;
+        final int[] metricIds;
+        final ServiceInfo.ServerInfo[] nbpServers;
+        final ServerState[] nbpStates;
+        final ServiceInfo.ServerInfo[] drServers;
+        final ServerState[] drStates;
+        final MonitoringData record = new MonitoringData();
+        final long[] nbpSums;
+        final long[] drSums;
+        final int[] counts;
+        final long[] nbpMetrics;
+        final long[] drMetrics;
+        long aggregatedSequence;
+
+        ServiceSlot(ServiceInfo service, ServiceInfo.ServerInfo[] nbpServers, ServerState[] nbpStates,
+                    ServiceInfo.ServerInfo[] drServers, ServerState[] drStates) {
+            this.service = service;
+            this.nbpServers = nbpServers;
+            this.nbpStates = nbpStates;
+            this.drServers = drServers;
+            this.drStates = drStates;
+            this.metricIds = service.getSnmpConfig().getMetricIds();
+            int metricCount = metricIds.length;
+            this.nbpSums = new long[2 + metricCount];
+            this.drSums = new long[2 + metricCount];
+            this.counts = new int[metricCount];
+            this.nbpMetrics = new long[metricCount];
+            this.drMetrics = new long[metricCount];
+            record.setServiceId(service.getServiceId());
+            if (metricCount > 0) {
+                record.setMetrics(metricIds, nbpMetrics, drMetrics);
+            }
+        }
+
+        int activeServerCount() {
+            return count(nbpServers) + count(drServers);
+        }
+
+        private static int count(ServiceInfo.ServerInfo[] servers) {
+            int count = 0;
+            for (int i = 0; i < servers.length; i++) {
+                if (servers[i].isEnabled()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 폴링 성능 지표 수집 서비스
+ * - 에이전트(서버)별 / 서비스별 응답 지연 히스토그램
+ * - 타임아웃, 오류, 연속 실패 횟수
+ * - 폴링 주기 소요 시간 및 주기 초과(overrun) 횟수
+ */
+@Service
+public class PollMetricsService implements MonitoringService.PollResultListener,
+        MonitoringService.PollCycleListener, ConfigService.ServiceConfigChangeListener {
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Autowired
+    private SnmpService snmpService;
+
+    // 에이전트별 지표 (키: 서비스ID/IP)
+    private final ConcurrentHashMap<String, AgentMetrics> agentMetrics = new ConcurrentHashMap<String, AgentMetrics>();
+
+    // 서비스별 지표
+    private final ConcurrentHashMap<String, AgentMetrics> serviceMetrics = new ConcurrentHashMap<String, AgentMetrics>();
+
+    // 폴링 주기 지표
+    private final LatencyHistogram cycleHistogram = new LatencyHistogram();
+    private final AtomicLong cycleCount = new AtomicLong();
+    private final AtomicLong cycleOverruns = new AtomicLong();
+    private final AtomicLong incompleteCycles = new AtomicLong();
+    private volatile long lastCycleMillis;
+
+    // SNMP 요청 결과 누계
+    private final AtomicLong totalRequests = new AtomicLong();
+    private final AtomicLong totalTimeouts = new AtomicLong();
+    private final AtomicLong totalErrors = new AtomicLong();
+
+    @PostConstruct
+    public void initialize() {
+        monitoringService.addPollResultListener(this);
+        monitoringService.addPollCycleListener(this);
+        configService.addServiceConfigChangeListener(this);
+    }
+
+    /**
+     * 서버 폴링 응답 기록 (SNMP 응답 수신 스레드에서 호출)
+     */
+    public void onPollResult(String serviceId, ServerPollResult result) {
+        totalRequests.incrementAndGet();
+        if (result.isTimeout()) {
+            totalTimeouts.incrementAndGet();
+        } else if (!result.isSuccess()) {
+            totalErrors.incrementAndGet();
+        }
+        getMetrics(agentMetrics, serviceId + "/" + result.getIp()).record(result);
+        getMetrics(serviceMetrics, serviceId).record(result);
+    }
+
+    /**
+     * 폴링 주기 완료 기록
+     */
+    public void onPollCycleCompleted(PollCycleStats stats) {
+        cycleCount.incrementAndGet();
+        lastCycleMillis = stats.getDurationMillis();
+        cycleHistogram.recordMicros(stats.getDurationMillis() * 1000L);
+        if (stats.getDurationMillis() > configService.getPollingInterval()) {
+            cycleOverruns.incrementAndGet();
+        }
+        if (!stats.isCompleted()) {
+            incompleteCycles.incrementAndGet();
+        }
+    }
+
+    /**
+     * 설정 변경 시 제거된 서비스/서버 지표 정리
+     */
+    public void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        for (String key : new ArrayList<String>(agentMetrics.keySet())) {
+            ServiceInfo service = newServiceConfig.get(key.substring(0, key.indexOf('/')));
+            if (service == null || service.findServer(key.substring(key.indexOf('/') + 1)) == null) {
+                agentMetrics.remove(key);
+            }
+        }
+        for (String serviceId : new ArrayList<String>(serviceMetrics.keySet())) {
+            if (!newServiceConfig.containsKey(serviceId)) {
+                serviceMetrics.remove(serviceId);
+            }
+        }
+    }
+
+    /**
+     * 전체 지표 보고서 (Actuator 엔드포인트 응답)
+     * - 에이전트는 p99 지연이 큰 순서로 정렬
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+
+        Map<String, Object> cycles = new LinkedHashMap<String, Object>();
+        cycles.put("count", cycleCount.get());
+        cycles.put("overruns", cycleOverruns.get());
+        cycles.put("incomplete", incompleteCycles.get());
+        cycles.put("intervalMs", configService.getPollingInterval());
+        cycles.put("lastDurationMs", lastCycleMillis);
+        cycles.put("durationMs", percentiles(cycleHistogram.snapshot()));
+        report.put("cycles", cycles);
+
+        Map<String, Object> snmp = new LinkedHashMap<String, Object>();
+        snmp.put("requests", totalRequests.get());
+        snmp.put("timeouts", totalTimeouts.get());
+        snmp.put("errors", totalErrors.get());
+        snmp.put("retries", snmpService.getRetryCount());
+        snmp.put("v3", snmpService.getV3Stats());
+        snmp.put("transport", snmpService.getTransportStats());
+        report.put("snmp", snmp);
+
+        Map<String, Object> services = new LinkedHashMap<String, Object>();
+        for (String serviceId : sortedKeys(serviceMetrics)) {
+            services.put(serviceId, serviceMetrics.get(serviceId).toMap());
+        }
+        report.put("services", services);
+
+        Map<String, Object> agents = new LinkedHashMap<String, Object>();
+        for (String key : sortedKeys(agentMetrics)) {
+            String serviceId = key.substring(0, key.indexOf('/'));
+            String ip = key.substring(key.indexOf('/') + 1);
+            Map<String, Object> agent = new LinkedHashMap<String, Object>();
+            agent.put("serviceId", serviceId);
+            agent.put("ip", ip);
+            describeServer(configService.getService(serviceId), ip, agent);
+            agent.putAll(agentMetrics.get(key).toMap());
+            agents.put(key, agent);
+        }
+        report.put("agents", agents);
+
+        return report;
+    }
+
+    /**
+     * p99 지연 내림차순 키 목록
+     */
+    private static List<String> sortedKeys(final Map<String, AgentMetrics> metrics) {
+        final Map<String, Long> p99 = new ConcurrentHashMap<String, Long>();
+        for (Map.Entry<String, AgentMetrics> entry : metrics.entrySet()) {
+            p99.put(entry.getKey(), entry.getValue().histogram.getValueAtPercentile(99.0));
+        }
+        List<String> keys = new ArrayList<String>(p99.keySet());
+        Collections.sort(keys, new Comparator<String>() {
+            public int compare(String a, String b) {
+                int byLatency = p99.get(b).compareTo(p99.get(a));
+                return byLatency != 0 ? byLatency : a.compareTo(b);
+            }
+        });
+        return keys;
+    }
+
+    private static void describeServer(ServiceInfo service, String ip, Map<String, Object> agent) {
+        if (service == null) {
+            return;
+        }
+        ServiceInfo.ServerInfo server = service.findServer(ip);
+        if (server != null) {
+            agent.put("name", server.getName());
+            agent.put("role", service.isNbpServer(ip) ? "NBP" : "DR");
+        }
+    }
+
+    private static AgentMetrics getMetrics(ConcurrentHashMap<String, AgentMetrics> metrics, String key) {
+        AgentMetrics result = metrics.get(key);
+        if (result == null) {
+            AgentMetrics created = new AgentMetrics();
+            result = metrics.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 히스토그램 백분위수 (밀리초)
+     */
+    private static Map<String, Object> percentiles(LatencyHistogram.Snapshot snapshot) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("count", snapshot.getTotalCount());
+        map.put("p50", toMillis(snapshot.getValueAtPercentile(50.0)));
+        map.put("p90", toMillis(snapshot.getValueAtPercentile(90.0)));
+        map.put("p99", toMillis(snapshot.getValueAtPercentile(99.0)));
+        map.put("max", toMillis(snapshot.getMaxMicros()));
+        return map;
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    /**
+     * 에이전트/서비스 단위 지표
+     */
+    private static class AgentMetrics {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        void record(ServerPollResult result) {
+            if (result.isSuccess()) {
+                histogram.recordNanos(result.getLatencyNanos());
+                consecutiveFailures.set(0);
+                return;
+            }
+            if (result.isTimeout()) {
+                timeouts.incrementAndGet();
+            } else {
+                errors.incrementAndGet();
+            }
+            consecutiveFailures.incrementAndGet();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<String, Object>();
+            map.put("latencyMs", percentiles(histogram.snapshot()));
+            map.put("timeouts", timeouts.get());
+            map.put("errors", errors.get());
+            map.put("consecutiveFailures", consecutiveFailures.get());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prometheus 텍스트 형식 지표 출력 서비스
+ * - 폴링 주기가 스냅샷을 게시할 때 1회만 본문을 생성하고, 모든 수집 요청에 같은 바이트를 그대로 전달
+ * - 라벨 문자열은 설정이 바뀔 때만 다시 생성
+ * - 서비스 값은 집계 시 재사용 레코드에서 라벨별 필드로 복사, 서버 값은 미리 만든 키로 조회
+ *   (렌더링 중에는 스냅샷의 MonitoringData를 만들지 않으며, 주기마다 새로 만드는 객체는 본문 byte[] 하나)
+ */
+@Service
+public class PrometheusExportService implements MonitoringService.PollCycleListener,
+        MonitoringService.ServiceAggregateListener, ConfigService.ServiceConfigChangeListener {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    // 설정 버전별 라벨 문자열 (설정 변경 시 null로 초기화)
+    private volatile List<ServiceLabels> labels;
+    private volatile Map<String, ServiceLabels> labelsById;
+
+    // 본문 생성용 버퍼 (주기마다 재사용, 렌더링은 폴링 스레드에서만 수행)
+    private final StringBuilder renderBuffer = new StringBuilder(16 * 1024);
+    private final long[] serverValues = new long[3];
+    private final CharsetEncoder encoder = UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private CharBuffer renderChars = CharBuffer.allocate(16 * 1024);
+    private ByteBuffer renderBytes = ByteBuffer.allocate(48 * 1024);
+
+    // 마지막으로 생성된 본문
+    private volatile byte[] body = new byte[0];
+
+    @PostConstruct
+    public void initialize() {
+        monitoringService.addServiceAggregateListener(this);
+        monitoringService.addPollCycleListener(this);
+        configService.addServiceConfigChangeListener(this);
+    }
+
+    /**
+     * 폴링 주기 완료 시 본문 생성
+     */
+    public void onPollCycleCompleted(PollCycleStats stats) {
+        MonitoringSnapshot snapshot = monitoringService.getSnapshot();
+        render(snapshot.getSequence(), snapshot.getPublishedAt());
+    }
+
+    /**
+     * 서비스 집계 시 값 복사 (data는 재사용 레코드이므로 값만 보관)
+     */
+    public synchronized void onServiceAggregated(ServiceInfo service, MonitoringData data, long sequence) {
+        ServiceLabels target = currentLabels().get(service.getServiceId());
+        if (target != null) {
+            target.capture(data, sequence);
+        }
+    }
+
+    /**
+     * 설정 변경 시 다음 렌더링에서 라벨 재생성
+     */
+    public synchronized void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        labels = null;
+        labelsById = null;
+    }
+
+    /**
+     * 마지막으로 생성된 Prometheus 본문 (호출자는 내용을 변경하지 않아야 함)
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    private Map<String, ServiceLabels> currentLabels() {
+        Map<String, ServiceLabels> current = labelsById;
+        if (current == null) {
+            List<ServiceLabels> list = buildLabels(configService.getAllServices());
+            current = new HashMap<String, ServiceLabels>();
+            for (ServiceLabels service : list) {
+                current.put(service.serviceId, service);
+            }
+            labels = list;
+            labelsById = current;
+        }
+        return current;
+    }
+
+    /**
+     * sequence 주기에 집계된 서비스 값과 서버별 직전 값을 Prometheus 텍스트 형식으로 변환
+     */
+    synchronized void render(long sequence, long publishedAt) {
+        currentLabels();
+        List<ServiceLabels> current = labels;
+
+        StringBuilder sb = renderBuffer;
+        sb.setLength(0);
+
+        header(sb, "nbp_dr_snapshot_timestamp_seconds", "Time the current poll snapshot was published.");
+        sb.append("nbp_dr_snapshot_timestamp_seconds ").append(publishedAt / 1000L).append('\n');
+        header(sb, "nbp_dr_snapshot_sequence", "Poll cycle sequence number of the current snapshot.");
+        sb.append("nbp_dr_snapshot_sequence ").append(sequence).append('\n');
+
+        header(sb, "nbp_dr_service_sessions", "Sum of sessions per service and site.");
+        for (int s = 0; s < current.size(); s++) {
+            ServiceLabels service = current.get(s);
+            if (service.sequence == sequence) {
+                sb.append("nbp_dr_service_sessions").append(service.nbpLabels).append(' ')
+                        .append(service.nbpSessions).append('\n');
+                sb.append("nbp_dr_service_sessions").append(service.drLabels).append(' ')
+                        .append(service.drSessions).append('\n');
+            }
+        }
+
+        header(sb, "nbp_dr_service_traffic_bytes_per_second", "Sum of traffic per service and site.");
+        for (int s = 0; s < current.size(); s++) {
+            ServiceLabels service = current.get(s);
+            if (service.sequence == sequence) {
+                sb.append("nbp_dr_service_traffic_bytes_per_second").append(service.nbpLabels).append(' ')
+                        .append(service.nbpTraffic).append('\n');
+                sb.append("nbp_dr_service_traffic_bytes_per_second").append(service.drLabels).append(' ')
+                        .append(service.drTraffic).append('\n');
+            }
+        }
+
+        header(sb, "nbp_dr_service_error", "1 if any server of the service failed in the last poll cycle.");
+        for (int s = 0; s < current.size(); s++) {
+            ServiceLabels service = current.get(s);
+            if (service.sequence == sequence) {
+                sb.append("nbp_dr_service_error").append(service.serviceLabels).append(' ')
+                        .append(service.hasError ? 1 : 0).append('\n');
+            }
+        }
+
+        header(sb, "nbp_dr_service_metric", "Configured SNMP metric per service and site (sum, avg or max of servers).");
+        for (int s = 0; s < current.size(); s++) {
+            ServiceLabels service = current.get(s);
+            if (service.sequence == sequence && service.metricsCaptured) {
+                for (int i = 0; i < service.metricIds.length; i++) {
+                    sb.append("nbp_dr_service_metric").append(service.nbpMetricLabels[i]).append(' ')
+                            .append(service.nbpMetrics[i]).append('\n');
+                    sb.append("nbp_dr_service_metric").append(service.drMetricLabels[i]).append(' ')
+                            .append(service.drMetrics[i]).append('\n');
+                }
+            }
+        }
+
+        renderServers(sb, current, "nbp_dr_server_sessions", "Sessions per server.", 0);
+        renderServers(sb, current, "nbp_dr_server_traffic_bytes_per_second", "Traffic per server.", 1);
+        renderServers(sb, current, "nbp_dr_server_up", "1 if the server answered the last poll cycle.", 2);
+
+        body = encode(sb);
+    }
+
+    /**
+     * 재사용 버퍼로 UTF-8 인코딩 (새로 만드는 객체는 결과 byte[] 하나)
+     */
+    private byte[] encode(StringBuilder sb) {
+        int length = sb.length();
+        if (renderChars.capacity() < length) {
+            renderChars = CharBuffer.allocate(Math.max(length, renderChars.capacity() * 2));
+        }
+        if (renderBytes.capacity() < length * 3) {
+            renderBytes = ByteBuffer.allocate(Math.max(length * 3, renderBytes.capacity() * 2));
+        }
+        sb.getChars(0, length, renderChars.array(), 0);
+        renderChars.clear();
+        renderChars.limit(length);
+        renderBytes.clear();
+        encoder.reset();
+        encoder.encode(renderChars, renderBytes, true);
+        encoder.flush(renderBytes);
+        return Arrays.copyOf(renderBytes.array(), renderBytes.position());
+    }
+
+    private void renderServers(StringBuilder sb, List<ServiceLabels> current, String name, String help, int column) {
+        header(sb, name, help);
+        for (int s = 0; s < current.size(); s++) {
+            ServiceLabels service = current.get(s);
+            for (int i = 0; i < service.serverKeys.length; i++) {
+                if (monitoringService.copyServerValues(service.serverKeys[i], serverValues)) {
+                    sb.append(name).append(service.serverLabels[i]).append(' ')
+                            .append(serverValues[column]).append('\n');
+                }
+            }
+        }
+    }
+
+    private static void header(StringBuilder sb, String name, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+    }
+
+    /**
+     * 설정 정보로부터 라벨 문자열 생성 (서비스 ID 순 정렬)
+     */
+    static List<ServiceLabels> buildLabels(Map<String, ServiceInfo> services) {
+        List<String> serviceIds = new ArrayList<String>(services.keySet());
+        Collections.sort(serviceIds);
+
+        List<ServiceLabels> result = new ArrayList<ServiceLabels>(serviceIds.size());
+        for (String serviceId : serviceIds) {
+            ServiceInfo service = services.get(serviceId);
+            if (!service.isEnabled()) {
+                continue;
+            }
+            result.add(new ServiceLabels(service));
+        }
+        return result;
+    }
+
+    /**
+     * Prometheus 라벨 값 escape (\, ", 줄바꿈)
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 서비스별 미리 생성된 라벨 문자열
+     */
+    static class ServiceLabels {
+        final String serviceId;
+        final String serviceLabels;
+        final String nbpLabels;
+        final String drLabels;
+        final int[] metricIds;
+        final String[] nbpMetricLabels;
+        final String[] drMetricLabels;
+        final String[] serverKeys;
+        final String[] serverLabels;
+
+        // 마지막으로 집계된 값 (sequence 주기 값, render와 같은 잠금 안에서 갱신)
+        long sequence = -1L;
+        long nbpSessions;
+        long drSessions;
+        long nbpTraffic;
+        long drTraffic;
+        boolean hasError;
+        boolean metricsCaptured;
+        final long[] nbpMetrics;
+        final long[] drMetrics;
+
+        ServiceLabels(ServiceInfo service) {
+            this.serviceId = service.getServiceId();
+            String base = "service=\"" + escape(service.getServiceId())
+                    + "\",type=\"" + escape(service.getMonitoringType()) + "\"";
+            this.serviceLabels = "{" + base + "}";
+            this.nbpLabels = "{" + base + ",site=\"nbp\"}";
+            this.drLabels = "{" + base + ",site=\"dr\"}";
+
+            this.metricIds = service.getSnmpConfig() != null ? service.getSnmpConfig().getMetricIds() : new int[0];
+            this.nbpMetricLabels = new String[metricIds.length];
+            this.drMetricLabels = new String[metricIds.length];
+            this.nbpMetrics = new long[metricIds.length];
+            this.drMetrics = new long[metricIds.length];
+            for (int i = 0; i < metricIds.length; i++) {
+                String metric = ",metric=\"" + escape(MetricRegistry.name(metricIds[i])) + "\"";
+                nbpMetricLabels[i] = "{" + base + ",site=\"nbp\"" + metric + "}";
+                drMetricLabels[i] = "{" + base + ",site=\"dr\"" + metric + "}";
+            }
+
+            List<String> keys = new ArrayList<String>();
+            List<String> serverLabelList = new ArrayList<String>();
+            addServers(serviceId, service.getNbpServers(), base + ",site=\"nbp\"", keys, serverLabelList);
+            addServers(serviceId, service.getDrServers(), base + ",site=\"dr\"", keys, serverLabelList);
+            this.serverKeys = keys.toArray(new String[keys.size()]);
+            this.serverLabels = serverLabelList.toArray(new String[serverLabelList.size()]);
+        }
+
+        /**
+         * 집계 값 복사 (설정 재로딩 전 데이터는 열 구성이 다를 수 있으므로 같은 지표 ID 배열인 경우만 지표 복사)
+         */
+        void capture(MonitoringData data, long sequence) {
+            this.sequence = sequence;
+            nbpSessions = data.getNbpSessions();
+            drSessions = data.getDrSessions();
+            nbpTraffic = data.getNbpTraffic();
+            drTraffic = data.getDrTraffic();
+            hasError = data.isHasError();
+            metricsCaptured = data.getMetricIds() == metricIds;
+            if (metricsCaptured && metricIds.length > 0) {
+                System.arraycopy(data.getNbpMetrics(), 0, nbpMetrics, 0, metricIds.length);
+                System.arraycopy(data.getDrMetrics(), 0, drMetrics, 0, metricIds.length);
+            }
+        }
+
+        private static void addServers(String serviceId, List<ServiceInfo.ServerInfo> servers, String base,
+                                       List<String> keys, List<String> serverLabelList) {
+            if (servers == null) {
+                return;
+            }
+            for (ServiceInfo.ServerInfo server : servers) {
+                if (!server.isEnabled()) {
+                    continue;
+                }
+                keys.add(MonitoringService.serverKey(serviceId, server.getIp()));
+                serverLabelList.add("{" + base + ",server=\"" + escape(server.getIp())
+                        + "\",name=\"" + escape(server.getName()) + "\"}");
+            }
+        }
+    }
+}
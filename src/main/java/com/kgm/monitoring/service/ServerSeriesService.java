@@ -0,0 +1,300 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.CompressedSeries;
+import com.kgm.monitoring.util.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버별 시계열 저장 서비스
+ * - 폴링 주기마다 서버별 세션 수/트래픽/추가 지표를 압축 시계열(CompressedSeries)에 추가
+ * - 추가 지표는 세션 수/트래픽 다음 열에 설정 순서대로 저장 (미수집 값은 -1)
+ * - 서비스의 추가 지표 구성이 바뀌면 해당 서비스 시계열을 새로 시작
+ * - 응답하지 않은 서버는 해당 시점을 기록하지 않음 (조회 시 공백으로 표시)
+ * - NBP/DR 비율이 틀어졌을 때 원인 서버를 찾기 위한 상세 조회 제공
+ */
+@Service
+public class ServerSeriesService implements MonitoringService.PollCycleListener,
+        ConfigService.ServiceConfigChangeListener {
+
+    static final int SESSIONS = 0;
+    static final int TRAFFIC = 1;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${monitoring.series.retention.hours:24}")
+    private int retentionHours = 24;
+
+    // 서버별 시계열 (키: 서비스ID/IP)
+    private final ConcurrentHashMap<String, CompressedSeries> series = new ConcurrentHashMap<String, CompressedSeries>();
+
+    // 시계열 생성 시점의 서비스별 추가 지표 ID
+    private final ConcurrentHashMap<String, int[]> seriesMetricIds = new ConcurrentHashMap<String, int[]>();
+
+    // 폴링 스레드 전용 버퍼 (추가 지표 수가 늘어날 때만 재할당)
+    private long[] serverValues = new long[3];
+    private long[] row = new long[2];
+
+    // 서비스별 기록 대상 서버 키 (설정 변경 시 null로 초기화, 다음 주기에 다시 생성)
+    private volatile List<SeriesTargets> targets;
+
+    @PostConstruct
+    public void initialize() {
+        monitoringService.addPollCycleListener(this);
+        configService.addServiceConfigChangeListener(this);
+    }
+
+    /**
+     * 폴링 주기 완료 시 정상 응답한 서버 값 기록 및 보관 기간 경과 블록 삭제
+     */
+    public void onPollCycleCompleted(PollCycleStats stats) {
+        MonitoringSnapshot snapshot = monitoringService.getSnapshot();
+        long timestamp = snapshot.getPublishedAt() / 1000L;
+        long oldest = timestamp - retentionHours * 3600L;
+        List<SeriesTargets> current = targets;
+        if (current == null) {
+            current = buildTargets(configService.getEnabledServices());
+            targets = current;
+        }
+        for (int s = 0; s < current.size(); s++) {
+            SeriesTargets target = current.get(s);
+            if (serverValues.length < 1 + target.columns) {
+                serverValues = new long[1 + target.columns];
+                row = new long[target.columns];
+            }
+            seriesMetricIds.putIfAbsent(target.serviceId, target.metricIds);
+            for (int i = 0; i < target.serverKeys.length; i++) {
+                record(target.serverKeys[i], target.columns, timestamp, oldest);
+            }
+        }
+    }
+
+    private void record(String serverKey, int columns, long timestamp, long oldest) {
+        if (!monitoringService.copyServerValues(serverKey, serverValues) || serverValues[2] == 0L) {
+            return;
+        }
+        row[SESSIONS] = serverValues[0];
+        row[TRAFFIC] = serverValues[1];
+        for (int c = 2; c < columns; c++) {
+            row[c] = serverValues[c + 1];
+        }
+        CompressedSeries serverSeries = getSeries(serverKey, columns);
+        serverSeries.append(timestamp, row);
+        serverSeries.removeBefore(oldest);
+    }
+
+    /**
+     * 사용 중인 서비스의 기록 대상 서버 키 생성 (사용 중인 서버만, NBP → DR 순)
+     */
+    private static List<SeriesTargets> buildTargets(List<ServiceInfo> services) {
+        List<SeriesTargets> result = new ArrayList<SeriesTargets>(services.size());
+        for (ServiceInfo service : services) {
+            List<String> keys = new ArrayList<String>();
+            addServerKeys(service.getServiceId(), service.getNbpServers(), keys);
+            addServerKeys(service.getServiceId(), service.getDrServers(), keys);
+            result.add(new SeriesTargets(service.getServiceId(), service.getSnmpConfig().getMetricIds(),
+                    keys.toArray(new String[keys.size()])));
+        }
+        return result;
+    }
+
+    private static void addServerKeys(String serviceId, List<ServiceInfo.ServerInfo> servers, List<String> keys) {
+        if (servers == null) {
+            return;
+        }
+        for (ServiceInfo.ServerInfo server : servers) {
+            if (server.isEnabled()) {
+                keys.add(MonitoringService.serverKey(serviceId, server.getIp()));
+            }
+        }
+    }
+
+    /**
+     * 설정 변경 시 제거된 서비스/서버 및 추가 지표 구성이 바뀐 서비스 시계열 삭제
+     */
+    public void onServiceConfigChanged(Map<String, ServiceInfo> newServiceConfig) {
+        targets = null;
+        for (String serviceId : new ArrayList<String>(seriesMetricIds.keySet())) {
+            ServiceInfo service = newServiceConfig.get(serviceId);
+            if (service == null
+                    || !Arrays.equals(seriesMetricIds.get(serviceId), service.getSnmpConfig().getMetricIds())) {
+                seriesMetricIds.remove(serviceId);
+                for (String key : new ArrayList<String>(series.keySet())) {
+                    if (key.startsWith(serviceId + "/")) {
+                        series.remove(key);
+                    }
+                }
+            }
+        }
+        for (String key : new ArrayList<String>(series.keySet())) {
+            ServiceInfo service = newServiceConfig.get(key.substring(0, key.indexOf('/')));
+            if (service == null || service.findServer(key.substring(key.indexOf('/') + 1)) == null) {
+                series.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 서비스의 서버별 현재 값 (NBP → DR 순)
+     * @return 서비스가 없으면 null
+     */
+    public List<Map<String, Object>> getServerBreakdown(String serviceId) {
+        ServiceInfo service = configService.getService(serviceId);
+        if (service == null) {
+            return null;
+        }
+        List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+        addBreakdown(serviceId, service.getNbpServers(), "NBP", result);
+        addBreakdown(serviceId, service.getDrServers(), "DR", result);
+        return result;
+    }
+
+    private void addBreakdown(String serviceId, List<ServiceInfo.ServerInfo> servers, String role,
+                              List<Map<String, Object>> result) {
+        if (servers == null) {
+            return;
+        }
+        int[] metricIds = configService.getService(serviceId).getSnmpConfig().getMetricIds();
+        long[] values = new long[3 + metricIds.length];
+        for (ServiceInfo.ServerInfo server : servers) {
+            Map<String, Object> map = describe(server, role);
+            if (monitoringService.copyServerValues(serviceId, server.getIp(), values)) {
+                map.put("sessions", values[0]);
+                map.put("traffic", values[1]);
+                map.put("up", values[2] == 1L);
+                if (metricIds.length > 0) {
+                    Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+                    for (int i = 0; i < metricIds.length; i++) {
+                        metrics.put(MetricRegistry.name(metricIds[i]), values[3 + i] >= 0 ? values[3 + i] : null);
+                    }
+                    map.put("metrics", metrics);
+                }
+            } else {
+                map.put("up", false);
+            }
+            result.add(map);
+        }
+    }
+
+    /**
+     * 서버 시계열 조회 (열 단위 배열)
+     * - timestamps: epoch 밀리초, sessions: 세션 수, traffic: bytes/s
+     * - metrics: 추가 지표 이름별 값 배열 (미수집 -1)
+     * @return 서비스/서버가 없으면 null
+     */
+    public Map<String, Object> getServerHistory(String serviceId, String ip, long fromMillis, long toMillis) {
+        ServiceInfo service = configService.getService(serviceId);
+        ServiceInfo.ServerInfo server = service != null ? service.findServer(ip) : null;
+        if (server == null) {
+            return null;
+        }
+        Map<String, Object> result = describe(server, service.isNbpServer(ip) ? "NBP" : "DR");
+        result.put("serviceId", serviceId);
+
+        CompressedSeries serverSeries = series.get(serviceId + "/" + ip);
+        CompressedSeries.Points points = serverSeries != null
+                ? serverSeries.read(fromMillis / 1000L, toMillis / 1000L)
+                : null;
+        int count = points != null ? points.size() : 0;
+        long[] timestamps = new long[count];
+        long[] sessions = new long[count];
+        long[] traffic = new long[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = points.getTimestamps()[i] * 1000L;
+            sessions[i] = points.getValues(SESSIONS)[i];
+            traffic[i] = points.getValues(TRAFFIC)[i];
+        }
+        result.put("timestamps", timestamps);
+        result.put("sessions", sessions);
+        result.put("traffic", traffic);
+
+        int[] metricIds = seriesMetricIds.get(serviceId);
+        if (metricIds != null && metricIds.length > 0) {
+            Map<String, Object> metrics = new LinkedHashMap<String, Object>();
+            for (int m = 0; m < metricIds.length; m++) {
+                long[] column = new long[count];
+                if (count > 0 && serverSeries.getColumns() > 2 + m) {
+                    System.arraycopy(points.getValues(2 + m), 0, column, 0, count);
+                }
+                metrics.put(MetricRegistry.name(metricIds[m]), column);
+            }
+            result.put("metrics", metrics);
+        }
+        return result;
+    }
+
+    /**
+     * 전체 시계열 저장 현황 (서버 수, 데이터 수, 인코딩 바이트 수)
+     */
+    public Map<String, Object> getStorageStats() {
+        long points = 0;
+        long bytes = 0;
+        for (CompressedSeries serverSeries : series.values()) {
+            points += serverSeries.size();
+            bytes += serverSeries.encodedBytes();
+        }
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        stats.put("servers", series.size());
+        stats.put("points", points);
+        stats.put("encodedBytes", bytes);
+        stats.put("retentionHours", retentionHours);
+        return stats;
+    }
+
+    private CompressedSeries getSeries(String key, int columns) {
+        CompressedSeries result = series.get(key);
+        if (result == null || result.getColumns() != columns) {
+            if (result != null) {
+                series.remove(key, result);
+            }
+            CompressedSeries created = new CompressedSeries(columns);
+            result = series.putIfAbsent(key, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Object> describe(ServiceInfo.ServerInfo server, String role) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("ip", server.getIp());
+        map.put("name", server.getName());
+        map.put("role", role);
+        map.put("enabled", server.isEnabled());
+        return map;
+    }
+
+    /**
+     * 서비스별 기록 대상 (열 수 = 세션 수/트래픽 + 추가 지표 수)
+     */
+    private static class SeriesTargets {
+        final String serviceId;
+        final int[] metricIds;
+        final int columns;
+        final String[] serverKeys;
+
+        SeriesTargets(String serviceId, int[] metricIds, String[] serverKeys) {
+            this.serviceId = serviceId;
+            this.metricIds = metricIds;
+            this.columns = 2 + metricIds.length;
+            this.serverKeys = serverKeys;
+        }
+    }
+}
@@ -1,15 +1,855 @@
 package com.kgm.monitoring.service;
 
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.VirtualThreads;
+import org.snmp4j.CommunityTarget;
+import org.snmp4j.MessageDispatcher;
+import org.snmp4j.MessageDispatcherImpl;
+import org.snmp4j.PDU;
+import org.snmp4j.ScopedPDU;
+import org.snmp4j.Snmp;
+import org.snmp4j.Target;
+import org.snmp4j.UserTarget;
+import org.snmp4j.event.CounterEvent;
+import org.snmp4j.event.CounterListener;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.event.ResponseListener;
+import org.snmp4j.mp.MPv1;
+import org.snmp4j.mp.MPv2c;
+import org.snmp4j.mp.MPv3;
+import org.snmp4j.mp.SnmpConstants;
+import org.snmp4j.security.AuthHMAC128SHA224;
+import org.snmp4j.security.AuthHMAC192SHA256;
+import org.snmp4j.security.AuthHMAC256SHA384;
+import org.snmp4j.security.AuthHMAC384SHA512;
+import org.snmp4j.security.AuthMD5;
+import org.snmp4j.security.AuthSHA;
+import org.snmp4j.security.PrivAES128;
+import org.snmp4j.security.PrivAES192;
+import org.snmp4j.security.PrivAES256;
+import org.snmp4j.security.PrivDES;
+import org.snmp4j.security.SecurityLevel;
+import org.snmp4j.security.SecurityProtocols;
+import org.snmp4j.security.USM;
+import org.snmp4j.smi.Address;
+import org.snmp4j.smi.Counter32;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.UdpAddress;
+import org.snmp4j.smi.Variable;
+import org.snmp4j.smi.VariableBinding;
+import org.snmp4j.transport.DefaultUdpTransportMapping;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * SNMP 통신 서비스
  * - SNMP 폴링 수행
- * - 세션 수/트래픽 지표 수집
+ * - 세션 수/트래픽 지표 및 서비스별 추가 지표 수집
  * - SNMP 오류 처리
+ *
+ * SNMPv3 (USM):
+ * - 에이전트별 엔진 ID는 첫 요청 때 별도 스레드에서 한 번만 탐색하여 보관 (이후 요청은 탐색 왕복 없음)
+ * - 같은 주소의 탐색은 하나만 진행하고 그동안의 요청은 그 결과를 기다림, 탐색 대기열은 크기 제한
+ * - 탐색에 실패한 주소는 monitoring.snmp.v3.discovery.backoff 동안 다시 탐색하지 않고 즉시 실패
+ * - 사용자 암호는 엔진 ID별로 한 번만 지역화 키로 변환하여 USM에 등록 (요청마다 키 계산 없음)
+ * - 엔진 ID 불일치/시간 창 오류 보고를 받으면 해당 에이전트 캐시를 지우고 다음 요청에서 다시 탐색
+ *
+ * 전송 분산:
+ * - UDP 소켓(수신 스레드 포함)을 여러 개 열고 에이전트 주소 해시로 나누어 사용 (같은 에이전트는 항상 같은 소켓)
+ * - 소켓별 수신 버퍼를 키워 응답이 몰릴 때 커널에서 버려지는 패킷을 줄임
+ * - 에이전트별 미응답 요청 수를 제한하고 초과 요청은 대기열에 두었다가 응답 수신 시 전송 (대기열도 차면 즉시 실패)
+ *
+ * 적응형 타임아웃:
+ * - 에이전트별 응답 시간의 평활 평균/편차(TCP RTO 방식)로 요청 타임아웃(= 재전송 간격)을 정함
+ * - 설정 타임아웃(snmp.timeout)은 상한, monitoring.snmp.timeout.min은 하한 (측정값이 없으면 설정값)
+ * - 재전송이 있었을 수 있는 응답은 측정에서 제외, 최종 타임아웃 시 해당 에이전트 타임아웃을 2배로 늘림
  */
 @Service
 public class SnmpService {
-    
-    // TODO: Task 1.3, 2.2에서 구현 예정
-}
\ No newline at end of file
+
+    // Counter32 순환 범위
+    private static final long COUNTER32_RANGE = 1L << 32;
+
+    private static final OID[] NO_OIDS = new OID[0];
+
+    // 엔진 ID 탐색 동시 수행 수
+    // (탐색은 SNMP4J 동기 요청으로 응답을 모니터 대기하므로 가상 스레드에서는 캐리어를 고정함, 항상 플랫폼 스레드 사용)
+    private static final int DISCOVERY_THREADS = 4;
+
+    // 자동 설정 시 UDP 소켓 최대 수
+    private static final int MAX_AUTO_TRANSPORTS = 8;
+
+    // UDP 소켓 수 (0이면 CPU 코어 수, 최대 MAX_AUTO_TRANSPORTS)
+    @Value("${monitoring.snmp.transports:0}")
+    private int transportCount = 0;
+
+    // 소켓별 수신 버퍼 크기 (bytes, 운영체제 상한을 넘으면 상한으로 적용됨)
+    @Value("${monitoring.snmp.receive.buffer:4194304}")
+    private int receiveBufferSize = 4194304;
+
+    // 에이전트별 동시 미응답 요청 수
+    @Value("${monitoring.snmp.agent.max.inflight:2}")
+    private int maxInFlightPerAgent = 2;
+
+    // 에이전트별 전송 대기 요청 수 (초과 시 즉시 실패)
+    @Value("${monitoring.snmp.agent.max.queued:8}")
+    private int maxQueuedPerAgent = 8;
+
+    // 에이전트별 측정 응답 시간으로 타임아웃 결정 (false면 항상 설정값)
+    @Value("${monitoring.snmp.timeout.adaptive:true}")
+    private boolean adaptiveTimeout = true;
+
+    // 적응형 타임아웃 하한 (ms)
+    @Value("${monitoring.snmp.timeout.min:20}")
+    private long minTimeout = 20L;
+
+    // 엔진 ID 탐색 대기열 크기 (주소별 탐색은 하나뿐이므로 탐색 중인 서로 다른 에이전트 수 상한)
+    @Value("${monitoring.snmp.v3.discovery.queue:64}")
+    private int discoveryQueueSize = 64;
+
+    // 엔진 ID 탐색 실패 후 같은 주소를 다시 탐색하기까지 대기 시간 (ms, 폴링 주기 이상)
+    @Value("${monitoring.snmp.v3.discovery.backoff:10000}")
+    private long discoveryBackoff = 10000L;
+
+    private Transport[] transports;
+    private USM usm;
+    private ExecutorService discoveryExecutor;
+
+    // 에이전트 주소별 요청 제한
+    private final ConcurrentHashMap<Address, AgentGate> gates = new ConcurrentHashMap<Address, AgentGate>();
+
+    private final AtomicLong deferredRequests = new AtomicLong();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+
+    // 에이전트 주소별 엔진 ID
+    private final Map<Address, byte[]> engineIds = new ConcurrentHashMap<Address, byte[]>();
+
+    // 주소별 진행 중인 엔진 ID 탐색과 그 결과를 기다리는 요청 (자신을 잠금으로 사용)
+    private final Map<Address, List<EngineIdWaiter>> pendingDiscoveries = new HashMap<Address, List<EngineIdWaiter>>();
+
+    // 탐색 실패 주소별 재탐색 가능 시각 (System.nanoTime 기준, pendingDiscoveries 잠금 안에서 갱신)
+    private final Map<Address, Long> discoveryRetryAt = new ConcurrentHashMap<Address, Long>();
+
+    // USM에 지역화 키를 등록한 엔진 ID/사용자 (키: 엔진 ID/사용자/프로토콜/암호 해시)
+    private final Map<String, Boolean> localizedUsers = new ConcurrentHashMap<String, Boolean>();
+
+    private final AtomicLong engineDiscoveries = new AtomicLong();
+    private final AtomicLong keyLocalizations = new AtomicLong();
+    private final AtomicLong engineInvalidations = new AtomicLong();
+    private final AtomicLong discoveryRejections = new AtomicLong();
+
+    // 설정의 추가 지표 OID 배열 → 변환된 OID 배열 (설정 재로딩 시 새 배열로 교체되므로 식별자 기준)
+    private final Map<String[], OID[]> parsedOids = new WeakHashMap<String[], OID[]>();
+
+    // SNMP4J 내부 통계 (재전송 횟수)
+    private final AtomicLong retryCount = new AtomicLong();
+
+    /**
+     * 폴링 완료 콜백 인터페이스
+     * - SNMP 응답 수신 스레드에서 호출되므로 오래 걸리는 작업을 수행하지 않아야 함
+     */
+    public interface PollCallback {
+        void onPollComplete(ServerPollResult result);
+    }
+
+    /**
+     * UDP 소켓 하나와 그 소켓 전용 SNMP 세션 (수신 스레드 1개)
+     * - USM(사용자/엔진 시간)은 모든 소켓이 공유하고 MPv3 엔진 ID 캐시는 소켓별
+     */
+    private static final class Transport {
+        final Snmp snmp;
+        final MPv3 mpv3;
+        final DefaultUdpTransportMapping mapping;
+
+        Transport(Snmp snmp, MPv3 mpv3, DefaultUdpTransportMapping mapping) {
+            this.snmp = snmp;
+            this.mpv3 = mpv3;
+            this.mapping = mapping;
+        }
+    }
+
+    /**
+     * 에이전트별 응답 시간 추정 (RFC 6298 방식, 밀리초)
+     * - srtt = 7/8 srtt + 1/8 rtt, rttvar = 3/4 rttvar + 1/4 |srtt - rtt|
+     * - 타임아웃 = srtt + 4 * rttvar (하한/상한 적용)
+     * - 최종 타임아웃 또는 재전송 후 응답 시 다음 측정까지 타임아웃 2배 (상한까지, Karn 알고리즘)
+     */
+    static final class RttEstimator {
+        private double srtt = -1.0;
+        private double rttvar;
+        private int backoff;
+
+        synchronized void sample(double rttMillis) {
+            if (srtt < 0) {
+                srtt = rttMillis;
+                rttvar = rttMillis / 2.0;
+            } else {
+                rttvar = 0.75 * rttvar + 0.25 * Math.abs(srtt - rttMillis);
+                srtt = 0.875 * srtt + 0.125 * rttMillis;
+            }
+            backoff = 0;
+        }
+
+        synchronized void timedOut() {
+            if (srtt >= 0 && backoff < 16) {
+                backoff++;
+            }
+        }
+
+        /**
+         * 요청 타임아웃 (측정값이 없으면 상한)
+         */
+        synchronized long timeout(long floor, long ceiling) {
+            if (srtt < 0) {
+                return ceiling;
+            }
+            long rto = Math.max(floor, (long) Math.ceil(srtt + 4.0 * rttvar)) << backoff;
+            return Math.max(1L, Math.min(ceiling, rto));
+        }
+
+        synchronized boolean hasSample() {
+            return srtt >= 0;
+        }
+    }
+
+    /**
+     * 에이전트별 미응답 요청 수 제한 및 응답 시간 추정
+     */
+    static final class AgentGate {
+        final RttEstimator rtt = new RttEstimator();
+        private final ArrayDeque<Runnable> pending = new ArrayDeque<Runnable>();
+        private int inFlight;
+
+        /**
+         * 전송 허가 요청
+         * @return 1: 바로 전송, 0: 대기열에 등록됨, -1: 대기열 초과
+         */
+        synchronized int admit(Runnable request, int maxInFlight, int maxQueued) {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                return 1;
+            }
+            if (pending.size() >= maxQueued) {
+                return -1;
+            }
+            pending.add(request);
+            return 0;
+        }
+
+        /**
+         * 요청 완료 (대기 요청이 있으면 완료된 자리를 넘겨받을 요청 반환)
+         */
+        synchronized Runnable release() {
+            Runnable next = pending.poll();
+            if (next == null) {
+                inFlight--;
+            }
+            return next;
+        }
+
+        synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        synchronized int getQueued() {
+            return pending.size();
+        }
+    }
+
+    @PostConstruct
+    public void initialize() throws IOException {
+        // v3용 USM은 전역 SecurityModels 대신 이 서비스 전용으로 구성
+        SecurityProtocols.getInstance().addDefaultProtocols();
+        usm = new USM(SecurityProtocols.getInstance(), new OctetString(MPv3.createLocalEngineID()), 0);
+
+        int count = transportCount > 0 ? transportCount
+                : Math.min(Runtime.getRuntime().availableProcessors(), MAX_AUTO_TRANSPORTS);
+        transports = new Transport[count];
+        for (int i = 0; i < count; i++) {
+            transports[i] = openTransport();
+        }
+        System.out.println("SNMP 전송 소켓 " + count + "개 (수신 버퍼 "
+                + transports[0].mapping.getReceiveBufferSize() + " bytes, 에이전트별 동시 요청 "
+                + maxInFlightPerAgent + "개)");
+
+        discoveryExecutor = new ThreadPoolExecutor(DISCOVERY_THREADS, DISCOVERY_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(discoveryQueueSize), VirtualThreads.daemonFactory("snmp-v3-discovery"));
+    }
+
+    private Transport openTransport() throws IOException {
+        DefaultUdpTransportMapping mapping = new DefaultUdpTransportMapping();
+        mapping.setReceiveBufferSize(receiveBufferSize);
+        MPv3 mpv3 = new MPv3(usm);
+        MessageDispatcher dispatcher = new MessageDispatcherImpl();
+        dispatcher.addMessageProcessingModel(new MPv1());
+        dispatcher.addMessageProcessingModel(new MPv2c());
+        dispatcher.addMessageProcessingModel(mpv3);
+        Snmp snmp = new Snmp(dispatcher, mapping);
+        snmp.getCounterSupport().addCounterListener(new CounterListener() {
+            public void incrementCounter(CounterEvent event) {
+                if (SnmpConstants.snmp4jStatsRequestRetries.equals(event.getOid())) {
+                    retryCount.incrementAndGet();
+                }
+            }
+        });
+        mapping.listen();
+        return new Transport(snmp, mpv3, mapping);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (discoveryExecutor != null) {
+            discoveryExecutor.shutdownNow();
+        }
+        if (transports != null) {
+            for (Transport transport : transports) {
+                try {
+                    transport.snmp.close();
+                } catch (IOException e) {
+                    System.err.println("SNMP 세션 종료 중 오류: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 에이전트 담당 소켓 (주소 해시 기준, 같은 에이전트는 항상 같은 소켓)
+     */
+    private Transport transportFor(Address address) {
+        return transports[(address.hashCode() & 0x7FFFFFFF) % transports.length];
+    }
+
+    /**
+     * 단일 서버 비동기 폴링
+     * - 세션 수/트래픽 OID와 추가 지표 OID를 하나의 GET 요청으로 조회
+     * - 추가 지표는 응답에 없어도 폴링 실패로 처리하지 않음
+     * - 타임아웃/재시도는 SNMP4J 타이머가 처리하며 결과는 콜백으로 전달
+     */
+    public void pollServer(String ip, ServiceInfo.SnmpConfig snmpConfig, PollCallback callback) {
+        pollServer(ip, snmpConfig, 0L, callback);
+    }
+
+    /**
+     * 단일 서버 비동기 폴링 (요청 태그 지정)
+     * - tag는 결과에 그대로 담겨 콜백으로 전달 (호출 측이 콜백 객체를 재사용하면서 요청 주기를 구분하는 데 사용)
+     */
+    public void pollServer(String ip, final ServiceInfo.SnmpConfig snmpConfig, long tag, final PollCallback callback) {
+        final ServerPollResult result = new ServerPollResult(ip);
+        result.setTag(tag);
+        final long startNanos = System.nanoTime();
+
+        try {
+            final UdpAddress address = new UdpAddress(InetAddress.getByName(ip), snmpConfig.getPort());
+            final PDU pdu = snmpConfig.isV3() ? new ScopedPDU() : new PDU();
+            pdu.setType(PDU.GET);
+            final OID sessionsOid = new OID(snmpConfig.getSessionsOid());
+            final OID trafficOid = new OID(snmpConfig.getTrafficOid());
+            pdu.add(new VariableBinding(sessionsOid));
+            pdu.add(new VariableBinding(trafficOid));
+            final OID[] metricOids = toOids(snmpConfig.getMetricOids());
+            for (OID metricOid : metricOids) {
+                pdu.add(new VariableBinding(metricOid));
+            }
+            result.initMetrics(metricOids.length);
+
+            if (!snmpConfig.isV3()) {
+                CommunityTarget target = new CommunityTarget();
+                target.setCommunity(new OctetString(snmpConfig.getCommunity()));
+                target.setAddress(address);
+                target.setVersion("1".equals(snmpConfig.getVersion())
+                        ? SnmpConstants.version1 : SnmpConstants.version2c);
+                target.setTimeout(snmpConfig.getTimeout());
+                target.setRetries(snmpConfig.getRetries());
+                send(pdu, target, sessionsOid, trafficOid, metricOids, result, startNanos, callback);
+                return;
+            }
+
+            byte[] engineId = engineIds.get(address);
+            if (engineId != null) {
+                send(pdu, userTarget(address, engineId, snmpConfig),
+                        sessionsOid, trafficOid, metricOids, result, startNanos, callback);
+                return;
+            }
+            // 엔진 ID를 모르는 에이전트: 탐색 후 요청 (응답 수신 스레드를 막지 않도록 별도 스레드)
+            awaitEngineId(address, snmpConfig.getTimeout(), new EngineIdWaiter() {
+                public void onEngineId(byte[] discovered) {
+                    send(pdu, userTarget(address, discovered, snmpConfig),
+                            sessionsOid, trafficOid, metricOids, result, startNanos, callback);
+                }
+
+                public void onFailure(PollError code, String message) {
+                    fail(result, startNanos, code, message, callback);
+                }
+            });
+        } catch (Exception e) {
+            fail(result, startNanos, PollError.REQUEST_FAILED, "SNMP 요청 실패: " + e.getMessage(), callback);
+        }
+    }
+
+    /**
+     * 에이전트별 요청 제한을 거쳐 전송 (제한 초과 시 대기열에 두었다가 앞선 요청 완료 시 전송)
+     */
+    private void send(final PDU pdu, final Target target, final OID sessionsOid, final OID trafficOid,
+                      final OID[] metricOids, final ServerPollResult result, final long startNanos,
+                      final PollCallback callback) {
+        final AgentGate gate = gateFor(target.getAddress());
+        Runnable request = new Runnable() {
+            public void run() {
+                dispatch(gate, pdu, target, sessionsOid, trafficOid, metricOids, result, startNanos, callback);
+            }
+        };
+        int admission = gate.admit(request, maxInFlightPerAgent, maxQueuedPerAgent);
+        if (admission > 0) {
+            request.run();
+        } else if (admission == 0) {
+            deferredRequests.incrementAndGet();
+        } else {
+            rejectedRequests.incrementAndGet();
+            fail(result, startNanos, PollError.AGENT_LIMIT,
+                    "에이전트 동시 요청 한도 초과 (대기 " + maxQueuedPerAgent + "건)", callback);
+        }
+    }
+
+    private void dispatch(final AgentGate gate, PDU pdu, final Target target, final OID sessionsOid,
+                          final OID trafficOid, final OID[] metricOids, final ServerPollResult result,
+                          final long startNanos, final PollCallback callback) {
+        try {
+            if (adaptiveTimeout) {
+                // 설정 타임아웃을 상한으로 에이전트별 추정값 적용 (재전송 간격도 같음)
+                target.setTimeout(gate.rtt.timeout(minTimeout, target.getTimeout()));
+            }
+            final long timeoutNanos = target.getTimeout() * 1000000L;
+            final long sentNanos = System.nanoTime();
+            transportFor(target.getAddress()).snmp.send(pdu, target, null, new ResponseListener() {
+                public void onResponse(ResponseEvent event) {
+                    // 재시도 타이머 해제
+                    ((Snmp) event.getSource()).cancel(event.getRequest(), this);
+                    long now = System.nanoTime();
+                    if (event.getResponse() != null) {
+                        // 첫 타임아웃 전 응답만 측정 (재전송 후 응답은 어느 요청의 응답인지 알 수 없음)
+                        // 재전송이 필요했다면 타임아웃이 짧았던 것이므로 측정 대신 타임아웃을 늘림
+                        if (now - sentNanos < timeoutNanos) {
+                            gate.rtt.sample((now - sentNanos) / 1000000.0);
+                        } else {
+                            gate.rtt.timedOut();
+                        }
+                    } else if (event.getError() == null) {
+                        gate.rtt.timedOut();
+                    }
+                    result.setLatencyNanos(now - startNanos);
+                    handleResponse(event, target, sessionsOid, trafficOid, metricOids, result);
+                    releaseGate(gate);
+                    callback.onPollComplete(result);
+                }
+            });
+        } catch (Exception e) {
+            releaseGate(gate);
+            fail(result, startNanos, PollError.REQUEST_FAILED, "SNMP 요청 실패: " + e.getMessage(), callback);
+        }
+    }
+
+    private static void releaseGate(AgentGate gate) {
+        Runnable next = gate.release();
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    private AgentGate gateFor(Address address) {
+        AgentGate gate = gates.get(address);
+        if (gate == null) {
+            AgentGate created = new AgentGate();
+            gate = gates.putIfAbsent(address, created);
+            if (gate == null) {
+                gate = created;
+            }
+        }
+        return gate;
+    }
+
+    private static void fail(ServerPollResult result, long startNanos, PollError code, String message,
+                             PollCallback callback) {
+        result.setLatencyNanos(System.nanoTime() - startNanos);
+        result.setError(code, message);
+        callback.onPollComplete(result);
+    }
+
+    /**
+     * 엔진 ID 탐색 결과를 기다리는 요청
+     */
+    private interface EngineIdWaiter {
+        void onEngineId(byte[] engineId);
+
+        void onFailure(PollError code, String message);
+    }
+
+    /**
+     * 엔진 ID 탐색 요청 (같은 주소의 탐색이 진행 중이면 합류, 최근 실패 주소/대기열 초과는 즉시 실패)
+     */
+    private void awaitEngineId(final Address address, long configuredTimeout, EngineIdWaiter waiter) {
+        byte[] engineId;
+        boolean backingOff = false;
+        boolean joined = false;
+        boolean rejected = false;
+        synchronized (pendingDiscoveries) {
+            engineId = engineIds.get(address);
+            if (engineId == null) {
+                Long retryAt = discoveryRetryAt.get(address);
+                List<EngineIdWaiter> waiters = pendingDiscoveries.get(address);
+                if (waiters == null && retryAt != null && System.nanoTime() - retryAt < 0) {
+                    backingOff = true;
+                } else if (waiters == null) {
+                    waiters = new ArrayList<EngineIdWaiter>();
+                    waiters.add(waiter);
+                    pendingDiscoveries.put(address, waiters);
+                } else if (waiters.size() <= maxQueuedPerAgent) {
+                    waiters.add(waiter);
+                    joined = true;
+                } else {
+                    rejected = true;
+                }
+            }
+        }
+        if (joined) {
+            return;
+        }
+        if (backingOff) {
+            waiter.onFailure(PollError.V3_DISCOVERY, "SNMPv3 엔진 ID 탐색 실패 (재탐색 대기 중)");
+            return;
+        }
+        if (rejected) {
+            rejectedRequests.incrementAndGet();
+            waiter.onFailure(PollError.AGENT_LIMIT, "에이전트 동시 요청 한도 초과 (엔진 ID 탐색 대기 " + maxQueuedPerAgent + "건)");
+            return;
+        }
+        if (engineId != null) {
+            // 직전에 다른 요청의 탐색이 끝난 경우
+            completeWaiter(waiter, engineId, null);
+            return;
+        }
+
+        final long timeout = adaptiveTimeout
+                ? gateFor(address).rtt.timeout(minTimeout, configuredTimeout) : configuredTimeout;
+        try {
+            discoveryExecutor.execute(new Runnable() {
+                public void run() {
+                    byte[] discovered = null;
+                    String message = "SNMPv3 엔진 ID 탐색 실패 (응답 없음)";
+                    try {
+                        discovered = discoverEngineId(address, timeout);
+                    } catch (Exception e) {
+                        message = "SNMPv3 엔진 ID 탐색 실패: " + e.getMessage();
+                    }
+                    completeDiscovery(address, discovered, message, true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            discoveryRejections.incrementAndGet();
+            completeDiscovery(address, null, "SNMPv3 엔진 ID 탐색 대기열 초과 (" + discoveryQueueSize + "건)", false);
+        }
+    }
+
+    /**
+     * 주소의 탐색을 끝내고 기다리던 요청 모두에 결과 전달
+     * @param backoff 탐색 실패 시 재탐색 대기 적용 여부 (대기열 초과는 에이전트 문제가 아니므로 적용하지 않음)
+     */
+    private void completeDiscovery(Address address, byte[] engineId, String failure, boolean backoff) {
+        List<EngineIdWaiter> waiters;
+        synchronized (pendingDiscoveries) {
+            waiters = pendingDiscoveries.remove(address);
+            if (engineId != null) {
+                discoveryRetryAt.remove(address);
+            } else if (backoff) {
+                discoveryRetryAt.put(address, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(discoveryBackoff));
+            }
+        }
+        if (waiters != null) {
+            for (EngineIdWaiter waiter : waiters) {
+                completeWaiter(waiter, engineId, failure);
+            }
+        }
+    }
+
+    private static void completeWaiter(EngineIdWaiter waiter, byte[] engineId, String failure) {
+        if (engineId == null) {
+            waiter.onFailure(PollError.V3_DISCOVERY, failure);
+            return;
+        }
+        try {
+            waiter.onEngineId(engineId);
+        } catch (Exception e) {
+            waiter.onFailure(PollError.REQUEST_FAILED, "SNMPv3 요청 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 엔진 ID 탐색 (블로킹, 결과는 주소별로 보관)
+     */
+    byte[] discoverEngineId(Address address, long timeout) {
+        byte[] engineId = engineIds.get(address);
+        if (engineId != null) {
+            return engineId;
+        }
+        engineDiscoveries.incrementAndGet();
+        engineId = transportFor(address).snmp.discoverAuthoritativeEngineID(address, timeout);
+        if (engineId != null) {
+            engineIds.put(address, engineId);
+        }
+        return engineId;
+    }
+
+    /**
+     * v3 요청 대상 (엔진 ID의 지역화 키가 없으면 한 번만 계산하여 USM에 등록)
+     */
+    private UserTarget userTarget(Address address, byte[] engineId, ServiceInfo.SnmpConfig snmpConfig) {
+        OID authProtocol = snmpConfig.getAuthPassword() != null ? authProtocolOid(snmpConfig.getAuthProtocol()) : null;
+        OID privProtocol = authProtocol != null && snmpConfig.getPrivPassword() != null
+                ? privProtocolOid(snmpConfig.getPrivProtocol()) : null;
+        OctetString securityName = new OctetString(snmpConfig.getSecurityName());
+        localizeUser(engineId, securityName, authProtocol, snmpConfig.getAuthPassword(),
+                privProtocol, snmpConfig.getPrivPassword());
+
+        UserTarget target = new UserTarget(address, securityName, engineId,
+                privProtocol != null ? SecurityLevel.AUTH_PRIV
+                        : authProtocol != null ? SecurityLevel.AUTH_NOPRIV : SecurityLevel.NOAUTH_NOPRIV);
+        target.setVersion(SnmpConstants.version3);
+        target.setTimeout(snmpConfig.getTimeout());
+        target.setRetries(snmpConfig.getRetries());
+        return target;
+    }
+
+    /**
+     * 사용자 암호를 엔진 ID 기준 지역화 키로 변환하여 USM에 등록 (같은 엔진 ID/사용자/암호는 1회만)
+     */
+    void localizeUser(byte[] engineId, OctetString securityName, OID authProtocol, String authPassword,
+                      OID privProtocol, String privPassword) {
+        String key = new OctetString(engineId).toHexString() + "/" + securityName + "/" + authProtocol + "/"
+                + privProtocol + "/" + (authPassword + "/" + privPassword).hashCode();
+        if (localizedUsers.containsKey(key)) {
+            return;
+        }
+        synchronized (localizedUsers) {
+            if (localizedUsers.containsKey(key)) {
+                return;
+            }
+            SecurityProtocols protocols = SecurityProtocols.getInstance();
+            byte[] authKey = authProtocol != null
+                    ? protocols.passwordToKey(authProtocol, new OctetString(authPassword), engineId) : null;
+            byte[] privKey = privProtocol != null
+                    ? protocols.passwordToKey(privProtocol, authProtocol, new OctetString(privPassword), engineId) : null;
+            usm.addLocalizedUser(engineId, securityName, authProtocol, authKey, privProtocol, privKey);
+            localizedUsers.put(key, Boolean.TRUE);
+            keyLocalizations.incrementAndGet();
+        }
+    }
+
+    /**
+     * 에이전트 엔진 캐시 삭제 (재기동으로 엔진 ID/시간이 바뀐 경우 다음 요청에서 다시 탐색)
+     */
+    private void invalidateEngine(Address address) {
+        byte[] engineId = engineIds.remove(address);
+        if (engineId != null) {
+            OctetString id = new OctetString(engineId);
+            usm.removeEngineTime(id);
+            transportFor(address).mpv3.removeEngineID(address);
+            String prefix = id.toHexString() + "/";
+            for (String key : localizedUsers.keySet()) {
+                if (key.startsWith(prefix)) {
+                    localizedUsers.remove(key);
+                }
+            }
+            engineInvalidations.incrementAndGet();
+        }
+    }
+
+    static OID authProtocolOid(String name) {
+        if ("MD5".equals(name)) return AuthMD5.ID;
+        if ("SHA224".equals(name)) return AuthHMAC128SHA224.ID;
+        if ("SHA256".equals(name)) return AuthHMAC192SHA256.ID;
+        if ("SHA384".equals(name)) return AuthHMAC256SHA384.ID;
+        if ("SHA512".equals(name)) return AuthHMAC384SHA512.ID;
+        return AuthSHA.ID;
+    }
+
+    static OID privProtocolOid(String name) {
+        if ("DES".equals(name)) return PrivDES.ID;
+        if ("AES192".equals(name)) return PrivAES192.ID;
+        if ("AES256".equals(name)) return PrivAES256.ID;
+        return PrivAES128.ID;
+    }
+
+    /**
+     * SNMPv3 캐시 현황 (엔진 ID 보관 수, 탐색/키 지역화/캐시 삭제 횟수)
+     */
+    public Map<String, Object> getV3Stats() {
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        stats.put("engines", engineIds.size());
+        stats.put("discoveries", engineDiscoveries.get());
+        stats.put("keyLocalizations", keyLocalizations.get());
+        stats.put("invalidations", engineInvalidations.get());
+        synchronized (pendingDiscoveries) {
+            stats.put("pendingDiscoveries", pendingDiscoveries.size());
+        }
+        long now = System.nanoTime();
+        int backoffs = 0;
+        for (Long retryAt : discoveryRetryAt.values()) {
+            if (now - retryAt < 0) {
+                backoffs++;
+            }
+        }
+        stats.put("discoveryBackoffs", backoffs);
+        stats.put("discoveryRejections", discoveryRejections.get());
+        return stats;
+    }
+
+    /**
+     * 전송 소켓/에이전트별 요청 제한 현황
+     */
+    public Map<String, Object> getTransportStats() {
+        int inFlight = 0;
+        int queued = 0;
+        int measured = 0;
+        long minRto = Long.MAX_VALUE;
+        long maxRto = 0L;
+        for (AgentGate gate : gates.values()) {
+            inFlight += gate.getInFlight();
+            queued += gate.getQueued();
+            if (gate.rtt.hasSample()) {
+                long rto = gate.rtt.timeout(minTimeout, Long.MAX_VALUE);
+                measured++;
+                minRto = Math.min(minRto, rto);
+                maxRto = Math.max(maxRto, rto);
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        stats.put("sockets", transports != null ? transports.length : 0);
+        stats.put("receiveBufferBytes", transports != null ? transports[0].mapping.getReceiveBufferSize() : 0);
+        stats.put("maxInFlightPerAgent", maxInFlightPerAgent);
+        stats.put("inFlight", inFlight);
+        stats.put("queued", queued);
+        stats.put("deferred", deferredRequests.get());
+        stats.put("rejected", rejectedRequests.get());
+        Map<String, Object> timeouts = new LinkedHashMap<String, Object>();
+        timeouts.put("adaptive", adaptiveTimeout);
+        timeouts.put("minMillis", minTimeout);
+        timeouts.put("measuredAgents", measured);
+        timeouts.put("agentMinMillis", measured > 0 ? minRto : 0L);
+        timeouts.put("agentMaxMillis", maxRto);
+        stats.put("timeouts", timeouts);
+        return stats;
+    }
+
+    /**
+     * 누적 재전송 횟수
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * 추가 지표 OID 변환 (설정 객체별 1회, 이후 재사용)
+     */
+    private OID[] toOids(String[] oids) {
+        if (oids.length == 0) {
+            return NO_OIDS;
+        }
+        synchronized (parsedOids) {
+            OID[] parsed = parsedOids.get(oids);
+            if (parsed == null) {
+                parsed = new OID[oids.length];
+                for (int i = 0; i < oids.length; i++) {
+                    parsed[i] = new OID(oids[i]);
+                }
+                parsedOids.put(oids, parsed);
+            }
+            return parsed;
+        }
+    }
+
+    /**
+     * SNMP 응답 해석
+     * - 추가 지표는 요청 순서(세션 수, 트래픽 다음)와 같은 위치의 응답 값을 사용
+     */
+    private void handleResponse(ResponseEvent event, Target target, OID sessionsOid, OID trafficOid,
+                                OID[] metricOids, ServerPollResult result) {
+        PDU response = event.getResponse();
+        if (response == null) {
+            result.setTimeout(event.getError() == null);
+            if (event.getError() != null) {
+                result.setError(PollError.TRANSPORT, "SNMP 오류: " + event.getError().getMessage());
+            } else {
+                result.setError(PollError.TIMEOUT, "SNMP 응답 시간 초과");
+            }
+            return;
+        }
+
+        if (response.getType() == PDU.REPORT) {
+            OID report = response.size() > 0 ? response.get(0).getOid() : null;
+            if (SnmpConstants.usmStatsUnknownEngineIDs.equals(report)
+                    || SnmpConstants.usmStatsNotInTimeWindows.equals(report)) {
+                invalidateEngine(target.getAddress());
+            }
+            result.setError(PollError.V3_REPORT, "SNMPv3 보고 응답: " + report);
+            return;
+        }
+
+        if (response.getErrorStatus() != PDU.noError) {
+            result.setError(PollError.ERROR_STATUS, "SNMP 오류 응답: " + response.getErrorStatusText());
+            return;
+        }
+
+        boolean hasSessions = false;
+        boolean hasTraffic = false;
+        for (int i = 0; i < response.size(); i++) {
+            VariableBinding vb = response.get(i);
+            if (vb.isException()) {
+                continue;
+            }
+            Variable variable = vb.getVariable();
+            int column = i - 2;
+            if (column >= 0 && column < metricOids.length && metricOids[column].equals(vb.getOid())) {
+                try {
+                    result.setMetric(column, variable.toLong(), variable instanceof Counter32 ? COUNTER32_RANGE : 0L);
+                } catch (UnsupportedOperationException e) {
+                    // 숫자가 아닌 값은 미수집으로 처리
+                }
+            } else if (sessionsOid.equals(vb.getOid())) {
+                result.setSessions(variable.toLong());
+                hasSessions = true;
+            } else if (trafficOid.equals(vb.getOid())) {
+                result.setTrafficCounter(variable.toLong());
+                result.setTrafficCounterRange(variable instanceof Counter32 ? COUNTER32_RANGE : 0L);
+                hasTraffic = true;
+            }
+        }
+
+        if (hasSessions && hasTraffic) {
+            result.setSuccess(true);
+        } else {
+            result.setError(PollError.MISSING_VALUE, "SNMP 응답에 OID 값이 없습니다: "
+                    + (hasSessions ? trafficOid : sessionsOid));
+        }
+    }
+}
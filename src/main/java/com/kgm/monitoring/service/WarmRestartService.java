@@ -0,0 +1,333 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 재기동 시 메모리 이력 유지 서비스
+ * - 종료 시 서비스별 Ring Buffer와 서버별 카운터 상태를 바이너리 스냅샷으로 저장
+ * - 기동 시 스냅샷 파일을 매핑하여 현재 서비스 설정에 있는 항목만 복원
+ *
+ * 파일 형식 (big-endian):
+ * - 헤더: MAGIC(int), VERSION(short), 저장 시각(long)
+ * - 지표 이름 수(short), 이름(UTF-8) 목록 (지표 ID는 프로세스마다 다르므로 이름으로 저장, 복원 시 다시 등록)
+ * - 오류 코드 수(short), 코드 이름(UTF-8) 목록
+ * - 서비스 수(int), 서비스별 [ID(UTF-8), 데이터 수(int), 데이터별 [시각, NBP 세션, DR 세션, NBP 트래픽, DR 트래픽(long),
+ *   오류 여부(byte), 오류 코드 번호(byte), 첫 오류 서버(UTF-8, 없으면 빈 문자열),
+ *   지표 수(short), 지표별 [지표 이름 번호(short), NBP 값, DR 값(long)]]]
+ * - 서버 수(int), 서버별 [서비스ID/IP(UTF-8), 세션 수, 트래픽, 마지막 카운터, 카운터 시각(long)]
+ * - 위 내용 전체의 CRC32(long)
+ */
+@Service
+public class WarmRestartService {
+
+    static final int MAGIC = 0x4E445253; // "NDRS"
+    static final short VERSION = 3;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private MonitoringService monitoringService;
+
+    @Value("${monitoring.ringbuffer.snapshot.path:logs/ringbuffer.snapshot}")
+    private String snapshotPath;
+
+    @Value("${monitoring.ringbuffer.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        File file = new File(snapshotPath);
+        if (!file.isFile()) {
+            return;
+        }
+        try {
+            int restored = restore(file);
+            System.out.println("Ring Buffer 스냅샷 복원 완료: " + restored + "개 서비스 (" + file.getPath() + ")");
+        } catch (IOException e) {
+            System.err.println("Ring Buffer 스냅샷 복원 실패: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            save(new File(snapshotPath));
+        } catch (IOException e) {
+            System.err.println("Ring Buffer 스냅샷 저장 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 Ring Buffer와 서버 카운터 상태를 파일로 저장
+     * - 임시 파일에 기록한 뒤 원자적으로 교체하여 종료 중 중단되어도 기존 스냅샷 유지
+     */
+    void save(File file) throws IOException {
+        Map<String, List<MonitoringData>> recentData = monitoringService.exportRecentData();
+        Map<String, long[]> counters = monitoringService.exportServerCounters();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(System.currentTimeMillis());
+
+        // 저장할 지표 ID → 파일 내 이름 번호
+        Map<Integer, Integer> metricIndexes = new HashMap<Integer, Integer>();
+        List<String> metricNames = new ArrayList<String>();
+        for (List<MonitoringData> list : recentData.values()) {
+            for (MonitoringData data : list) {
+                for (int id : data.getMetricIds()) {
+                    if (!metricIndexes.containsKey(id)) {
+                        metricIndexes.put(id, metricNames.size());
+                        metricNames.add(MetricRegistry.name(id));
+                    }
+                }
+            }
+        }
+        out.writeShort(metricNames.size());
+        for (String name : metricNames) {
+            writeString(out, name);
+        }
+        PollError[] errors = PollError.values();
+        out.writeShort(errors.length);
+        for (PollError error : errors) {
+            writeString(out, error.name());
+        }
+
+        out.writeInt(recentData.size());
+        for (Map.Entry<String, List<MonitoringData>> entry : recentData.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (MonitoringData data : entry.getValue()) {
+                out.writeLong(data.getTimestampMillis());
+                out.writeLong(data.getNbpSessions());
+                out.writeLong(data.getDrSessions());
+                out.writeLong(data.getNbpTraffic());
+                out.writeLong(data.getDrTraffic());
+                out.writeByte(data.isHasError() ? 1 : 0);
+                out.writeByte(data.getErrorCode().ordinal());
+                writeString(out, data.getErrorServer() != null ? data.getErrorServer() : "");
+                int[] ids = data.getMetricIds();
+                out.writeShort(ids.length);
+                for (int i = 0; i < ids.length; i++) {
+                    out.writeShort(metricIndexes.get(ids[i]));
+                    out.writeLong(data.getNbpMetrics()[i]);
+                    out.writeLong(data.getDrMetrics()[i]);
+                }
+            }
+        }
+
+        out.writeInt(counters.size());
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            writeString(out, entry.getKey());
+            for (int i = 0; i < 4; i++) {
+                out.writeLong(entry.getValue()[i]);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("디렉토리 생성 실패: " + dir);
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(temp));
+        try {
+            bytes.writeTo(fileOut);
+        } finally {
+            fileOut.close();
+        }
+        Files.move(temp.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷 파일 복원
+     * - 형식/버전/CRC가 맞지 않으면 복원하지 않음 (이전 버전 스냅샷은 버림)
+     * - 설정에서 제거된 서비스/서버와 Ring Buffer 보관 구간보다 오래된 데이터는 버림
+     * @return 복원된 서비스 수
+     */
+    int restore(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return restore(buffer);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private int restore(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 22) {
+            throw new IOException("스냅샷 파일이 너무 짧습니다");
+        }
+        int bodyLength = buffer.limit() - 8;
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[8192];
+        ByteBuffer body = buffer.duplicate();
+        body.limit(bodyLength);
+        while (body.hasRemaining()) {
+            int length = Math.min(chunk.length, body.remaining());
+            body.get(chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        if (crc.getValue() != buffer.getLong(bodyLength)) {
+            throw new IOException("스냅샷 CRC 불일치");
+        }
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IOException("지원하지 않는 스냅샷 형식");
+        }
+        buffer.getLong(); // 저장 시각
+
+        int[] metricIds = new int[buffer.getShort() & 0xFFFF];
+        for (int i = 0; i < metricIds.length; i++) {
+            metricIds[i] = MetricRegistry.intern(readString(buffer));
+        }
+        PollError[] errors = new PollError[buffer.getShort() & 0xFFFF];
+        for (int i = 0; i < errors.length; i++) {
+            String name = readString(buffer);
+            try {
+                errors[i] = PollError.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                // 이후 버전에서 없어진 코드
+                errors[i] = PollError.SNMP_ERROR;
+            }
+        }
+
+        long oldest = System.currentTimeMillis()
+                - (long) configService.getRingBufferSize() * configService.getPollingInterval();
+
+        Map<String, List<MonitoringData>> recentData = new HashMap<String, List<MonitoringData>>();
+        int serviceCount = buffer.getInt();
+        for (int i = 0; i < serviceCount; i++) {
+            String serviceId = readString(buffer);
+            int count = buffer.getInt();
+            boolean known = configService.hasService(serviceId);
+            int[] configuredIds = known ? configuredMetricIds(serviceId) : null;
+            List<MonitoringData> list = new ArrayList<MonitoringData>(known ? count : 0);
+            for (int j = 0; j < count; j++) {
+                long timestamp = buffer.getLong();
+                long nbpSessions = buffer.getLong();
+                long drSessions = buffer.getLong();
+                long nbpTraffic = buffer.getLong();
+                long drTraffic = buffer.getLong();
+                boolean hasError = buffer.get() != 0;
+                PollError errorCode = errors[buffer.get() & 0xFF];
+                String errorServer = readString(buffer);
+                int columns = buffer.getShort() & 0xFFFF;
+                int[] ids = new int[columns];
+                long[] nbpMetrics = new long[columns];
+                long[] drMetrics = new long[columns];
+                for (int k = 0; k < columns; k++) {
+                    ids[k] = metricIds[buffer.getShort() & 0xFFFF];
+                    nbpMetrics[k] = buffer.getLong();
+                    drMetrics[k] = buffer.getLong();
+                }
+                if (!known || timestamp < oldest) {
+                    continue;
+                }
+                MonitoringData data = new MonitoringData();
+                data.setServiceId(serviceId);
+                data.setTimestampMillis(timestamp);
+                data.setNbpSessions(nbpSessions);
+                data.setDrSessions(drSessions);
+                data.setNbpTraffic(nbpTraffic);
+                data.setDrTraffic(drTraffic);
+                data.setError(errorCode, errorServer.isEmpty() ? null : errorServer);
+                data.setHasError(hasError);
+                if (columns > 0) {
+                    // 현재 설정과 지표 구성이 같으면 설정의 ID 배열을 공유 (수집 경로와 같은 배열로 비교)
+                    data.setMetrics(Arrays.equals(ids, configuredIds) ? configuredIds : ids, nbpMetrics, drMetrics);
+                }
+                list.add(data);
+            }
+            if (!list.isEmpty()) {
+                recentData.put(serviceId, list);
+            }
+        }
+
+        Map<String, long[]> counters = new HashMap<String, long[]>();
+        int serverCount = buffer.getInt();
+        for (int i = 0; i < serverCount; i++) {
+            String key = readString(buffer);
+            long[] values = new long[4];
+            for (int j = 0; j < 4; j++) {
+                values[j] = buffer.getLong();
+            }
+            if (values[3] >= oldest) {
+                counters.put(key, values);
+            }
+        }
+
+        monitoringService.restoreRecentData(recentData);
+        monitoringService.restoreServerCounters(counters);
+        return recentData.size();
+    }
+
+    private int[] configuredMetricIds(String serviceId) {
+        ServiceInfo service = configService.getService(serviceId);
+        if (service == null || service.getSnmpConfig() == null) {
+            return null;
+        }
+        return service.getSnmpConfig().getMetricIds();
+    }
+
+    /**
+     * 길이(short) + UTF-8 바이트 문자열 기록/읽기
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
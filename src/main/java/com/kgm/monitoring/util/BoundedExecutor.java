@@ -0,0 +1,65 @@
+package com.kgm.monitoring.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 동시 실행 수 제한 실행기
+ * - 가상 스레드 실행기처럼 작업마다 스레드를 만드는 실행기 앞에서 동시 작업 수 상한을 유지
+ * - 상한에 도달하면 대기 없이 RejectedExecutionException (스레드 풀의 대기열 초과와 같은 처리)
+ */
+public class BoundedExecutor implements Executor {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int limit;
+
+    public BoundedExecutor(ExecutorService delegate, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("동시 실행 수는 0보다 커야 합니다: " + limit);
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(limit);
+        this.limit = limit;
+    }
+
+    /**
+     * @throws RejectedExecutionException 동시 실행 수 상한 도달 또는 종료된 경우
+     */
+    public void execute(final Runnable command) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("동시 실행 수 상한 도달: " + limit);
+        }
+        try {
+            delegate.execute(new Runnable() {
+                public void run() {
+                    try {
+                        command.run();
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 실행 중인 작업 수
+     */
+    public int getActiveCount() {
+        return limit - permits.availablePermits();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void shutdownNow() {
+        delegate.shutdownNow();
+    }
+}
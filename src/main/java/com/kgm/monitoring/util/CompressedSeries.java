@@ -0,0 +1,368 @@
+package com.kgm.monitoring.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Gorilla 방식 압축 시계열
+ * - 시각(초)은 delta-of-delta로 비트 단위 인코딩
+ * - 값은 직전 값과의 차이(zig-zag)를 Gorilla XOR 방식의 leading/trailing zero 구간으로 인코딩
+ *   (정수 지표는 원본 XOR 시 자리올림으로 변경 비트가 많아져 차이값 기준이 더 작음)
+ * - 한 시점에 여러 값(column)을 함께 저장하며 시각은 한 번만 기록
+ * - 블록 단위(기본 720개)로 저장하고, 가득 찬 블록은 크기에 맞게 잘라 보관
+ * - 보관 기간이 지난 블록은 통째로 삭제
+ */
+public class CompressedSeries {
+
+    public static final int DEFAULT_BLOCK_POINTS = 720;
+
+    private final int columns;
+    private final int blockPoints;
+    private final ArrayDeque<Block> sealed = new ArrayDeque<Block>();
+    private Block open;
+    private int size;
+
+    public CompressedSeries(int columns) {
+        this(columns, DEFAULT_BLOCK_POINTS);
+    }
+
+    public CompressedSeries(int columns, int blockPoints) {
+        if (columns <= 0 || blockPoints <= 1) {
+            throw new IllegalArgumentException("잘못된 시계열 설정: columns=" + columns + ", blockPoints=" + blockPoints);
+        }
+        this.columns = columns;
+        this.blockPoints = blockPoints;
+    }
+
+    /**
+     * 데이터 추가
+     * - 시각은 직전 데이터보다 커야 하며, 같거나 이전 시각이면 무시
+     * @return 추가 여부
+     */
+    public synchronized boolean append(long timestampSeconds, long[] values) {
+        if (open != null && timestampSeconds <= open.lastTimestamp) {
+            return false;
+        }
+        if (open == null) {
+            if (!sealed.isEmpty() && timestampSeconds <= sealed.peekLast().lastTimestamp) {
+                return false;
+            }
+            open = new Block(columns, blockPoints);
+        }
+        open.append(timestampSeconds, values);
+        size++;
+        if (open.count == blockPoints) {
+            open.seal();
+            sealed.addLast(open);
+            open = null;
+        }
+        return true;
+    }
+
+    /**
+     * 지정 시각 이전 데이터만 담긴 블록 삭제
+     */
+    public synchronized void removeBefore(long timestampSeconds) {
+        while (!sealed.isEmpty() && sealed.peekFirst().lastTimestamp < timestampSeconds) {
+            size -= sealed.removeFirst().count;
+        }
+        if (sealed.isEmpty() && open != null && open.lastTimestamp < timestampSeconds) {
+            size -= open.count;
+            open = null;
+        }
+    }
+
+    /**
+     * 구간 데이터 조회 (from 이상 to 이하, 초 단위)
+     */
+    public synchronized Points read(long fromSeconds, long toSeconds) {
+        Points points = new Points(columns, 64);
+        Iterator<Block> it = sealed.iterator();
+        while (it.hasNext()) {
+            it.next().read(fromSeconds, toSeconds, points);
+        }
+        if (open != null) {
+            open.read(fromSeconds, toSeconds, points);
+        }
+        return points;
+    }
+
+    /**
+     * 저장된 데이터 수
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 인코딩된 데이터가 차지하는 바이트 수 (블록 배열 기준)
+     */
+    public synchronized long encodedBytes() {
+        long bytes = 0;
+        for (Block block : sealed) {
+            bytes += block.words.length * 8L;
+        }
+        if (open != null) {
+            bytes += open.words.length * 8L;
+        }
+        return bytes;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * 조회 결과 (열 단위 기본형 배열)
+     */
+    public static class Points {
+        private long[] timestamps;
+        private long[][] values;
+        private int count;
+
+        Points(int columns, int capacity) {
+            this.timestamps = new long[capacity];
+            this.values = new long[columns][capacity];
+        }
+
+        void add(long timestamp, long[] row) {
+            if (count == timestamps.length) {
+                int capacity = count * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                for (int c = 0; c < values.length; c++) {
+                    values[c] = Arrays.copyOf(values[c], capacity);
+                }
+            }
+            timestamps[count] = timestamp;
+            for (int c = 0; c < values.length; c++) {
+                values[c][count] = row[c];
+            }
+            count++;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * 시각 배열 (초, 앞에서 size()개만 유효)
+         */
+        public long[] getTimestamps() {
+            return timestamps;
+        }
+
+        /**
+         * 값 배열 (앞에서 size()개만 유효)
+         */
+        public long[] getValues(int column) {
+            return values[column];
+        }
+    }
+
+    /**
+     * 압축 블록
+     * - 첫 시각은 필드로 보관, 첫 값은 64비트 원본으로 기록
+     * - 인코딩 상태(직전 값, leading/trailing zero 수)는 블록이 열려 있는 동안만 유지
+     */
+    private static class Block {
+        private long[] words;
+        private int bitCount;
+        private int count;
+        private long firstTimestamp;
+        private long lastTimestamp;
+
+        // 인코딩 상태 (seal 이후 null)
+        private long lastDelta;
+        private long[] lastValues;
+        private int[] lastLeading;
+        private int[] lastTrailing;
+
+        Block(int columns, int blockPoints) {
+            this.words = new long[Math.max(4, blockPoints * (columns + 1) / 16)];
+            this.lastValues = new long[columns];
+            this.lastLeading = new int[columns];
+            this.lastTrailing = new int[columns];
+        }
+
+        void append(long timestamp, long[] values) {
+            if (count == 0) {
+                firstTimestamp = timestamp;
+                for (int c = 0; c < lastValues.length; c++) {
+                    writeBits(values[c], 64);
+                    lastValues[c] = values[c];
+                    lastLeading[c] = -1;
+                }
+            } else {
+                long delta = timestamp - lastTimestamp;
+                writeTimestamp(delta - lastDelta);
+                lastDelta = delta;
+                for (int c = 0; c < lastValues.length; c++) {
+                    writeValue(c, values[c]);
+                }
+            }
+            lastTimestamp = timestamp;
+            count++;
+        }
+
+        /**
+         * 가득 찬 블록을 사용 크기에 맞게 정리
+         */
+        void seal() {
+            words = Arrays.copyOf(words, (bitCount + 63) >>> 6);
+            lastValues = null;
+            lastLeading = null;
+            lastTrailing = null;
+        }
+
+        private void writeTimestamp(long dod) {
+            if (dod == 0) {
+                writeBits(0L, 1);
+            } else if (dod >= -63 && dod <= 64) {
+                writeBits(0x2L, 2);
+                writeBits(dod + 63, 7);
+            } else if (dod >= -255 && dod <= 256) {
+                writeBits(0x6L, 3);
+                writeBits(dod + 255, 9);
+            } else if (dod >= -2047 && dod <= 2048) {
+                writeBits(0xEL, 4);
+                writeBits(dod + 2047, 12);
+            } else {
+                writeBits(0xFL, 4);
+                writeBits(dod, 64);
+            }
+        }
+
+        private void writeValue(int column, long value) {
+            long delta = value - lastValues[column];
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            lastValues[column] = value;
+            if (zigzag == 0) {
+                writeBits(0L, 1);
+                return;
+            }
+            int leading = Long.numberOfLeadingZeros(zigzag);
+            int trailing = Long.numberOfTrailingZeros(zigzag);
+            if (lastLeading[column] >= 0 && leading >= lastLeading[column] && trailing >= lastTrailing[column]) {
+                // 직전 유효 비트 구간 재사용
+                writeBits(0x2L, 2);
+                writeBits(zigzag >>> lastTrailing[column], 64 - lastLeading[column] - lastTrailing[column]);
+            } else {
+                int significant = 64 - leading - trailing;
+                writeBits(0x3L, 2);
+                writeBits(leading, 6);
+                writeBits(significant - 1, 6);
+                writeBits(zigzag >>> trailing, significant);
+                lastLeading[column] = leading;
+                lastTrailing[column] = trailing;
+            }
+        }
+
+        /**
+         * 하위 n비트를 상위 비트부터 기록
+         */
+        private void writeBits(long value, int n) {
+            if (bitCount + n > words.length * 64) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            int index = bitCount >>> 6;
+            int offset = bitCount & 63;
+            int free = 64 - offset;
+            if (n < 64) {
+                value &= (1L << n) - 1;
+            }
+            if (n <= free) {
+                words[index] |= n == 64 ? value : value << (free - n);
+            } else {
+                words[index] |= value >>> (n - free);
+                words[index + 1] |= value << (64 - (n - free));
+            }
+            bitCount += n;
+        }
+
+        void read(long from, long to, Points points) {
+            if (count == 0 || lastTimestamp < from || firstTimestamp > to) {
+                return;
+            }
+            BitReader in = new BitReader(words);
+            int columns = points.values.length;
+            long[] row = new long[columns];
+            int[] leading = new int[columns];
+            int[] trailing = new int[columns];
+            long timestamp = firstTimestamp;
+            long delta = 0;
+            for (int c = 0; c < columns; c++) {
+                row[c] = in.read(64);
+            }
+            if (timestamp >= from) {
+                points.add(timestamp, row);
+            }
+            for (int i = 1; i < count; i++) {
+                delta += readTimestamp(in);
+                timestamp += delta;
+                for (int c = 0; c < columns; c++) {
+                    if (in.read(1) == 0) {
+                        continue;
+                    }
+                    if (in.read(1) == 1) {
+                        leading[c] = (int) in.read(6);
+                        int significant = (int) in.read(6) + 1;
+                        trailing[c] = 64 - leading[c] - significant;
+                    }
+                    long zigzag = in.read(64 - leading[c] - trailing[c]) << trailing[c];
+                    row[c] += (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+                if (timestamp > to) {
+                    return;
+                }
+                if (timestamp >= from) {
+                    points.add(timestamp, row);
+                }
+            }
+        }
+
+        private static long readTimestamp(BitReader in) {
+            if (in.read(1) == 0) {
+                return 0;
+            }
+            if (in.read(1) == 0) {
+                return in.read(7) - 63;
+            }
+            if (in.read(1) == 0) {
+                return in.read(9) - 255;
+            }
+            if (in.read(1) == 0) {
+                return in.read(12) - 2047;
+            }
+            return in.read(64);
+        }
+    }
+
+    /**
+     * 블록 비트 읽기
+     */
+    private static class BitReader {
+        private final long[] words;
+        private int position;
+
+        BitReader(long[] words) {
+            this.words = words;
+        }
+
+        long read(int n) {
+            int index = position >>> 6;
+            int offset = position & 63;
+            int available = 64 - offset;
+            long result;
+            if (n <= available) {
+                result = (words[index] << offset) >>> (64 - n);
+            } else {
+                long high = (words[index] << offset) >>> offset;
+                long low = words[index + 1] >>> (64 - (n - available));
+                result = (high << (n - available)) | low;
+            }
+            position += n;
+            return result;
+        }
+    }
+}
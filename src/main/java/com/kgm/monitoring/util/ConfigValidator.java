@@ -4,6 +4,7 @@ import com.kgm.monitoring.model.ServiceInfo;
 
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,6 +15,10 @@ import java.util.List;
  */
 public class ConfigValidator {
     
+    // SNMPv3 지원 프로토콜 이름 (SnmpService에서 SNMP4J 프로토콜로 변환)
+    public static final String[] V3_AUTH_PROTOCOLS = { "MD5", "SHA", "SHA224", "SHA256", "SHA384", "SHA512" };
+    public static final String[] V3_PRIV_PROTOCOLS = { "DES", "AES", "AES192", "AES256" };
+    
     /**
      * 서비스 정보 전체 검증
      */
@@ -132,8 +137,10 @@ public class ConfigValidator {
             return;
         }
         
-        // Community 검증
-        if (isNullOrEmpty(snmpConfig.getCommunity())) {
+        // Community 검증 (v3는 USM 사용자 검증)
+        if (snmpConfig.isV3()) {
+            validateV3User(snmpConfig, result);
+        } else if (isNullOrEmpty(snmpConfig.getCommunity())) {
             result.addError("SNMP Community가 비어있습니다.");
         }
         
@@ -175,6 +182,31 @@ public class ConfigValidator {
         }
     }
     
+    /**
+     * SNMPv3 사용자 설정 검증
+     */
+    private static void validateV3User(ServiceInfo.SnmpConfig snmpConfig, ValidationResult result) {
+        if (isNullOrEmpty(snmpConfig.getSecurityName())) {
+            result.addError("SNMPv3 사용자(v3.user)가 비어있습니다.");
+        }
+        if (!Arrays.asList(V3_AUTH_PROTOCOLS).contains(snmpConfig.getAuthProtocol())) {
+            result.addError("SNMPv3 인증 프로토콜이 올바르지 않습니다: " + snmpConfig.getAuthProtocol());
+        }
+        if (!Arrays.asList(V3_PRIV_PROTOCOLS).contains(snmpConfig.getPrivProtocol())) {
+            result.addError("SNMPv3 암호화 프로토콜이 올바르지 않습니다: " + snmpConfig.getPrivProtocol());
+        }
+        if (!isNullOrEmpty(snmpConfig.getPrivPassword()) && isNullOrEmpty(snmpConfig.getAuthPassword())) {
+            result.addError("SNMPv3 암호화(priv)에는 인증(auth) 암호가 필요합니다.");
+        }
+        if (isNullOrEmpty(snmpConfig.getPrivPassword())) {
+            result.addWarning("SNMPv3 암호화(priv) 암호가 없어 authPriv 대신 낮은 보안 수준을 사용합니다.");
+        }
+        if (snmpConfig.getAuthPassword() != null && snmpConfig.getAuthPassword().length() < 8
+                || snmpConfig.getPrivPassword() != null && snmpConfig.getPrivPassword().length() < 8) {
+            result.addError("SNMPv3 암호는 8자 이상이어야 합니다.");
+        }
+    }
+    
     /**
      * IP 주소 형식 검증
      */
@@ -0,0 +1,88 @@
+package com.kgm.monitoring.util;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 일관 해시 링 (생성 후 변경되지 않음)
+ * - 노드마다 가상 노드 virtualNodes개를 링에 배치하여 키를 고르게 분산
+ * - 노드가 빠지면 해당 노드의 키만 다른 노드로 이동하고 나머지 키의 담당 노드는 유지
+ * - 모든 인스턴스가 같은 노드 목록으로 같은 링을 만들므로 별도 조정 없이 담당이 일치
+ */
+public class ConsistentHashRing {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final TreeMap<Long, String> ring = new TreeMap<Long, String>();
+    private final List<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("가상 노드 수는 0보다 커야 합니다: " + virtualNodes);
+        }
+        // 입력 순서와 무관하게 같은 링이 되도록 정렬
+        this.nodes = Collections.unmodifiableList(new ArrayList<String>(new TreeSet<String>(nodes)));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * 키의 담당 노드 (노드가 없으면 null)
+     */
+    public String nodeFor(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        SortedMap<Long, String> tail = ring.tailMap(hash(key));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 키 목록의 노드별 담당 키
+     */
+    public Map<String, List<String>> assign(Collection<String> keys) {
+        Map<String, List<String>> result = new TreeMap<String, List<String>>();
+        for (String node : nodes) {
+            result.put(node, new ArrayList<String>());
+        }
+        for (String key : keys) {
+            String node = nodeFor(key);
+            if (node != null) {
+                result.get(node).add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * MD5 앞 8바이트 (노드/키 이름만 해시하므로 호출 빈도가 낮음)
+     */
+    static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(UTF_8));
+            long hash = 0L;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5를 사용할 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.kgm.monitoring.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * JFR(Java Flight Recorder) 사용자 정의 이벤트 기록
+ * - 폴링 주기, SNMP 요청 실패, 설정 로딩, 일별 집계, 이력 조회를 GC/파일 I/O 이벤트와 같은 타임라인에 기록
+ * - 실행 JVM에 jdk.jfr이 없으면(Java 8u262 이전) 아무것도 하지 않음 (jdk.jfr은 JfrFlightEvents에서 리플렉션으로만 참조)
+ * - begin*()은 해당 이벤트를 기록 중일 때만 이벤트 객체를 반환하고 아니면 null (기록하지 않을 때는 객체 생성 없음)
+ * - end*()는 begin*()의 반환값을 그대로 전달 (null이면 무시)
+ */
+public final class FlightEvents {
+
+    /**
+     * 이벤트 기록/기록 제어 구현 (jdk.jfr 사용 여부에 따라 선택)
+     */
+    interface Recorder {
+        Object beginPollCycle();
+
+        void endPollCycle(Object event, long sequence, int services, int requests, int failures,
+                          long sendMillis, long waitMillis, boolean completed);
+
+        void snmpFailure(String serviceId, String ip, String error, long latencyNanos);
+
+        Object beginConfigLoad();
+
+        void endConfigLoad(Object event, String path, int services, boolean success);
+
+        Object beginSummary();
+
+        void endSummary(Object event, String day, int services, long rows);
+
+        Object beginHistoryRead();
+
+        void endHistoryRead(Object event, String serviceId, String kind, int range, int points, int files,
+                            int cachedDays);
+
+        boolean startRecording(String name, String settings, long maxAgeMillis, long maxSizeBytes)
+                throws Exception;
+
+        void stopRecording();
+
+        void dump(File file) throws IOException;
+
+        Map<String, Object> getRecordingStatus();
+    }
+
+    private static final Recorder RECORDER = load();
+
+    private FlightEvents() {
+    }
+
+    private static Recorder load() {
+        try {
+            return new JfrFlightEvents();
+        } catch (Throwable e) {
+            return new Disabled();
+        }
+    }
+
+    /**
+     * 실행 JVM의 JFR 사용자 정의 이벤트 지원 여부
+     */
+    public static boolean isSupported() {
+        return !(RECORDER instanceof Disabled);
+    }
+
+    public static Object beginPollCycle() {
+        return RECORDER.beginPollCycle();
+    }
+
+    /**
+     * 폴링 주기 이벤트 (주기 번호, 서비스/요청/실패 수, 요청 전송·응답 대기 시간, 응답 대기 완료 여부)
+     */
+    public static void endPollCycle(Object event, long sequence, int services, int requests, int failures,
+                                    long sendMillis, long waitMillis, boolean completed) {
+        if (event != null) {
+            RECORDER.endPollCycle(event, sequence, services, requests, failures, sendMillis, waitMillis,
+                    completed);
+        }
+    }
+
+    /**
+     * SNMP 요청 실패 이벤트 (응답 수신 스레드에서 호출, 실패한 요청만 기록)
+     */
+    public static void snmpFailure(String serviceId, String ip, String error, long latencyNanos) {
+        RECORDER.snmpFailure(serviceId, ip, error, latencyNanos);
+    }
+
+    public static Object beginConfigLoad() {
+        return RECORDER.beginConfigLoad();
+    }
+
+    /**
+     * 설정 파일 로딩 이벤트 (파일 경로, 서비스 수, 성공 여부)
+     */
+    public static void endConfigLoad(Object event, String path, int services, boolean success) {
+        if (event != null) {
+            RECORDER.endConfigLoad(event, path, services, success);
+        }
+    }
+
+    public static Object beginSummary() {
+        return RECORDER.beginSummary();
+    }
+
+    /**
+     * 일별 집계 이벤트 (대상 일자, 서비스 수, 원본 로그 행 수)
+     */
+    public static void endSummary(Object event, String day, int services, long rows) {
+        if (event != null) {
+            RECORDER.endSummary(event, day, services, rows);
+        }
+    }
+
+    public static Object beginHistoryRead() {
+        return RECORDER.beginHistoryRead();
+    }
+
+    /**
+     * 이력 조회 이벤트 (서비스ID, 종류(recent/daily/percentiles), 조회 구간(시간/일), 결과 수, 읽은 파일 수, 캐시 사용 일수)
+     */
+    public static void endHistoryRead(Object event, String serviceId, String kind, int range, int points,
+                                      int files, int cachedDays) {
+        if (event != null) {
+            RECORDER.endHistoryRead(event, serviceId, kind, range, points, files, cachedDays);
+        }
+    }
+
+    /**
+     * 상시 기록 시작 (오래된 기록은 maxAge/maxSize 기준으로 버림)
+     * @param settings JFR 설정 이름 (default: 상시 기록용 저부하, profile: 상세)
+     * @return 지원하지 않는 JVM이면 false
+     */
+    public static boolean startRecording(String name, String settings, long maxAgeMillis, long maxSizeBytes)
+            throws Exception {
+        return RECORDER.startRecording(name, settings, maxAgeMillis, maxSizeBytes);
+    }
+
+    public static void stopRecording() {
+        RECORDER.stopRecording();
+    }
+
+    /**
+     * 상시 기록 내용을 파일로 저장 (기록은 계속됨)
+     * @throws IllegalStateException 기록 중이 아닌 경우
+     */
+    public static void dump(File file) throws IOException {
+        RECORDER.dump(file);
+    }
+
+    /**
+     * 상시 기록 현황 (상태, 최대 보관 시간/크기, 현재 크기)
+     */
+    public static Map<String, Object> getRecordingStatus() {
+        return RECORDER.getRecordingStatus();
+    }
+
+    /**
+     * jdk.jfr이 없는 JVM용 (아무것도 기록하지 않음)
+     */
+    private static final class Disabled implements Recorder {
+        public Object beginPollCycle() {
+            return null;
+        }
+
+        public void endPollCycle(Object event, long sequence, int services, int requests, int failures,
+                                 long sendMillis, long waitMillis, boolean completed) {
+        }
+
+        public void snmpFailure(String serviceId, String ip, String error, long latencyNanos) {
+        }
+
+        public Object beginConfigLoad() {
+            return null;
+        }
+
+        public void endConfigLoad(Object event, String path, int services, boolean success) {
+        }
+
+        public Object beginSummary() {
+            return null;
+        }
+
+        public void endSummary(Object event, String day, int services, long rows) {
+        }
+
+        public Object beginHistoryRead() {
+            return null;
+        }
+
+        public void endHistoryRead(Object event, String serviceId, String kind, int range, int points, int files,
+                                   int cachedDays) {
+        }
+
+        public boolean startRecording(String name, String settings, long maxAgeMillis, long maxSizeBytes) {
+            return false;
+        }
+
+        public void stopRecording() {
+        }
+
+        public void dump(File file) {
+            throw new IllegalStateException("JFR을 지원하지 않는 JVM입니다: " + System.getProperty("java.version"));
+        }
+
+        public Map<String, Object> getRecordingStatus() {
+            return Collections.<String, Object>singletonMap("state", "unsupported");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.kgm.monitoring.util;
+
+import com.kgm.monitoring.model.HistorySeries;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 이력 응답 압축 형식 변환
+ *
+ * columnar (JSON):
+ * - start: 첫 시각, step: 구간 길이(밀리초, 원본/다운샘플이면 0)
+ * - timestampDeltas: 직전 시각과의 차이 (모든 간격이 step과 같으면 생략)
+ * - 값 배열: 첫 값 이후 직전 값과의 차이
+ *
+ * binary (little-endian, dashboard.js에서 DataView로 해석):
+ * - 헤더 32바이트: version(int32), count(int32), start(float64), step(float64), flags(int32), 예약(int32)
+ * - flags bit0이 1이면 timestamps(float64 × count)
+ * - nbpSessions, drSessions, nbpTraffic, drTraffic, errors (각 float64 × count)
+ */
+public final class HistoryCodec {
+
+    public static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+
+    static final int BINARY_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int FLAG_TIMESTAMPS = 1;
+
+    private HistoryCodec() {
+    }
+
+    /**
+     * columnar 형식 변환
+     */
+    public static Map<String, Object> toColumnar(String serviceId, HistorySeries series) {
+        long[] timestamps = series.getTimestamps();
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("serviceId", serviceId);
+        result.put("format", "columnar");
+        result.put("points", series.size());
+        result.put("start", timestamps.length > 0 ? timestamps[0] : 0L);
+        result.put("step", series.getStep());
+        if (!isRegular(timestamps, series.getStep())) {
+            result.put("timestampDeltas", delta(timestamps));
+        }
+        result.put("nbpSessions", delta(series.getNbpSessions()));
+        result.put("drSessions", delta(series.getDrSessions()));
+        result.put("nbpTraffic", delta(series.getNbpTraffic()));
+        result.put("drTraffic", delta(series.getDrTraffic()));
+        result.put("errors", delta(series.getErrors()));
+        return result;
+    }
+
+    /**
+     * binary 형식 변환
+     */
+    public static byte[] toBinary(HistorySeries series) {
+        long[] timestamps = series.getTimestamps();
+        int count = timestamps.length;
+        boolean regular = isRegular(timestamps, series.getStep());
+        int columns = regular ? 5 : 6;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + columns * count * 8).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(BINARY_VERSION);
+        buffer.putInt(count);
+        buffer.putDouble(count > 0 ? timestamps[0] : 0L);
+        buffer.putDouble(series.getStep());
+        buffer.putInt(regular ? 0 : FLAG_TIMESTAMPS);
+        buffer.putInt(0);
+        if (!regular) {
+            putAll(buffer, timestamps);
+        }
+        putAll(buffer, series.getNbpSessions());
+        putAll(buffer, series.getDrSessions());
+        putAll(buffer, series.getNbpTraffic());
+        putAll(buffer, series.getDrTraffic());
+        putAll(buffer, series.getErrors());
+        return buffer.array();
+    }
+
+    private static void putAll(ByteBuffer buffer, long[] values) {
+        for (long value : values) {
+            buffer.putDouble(value);
+        }
+    }
+
+    /**
+     * 모든 간격이 step과 같은지 여부
+     */
+    static boolean isRegular(long[] timestamps, long step) {
+        if (step <= 0) {
+            return timestamps.length <= 1;
+        }
+        for (int i = 1; i < timestamps.length; i++) {
+            if (timestamps[i] - timestamps[i - 1] != step) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 첫 값 이후 직전 값과의 차이로 변환
+     */
+    static long[] delta(long[] values) {
+        long[] result = new long[values.length];
+        long previous = 0L;
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] - previous;
+            previous = values[i];
+        }
+        return result;
+    }
+}
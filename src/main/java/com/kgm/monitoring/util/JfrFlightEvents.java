@@ -0,0 +1,346 @@
+package com.kgm.monitoring.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * jdk.jfr 기반 FlightEvents 구현 (jdk.jfr이 있는 JVM에서만 생성됨)
+ * - 빌드는 Java 7 기준이므로 jdk.jfr / java.time은 리플렉션으로만 참조하고, 이벤트 형식은 EventFactory로 정의
+ * - 이벤트 이름: kgm.PollCycle, kgm.SnmpFailure, kgm.ConfigLoad, kgm.Summary, kgm.HistoryRead
+ * - JMC/jfr 도구에서 "NBP/DR Monitoring" 분류로 표시
+ * - 기록하지 않는 이벤트는 isEnabled 확인만 하므로 객체를 만들지 않음
+ */
+final class JfrFlightEvents implements FlightEvents.Recorder {
+
+    private static final String CATEGORY = "NBP/DR Monitoring";
+    private static final String MILLISECONDS = "MILLISECONDS";
+    private static final String NANOSECONDS = "NANOSECONDS";
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // jdk.jfr 이벤트 정의용
+    private final Constructor<?> annotationElement;
+    private final Constructor<?> valueDescriptor;
+    private final Method createFactory;
+
+    // jdk.jfr.Event
+    private final Method begin;
+    private final Method end;
+    private final Method shouldCommit;
+    private final Method commit;
+    private final Method set;
+
+    // jdk.jfr.Recording 제어
+    private final Method getConfiguration;
+    private final Constructor<?> newRecording;
+    private final Method durationOfMillis;
+    private final Class<?> recordingClass;
+
+    private final EventDefinition pollCycle;
+    private final EventDefinition snmpFailure;
+    private final EventDefinition configLoad;
+    private final EventDefinition summary;
+    private final EventDefinition historyRead;
+
+    private Object recording;
+
+    JfrFlightEvents() throws Exception {
+        Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+        annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+        valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class,
+                List.class);
+        createFactory = Class.forName("jdk.jfr.EventFactory").getMethod("create", List.class, List.class);
+
+        Class<?> event = Class.forName("jdk.jfr.Event");
+        begin = event.getMethod("begin");
+        end = event.getMethod("end");
+        shouldCommit = event.getMethod("shouldCommit");
+        commit = event.getMethod("commit");
+        set = event.getMethod("set", int.class, Object.class);
+
+        Class<?> configuration = Class.forName("jdk.jfr.Configuration");
+        getConfiguration = configuration.getMethod("getConfiguration", String.class);
+        recordingClass = Class.forName("jdk.jfr.Recording");
+        newRecording = recordingClass.getConstructor(configuration);
+        durationOfMillis = Class.forName("java.time.Duration").getMethod("ofMillis", long.class);
+
+        // 필드 순서가 set(index, value)의 index
+        pollCycle = define("kgm.PollCycle", "Poll Cycle", "SNMP 폴링 주기 1회",
+                field(long.class, "sequence", "Sequence", null),
+                field(int.class, "services", "Services", null),
+                field(int.class, "requests", "Requests", null),
+                field(int.class, "failures", "Failures", null),
+                field(long.class, "sendTime", "Send Time", MILLISECONDS),
+                field(long.class, "waitTime", "Wait Time", MILLISECONDS),
+                field(boolean.class, "completed", "All Responses Received", null));
+        snmpFailure = define("kgm.SnmpFailure", "SNMP Request Failure", null,
+                field(String.class, "serviceId", "Service ID", null),
+                field(String.class, "ip", "Agent IP", null),
+                field(String.class, "error", "Error", null),
+                field(long.class, "latency", "Latency", NANOSECONDS));
+        configLoad = define("kgm.ConfigLoad", "Configuration Load", null,
+                field(String.class, "path", "Path", null),
+                field(int.class, "services", "Services", null),
+                field(boolean.class, "success", "Success", null));
+        summary = define("kgm.Summary", "Daily Summary", null,
+                field(String.class, "day", "Day", null),
+                field(int.class, "services", "Services", null),
+                field(long.class, "rows", "Rows", null));
+        historyRead = define("kgm.HistoryRead", "History Read", null,
+                field(String.class, "serviceId", "Service ID", null),
+                field(String.class, "kind", "Kind", null),
+                field(int.class, "range", "Range", null),
+                field(int.class, "points", "Points", null),
+                field(int.class, "files", "Files Read", null),
+                field(int.class, "cachedDays", "Cached Days", null));
+    }
+
+    public Object beginPollCycle() {
+        return begin(pollCycle);
+    }
+
+    public void endPollCycle(Object event, long sequence, int services, int requests, int failures,
+                             long sendMillis, long waitMillis, boolean completed) {
+        call(end, event);
+        if ((Boolean) call(shouldCommit, event)) {
+            call(set, event, 0, sequence);
+            call(set, event, 1, services);
+            call(set, event, 2, requests);
+            call(set, event, 3, failures);
+            call(set, event, 4, sendMillis);
+            call(set, event, 5, waitMillis);
+            call(set, event, 6, completed);
+            call(commit, event);
+        }
+    }
+
+    public void snmpFailure(String serviceId, String ip, String error, long latencyNanos) {
+        if (!snmpFailure.isEnabled()) {
+            return;
+        }
+        Object event = snmpFailure.newEvent();
+        call(set, event, 0, serviceId);
+        call(set, event, 1, ip);
+        call(set, event, 2, error);
+        call(set, event, 3, latencyNanos);
+        call(commit, event);
+    }
+
+    public Object beginConfigLoad() {
+        return begin(configLoad);
+    }
+
+    public void endConfigLoad(Object event, String path, int services, boolean success) {
+        call(set, event, 0, path);
+        call(set, event, 1, services);
+        call(set, event, 2, success);
+        call(commit, event);
+    }
+
+    public Object beginSummary() {
+        return begin(summary);
+    }
+
+    public void endSummary(Object event, String day, int services, long rows) {
+        call(set, event, 0, day);
+        call(set, event, 1, services);
+        call(set, event, 2, rows);
+        call(commit, event);
+    }
+
+    public Object beginHistoryRead() {
+        return begin(historyRead);
+    }
+
+    public void endHistoryRead(Object event, String serviceId, String kind, int range, int points, int files,
+                               int cachedDays) {
+        call(end, event);
+        if ((Boolean) call(shouldCommit, event)) {
+            call(set, event, 0, serviceId);
+            call(set, event, 1, kind);
+            call(set, event, 2, range);
+            call(set, event, 3, points);
+            call(set, event, 4, files);
+            call(set, event, 5, cachedDays);
+            call(commit, event);
+        }
+    }
+
+    public synchronized boolean startRecording(String name, String settings, long maxAgeMillis, long maxSizeBytes)
+            throws Exception {
+        if (recording != null) {
+            return true;
+        }
+        Object created = newRecording.newInstance(call(getConfiguration, null, settings));
+        recordingCall(created, "setName", new Class<?>[] {String.class}, name);
+        recordingCall(created, "setToDisk", new Class<?>[] {boolean.class}, true);
+        recordingCall(created, "setMaxAge", new Class<?>[] {durationOfMillis.getReturnType()},
+                call(durationOfMillis, null, maxAgeMillis));
+        recordingCall(created, "setMaxSize", new Class<?>[] {long.class}, maxSizeBytes);
+        // 사용자 정의 이벤트는 설정 파일과 무관하게 모두 기록 (주기당 수 건)
+        for (EventDefinition definition : new EventDefinition[] {pollCycle, snmpFailure, configLoad, summary,
+                historyRead}) {
+            recordingCall(created, "enable", new Class<?>[] {String.class}, definition.name);
+        }
+        recordingCall(created, "start", new Class<?>[0]);
+        recording = created;
+        return true;
+    }
+
+    public synchronized void stopRecording() {
+        if (recording != null) {
+            recordingCall(recording, "close", new Class<?>[0]);
+            recording = null;
+        }
+    }
+
+    public synchronized void dump(File file) throws IOException {
+        if (recording == null || !"RUNNING".equals(String.valueOf(recordingCall(recording, "getState",
+                new Class<?>[0])))) {
+            throw new IllegalStateException("상시 기록 중이 아닙니다");
+        }
+        try {
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file.toPath());
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("JFR 기록 저장 실패: " + e.getCause(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("JFR 기록 저장 실패: " + e.getMessage(), e);
+        }
+    }
+
+    public synchronized Map<String, Object> getRecordingStatus() {
+        Map<String, Object> status = new LinkedHashMap<String, Object>();
+        if (recording == null) {
+            status.put("state", "stopped");
+            return status;
+        }
+        Class<?>[] none = new Class<?>[0];
+        Object startTime = recordingCall(recording, "getStartTime", none);
+        Object maxAge = recordingCall(recording, "getMaxAge", none);
+        status.put("state", String.valueOf(recordingCall(recording, "getState", none)).toLowerCase());
+        status.put("name", recordingCall(recording, "getName", none));
+        status.put("startedAt", startTime != null ? objectCall(startTime, "toEpochMilli") : 0L);
+        status.put("maxAgeSeconds", maxAge != null ? objectCall(maxAge, "getSeconds") : 0L);
+        status.put("maxSizeBytes", recordingCall(recording, "getMaxSize", none));
+        status.put("sizeBytes", recordingCall(recording, "getSize", none));
+        return status;
+    }
+
+    private Object begin(EventDefinition definition) {
+        if (!definition.isEnabled()) {
+            return null;
+        }
+        Object event = definition.newEvent();
+        call(begin, event);
+        return event;
+    }
+
+    /**
+     * EventFactory로 이벤트 형식 정의 (Name, Label, Category, Description 주석)
+     */
+    private EventDefinition define(String name, String label, String description, Object... fields)
+            throws Exception {
+        List<Object> annotations = new ArrayList<Object>();
+        annotations.add(annotation("Name", name));
+        annotations.add(annotation("Label", label));
+        annotations.add(annotation("Category", new String[] {CATEGORY}));
+        if (description != null) {
+            annotations.add(annotation("Description", description));
+        }
+        List<Object> descriptors = new ArrayList<Object>();
+        Collections.addAll(descriptors, fields);
+        return new EventDefinition(name, call(createFactory, null, annotations, descriptors));
+    }
+
+    /**
+     * 이벤트 필드 정의 (timespan: Timespan 단위, 없으면 null)
+     */
+    private Object field(Class<?> type, String name, String label, String timespan) throws Exception {
+        List<Object> annotations = new ArrayList<Object>();
+        annotations.add(annotation("Label", label));
+        if (timespan != null) {
+            annotations.add(annotation("Timespan", timespan));
+        }
+        return valueDescriptor.newInstance(type, name, annotations);
+    }
+
+    private Object annotation(String type, Object value) throws Exception {
+        Class<? extends Annotation> annotationType = Class.forName("jdk.jfr." + type).asSubclass(Annotation.class);
+        return annotationElement.newInstance(annotationType, value);
+    }
+
+    private Object recordingCall(Object target, String name, Class<?>[] types, Object... args) {
+        try {
+            return call(recordingClass.getMethod(name, types), target, args);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("jdk.jfr.Recording." + name + " 없음", e);
+        }
+    }
+
+    private static Object objectCall(Object target, String name) {
+        try {
+            return call(target.getClass().getMethod(name), target, NO_ARGS);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(target.getClass().getName() + "." + name + " 없음", e);
+        }
+    }
+
+    /**
+     * 리플렉션 호출 (호출된 메서드의 예외는 그대로, 검사 예외는 IllegalStateException으로 전달)
+     */
+    private static Object call(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * EventFactory로 정의한 이벤트 형식 (factory를 보관하는 동안만 형식이 등록되어 있음)
+     */
+    private static final class EventDefinition {
+        final String name;
+        private final Object factory;
+        private final Object eventType;
+        private final Method newEvent;
+        private final Method isEnabled;
+
+        EventDefinition(String name, Object factory) throws Exception {
+            this.name = name;
+            this.factory = factory;
+            this.newEvent = factory.getClass().getMethod("newEvent");
+            this.eventType = factory.getClass().getMethod("getEventType").invoke(factory);
+            this.isEnabled = eventType.getClass().getMethod("isEnabled");
+        }
+
+        boolean isEnabled() {
+            return (Boolean) call(isEnabled, eventType, NO_ARGS);
+        }
+
+        Object newEvent() {
+            return call(newEvent, factory, NO_ARGS);
+        }
+    }
+}
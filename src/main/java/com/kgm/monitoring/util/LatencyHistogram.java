@@ -0,0 +1,155 @@
+package com.kgm.monitoring.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 메모리 Lock-Free 지연 시간 히스토그램 (HdrHistogram 방식의 로그-선형 버킷)
+ * - 단위: 마이크로초
+ * - 0~31us 구간은 1us 단위, 이후 2의 거듭제곱 구간마다 16개 하위 버킷 (상대 오차 약 3%)
+ * - 최대 약 2^31us(35분), 초과 값은 마지막 버킷에 기록
+ * - 버킷 464개 (약 3.7KB), 기록 시 객체 생성 없음
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 32;          // 0~31us 선형 구간
+    private static final int LINEAR_BITS = 5;            // log2(LINEAR_LIMIT)
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 31;
+    private static final int BUCKET_COUNT =
+            LINEAR_LIMIT + (MAX_EXPONENT - LINEAR_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 지연 시간 기록 (나노초)
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000L);
+    }
+
+    /**
+     * 지연 시간 기록 (마이크로초)
+     */
+    public void recordMicros(long micros) {
+        if (micros < 0) {
+            micros = 0;
+        }
+        counts.incrementAndGet(bucketIndex(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+
+        long currentMax = maxMicros.get();
+        while (micros > currentMax && !maxMicros.compareAndSet(currentMax, micros)) {
+            currentMax = maxMicros.get();
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalMicros.get() / count;
+    }
+
+    /**
+     * 백분위수 값 반환 (마이크로초, 버킷 중앙값 기준)
+     * @param percentile 0~100
+     */
+    public long getValueAtPercentile(double percentile) {
+        return snapshot().getValueAtPercentile(percentile);
+    }
+
+    /**
+     * 현재 버킷 값 복사본 (여러 백분위수를 일관되게 계산할 때 사용)
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, maxMicros.get());
+    }
+
+    /**
+     * 값이 속하는 버킷 번호
+     */
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 버킷의 대표값 (구간 중앙값)
+     */
+    static long bucketValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_BITS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + subBucket * width;
+        return lower + width / 2;
+    }
+
+    /**
+     * 히스토그램 시점 복사본
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long totalCount;
+        private final long maxMicros;
+
+        Snapshot(long[] counts, long totalCount, long maxMicros) {
+            this.counts = counts;
+            this.totalCount = totalCount;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getValueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0L;
+            }
+            long target = (long) Math.ceil(percentile / 100.0 * totalCount);
+            if (target < 1) {
+                target = 1;
+            }
+            long seen = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(bucketValue(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kgm.monitoring.util;
+
+/**
+ * Largest-Triangle-Three-Buckets 다운샘플링
+ * - 첫/마지막 점은 항상 유지
+ * - 나머지 구간을 (threshold - 2)개 버킷으로 나누고, 버킷마다
+ *   직전 선택 점과 다음 버킷 평균점이 이루는 삼각형 면적이 가장 큰 점 1개 선택
+ * - 평균으로 뭉개지는 급격한 전환(스파이크/계단)을 그대로 유지
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * 선택된 점의 위치 반환 (오름차순)
+     * @param x 시각 (오름차순)
+     * @param y 값
+     * @param length 유효 데이터 수
+     * @param threshold 최대 점 수 (3 미만이거나 length 이하이면 전체 반환)
+     */
+    public static int[] downsample(long[] x, double[] y, int length, int threshold) {
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int a = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // 다음 버킷 평균점
+            int nextStart = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, length);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            if (nextCount > 0) {
+                avgX /= nextCount;
+                avgY /= nextCount;
+            } else {
+                avgX = x[length - 1];
+                avgY = y[length - 1];
+            }
+
+            // 현재 버킷에서 삼각형 면적이 가장 큰 점
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            double ax = x[a];
+            double ay = y[a];
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (y[i] - ay) - (ax - x[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            selected[count++] = maxIndex;
+            a = maxIndex;
+        }
+
+        selected[count++] = length - 1;
+        return selected;
+    }
+}
@@ -0,0 +1,75 @@
+package com.kgm.monitoring.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지표 이름 → 정수 ID 등록부
+ * - 설정 로딩 시 지표 이름을 작은 정수 ID로 등록 (한 번 등록된 ID는 프로세스 종료까지 유지)
+ * - 수집/집계/저장 경로는 이름 대신 서비스별 지표 열 번호와 ID 배열만 사용 (맵 조회 없음)
+ * - 세션 수(0), 트래픽(1)은 기본 지표로 미리 등록
+ */
+public final class MetricRegistry {
+
+    public static final int SESSIONS = 0;
+    public static final int TRAFFIC = 1;
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<String, Integer>();
+    private static volatile String[] names = new String[0];
+
+    static {
+        intern("sessions");
+        intern("traffic");
+    }
+
+    private MetricRegistry() {
+    }
+
+    /**
+     * 지표 이름 등록 (이미 등록된 이름이면 기존 ID)
+     */
+    public static int intern(String name) {
+        Integer id = IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (MetricRegistry.class) {
+            id = IDS.get(name);
+            if (id == null) {
+                String[] next = Arrays.copyOf(names, names.length + 1);
+                next[names.length] = name;
+                id = names.length;
+                names = next;
+                IDS.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * ID의 지표 이름
+     * @throws IllegalArgumentException 등록되지 않은 ID
+     */
+    public static String name(int id) {
+        String[] current = names;
+        if (id < 0 || id >= current.length) {
+            throw new IllegalArgumentException("등록되지 않은 지표 ID: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * 등록된 지표 ID (없으면 -1)
+     */
+    public static int find(String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 등록된 지표 수
+     */
+    public static int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,178 @@
+package com.kgm.monitoring.util;
+
+/**
+ * 병합 가능한 분위수 스케치 (DDSketch 방식)
+ * - 양수 값은 log_gamma 구간(gamma = (1+a)/(1-a))별 건수로 저장, 0 이하는 별도 건수
+ * - 분위수 추정값의 상대 오차는 a(1%) 이내
+ * - 같은 정확도의 스케치끼리는 구간별 건수 합으로 병합 (병합 순서와 무관하게 같은 결과)
+ * - 5분 구간의 세션 수처럼 범위가 좁은 값은 수십 개 구간 이내로 표현됨
+ *
+ * 문자열 형식 (CSV 필드에 쉼표 없이 저장):
+ *   0이하건수/시작구간:건수;건수;...   (건수가 0인 구간은 빈 문자열)
+ */
+public class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long zeroCount;
+    private long[] counts = new long[0];
+    private int offset;
+    private long count;
+
+    /**
+     * 값 1건 추가
+     */
+    public void add(long value) {
+        add(value, 1L);
+    }
+
+    /**
+     * 같은 값 여러 건 추가
+     */
+    public void add(long value, long times) {
+        if (times <= 0) {
+            return;
+        }
+        if (value <= 0) {
+            zeroCount += times;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+            ensureRange(index, index);
+            counts[index - offset] += times;
+        }
+        count += times;
+    }
+
+    /**
+     * 다른 스케치 병합
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        int first = firstNonZero(other.counts);
+        if (first >= 0) {
+            int last = lastNonZero(other.counts);
+            ensureRange(other.offset + first, other.offset + last);
+            for (int i = first; i <= last; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * 분위수 추정 (q: 0~1, 데이터가 없으면 NaN)
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.max(0.0, Math.min(1.0, q)) * (count - 1);
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // 구간 (gamma^(k-1), gamma^k] 의 대표값
+                return 2.0 * Math.pow(GAMMA, offset + i) / (GAMMA + 1);
+            }
+        }
+        return 2.0 * Math.pow(GAMMA, offset + counts.length - 1) / (GAMMA + 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 문자열 변환 (집계 파일 저장용)
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder(32);
+        sb.append(zeroCount).append('/');
+        int first = firstNonZero(counts);
+        if (first < 0) {
+            return sb.toString();
+        }
+        int last = lastNonZero(counts);
+        sb.append(offset + first).append(':');
+        for (int i = first; i <= last; i++) {
+            if (i > first) {
+                sb.append(';');
+            }
+            if (counts[i] != 0) {
+                sb.append(counts[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 문자열에서 복원
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static QuantileSketch decode(String text) {
+        QuantileSketch sketch = new QuantileSketch();
+        try {
+            int slash = text.indexOf('/');
+            sketch.zeroCount = Long.parseLong(text.substring(0, slash));
+            sketch.count = sketch.zeroCount;
+            if (slash + 1 < text.length()) {
+                int colon = text.indexOf(':', slash);
+                sketch.offset = Integer.parseInt(text.substring(slash + 1, colon));
+                String[] values = text.substring(colon + 1).split(";", -1);
+                sketch.counts = new long[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    long value = values[i].isEmpty() ? 0L : Long.parseLong(values[i]);
+                    sketch.counts[i] = value;
+                    sketch.count += value;
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 스케치 형식: " + text);
+        }
+        return sketch;
+    }
+
+    private void ensureRange(int low, int high) {
+        if (counts.length == 0) {
+            counts = new long[high - low + 1];
+            offset = low;
+            return;
+        }
+        int newLow = Math.min(low, offset);
+        int newHigh = Math.max(high, offset + counts.length - 1);
+        if (newLow == offset && newHigh == offset + counts.length - 1) {
+            return;
+        }
+        long[] grown = new long[newHigh - newLow + 1];
+        System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+        counts = grown;
+        offset = newLow;
+    }
+
+    private static int firstNonZero(long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastNonZero(long[] values) {
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (values[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.kgm.monitoring.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 고정 길이 Ring Buffer (FIFO)
+ * - 최근 N개 데이터만 유지
+ * - 용량 초과 시 가장 오래된 데이터 덮어쓰기
+ */
+public class RingBuffer<T> {
+
+    private final Object[] elements;
+    private int head;   // 다음 쓰기 위치
+    private int size;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring Buffer 크기는 0보다 커야 합니다: " + capacity);
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * 데이터 추가 (가득 찬 경우 가장 오래된 데이터 덮어쓰기)
+     */
+    public synchronized void add(T element) {
+        elements[head] = element;
+        head = (head + 1) % elements.length;
+        if (size < elements.length) {
+            size++;
+        }
+    }
+
+    /**
+     * 오래된 순서로 전체 데이터 반환
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> toList() {
+        List<T> list = new ArrayList<T>(size);
+        int start = (head - size + elements.length) % elements.length;
+        for (int i = 0; i < size; i++) {
+            list.add((T) elements[(start + i) % elements.length]);
+        }
+        return list;
+    }
+
+    /**
+     * 가장 최근 데이터 반환
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T latest() {
+        if (size == 0) {
+            return null;
+        }
+        return (T) elements[(head - 1 + elements.length) % elements.length];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+}
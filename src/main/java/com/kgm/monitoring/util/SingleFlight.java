@@ -0,0 +1,170 @@
+package com.kgm.monitoring.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동일 키 작업 병합 (single-flight)
+ * - 같은 키의 작업이 수행 중이면 새로 실행하지 않고 수행 중인 작업의 결과를 공유
+ * - 작업이 끝나면 키를 제거하므로 이후 요청은 다시 실행 (결과 캐시 아님)
+ * - 결과를 기다리는 요청이 모두 떠나면(leave) 작업 취소
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> calls = new ConcurrentHashMap<K, Flight<V>>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    /**
+     * 작업 실행 또는 수행 중인 동일 작업에 합류
+     * - 결과가 더 이상 필요 없으면 반환된 Flight의 leave()를 호출해야 함
+     * @throws RejectedExecutionException executor가 작업을 거부한 경우
+     */
+    public Flight<V> execute(final K key, Callable<V> callable, Executor executor) {
+        while (true) {
+            Flight<V> existing = calls.get(key);
+            if (existing != null) {
+                if (existing.join()) {
+                    shared.incrementAndGet();
+                    return existing;
+                }
+                // 마지막 대기자가 떠나 취소 중인 작업은 제거 후 새로 실행
+                calls.remove(key, existing);
+                continue;
+            }
+            Flight<V> flight = new Flight<V>(this, key, callable);
+            if (calls.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            flight.join();
+            try {
+                executor.execute(flight);
+            } catch (RejectedExecutionException e) {
+                calls.remove(key, flight);
+                throw e;
+            }
+            executed.incrementAndGet();
+            return flight;
+        }
+    }
+
+    /**
+     * 수행 중인 작업 수
+     */
+    public int getInFlight() {
+        return calls.size();
+    }
+
+    /**
+     * 실제 실행된 작업 수
+     */
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    /**
+     * 수행 중인 작업 결과를 공유한 요청 수
+     */
+    public long getShared() {
+        return shared.get();
+    }
+
+    /**
+     * 대기자가 모두 떠나 취소된 작업 수
+     */
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * 병합된 작업
+     * - 완료(성공/실패/취소) 시 등록된 리스너 호출
+     */
+    public static class Flight<V> extends FutureTask<V> {
+        private final SingleFlight<?, V> owner;
+        private final Object key;
+        private final List<Runnable> listeners = new ArrayList<Runnable>();
+        private int waiters;
+        private boolean finished;
+
+        Flight(SingleFlight<?, V> owner, Object key, Callable<V> callable) {
+            super(callable);
+            this.owner = owner;
+            this.key = key;
+        }
+
+        /**
+         * 완료 리스너 등록 (이미 완료된 경우 즉시 호출)
+         */
+        public void addListener(Runnable listener) {
+            synchronized (this) {
+                if (!finished) {
+                    listeners.add(listener);
+                    return;
+                }
+            }
+            listener.run();
+        }
+
+        /**
+         * 결과 대기 해제 (마지막 대기자가 떠나면 작업 취소)
+         */
+        public void leave() {
+            boolean cancel;
+            synchronized (this) {
+                cancel = --waiters == 0 && !finished;
+            }
+            if (cancel && cancel(true)) {
+                owner.cancelled.incrementAndGet();
+            }
+        }
+
+        synchronized boolean join() {
+            if (waiters == 0 && (finished || isCancelled())) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /**
+         * 결과 대기자를 깨우기 전에 키 제거 (done()은 대기자 해제 이후에 호출되므로 여기서 먼저 제거)
+         */
+        @Override
+        protected void set(V value) {
+            owner.calls.remove(key, this);
+            super.set(value);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            owner.calls.remove(key, this);
+            super.setException(t);
+        }
+
+        @Override
+        protected void done() {
+            owner.calls.remove(key, this);
+            List<Runnable> toRun;
+            synchronized (this) {
+                finished = true;
+                toRun = new ArrayList<Runnable>(listeners);
+                listeners.clear();
+            }
+            for (Runnable listener : toRun) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    System.err.println("작업 완료 리스너 호출 중 오류: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
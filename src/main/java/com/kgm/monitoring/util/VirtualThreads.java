@@ -0,0 +1,98 @@
+package com.kgm.monitoring.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 스레드 지원 (Java 21 이상에서 실행 시)
+ * - 빌드는 Java 7 기준이므로 Thread.ofVirtual / Executors.newThreadPerTaskExecutor는 리플렉션으로 호출
+ * - 실행 JVM이 지원하지 않으면 이름 있는 데몬 플랫폼 스레드 풀로 대체
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method perTask = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // 미리보기 기능인 JVM(19/20)은 여기서 실패
+            factory.invoke(ofVirtual.invoke(null));
+        } catch (Exception e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = perTask;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 실행 JVM의 가상 스레드 지원 여부
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 만드는 실행기 (스레드 이름: prefix-번호)
+     * @throws UnsupportedOperationException 실행 JVM이 가상 스레드를 지원하지 않는 경우
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다");
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (Exception e) {
+            throw new IllegalStateException("가상 스레드 실행기 생성 실패", e);
+        }
+    }
+
+    /**
+     * virtual이고 지원되면 가상 스레드 실행기, 아니면 platformThreads개 데몬 스레드 풀
+     */
+    public static ExecutorService newExecutor(final String prefix, int platformThreads, boolean virtual) {
+        if (virtual) {
+            if (isSupported()) {
+                return newThreadPerTaskExecutor(prefix);
+            }
+            System.err.println("가상 스레드를 지원하지 않는 JVM(" + System.getProperty("java.version")
+                    + ")이므로 " + prefix + " 작업은 플랫폼 스레드 " + platformThreads + "개로 수행합니다");
+        }
+        return Executors.newFixedThreadPool(platformThreads, daemonFactory(prefix));
+    }
+
+    /**
+     * 이름 있는 데몬 플랫폼 스레드 생성기 (스레드 이름: prefix-번호)
+     */
+    public static ThreadFactory daemonFactory(final String prefix) {
+        return new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
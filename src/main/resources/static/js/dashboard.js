@@ -7,15 +7,40 @@ class MonitoringDashboard {
         this.services = [];
         this.selectedService = null;
         this.updateInterval = 5000; // 5초마다 업데이트
+        this.alerts = {};
+        this.detail = null; // 선택 서비스 상세 (recent는 커서 이후 값만 받아 이어 붙임)
         this.init();
     }
 
     init() {
         this.loadServices();
         this.startAutoUpdate();
+        this.subscribeAlerts();
         this.bindEvents();
     }
 
+    /**
+     * 알림 상태 변경 구독 (SSE, 연결이 끊기면 브라우저가 자동 재연결)
+     */
+    subscribeAlerts() {
+        const source = new EventSource('/api/alerts/stream');
+        source.addEventListener('alert', event => {
+            const alert = JSON.parse(event.data);
+            this.alerts[alert.serviceId] = alert;
+            this.applyAlert(alert.serviceId);
+        });
+    }
+
+    applyAlert(serviceId) {
+        const alert = this.alerts[serviceId];
+        const card = document.querySelector(`.service-card[data-service-id="${serviceId}"]`);
+        if (!alert || !card) {
+            return;
+        }
+        card.classList.remove('alert-green', 'alert-yellow', 'alert-red', 'alert-grey');
+        card.classList.add(`alert-${alert.level}`);
+    }
+
     async loadServices() {
         try {
             const response = await fetch('/api/services');
@@ -35,6 +60,7 @@ class MonitoringDashboard {
         this.services.forEach(service => {
             const serviceCard = this.createServiceCard(service);
             serviceList.appendChild(serviceCard);
+            this.applyAlert(service.id);
         });
     }
 
@@ -74,20 +100,114 @@ class MonitoringDashboard {
 
     selectService(serviceId) {
         this.selectedService = serviceId;
+        this.detail = null;
         this.loadServiceDetail(serviceId);
         document.getElementById('service-detail').style.display = 'block';
     }
 
     async loadServiceDetail(serviceId) {
         try {
-            const response = await fetch(`/api/services/${serviceId}/ratio`);
+            const previous = this.detail && this.detail.serviceId === serviceId ? this.detail : null;
+            const query = previous && previous.cursor !== undefined
+                ? `?since=${previous.cursor}&epoch=${previous.epoch}` : '';
+            const response = await fetch(`/api/services/${serviceId}/ratio${query}`);
             const data = await response.json();
-            this.renderServiceDetail(data);
+            if (this.selectedService !== serviceId) {
+                return;
+            }
+            this.detail = MonitoringDashboard.mergeRecent(previous, data);
+            this.renderServiceDetail(this.detail);
         } catch (error) {
             console.error('서비스 상세 정보 로드 실패:', error);
         }
     }
 
+    /**
+     * 커서 이후 값(resync=false)을 기존 그래프 데이터에 이어 붙임
+     * - 전체 응답(resync=true 또는 첫 요청)의 길이를 Ring Buffer 크기로 보고 오래된 값부터 버림
+     */
+    static mergeRecent(previous, data) {
+        if (!previous || data.resync !== false || !data.recent || !previous.recent) {
+            if (data.recent) {
+                data.recentCapacity = Math.max(data.recent.timestamps.length, previous ? previous.recentCapacity || 0 : 0);
+            }
+            return data;
+        }
+        const merged = {};
+        const capacity = Math.max(previous.recentCapacity || 0, 1);
+        const append = (before, after) => before.concat(after).slice(-capacity);
+        ['timestamps', 'nbpSessions', 'drSessions', 'nbpTraffic', 'drTraffic'].forEach(key => {
+            merged[key] = append(previous.recent[key], data.recent[key]);
+        });
+        if (data.recent.metrics) {
+            merged.metrics = {};
+            Object.keys(data.recent.metrics).forEach(name => {
+                const before = (previous.recent.metrics || {})[name];
+                const after = data.recent.metrics[name];
+                merged.metrics[name] = {
+                    nbp: append(before ? before.nbp : previous.recent.timestamps.map(() => null), after.nbp),
+                    dr: append(before ? before.dr : previous.recent.timestamps.map(() => null), after.dr)
+                };
+            });
+        }
+        data.recent = merged;
+        data.recentCapacity = capacity;
+        return data;
+    }
+
+    /**
+     * 이력 조회 (binary 형식, gzip은 브라우저가 자동 처리)
+     * @param {string} query 예: 'days=90&maxPoints=1000'
+     */
+    async loadHistory(serviceId, query) {
+        const response = await fetch(`/api/services/${serviceId}/history?${query}&format=binary`);
+        if (!response.ok) {
+            throw new Error(`이력 조회 실패: ${response.status}`);
+        }
+        return MonitoringDashboard.decodeHistory(await response.arrayBuffer());
+    }
+
+    /**
+     * binary 이력 해석 (little-endian)
+     * - 헤더 32바이트: version, count, start, step, flags, 예약
+     * - flags bit0: timestamps 포함, 없으면 start + i * step
+     */
+    static decodeHistory(buffer) {
+        const view = new DataView(buffer);
+        const count = view.getInt32(4, true);
+        const start = view.getFloat64(8, true);
+        const step = view.getFloat64(16, true);
+        const hasTimestamps = (view.getInt32(24, true) & 1) === 1;
+        let offset = 32;
+
+        const readColumn = () => {
+            const values = new Float64Array(count);
+            for (let i = 0; i < count; i++) {
+                values[i] = view.getFloat64(offset, true);
+                offset += 8;
+            }
+            return values;
+        };
+
+        let timestamps;
+        if (hasTimestamps) {
+            timestamps = readColumn();
+        } else {
+            timestamps = new Float64Array(count);
+            for (let i = 0; i < count; i++) {
+                timestamps[i] = start + i * step;
+            }
+        }
+        return {
+            timestamps: timestamps,
+            nbpSessions: readColumn(),
+            drSessions: readColumn(),
+            nbpTraffic: readColumn(),
+            drTraffic: readColumn(),
+            errors: readColumn()
+        };
+    }
+
     renderServiceDetail(data) {
         // TODO: Task 4.2, 4.3에서 차트 구현 예정
         console.log('서비스 상세 데이터:', data);
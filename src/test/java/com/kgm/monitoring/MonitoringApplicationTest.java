@@ -1,19 +1,51 @@
 package com.kgm.monitoring;
 
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 
 /**
  * 메인 애플리케이션 테스트
+ * - 이력 로그/집계/애플리케이션 로그는 임시 디렉토리에 기록하고 Ring Buffer 스냅샷은 저장하지 않음 (작업 트리의 logs/ 보호)
  */
 @RunWith(SpringRunner.class)
 @SpringBootTest
+@DirtiesContext
 public class MonitoringApplicationTest {
 
+    private static final String[] PROPERTIES = {
+            "monitoring.history.path", "monitoring.history.summary.path", "monitoring.jfr.dump.path",
+            "logging.file", "monitoring.ringbuffer.snapshot.enabled", "monitoring.batch.summary.enabled" };
+
+    @ClassRule
+    public static final TemporaryFolder logs = new TemporaryFolder();
+
+    @BeforeClass
+    public static void useTemporaryLogs() {
+        String root = logs.getRoot().getAbsolutePath();
+        System.setProperty("monitoring.history.path", root + "/history");
+        System.setProperty("monitoring.history.summary.path", root + "/summary");
+        System.setProperty("monitoring.jfr.dump.path", root + "/jfr");
+        System.setProperty("logging.file", root + "/monitoring.log");
+        System.setProperty("monitoring.ringbuffer.snapshot.enabled", "false");
+        System.setProperty("monitoring.batch.summary.enabled", "false");
+    }
+
+    @AfterClass
+    public static void clearTemporaryLogs() {
+        for (String property : PROPERTIES) {
+            System.clearProperty(property);
+        }
+    }
+
     @Test
     public void contextLoads() {
         // Spring Boot 컨텍스트 로딩 테스트
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package com.kgm.monitoring.benchmark;
+
+import com.kgm.monitoring.MonitoringApplication;
+import com.kgm.monitoring.util.VirtualThreads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 대시보드 REST API 부하 테스트
+ * - SNMP 에이전트 시뮬레이터와 90일 이력 데이터(HistoryCorpusGenerator)를 준비하고 애플리케이션을 임의 포트로 기동
+ * - 서비스 목록(/api/services/ratio?ids=*), 서비스별 실시간(/api/services/{id}/ratio),
+ *   90일 이력(/api/services/{id}/history?days=90)을 개방형 일정으로 동시 요청 (HttpLoadGenerator)
+ * - PRD 5.1 기준: 실시간 조회 1초 이내, 90일 이력 조회 2초 이내 (예정 시각 기준 p99)
+ *
+ * 기본 빌드에서는 부하 발생기 자체 검증만 수행하며, API 부하 테스트는 -Dbenchmark=true 지정 시에만 실행된다.
+ *   mvn test -Dtest=DashboardLoadTest -Dbenchmark=true [-Dbenchmark.http.viewers=100 -Dbenchmark.http.duration=30]
+ * 이력 조회 가상 스레드 모드 비교 (Java 21 이상 JVM으로 실행, 같은 요청률에서 이력 조회 지연/처리량 비교):
+ *   mvn test -Dtest=DashboardLoadTest -Dbenchmark=true -Dbenchmark.threads.virtual=true -Djvm={JDK 21}/bin/java
+ */
+public class DashboardLoadTest {
+
+    private static final String SESSIONS_OID = "1.3.6.1.2.1.6.9.0";
+    private static final String TRAFFIC_OID = "1.3.6.1.2.1.2.2.1.10.1";
+    private static final int SNMP_PORT = 16162;
+    private static final int POLLING_INTERVAL = 5000;
+
+    private SnmpAgentSimulator simulator;
+    private ConfigurableApplicationContext context;
+    private HttpServer server;
+    private File workDir;
+
+    @After
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (simulator != null) {
+            simulator.stop();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+        if (workDir != null) {
+            FileSystemUtils.deleteRecursively(workDir);
+        }
+    }
+
+    /**
+     * 응답이 한 번 멈추면 그동안 보내지 못한 요청의 대기 시간도 지연으로 기록되어야 함
+     */
+    @Test
+    public void testOpenLoopLatencyIncludesStalledRequests() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                if (requests.incrementAndGet() == 10) {
+                    try {
+                        Thread.sleep(500L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = "{}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, body.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(body);
+                out.close();
+            }
+        });
+        server.start();
+
+        HttpLoadGenerator generator = new HttpLoadGenerator("http://127.0.0.1:" + server.getAddress().getPort());
+        generator.add("stall", 50.0, 1, "/ping");
+        HttpLoadGenerator.Report report = generator.run(0L, 2000L).get("stall");
+
+        assertEquals("오류가 없어야 합니다", 0L, report.getErrors());
+        assertTrue("목표 요청 수에 가까워야 합니다: " + report.getCount(), report.getCount() >= 90L);
+        assertTrue("멈춘 구간 지연이 기록되어야 합니다: " + report.getMaxLatencyMillis(),
+                report.getMaxLatencyMillis() >= 450.0);
+        // 멈춘 0.5초 동안 예정된 약 25건(전체의 약 12%)이 늦게 전송됨
+        assertTrue("보정 후 p95에 대기 시간이 반영되어야 합니다: " + report.getLatencyMillis(95),
+                report.getLatencyMillis(95) >= 100.0);
+        assertTrue("보정 전 p95에는 대기 시간이 없어야 합니다: " + report.getServiceTimeMillis(95),
+                report.getServiceTimeMillis(95) < 100.0);
+    }
+
+    @Test
+    public void benchmarkDashboardApi() throws Exception {
+        Assume.assumeTrue("부하 테스트는 -Dbenchmark=true 지정 시에만 수행", Boolean.getBoolean("benchmark"));
+
+        int serverCount = Integer.getInteger("benchmark.http.servers", 100);
+        int serviceCount = Integer.getInteger("benchmark.http.services", 30);
+        int days = Integer.getInteger("benchmark.http.days", 90);
+        int viewers = Integer.getInteger("benchmark.http.viewers", 100);
+        long duration = Long.getLong("benchmark.http.duration", 30L) * 1000L;
+
+        workDir = createWorkDir();
+        String baseUrl = startApplication(workDir, serverCount, serviceCount, days);
+
+        List<String> serviceIds = new ArrayList<String>();
+        for (int s = 0; s < serviceCount; s++) {
+            serviceIds.add(SnmpAgentSimulator.serviceId(s));
+        }
+        String[] ratioPaths = new String[serviceCount];
+        String[] historyPaths = new String[serviceCount];
+        for (int s = 0; s < serviceCount; s++) {
+            ratioPaths[s] = "/api/services/" + serviceIds.get(s) + "/ratio";
+            historyPaths[s] = "/api/services/" + serviceIds.get(s) + "/history?days=" + days + "&maxPoints=2000";
+        }
+
+        // 뷰어 1명 기준: 목록 5초, 상세 실시간 1초 간격 갱신, 90일 이력은 50초에 1회 조회 (이력은 캐시 없이 파일 조회)
+        HttpLoadGenerator generator = new HttpLoadGenerator(baseUrl);
+        generator.add("services", Double.parseDouble(System.getProperty("benchmark.http.rate.services",
+                String.valueOf(viewers / 5.0))), Math.max(1, viewers / 10), "/api/services/ratio?ids=*");
+        generator.add("ratio", Double.parseDouble(System.getProperty("benchmark.http.rate.ratio",
+                String.valueOf((double) viewers))), Math.max(1, viewers / 2), ratioPaths);
+        generator.add("history", Double.parseDouble(System.getProperty("benchmark.http.rate.history",
+                String.valueOf(viewers / 50.0))), Math.max(1, viewers / 20), historyPaths);
+
+        Map<String, HttpLoadGenerator.Report> reports = generator.run(5000L, duration);
+        System.out.println(String.format(
+                "[API 부하 테스트] 서비스 %d개 / 서버 %d대 / 이력 %d일 / 뷰어 %d명 / %d초 (이력 조회: %s)",
+                serviceCount, serverCount, days, viewers, duration / 1000L,
+                Boolean.getBoolean("benchmark.threads.virtual") && VirtualThreads.isSupported()
+                        ? "가상 스레드" : "플랫폼 스레드"));
+        for (HttpLoadGenerator.Report report : reports.values()) {
+            System.out.println("  " + report);
+        }
+
+        for (String name : new String[] { "services", "ratio" }) {
+            HttpLoadGenerator.Report report = reports.get(name);
+            assertEquals(name + " 오류가 없어야 합니다", 0L, report.getErrors());
+            assertTrue(name + " p99가 1초 이내여야 합니다: " + report.getLatencyMillis(99),
+                    report.getLatencyMillis(99) < 1000.0);
+        }
+        HttpLoadGenerator.Report history = reports.get("history");
+        assertEquals("이력 조회 오류가 없어야 합니다", 0L, history.getErrors());
+        assertTrue("90일 이력 p99가 2초 이내여야 합니다: " + history.getLatencyMillis(99),
+                history.getLatencyMillis(99) < 2000.0);
+    }
+
+    /**
+     * 시뮬레이터, 설정 파일, 이력 데이터 준비 후 애플리케이션 기동
+     * @return 기본 URL (http://127.0.0.1:{임의 포트})
+     */
+    private String startApplication(File workDir, int serverCount, int serviceCount, int days) throws Exception {
+        SnmpAgentSimulator.AgentProfile profile = new SnmpAgentSimulator.AgentProfile()
+                .latency(2L, 3L)
+                .counterStart((1L << 32) - 100000000L);
+        simulator = new SnmpAgentSimulator(SESSIONS_OID, TRAFFIC_OID, profile);
+        List<String> ips = simulator.start(serverCount, SNMP_PORT);
+
+        File propertiesFile = new File(workDir, "system.properties");
+        SnmpAgentSimulator.writeSystemProperties(propertiesFile, ips, serviceCount, SNMP_PORT,
+                SESSIONS_OID, TRAFFIC_OID, 3000, 2, POLLING_INTERVAL);
+
+        List<String> serviceIds = new ArrayList<String>();
+        for (int s = 0; s < serviceCount; s++) {
+            serviceIds.add(SnmpAgentSimulator.serviceId(s));
+        }
+        File historyDir = new File(workDir, "history");
+        File summaryDir = new File(workDir, "summary");
+        long start = System.currentTimeMillis();
+        long rows = new HistoryCorpusGenerator().generate(historyDir, summaryDir, serviceIds, days,
+                POLLING_INTERVAL, start);
+        System.out.println("이력 데이터 생성: " + rows + "행, " + (System.currentTimeMillis() - start) + "ms");
+
+        context = SpringApplication.run(MonitoringApplication.class,
+                "--server.port=0",
+                "--server.address=127.0.0.1",
+                "--logging.file=" + new File(workDir, "monitoring.log").getAbsolutePath(),
+                "--monitoring.system.properties.path=" + propertiesFile.getAbsolutePath(),
+                "--monitoring.system.properties.watch=false",
+                "--monitoring.history.path=" + historyDir.getAbsolutePath(),
+                "--monitoring.history.summary.path=" + summaryDir.getAbsolutePath(),
+                "--monitoring.ringbuffer.snapshot.enabled=false",
+                "--monitoring.batch.summary.enabled=false",
+                "--monitoring.threads.virtual=" + Boolean.getBoolean("benchmark.threads.virtual"));
+        int port = ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+        String baseUrl = "http://127.0.0.1:" + port;
+        awaitFirstPoll(baseUrl + "/api/services/" + SnmpAgentSimulator.serviceId(0) + "/ratio");
+        return baseUrl;
+    }
+
+    private static void awaitFirstPoll(String url) throws Exception {
+        long deadline = System.currentTimeMillis() + 3L * POLLING_INTERVAL;
+        while (System.currentTimeMillis() < deadline) {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (in != null) {
+                in.close();
+            }
+            if (status == 200) {
+                return;
+            }
+            Thread.sleep(200L);
+        }
+        fail("첫 폴링 주기 데이터가 게시되지 않았습니다: " + url);
+    }
+
+    private static File createWorkDir() throws IOException {
+        File dir = File.createTempFile("dashboard-load", "");
+        if (!dir.delete() || !dir.mkdirs()) {
+            throw new IOException("작업 디렉토리 생성 실패: " + dir);
+        }
+        return dir;
+    }
+}
@@ -0,0 +1,148 @@
+package com.kgm.monitoring.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하 테스트용 이력 데이터 생성기
+ * - 전일부터 N일 전까지: 일별 집계 파일(summary/YYYYMMDD.csv, 서비스별 5분 구간)
+ * - 당일: 원본 로그(YYYYMMDD.csv, 자정부터 현재까지 폴링 간격마다 1행)
+ * - 세션 수는 일중 주기 곡선 + 잡음, 일부 일자는 DR 전환 구간 포함 (전환 구간의 급격한 변화 재현)
+ *
+ * 파일 형식은 HistoryService와 동일하다.
+ */
+public class HistoryCorpusGenerator {
+
+    private static final long FIVE_MINUTES = 5L * 60L * 1000L;
+    private static final long ONE_DAY = 24L * 60L * 60L * 1000L;
+
+    private final Random random = new Random(42L);
+
+    /**
+     * @return 생성한 행 수 (집계 + 원본)
+     */
+    public long generate(File historyDir, File summaryDir, List<String> serviceIds, int days,
+                         long pollingIntervalMillis, long now) throws IOException {
+        mkdirs(historyDir);
+        mkdirs(summaryDir);
+        List<String> sorted = new ArrayList<String>(serviceIds);
+        Collections.sort(sorted);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long today = calendar.getTimeInMillis();
+
+        long rows = 0L;
+        for (int d = days; d >= 1; d--) {
+            Calendar day = (Calendar) calendar.clone();
+            day.add(Calendar.DAY_OF_MONTH, -d);
+            long start = day.getTimeInMillis();
+            day.add(Calendar.DAY_OF_MONTH, 1);
+            rows += writeSummary(new File(summaryDir, dayOf(start) + ".csv"), sorted, start, day.getTimeInMillis(),
+                    pollingIntervalMillis);
+        }
+        rows += writeLog(new File(historyDir, dayOf(today) + ".csv"), sorted, today, now, pollingIntervalMillis);
+        return rows;
+    }
+
+    /**
+     * 집계 형식: 구간 시작,서비스ID,NBP 세션,DR 세션,NBP 트래픽,DR 트래픽,오류 건수,수집 건수
+     */
+    private long writeSummary(File file, List<String> serviceIds, long from, long to, long pollingIntervalMillis)
+            throws IOException {
+        int samples = (int) Math.max(1L, FIVE_MINUTES / pollingIntervalMillis);
+        long rows = 0L;
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), 1 << 16);
+        try {
+            StringBuilder sb = new StringBuilder(96);
+            for (int s = 0; s < serviceIds.size(); s++) {
+                for (long t = from; t < to; t += FIVE_MINUTES) {
+                    long total = sessions(s, t);
+                    long dr = drSessions(s, t, total);
+                    sb.setLength(0);
+                    sb.append(t).append(',').append(serviceIds.get(s)).append(',')
+                            .append(total - dr).append(',').append(dr).append(',')
+                            .append((total - dr) * 1200L).append(',').append(dr * 1200L).append(',')
+                            .append(random.nextInt(200) == 0 ? 1 : 0).append(',').append(samples).append('\n');
+                    out.write(sb.toString());
+                    rows++;
+                }
+            }
+        } finally {
+            out.close();
+        }
+        return rows;
+    }
+
+    /**
+     * 로그 형식: 시각,서비스ID,NBP 세션,DR 세션,NBP 트래픽,DR 트래픽,오류(0/1) (시각 순, 같은 시각은 서비스ID 순)
+     */
+    private long writeLog(File file, List<String> serviceIds, long from, long to, long pollingIntervalMillis)
+            throws IOException {
+        long rows = 0L;
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), 1 << 16);
+        try {
+            StringBuilder sb = new StringBuilder(96);
+            for (long t = from; t < to; t += pollingIntervalMillis) {
+                for (int s = 0; s < serviceIds.size(); s++) {
+                    long total = sessions(s, t);
+                    long dr = drSessions(s, t, total);
+                    sb.setLength(0);
+                    sb.append(t).append(',').append(serviceIds.get(s)).append(',')
+                            .append(total - dr).append(',').append(dr).append(',')
+                            .append((total - dr) * 1200L).append(',').append(dr * 1200L).append(',')
+                            .append(random.nextInt(2000) == 0 ? 1 : 0).append('\n');
+                    out.write(sb.toString());
+                    rows++;
+                }
+            }
+        } finally {
+            out.close();
+        }
+        return rows;
+    }
+
+    // 일중 주기(14시 최대, 4시 최소) + 잡음
+    private long sessions(int service, long time) {
+        double hour = ((time % ONE_DAY) / 3600000.0 + 9.0) % 24.0;
+        double daily = 0.6 + 0.4 * Math.cos((hour - 14.0) / 24.0 * 2.0 * Math.PI);
+        long base = 2000L + (service % 7) * 1500L;
+        return Math.max(0L, (long) (base * daily + random.nextGaussian() * base * 0.03));
+    }
+
+    // 평시 DR 5%, 7일마다 1시간 DR 전환 (서비스별로 시각을 달리함)
+    private static long drSessions(int service, long time, long total) {
+        long day = time / ONE_DAY;
+        long minuteOfDay = (time % ONE_DAY) / 60000L;
+        long switchStart = (service * 37L) % (23L * 60L);
+        if ((day + service) % 7 == 0 && minuteOfDay >= switchStart && minuteOfDay < switchStart + 60L) {
+            return total * 9 / 10;
+        }
+        return total / 20;
+    }
+
+    private static String dayOf(long millis) {
+        return new SimpleDateFormat("yyyyMMdd").format(new Date(millis));
+    }
+
+    private static void mkdirs(File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("디렉토리 생성 실패: " + dir);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.kgm.monitoring.benchmark;
+
+import com.kgm.monitoring.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 개방형(open-loop) HTTP 부하 발생기
+ * - 엔드포인트별 목표 요청률을 클라이언트 수만큼 나누어 각 클라이언트가 고정 간격 일정대로 요청
+ * - 응답이 늦어도 다음 요청 예정 시각은 밀리지 않으며, 지연 시간은 실제 전송 시각이 아닌 예정 시각부터 측정
+ *   (느린 응답 동안 보내지 못한 요청의 대기 시간까지 포함하여 coordinated omission 보정)
+ * - 보정 전 값(전송~응답 완료)도 함께 기록하여 비교
+ * - 클라이언트마다 keep-alive 연결 1개 (HttpURLConnection 연결 재사용), 응답 본문은 끝까지 읽음
+ */
+public class HttpLoadGenerator {
+
+    private final String baseUrl;
+    private final List<Endpoint> endpoints = new ArrayList<Endpoint>();
+
+    public HttpLoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * 부하 대상 추가
+     * @param requestsPerSecond 엔드포인트 전체 목표 요청률
+     * @param clients 동시 클라이언트(연결) 수
+     * @param paths 요청 경로 (클라이언트별로 순환)
+     */
+    public Endpoint add(String name, double requestsPerSecond, int clients, String... paths) {
+        if (requestsPerSecond <= 0 || clients <= 0 || paths.length == 0) {
+            throw new IllegalArgumentException("요청률/클라이언트 수/경로가 올바르지 않습니다: " + name);
+        }
+        Endpoint endpoint = new Endpoint(name, requestsPerSecond, clients, paths);
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    /**
+     * 부하 수행 (워밍업 구간 요청은 기록하지 않음)
+     * @return 엔드포인트 이름별 결과 (추가한 순서)
+     */
+    public Map<String, Report> run(long warmupMillis, long durationMillis) throws InterruptedException {
+        int threads = 0;
+        for (Endpoint endpoint : endpoints) {
+            threads += endpoint.clients;
+        }
+        final long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100L);
+        final long measureFrom = startNanos + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        final long endNanos = measureFrom + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        for (final Endpoint endpoint : endpoints) {
+            final long interval = (long) (endpoint.clients * 1e9 / endpoint.requestsPerSecond);
+            for (int c = 0; c < endpoint.clients; c++) {
+                // 클라이언트별 시작 위상을 나누어 요청이 한 시점에 몰리지 않게 함
+                final long phase = (long) (c * 1e9 / endpoint.requestsPerSecond);
+                final int client = c;
+                Thread thread = new Thread(new Runnable() {
+                    public void run() {
+                        try {
+                            runClient(endpoint, client, startNanos + phase, interval, measureFrom, endNanos);
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }, "load-" + endpoint.name + "-" + c);
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+        done.await();
+
+        Map<String, Report> reports = new LinkedHashMap<String, Report>();
+        for (Endpoint endpoint : endpoints) {
+            reports.put(endpoint.name, new Report(endpoint, durationMillis));
+        }
+        return reports;
+    }
+
+    private void runClient(Endpoint endpoint, int client, long firstNanos, long interval,
+                           long measureFrom, long endNanos) {
+        byte[] buffer = new byte[8192];
+        int pathIndex = client;
+        for (long intended = firstNanos; intended < endNanos; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            String path = endpoint.paths[pathIndex++ % endpoint.paths.length];
+            long sent = System.nanoTime();
+            boolean ok = request(path, buffer);
+            long completed = System.nanoTime();
+            if (intended < measureFrom) {
+                continue;
+            }
+            endpoint.corrected.recordNanos(completed - intended);
+            endpoint.uncorrected.recordNanos(completed - sent);
+            if (!ok) {
+                endpoint.errors.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean request(String path, byte[] buffer) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(30000);
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (in != null) {
+                try {
+                    while (in.read(buffer) >= 0) {
+                        // 본문을 끝까지 읽어야 연결이 재사용됨
+                    }
+                } finally {
+                    in.close();
+                }
+            }
+            return status < 400;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 부하 대상 엔드포인트
+     */
+    public static class Endpoint {
+        private final String name;
+        private final double requestsPerSecond;
+        private final int clients;
+        private final String[] paths;
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram uncorrected = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+
+        Endpoint(String name, double requestsPerSecond, int clients, String[] paths) {
+            this.name = name;
+            this.requestsPerSecond = requestsPerSecond;
+            this.clients = clients;
+            this.paths = paths;
+        }
+    }
+
+    /**
+     * 엔드포인트별 결과 (지연 시간 단위: 밀리초)
+     */
+    public static class Report {
+        private final String name;
+        private final double targetRate;
+        private final long count;
+        private final long errors;
+        private final double throughput;
+        private final LatencyHistogram.Snapshot corrected;
+        private final LatencyHistogram.Snapshot uncorrected;
+
+        Report(Endpoint endpoint, long durationMillis) {
+            this.name = endpoint.name;
+            this.targetRate = endpoint.requestsPerSecond;
+            this.corrected = endpoint.corrected.snapshot();
+            this.uncorrected = endpoint.uncorrected.snapshot();
+            this.count = corrected.getTotalCount();
+            this.errors = endpoint.errors.get();
+            this.throughput = count * 1000.0 / durationMillis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * 예정 시각 기준 지연 백분위 (coordinated omission 보정)
+         */
+        public double getLatencyMillis(double percentile) {
+            return corrected.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /**
+         * 실제 전송 시각 기준 지연 백분위 (보정 전)
+         */
+        public double getServiceTimeMillis(double percentile) {
+            return uncorrected.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double getMaxLatencyMillis() {
+            return corrected.getMaxMicros() / 1000.0;
+        }
+
+        public String toString() {
+            return String.format("%-10s 목표 %.1f/s 처리 %.1f/s (%d건, 오류 %d건) "
+                            + "지연 p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms (보정 전 p99=%.1fms)",
+                    name, targetRate, throughput, count, errors,
+                    getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99), getLatencyMillis(99.9),
+                    getMaxLatencyMillis(), getServiceTimeMillis(99));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.kgm.monitoring.benchmark;
+
+import com.kgm.monitoring.config.SystemPropertiesConfig;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.service.ConfigService;
+import com.kgm.monitoring.service.MonitoringService;
+import com.kgm.monitoring.service.SnmpService;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * SNMP 폴링 처리량 벤치마크
+ * - SnmpAgentSimulator 에이전트를 대상으로 실제 폴링 주기(MonitoringService.pollAllServices) 수행
+ * - 주기 완료 시간, 요청별 지연 p50/p99, 프로세스 CPU 사용률 보고
+ *
+ * 기본 빌드에서는 소규모 스모크 테스트만 수행하며, 100/1,000/5,000대 벤치마크는
+ * -Dbenchmark=true 옵션을 지정한 경우에만 실행된다.
+ *   mvn test -Dtest=PollingThroughputTest -Dbenchmark=true
+ * 폴링 경로는 비동기 전송/응답 콜백만 사용하므로 가상 스레드 설정과 무관 (가상 스레드 비교는 DashboardLoadTest의 이력 조회)
+ */
+public class PollingThroughputTest {
+
+    private static final String SESSIONS_OID = "1.3.6.1.2.1.6.9.0";
+    private static final String TRAFFIC_OID = "1.3.6.1.2.1.2.2.1.10.1";
+    private static final int SNMP_PORT = 16161;
+    private static final int POLLING_INTERVAL = 5000;
+
+    private SnmpAgentSimulator simulator;
+    private SnmpService snmpService;
+    private SystemPropertiesConfig systemPropertiesConfig;
+
+    @After
+    public void tearDown() {
+        if (snmpService != null) {
+            snmpService.cleanup();
+        }
+        if (systemPropertiesConfig != null) {
+            systemPropertiesConfig.cleanup();
+        }
+        if (simulator != null) {
+            simulator.stop();
+        }
+    }
+
+    @Test
+    public void testPollingAgainstSimulatedAgents() throws Exception {
+        // 카운터가 두 주기 사이(기동 약 1.2초 후)에 2^32를 넘어가도록 시작값 설정
+        SnmpAgentSimulator.AgentProfile profile = new SnmpAgentSimulator.AgentProfile()
+                .sessions(500L, 0L)
+                .trafficBytesPerSecond(1000000L)
+                .counterStart((1L << 32) - 1200000L);
+        MonitoringService monitoringService = setUpPoller(4, 1, profile, 1000, 1);
+
+        PollCycleStats first = monitoringService.pollAllServices();
+        assertEquals("요청 수", 4, first.getRequestCount());
+        assertEquals("실패 수", 0, first.getFailureCount());
+
+        Thread.sleep(1500L);
+        PollCycleStats second = monitoringService.pollAllServices();
+        assertTrue("주기가 대기 시간 내에 완료되어야 합니다", second.isCompleted());
+
+        MonitoringData data = monitoringService.getCurrentData(SnmpAgentSimulator.serviceId(0));
+        assertNotNull("현재 데이터가 있어야 합니다", data);
+        assertFalse("오류가 없어야 합니다", data.isHasError());
+        assertEquals("NBP 세션 합계", 1000L, data.getNbpSessions());
+        assertEquals("DR 세션 합계", 1000L, data.getDrSessions());
+        assertTrue("카운터 순환 후에도 트래픽은 양수여야 합니다: " + data.getNbpTraffic(),
+                data.getNbpTraffic() > 0);
+        assertTrue("트래픽은 설정값(서버당 1MB/s) 부근이어야 합니다: " + data.getNbpTraffic(),
+                data.getNbpTraffic() < 2 * 2000000L);
+        assertEquals("Ring Buffer 데이터 수", 2,
+                monitoringService.getRecentData(SnmpAgentSimulator.serviceId(0)).size());
+    }
+
+    @Test
+    public void testPacketLossKeepsPreviousValue() throws Exception {
+        SnmpAgentSimulator.AgentProfile profile = new SnmpAgentSimulator.AgentProfile()
+                .sessions(100L, 0L)
+                .lossRate(1.0);
+        MonitoringService monitoringService = setUpPoller(2, 1, profile, 100, 0);
+
+        PollCycleStats stats = monitoringService.pollAllServices();
+        assertEquals("모든 요청이 실패해야 합니다", 2, stats.getFailureCount());
+
+        MonitoringData data = monitoringService.getCurrentData(SnmpAgentSimulator.serviceId(0));
+        assertTrue("오류 상태여야 합니다", data.isHasError());
+        assertNotNull("오류 메시지가 있어야 합니다", data.getErrorMessage());
+    }
+
+    @Test
+    public void benchmark100Servers() throws Exception {
+        runBenchmark(100, 30);
+    }
+
+    @Test
+    public void benchmark1000Servers() throws Exception {
+        runBenchmark(1000, 300);
+    }
+
+    @Test
+    public void benchmark5000Servers() throws Exception {
+        runBenchmark(5000, 1500);
+    }
+
+    /**
+     * 벤치마크 수행 (서비스당 NBP/DR 서버 비율은 PRD 5.1 기준 규모를 유지)
+     */
+    private void runBenchmark(int serverCount, int serviceCount) throws Exception {
+        Assume.assumeTrue("벤치마크는 -Dbenchmark=true 지정 시에만 수행", Boolean.getBoolean("benchmark"));
+
+        int cycles = Integer.getInteger("benchmark.cycles", 10);
+        SnmpAgentSimulator.AgentProfile profile = new SnmpAgentSimulator.AgentProfile()
+                .latency(Long.getLong("benchmark.latency", 2L), Long.getLong("benchmark.jitter", 3L))
+                .lossRate(Double.parseDouble(System.getProperty("benchmark.loss", "0.001")))
+                .counterStart((1L << 32) - 100000000L);
+        MonitoringService monitoringService = setUpPoller(serverCount, serviceCount, profile, 3000, 2);
+
+        final long[] latencies = new long[serverCount * (cycles + 1)];
+        final AtomicInteger latencyCount = new AtomicInteger();
+        monitoringService.addPollResultListener(new MonitoringService.PollResultListener() {
+            public void onPollResult(String serviceId, ServerPollResult result) {
+                int index = latencyCount.getAndIncrement();
+                if (index < latencies.length) {
+                    latencies[index] = result.getLatencyNanos();
+                }
+            }
+        });
+
+        // 워밍업 1회 (JIT, 카운터 기준값 확보)
+        monitoringService.pollAllServices();
+        latencyCount.set(0);
+
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuStart = os.getProcessCpuTime();
+        long wallStart = System.nanoTime();
+
+        long[] cycleMillis = new long[cycles];
+        int failures = 0;
+        for (int i = 0; i < cycles; i++) {
+            PollCycleStats stats = monitoringService.pollAllServices();
+            cycleMillis[i] = stats.getDurationMillis();
+            failures += stats.getFailureCount();
+        }
+
+        long wallNanos = System.nanoTime() - wallStart;
+        long cpuNanos = os.getProcessCpuTime() - cpuStart;
+
+        int count = Math.min(latencyCount.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Arrays.sort(cycleMillis);
+
+        System.out.println(String.format(
+                "[폴링 벤치마크] 서버 %d대 / 서비스 %d개 / %d주기: 주기 p50=%dms max=%dms, "
+                        + "요청 p50=%.2fms p99=%.2fms, 실패 %d건, CPU %.1f%% (코어 %d개 기준 %.1f%%)",
+                serverCount, serviceCount, cycles,
+                cycleMillis[cycles / 2], cycleMillis[cycles - 1],
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                failures, 100.0 * cpuNanos / wallNanos,
+                Runtime.getRuntime().availableProcessors(),
+                100.0 * cpuNanos / wallNanos / Runtime.getRuntime().availableProcessors()));
+
+        if (serverCount <= 100) {
+            // PRD 5.1: 서비스 30개 / 서버 100대를 폴링 주기 안에 처리
+            assertTrue("주기 완료 시간이 폴링 간격 미만이어야 합니다: " + cycleMillis[cycles - 1] + "ms",
+                    cycleMillis[cycles - 1] < POLLING_INTERVAL);
+        }
+    }
+
+    /**
+     * 시뮬레이터 기동, system.properties 생성 및 폴링 서비스 구성
+     */
+    private MonitoringService setUpPoller(int serverCount, int serviceCount,
+                                          SnmpAgentSimulator.AgentProfile profile,
+                                          int timeout, int retries) throws Exception {
+        simulator = new SnmpAgentSimulator(SESSIONS_OID, TRAFFIC_OID, profile);
+        List<String> ips = simulator.start(serverCount, SNMP_PORT);
+
+        File propertiesFile = File.createTempFile("simulator-system", ".properties");
+        propertiesFile.deleteOnExit();
+        SnmpAgentSimulator.writeSystemProperties(propertiesFile, ips, serviceCount, SNMP_PORT,
+                SESSIONS_OID, TRAFFIC_OID, timeout, retries, POLLING_INTERVAL);
+
+        systemPropertiesConfig = new SystemPropertiesConfig();
+        ReflectionTestUtils.setField(systemPropertiesConfig, "propertiesFilePath", propertiesFile.getAbsolutePath());
+        ReflectionTestUtils.setField(systemPropertiesConfig, "enableFileWatch", false);
+        systemPropertiesConfig.initialize();
+
+        ConfigService configService = new ConfigService();
+        ReflectionTestUtils.setField(configService, "systemPropertiesConfig", systemPropertiesConfig);
+        configService.initialize();
+
+        snmpService = new SnmpService();
+        snmpService.initialize();
+
+        MonitoringService monitoringService = new MonitoringService();
+        ReflectionTestUtils.setField(monitoringService, "configService", configService);
+        ReflectionTestUtils.setField(monitoringService, "snmpService", snmpService);
+        monitoringService.initialize();
+        return monitoringService;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,403 @@
+package com.kgm.monitoring.benchmark;
+
+import org.snmp4j.PDU;
+import org.snmp4j.asn1.BER;
+import org.snmp4j.asn1.BERInputStream;
+import org.snmp4j.asn1.BEROutputStream;
+import org.snmp4j.smi.Counter32;
+import org.snmp4j.smi.Gauge32;
+import org.snmp4j.smi.Integer32;
+import org.snmp4j.smi.Null;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.VariableBinding;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트용 SNMP 에이전트 시뮬레이터
+ * - 127.x.y.z 루프백 주소마다 에이전트 1개 (동일 포트, 주소별 UDP 소켓)
+ * - 세션 수 OID는 Gauge32, 트래픽 OID는 Counter32로 응답 (카운터 증가 및 2^32 순환)
+ * - 응답 지연, 패킷 손실 설정 가능
+ * - 모든 소켓을 단일 Selector 스레드에서 처리하여 에이전트 수천 개도 스레드 1~2개로 구동
+ *
+ * 루프백 대역 전체(127.0.0.0/8)가 lo에 바인딩되는 Linux 환경을 전제로 한다.
+ */
+public class SnmpAgentSimulator {
+
+    private static final long COUNTER32_RANGE = 1L << 32;
+
+    private final OID sessionsOid;
+    private final OID trafficOid;
+    private final AgentProfile profile;
+    private final Random random = new Random(42L);
+
+    private final List<Agent> agents = new ArrayList<Agent>();
+    private Selector selector;
+    private Thread selectorThread;
+    private ScheduledExecutorService delayScheduler;
+    private volatile boolean running;
+
+    /**
+     * 에이전트 동작 설정
+     */
+    public static class AgentProfile {
+        private long latencyMillis = 0L;
+        private long latencyJitterMillis = 0L;
+        private double lossRate = 0.0;
+        private long sessionsBase = 1000L;
+        private long sessionsJitter = 100L;
+        private long trafficBytesPerSecond = 10L * 1024 * 1024;
+        // 카운터 시작값 (순환 테스트 시 2^32 부근으로 설정)
+        private long counterStart = 0L;
+
+        public AgentProfile latency(long millis, long jitterMillis) {
+            this.latencyMillis = millis;
+            this.latencyJitterMillis = jitterMillis;
+            return this;
+        }
+
+        public AgentProfile lossRate(double lossRate) {
+            this.lossRate = lossRate;
+            return this;
+        }
+
+        public AgentProfile sessions(long base, long jitter) {
+            this.sessionsBase = base;
+            this.sessionsJitter = jitter;
+            return this;
+        }
+
+        public AgentProfile trafficBytesPerSecond(long bytesPerSecond) {
+            this.trafficBytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        public AgentProfile counterStart(long counterStart) {
+            this.counterStart = counterStart;
+            return this;
+        }
+    }
+
+    /**
+     * 개별 에이전트 상태
+     */
+    private static class Agent {
+        private final InetSocketAddress address;
+        private final DatagramChannel channel;
+        private final long startNanos;
+        private final long counterStart;
+        private volatile long requestCount;
+        private volatile long droppedCount;
+
+        Agent(InetSocketAddress address, DatagramChannel channel, long startNanos, long counterStart) {
+            this.address = address;
+            this.channel = channel;
+            this.startNanos = startNanos;
+            this.counterStart = counterStart;
+        }
+    }
+
+    public SnmpAgentSimulator(String sessionsOid, String trafficOid, AgentProfile profile) {
+        this.sessionsOid = new OID(sessionsOid);
+        this.trafficOid = new OID(trafficOid);
+        this.profile = profile;
+    }
+
+    /**
+     * 에이전트 N개 기동
+     * @return 에이전트 IP 목록 (127.1.0.1 부터 순서대로)
+     */
+    public synchronized List<String> start(int agentCount, int port) throws IOException {
+        selector = Selector.open();
+        List<String> ips = new ArrayList<String>(agentCount);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < agentCount; i++) {
+            String ip = agentIp(i);
+            InetSocketAddress address = new InetSocketAddress(ip, port);
+            DatagramChannel channel = DatagramChannel.open();
+            channel.socket().setReceiveBufferSize(1024 * 1024);
+            channel.bind(address);
+            channel.configureBlocking(false);
+
+            Agent agent = new Agent(address, channel, now, profile.counterStart);
+            channel.register(selector, SelectionKey.OP_READ, agent);
+            agents.add(agent);
+            ips.add(ip);
+        }
+
+        delayScheduler = Executors.newSingleThreadScheduledExecutor();
+        running = true;
+        selectorThread = new Thread(new Runnable() {
+            public void run() {
+                selectLoop();
+            }
+        }, "snmp-agent-simulator");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+
+        return ips;
+    }
+
+    /**
+     * 에이전트 전체 종료
+     */
+    public synchronized void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (selectorThread != null) {
+            try {
+                selectorThread.join(2000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (delayScheduler != null) {
+            delayScheduler.shutdownNow();
+        }
+        for (Agent agent : agents) {
+            try {
+                agent.channel.close();
+            } catch (IOException ignored) {
+                // 종료 중 오류 무시
+            }
+        }
+        agents.clear();
+        try {
+            if (selector != null) {
+                selector.close();
+            }
+        } catch (IOException ignored) {
+            // 종료 중 오류 무시
+        }
+    }
+
+    /**
+     * 전체 수신 요청 수
+     */
+    public long getRequestCount() {
+        long total = 0L;
+        for (Agent agent : agents) {
+            total += agent.requestCount;
+        }
+        return total;
+    }
+
+    /**
+     * 패킷 손실로 응답하지 않은 요청 수
+     */
+    public long getDroppedCount() {
+        long total = 0L;
+        for (Agent agent : agents) {
+            total += agent.droppedCount;
+        }
+        return total;
+    }
+
+    /**
+     * i번째 에이전트의 루프백 주소 (127.1.0.1 ~ 127.1.255.254 ...)
+     */
+    public static String agentIp(int index) {
+        int n = index + 1;
+        return "127." + (1 + n / 65536) + "." + ((n / 256) % 256) + "." + (n % 256);
+    }
+
+    private void selectLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(65535);
+        while (running) {
+            try {
+                selector.select(500L);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid() || !key.isReadable()) {
+                        continue;
+                    }
+                    Agent agent = (Agent) key.attachment();
+                    buffer.clear();
+                    SocketAddress sender = agent.channel.receive(buffer);
+                    if (sender == null) {
+                        continue;
+                    }
+                    buffer.flip();
+                    handleRequest(agent, sender, buffer);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("시뮬레이터 수신 오류: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * SNMPv1/v2c GET 요청 해석 및 응답 전송
+     */
+    private void handleRequest(final Agent agent, final SocketAddress sender, ByteBuffer request) {
+        agent.requestCount++;
+        if (profile.lossRate > 0 && random.nextDouble() < profile.lossRate) {
+            agent.droppedCount++;
+            return;
+        }
+
+        final ByteBuffer response;
+        try {
+            response = buildResponse(agent, request);
+        } catch (IOException e) {
+            System.err.println("시뮬레이터 요청 해석 오류: " + e.getMessage());
+            return;
+        }
+
+        long delay = profile.latencyMillis;
+        if (profile.latencyJitterMillis > 0) {
+            delay += (long) (random.nextDouble() * profile.latencyJitterMillis);
+        }
+
+        if (delay <= 0) {
+            send(agent, sender, response);
+        } else {
+            delayScheduler.schedule(new Runnable() {
+                public void run() {
+                    send(agent, sender, response);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void send(Agent agent, SocketAddress target, ByteBuffer response) {
+        try {
+            agent.channel.send(response, target);
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("시뮬레이터 응답 전송 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    private ByteBuffer buildResponse(Agent agent, ByteBuffer request) throws IOException {
+        BERInputStream in = new BERInputStream(request);
+        BER.MutableByte type = new BER.MutableByte();
+        BER.decodeHeader(in, type);
+
+        Integer32 version = new Integer32();
+        version.decodeBER(in);
+        OctetString community = new OctetString();
+        community.decodeBER(in);
+        PDU pdu = new PDU();
+        pdu.decodeBER(in);
+
+        long elapsedNanos = System.nanoTime() - agent.startNanos;
+        long counter = (agent.counterStart
+                + profile.trafficBytesPerSecond * elapsedNanos / 1000000000L) % COUNTER32_RANGE;
+        long sessions = profile.sessionsBase
+                + (profile.sessionsJitter > 0 ? (long) (random.nextDouble() * profile.sessionsJitter) : 0L);
+
+        PDU response = new PDU();
+        response.setType(PDU.RESPONSE);
+        response.setRequestID(pdu.getRequestID());
+        for (VariableBinding vb : pdu.getVariableBindings()) {
+            if (sessionsOid.equals(vb.getOid())) {
+                response.add(new VariableBinding(vb.getOid(), new Gauge32(sessions)));
+            } else if (trafficOid.equals(vb.getOid())) {
+                response.add(new VariableBinding(vb.getOid(), new Counter32(counter)));
+            } else {
+                response.add(new VariableBinding(vb.getOid(), Null.noSuchObject));
+            }
+        }
+
+        int length = version.getBERLength() + community.getBERLength() + response.getBERLength();
+        ByteBuffer out = ByteBuffer.allocate(length + BER.getBERLengthOfLength(length) + 1);
+        BEROutputStream os = new BEROutputStream(out);
+        BER.encodeHeader(os, BER.SEQUENCE, length);
+        version.encodeBER(os);
+        community.encodeBER(os);
+        response.encodeBER(os);
+        out.flip();
+        return out;
+    }
+
+    /**
+     * 시뮬레이터 에이전트를 대상으로 하는 system.properties 생성
+     * - 서비스별로 에이전트를 균등 분배하고, 각 서비스의 앞쪽 절반은 NBP, 나머지는 DR로 구성
+     */
+    public static void writeSystemProperties(File file, List<String> agentIps, int serviceCount, int snmpPort,
+                                             String sessionsOid, String trafficOid,
+                                             int timeout, int retries, int pollingInterval) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# SNMP 에이전트 시뮬레이터용 설정 (자동 생성)\n");
+        sb.append("global.snmp.timeout=").append(timeout).append('\n');
+        sb.append("global.snmp.retries=").append(retries).append('\n');
+        sb.append("global.polling.interval=").append(pollingInterval).append('\n');
+        sb.append("global.ringbuffer.size=120\n");
+
+        sb.append("services=");
+        for (int s = 0; s < serviceCount; s++) {
+            if (s > 0) sb.append(',');
+            sb.append(serviceId(s));
+        }
+        sb.append('\n');
+
+        int perService = agentIps.size() / serviceCount;
+        for (int s = 0; s < serviceCount; s++) {
+            int from = s * perService;
+            int to = (s == serviceCount - 1) ? agentIps.size() : from + perService;
+            int nbpTo = from + Math.max(1, (to - from) / 2);
+            String prefix = "service." + serviceId(s) + ".";
+
+            sb.append(prefix).append("id=").append(serviceId(s)).append('\n');
+            sb.append(prefix).append("name=SIM-").append(s).append('\n');
+            sb.append(prefix).append("type=").append(s % 2 == 0 ? "L4" : "GLB").append('\n');
+            sb.append(prefix).append("vip=10.0.0.").append(s % 250 + 1).append('\n');
+            sb.append(prefix).append("port=80\n");
+            sb.append(prefix).append("enabled=true\n");
+            sb.append(prefix).append("nbp.servers=").append(join(agentIps.subList(from, nbpTo))).append('\n');
+            sb.append(prefix).append("dr.servers=").append(join(agentIps.subList(nbpTo, to))).append('\n');
+            sb.append(prefix).append("snmp.community=public\n");
+            sb.append(prefix).append("snmp.port=").append(snmpPort).append('\n');
+            sb.append(prefix).append("snmp.version=2c\n");
+            sb.append(prefix).append("snmp.oid.sessions=").append(sessionsOid).append('\n');
+            sb.append(prefix).append("snmp.oid.traffic=").append(trafficOid).append('\n');
+        }
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1");
+        try {
+            writer.write(sb.toString());
+        } finally {
+            writer.close();
+        }
+    }
+
+    public static String serviceId(int index) {
+        return "SIM_SERVICE_" + index;
+    }
+
+    private static String join(List<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values.get(i));
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.kgm.monitoring.config;
 
 import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.MetricRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,6 +44,11 @@ public class SystemPropertiesConfigTest {
         writer.write("service.TEST_SERVICE.snmp.community=public\n");
         writer.write("service.TEST_SERVICE.snmp.oid.sessions=1.3.6.1.2.1.6.9.0\n");
         writer.write("service.TEST_SERVICE.snmp.oid.traffic=1.3.6.1.2.1.2.2.1.10.1\n");
+        writer.write("service.TEST_SERVICE.snmp.metrics=cpu, outOctets, missing\n");
+        writer.write("service.TEST_SERVICE.snmp.metric.cpu.oid=1.3.6.1.4.1.2021.11.9.0\n");
+        writer.write("service.TEST_SERVICE.snmp.metric.cpu.aggregate=avg\n");
+        writer.write("service.TEST_SERVICE.snmp.metric.outOctets.oid=1.3.6.1.2.1.2.2.1.16.1\n");
+        writer.write("service.TEST_SERVICE.snmp.metric.outOctets.type=counter\n");
         writer.write("global.snmp.timeout=3000\n");
         writer.write("global.polling.interval=5000\n");
         writer.close();
@@ -112,6 +118,43 @@ public class SystemPropertiesConfigTest {
         assertEquals("재시도 횟수", 2, snmpConfig.getRetries());
     }
     
+    @Test
+    public void testMetricConfigLoading() {
+        config.loadConfiguration();
+        
+        ServiceInfo.SnmpConfig snmpConfig = config.getService("TEST_SERVICE").getSnmpConfig();
+        // OID가 없는 지표는 제외
+        assertEquals("추가 지표 수", 2, snmpConfig.getMetricCount());
+        assertEquals("cpu", MetricRegistry.name(snmpConfig.getMetricIds()[0]));
+        assertEquals("outOctets", MetricRegistry.name(snmpConfig.getMetricIds()[1]));
+        assertEquals("지표 ID는 이름별로 고정", MetricRegistry.intern("cpu"), snmpConfig.getMetricIds()[0]);
+        assertEquals("1.3.6.1.4.1.2021.11.9.0", snmpConfig.getMetricOids()[0]);
+        assertFalse("기본 유형은 gauge", snmpConfig.getMetricCounters()[0]);
+        assertTrue(snmpConfig.getMetricCounters()[1]);
+        assertEquals(ServiceInfo.SnmpConfig.AGGREGATE_AVG, snmpConfig.getMetricAggregations()[0]);
+        assertEquals("기본 합계 방식은 sum", ServiceInfo.SnmpConfig.AGGREGATE_SUM, snmpConfig.getMetricAggregations()[1]);
+    }
+    
+    @Test
+    public void testV3ConfigLoading() throws IOException {
+        FileWriter writer = new FileWriter(testPropertiesFile, true);
+        writer.write("service.TEST_SERVICE.snmp.version=3\n");
+        writer.write("service.TEST_SERVICE.snmp.v3.user=monitor\n");
+        writer.write("service.TEST_SERVICE.snmp.v3.auth.password=authpass123\n");
+        writer.write("service.TEST_SERVICE.snmp.v3.priv.protocol=aes256\n");
+        writer.write("global.snmp.v3.priv.password=privpass123\n");
+        writer.close();
+        config.loadConfiguration();
+        
+        ServiceInfo.SnmpConfig snmpConfig = config.getService("TEST_SERVICE").getSnmpConfig();
+        assertTrue(snmpConfig.isV3());
+        assertEquals("monitor", snmpConfig.getSecurityName());
+        assertEquals("기본 인증 프로토콜", "SHA", snmpConfig.getAuthProtocol());
+        assertEquals("authpass123", snmpConfig.getAuthPassword());
+        assertEquals("AES256", snmpConfig.getPrivProtocol());
+        assertEquals("전역 암호 사용", "privpass123", snmpConfig.getPrivPassword());
+    }
+    
     @Test
     public void testGlobalConfig() {
         config.loadConfiguration();
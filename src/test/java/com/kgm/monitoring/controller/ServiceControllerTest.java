@@ -0,0 +1,171 @@
+package com.kgm.monitoring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kgm.monitoring.model.HistorySeries;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.service.ConfigService;
+import com.kgm.monitoring.service.HistoryService;
+import com.kgm.monitoring.service.MonitoringService;
+import com.kgm.monitoring.util.SingleFlight;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ServiceController 실시간 조회 API 테스트
+ */
+public class ServiceControllerTest {
+
+    private MockMvc mockMvc;
+    private HistoryService historyService;
+
+    @Before
+    public void setUp() {
+        ConfigService configService = mock(ConfigService.class);
+        when(configService.getRingBufferSize()).thenReturn(120);
+        for (String id : Arrays.asList("WEB", "API")) {
+            ServiceInfo service = new ServiceInfo();
+            service.setServiceId(id);
+            service.setServiceName(id + " 서비스");
+            service.setMonitoringType("L4");
+            service.setEnabled(true);
+            when(configService.getService(id)).thenReturn(service);
+            when(configService.hasService(id)).thenReturn(true);
+        }
+
+        MonitoringService monitoringService = spy(new MonitoringService());
+        ReflectionTestUtils.setField(monitoringService, "configService", configService);
+        Map<String, List<MonitoringData>> recent = new HashMap<String, List<MonitoringData>>();
+        recent.put("WEB", Arrays.asList(data("WEB", 1000L, 75L, 25L), data("WEB", 2000L, 0L, 100L)));
+        recent.put("API", Arrays.asList(data("API", 1000L, 10L, 0L)));
+        monitoringService.restoreRecentData(recent);
+
+        // 스냅샷은 1000ms 주기 (WEB의 2000ms 데이터는 다음 주기에 추가된 것으로 간주)
+        Map<String, MonitoringData> current = new HashMap<String, MonitoringData>();
+        current.put("WEB", data("WEB", 1000L, 75L, 25L));
+        current.put("API", data("API", 1000L, 10L, 0L));
+        doReturn(new MonitoringSnapshot(7L, 1000L, current)).when(monitoringService).getSnapshot();
+
+        historyService = mock(HistoryService.class);
+
+        ServiceController controller = new ServiceController();
+        ReflectionTestUtils.setField(controller, "configService", configService);
+        ReflectionTestUtils.setField(controller, "historyService", historyService);
+        ReflectionTestUtils.setField(controller, "monitoringService", monitoringService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testBatchRatioFromSameSnapshot() throws Exception {
+        mockMvc.perform(get("/api/services/ratio").param("ids", "WEB,API,NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sequence").value(7))
+                .andExpect(jsonPath("$.services.length()").value(2))
+                .andExpect(jsonPath("$.services[0].serviceId").value("WEB"))
+                .andExpect(jsonPath("$.services[0].nbpRatio").value(75.0))
+                .andExpect(jsonPath("$.services[0].recent.timestamps.length()").value(1))
+                .andExpect(jsonPath("$.services[1].drRatio").value(0.0))
+                .andExpect(jsonPath("$.missing[0]").value("NONE"));
+    }
+
+    @Test
+    public void testSingleRatio() throws Exception {
+        mockMvc.perform(get("/api/services/WEB/ratio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ok"))
+                .andExpect(jsonPath("$.drSessions").value(25));
+        mockMvc.perform(get("/api/services/NONE/ratio"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testRatioSinceCursor() throws Exception {
+        MvcResult full = mockMvc.perform(get("/api/services/WEB/ratio"))
+                .andExpect(jsonPath("$.cursor").value(7))
+                .andExpect(jsonPath("$.resync").doesNotExist())
+                .andExpect(jsonPath("$.recent.timestamps.length()").value(1))
+                .andReturn();
+        String epoch = String.valueOf(new ObjectMapper().readTree(full.getResponse().getContentAsString())
+                .get("epoch").asLong());
+
+        mockMvc.perform(get("/api/services/WEB/ratio").param("since", "7").param("epoch", epoch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resync").value(false))
+                .andExpect(jsonPath("$.cursor").value(7))
+                .andExpect(jsonPath("$.recent.timestamps.length()").value(0));
+        mockMvc.perform(get("/api/services/WEB/ratio").param("since", "7").param("epoch", "1"))
+                .andExpect(jsonPath("$.resync").value(true))
+                .andExpect(jsonPath("$.recent.timestamps.length()").value(1));
+        mockMvc.perform(get("/api/services/ratio").param("ids", "WEB,API").param("since", "9"))
+                .andExpect(jsonPath("$.services[0].resync").value(true))
+                .andExpect(jsonPath("$.services[1].recent.timestamps.length()").value(1));
+    }
+
+    @Test
+    public void testHistoryCompletesAsynchronously() throws Exception {
+        final HistorySeries series = new HistorySeries();
+        series.add(1000L, 75L, 25L, 10L, 0L, 0L);
+        Executor direct = new Executor() {
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        SingleFlight.Flight<HistorySeries> flight = new SingleFlight<String, HistorySeries>().execute("WEB",
+                new Callable<HistorySeries>() {
+                    public HistorySeries call() {
+                        return series;
+                    }
+                }, direct);
+        when(historyService.submitQuery("WEB", 24, null, null)).thenReturn(flight);
+
+        MvcResult result = mockMvc.perform(get("/api/services/WEB/history").param("hours", "24"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points").value(1))
+                .andExpect(jsonPath("$.nbpSessions[0]").value(75));
+    }
+
+    @Test
+    public void testHistoryRejectedWhenQueueFull() throws Exception {
+        when(historyService.submitQuery("WEB", null, 90, null)).thenThrow(new RejectedExecutionException());
+        MvcResult result = mockMvc.perform(get("/api/services/WEB/history").param("days", "90"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    private static MonitoringData data(String serviceId, long timestamp, long nbp, long dr) {
+        MonitoringData data = new MonitoringData();
+        data.setServiceId(serviceId);
+        data.setTimestamp(new Date(timestamp));
+        data.setNbpSessions(nbp);
+        data.setDrSessions(dr);
+        return data;
+    }
+}
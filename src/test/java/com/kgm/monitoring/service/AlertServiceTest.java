@@ -0,0 +1,113 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * AlertService 규칙 평가 테스트
+ */
+public class AlertServiceTest {
+
+    private AlertService alertService;
+    private ServiceInfo service;
+    private final List<AlertState> transitions = new ArrayList<AlertState>();
+    private long sequence;
+
+    @Before
+    public void setUp() {
+        alertService = new AlertService();
+        alertService.addAlertListener(new AlertService.AlertListener() {
+            public void onAlertChanged(AlertState previous, AlertState current) {
+                transitions.add(current);
+            }
+        });
+        ServiceInfo.AlertConfig config = new ServiceInfo.AlertConfig();
+        config.setRatioMin(30);
+        config.setRatioMax(70);
+        config.setErrorRedCycles(3);
+        config.setStaleCycles(2);
+        config.setShiftWindow(3);
+        config.setShiftPercent(15);
+        service = new ServiceInfo();
+        service.setServiceId("WEB");
+        service.setAlertConfig(config);
+    }
+
+    @Test
+    public void testOnlyTransitionsArePublished() {
+        Map<String, AlertState> first = cycle(50, 50, false, 6);
+        assertEquals(AlertState.Level.GREEN, first.get("WEB").getLevel());
+        assertEquals(1, transitions.size());
+
+        // 상태가 같으면 같은 맵을 그대로 게시하고 통지하지 않음
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, cycle(52, 48, false, 6));
+        }
+        assertEquals(1, transitions.size());
+        assertEquals(1L, alertService.getTransitionCount());
+    }
+
+    @Test
+    public void testSnmpErrorEscalatesAndRecovers() {
+        cycle(50, 50, false, 6);
+        assertEquals(AlertState.Level.YELLOW, cycle(50, 50, true, 5).get("WEB").getLevel());
+        assertEquals(AlertState.Level.YELLOW, cycle(50, 50, true, 5).get("WEB").getLevel());
+        AlertState red = cycle(50, 50, true, 5).get("WEB");
+        assertEquals(AlertState.Level.RED, red.getLevel());
+        assertEquals(AlertState.REASON_SNMP_ERROR, red.getReason());
+        assertEquals(AlertState.Level.GREEN, cycle(50, 50, false, 6).get("WEB").getLevel());
+        // GREEN → YELLOW → RED → GREEN
+        assertEquals(4, transitions.size());
+    }
+
+    @Test
+    public void testStaleDataIsGrey() {
+        cycle(50, 50, false, 6);
+        cycle(50, 50, true, 0);
+        AlertState grey = cycle(50, 50, true, 0).get("WEB");
+        assertEquals(AlertState.Level.GREY, grey.getLevel());
+        assertEquals(AlertState.REASON_STALE, grey.getReason());
+    }
+
+    @Test
+    public void testRatioBandAndShift() {
+        AlertState band = cycle(80, 20, false, 6).get("WEB");
+        assertEquals(AlertState.Level.YELLOW, band.getLevel());
+        assertEquals(AlertState.REASON_RATIO_BAND, band.getReason());
+
+        cycle(50, 50, false, 6);
+        cycle(50, 50, false, 6);
+        cycle(50, 50, false, 6);
+        assertEquals(AlertState.Level.GREEN, cycle(50, 50, false, 6).get("WEB").getLevel());
+        // 3주기 전(50%) 대비 20%p 변화, 범위(30~70%) 안
+        AlertState shift = cycle(30, 70, false, 6).get("WEB");
+        assertEquals(AlertState.Level.YELLOW, shift.getLevel());
+        assertEquals(AlertState.REASON_RATIO_SHIFT, shift.getReason());
+        // 변화가 멈추고 창을 벗어나면 정상
+        cycle(30, 70, false, 6);
+        cycle(30, 70, false, 6);
+        assertEquals(AlertState.Level.GREEN, cycle(30, 70, false, 6).get("WEB").getLevel());
+    }
+
+    private Map<String, AlertState> cycle(long nbp, long dr, boolean error, int answered) {
+        MonitoringData data = new MonitoringData();
+        data.setServiceId("WEB");
+        data.setNbpSessions(nbp);
+        data.setDrSessions(dr);
+        data.setHasError(error);
+        sequence++;
+        alertService.evaluate(service, data, answered, sequence, sequence * 5000L);
+        Map<String, AlertState> states = alertService.commit();
+        alertService.notifyTransitions();
+        return states;
+    }
+}
@@ -0,0 +1,129 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * BurstService 테스트 (SNMP 응답은 mock으로 즉시 전달)
+ */
+public class BurstServiceTest {
+
+    private BurstService burstService;
+    private SnmpService snmpService;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Before
+    public void setUp() {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId("WEB");
+        service.setEnabled(true);
+        service.setNbpServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.0.1", "NBP-01")));
+        service.setDrServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.1.1", "DR-01")));
+        ServiceInfo.SnmpConfig snmpConfig = new ServiceInfo.SnmpConfig();
+        snmpConfig.setTimeout(3000);
+        service.setSnmpConfig(snmpConfig);
+
+        ConfigService configService = mock(ConfigService.class);
+        when(configService.getService("WEB")).thenReturn(service);
+
+        snmpService = mock(SnmpService.class);
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                String ip = (String) invocation.getArguments()[0];
+                ServerPollResult result = new ServerPollResult(ip);
+                result.setSuccess(true);
+                result.setSessions(ip.startsWith("10.0.0.") ? 30L : 10L);
+                result.setTrafficCounter(counter.addAndGet(1000L));
+                ((SnmpService.PollCallback) invocation.getArguments()[2]).onPollComplete(result);
+                return null;
+            }
+        }).when(snmpService).pollServer(anyString(), any(ServiceInfo.SnmpConfig.class), any(SnmpService.PollCallback.class));
+
+        burstService = new BurstService();
+        ReflectionTestUtils.setField(burstService, "configService", configService);
+        ReflectionTestUtils.setField(burstService, "snmpService", snmpService);
+        ReflectionTestUtils.setField(burstService, "monitoringService", mock(MonitoringService.class));
+        ReflectionTestUtils.setField(burstService, "maxServices", 1);
+        burstService.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        burstService.cleanup();
+    }
+
+    @Test
+    public void testBurstCollectsAndRevertsAutomatically() throws Exception {
+        BurstService.Burst burst = burstService.start("WEB", 1, 200L);
+        assertTrue(burst.isActive());
+
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (burst.isActive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50L);
+        }
+        assertFalse("지정 시간 후 자동 종료", burst.isActive());
+
+        List<MonitoringData> samples = burst.getSamples();
+        assertTrue("1초 / 200ms 구간 크기 이내", samples.size() >= 3 && samples.size() <= 5);
+        MonitoringData last = samples.get(samples.size() - 1);
+        assertEquals(30L, last.getNbpSessions());
+        assertEquals(10L, last.getDrSessions());
+        assertFalse(last.isHasError());
+
+        // 종료 후에는 더 이상 요청하지 않음
+        int requests = mockingDetails(snmpService).getInvocations().size();
+        Thread.sleep(500L);
+        assertEquals(requests, mockingDetails(snmpService).getInvocations().size());
+        assertSame(burst, burstService.getBurst("WEB"));
+    }
+
+    @Test
+    public void testInvalidAndConcurrentBursts() {
+        try {
+            burstService.start("WEB", 100000, null);
+            fail("최대 시간 초과는 거부되어야 합니다");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            burstService.start("NONE", 10, null);
+            fail("없는 서비스는 거부되어야 합니다");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        BurstService.Burst burst = burstService.start("WEB", 10, 1000L);
+        long endsAt = burst.getEndsAt();
+        assertSame("같은 주기면 연장", burst, burstService.start("WEB", 20, 1000L));
+        assertTrue(burst.getEndsAt() > endsAt);
+        assertTrue(burstService.stop("WEB"));
+        assertFalse(burst.isActive());
+        assertFalse(burstService.stop("WEB"));
+    }
+
+    @Test
+    public void testBurstSnmpConfigDoesNotRetry() {
+        ServiceInfo.SnmpConfig source = new ServiceInfo.SnmpConfig();
+        source.setCommunity("public");
+        source.setTimeout(3000);
+        source.setRetries(2);
+        ServiceInfo.SnmpConfig burst = BurstService.burstSnmpConfig(source, 1000L);
+        assertEquals(1000, burst.getTimeout());
+        assertEquals(0, burst.getRetries());
+        assertEquals("public", burst.getCommunity());
+    }
+}
@@ -0,0 +1,114 @@
+package com.kgm.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kgm.monitoring.model.AlertState;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.util.ConsistentHashRing;
+import com.kgm.monitoring.util.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ClusterService 테스트 (다른 구성원은 로컬 HTTP 서버로 대체)
+ */
+public class ClusterServiceTest {
+
+    private static final String SELF = "http://127.0.0.1:1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer peerServer;
+    private String peer;
+    private String peerServiceId;
+    private ClusterService clusterService;
+
+    @Before
+    public void setUp() throws IOException {
+        peerServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        peer = "http://127.0.0.1:" + peerServer.getAddress().getPort();
+        // 두 구성원 링에서 다른 구성원이 담당하는 서비스 ID
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList(SELF, peer), 128);
+        for (int i = 0; peerServiceId == null; i++) {
+            if (peer.equals(ring.nodeFor("SVC_" + i))) {
+                peerServiceId = "SVC_" + i;
+            }
+        }
+        peerServer.createContext(ClusterService.LOCAL_PATH, new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                MonitoringData data = new MonitoringData();
+                data.setServiceId(peerServiceId);
+                data.setTimestamp(new Date(1000L));
+                data.setNbpSessions(70L);
+                data.setDrSessions(30L);
+                data.setMetrics(new int[] { MetricRegistry.intern("cpu") }, new long[] { 55L }, new long[] { 12L });
+                Map<String, Object> body = new LinkedHashMap<String, Object>();
+                body.put("node", peer);
+                body.put("services", Collections.singletonList(ClusterService.toLocalItem(data,
+                        new AlertState(peerServiceId, AlertState.Level.YELLOW, AlertState.REASON_RATIO_BAND, 900L, 7L))));
+                byte[] bytes = objectMapper.writeValueAsBytes(body);
+                exchange.sendResponseHeaders(200, bytes.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(bytes);
+                out.close();
+            }
+        });
+        peerServer.start();
+
+        clusterService = new ClusterService();
+        ReflectionTestUtils.setField(clusterService, "configService", mock(ConfigService.class));
+        ReflectionTestUtils.setField(clusterService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(clusterService, "enabled", true);
+        ReflectionTestUtils.setField(clusterService, "self", SELF);
+        ReflectionTestUtils.setField(clusterService, "nodes", SELF + ", " + peer + "/");
+        ReflectionTestUtils.setField(clusterService, "failureThreshold", 1);
+        ReflectionTestUtils.setField(clusterService, "fetchTimeout", 500);
+    }
+
+    @After
+    public void tearDown() {
+        peerServer.stop(0);
+    }
+
+    @Test
+    public void testMergesPeerServicesAndRebalancesOnFailure() {
+        clusterService.sync();
+        assertFalse("다른 구성원 담당 서비스는 폴링하지 않음", clusterService.isLocal(peerServiceId));
+
+        ClusterService.RemoteService remote = clusterService.getRemoteServices().get(peerServiceId);
+        assertNotNull(remote);
+        assertEquals(peer, remote.getNode());
+        assertEquals(70L, remote.getData().getNbpSessions());
+        assertEquals(1000L, remote.getData().getTimestamp().getTime());
+        assertEquals(55L, remote.getData().getNbpMetrics()[remote.getData().metricColumn(MetricRegistry.find("cpu"))]);
+        assertEquals(AlertState.Level.YELLOW, remote.getAlert().getLevel());
+        assertEquals(AlertState.REASON_RATIO_BAND, remote.getAlert().getReason());
+
+        // 구성원이 빠지면 담당 서비스를 이어받음
+        peerServer.stop(0);
+        clusterService.sync();
+        assertTrue(clusterService.isLocal(peerServiceId));
+        assertTrue(clusterService.getRemoteServices().isEmpty());
+    }
+
+    @Test
+    public void testParseMembers() {
+        assertEquals(Arrays.asList("http://a:8080", "http://b:8080"),
+                ClusterService.parseMembers(new String[] { " http://a:8080/ ", "# 주석", "http://b:8080 # 예비", "http://a:8080" }));
+    }
+}
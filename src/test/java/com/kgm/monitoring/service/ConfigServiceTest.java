@@ -0,0 +1,79 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.config.SystemPropertiesConfig;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ConfigService 활성 서비스 목록 게시 테스트
+ */
+public class ConfigServiceTest {
+
+    private SystemPropertiesConfig systemPropertiesConfig;
+    private ConfigService configService;
+
+    @Before
+    public void setUp() {
+        systemPropertiesConfig = mock(SystemPropertiesConfig.class);
+        when(systemPropertiesConfig.getAllServices()).thenReturn(services("WEB", "API"));
+        configService = new ConfigService();
+        ReflectionTestUtils.setField(configService, "systemPropertiesConfig", systemPropertiesConfig);
+        configService.initialize();
+    }
+
+    @Test
+    public void testEnabledServicesPublishedOnConfigChange() {
+        List<ServiceInfo> initial = configService.getEnabledServices();
+        assertEquals(2, initial.size());
+        assertSame("설정 변경 전까지 같은 목록 재사용", initial, configService.getEnabledServices());
+
+        // 변경 알림 이후 원본 캐시를 다시 읽지 않음 (교체 중인 캐시가 게시 목록을 덮어쓰지 않아야 함)
+        when(systemPropertiesConfig.getAllServices()).thenReturn(new HashMap<String, ServiceInfo>());
+        configService.onConfigChanged(services("WEB"));
+        List<ServiceInfo> changed = configService.getEnabledServices();
+        assertEquals(1, changed.size());
+        assertEquals("WEB", changed.get(0).getServiceId());
+        assertSame(changed, configService.getEnabledServices());
+    }
+
+    @Test
+    public void testReloadPublishesNewServices() {
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                Map<String, ServiceInfo> reloaded = services("WEB", "API", "DB");
+                reloaded.get("API").setEnabled(false);
+                configService.onConfigChanged(reloaded);
+                return null;
+            }
+        }).when(systemPropertiesConfig).reloadConfiguration();
+
+        configService.reloadConfiguration();
+        List<ServiceInfo> enabled = configService.getEnabledServices();
+        assertEquals("비활성 서비스 제외", 2, enabled.size());
+        for (ServiceInfo service : enabled) {
+            assertTrue(service.isEnabled());
+        }
+    }
+
+    private static Map<String, ServiceInfo> services(String... ids) {
+        Map<String, ServiceInfo> services = new HashMap<String, ServiceInfo>();
+        for (String id : ids) {
+            ServiceInfo service = new ServiceInfo();
+            service.setServiceId(id);
+            service.setEnabled(true);
+            services.put(id, service);
+        }
+        return services;
+    }
+}
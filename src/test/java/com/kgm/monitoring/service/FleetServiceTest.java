@@ -0,0 +1,203 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.FleetAggregate;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.PollCycleStats;
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FleetService 묶음 합계 증분 반영 테스트
+ */
+public class FleetServiceTest {
+
+    private static final long MINUTE = 60L * 1000L;
+
+    private FleetService fleetService;
+    private MonitoringService monitoringService;
+    private ServiceInfo web;
+    private ServiceInfo api;
+    private ServiceInfo glb;
+    private long sequence;
+    private long now = 1000L * MINUTE;
+
+    @Before
+    public void setUp() {
+        web = service("WEB", "L4");
+        api = service("API", "L4", "payment");
+        glb = service("GLB", "GLB", "payment");
+
+        ConfigService configService = mock(ConfigService.class);
+        when(configService.getRingBufferSize()).thenReturn(10);
+        monitoringService = mock(MonitoringService.class);
+
+        fleetService = new FleetService();
+        ReflectionTestUtils.setField(fleetService, "configService", configService);
+        ReflectionTestUtils.setField(fleetService, "monitoringService", monitoringService);
+    }
+
+    @Test
+    public void testAggregatesByTypeAndGroup() {
+        cycle(data(web, 100, 10), data(api, 50, 50), data(glb, 30, 0));
+
+        assertTotals("all", 3, 180, 60);
+        assertTotals("type:L4", 2, 150, 60);
+        assertTotals("type:GLB", 1, 30, 0);
+        assertTotals("group:payment", 2, 80, 50);
+        assertEquals("게시 순서: 전체, 타입, 그룹", Arrays.asList("all", "type:GLB", "type:L4", "group:payment"),
+                ids(fleetService.getAggregates()));
+        assertEquals("payment", aggregate("group:payment").getName());
+        assertEquals("group", aggregate("group:payment").getKind());
+    }
+
+    @Test
+    public void testDeltasAndMissingServices() {
+        cycle(data(web, 100, 10), data(api, 50, 50), data(glb, 30, 0));
+        Sample failed = data(api, 40, 60);
+        failed.data.setError(PollError.TIMEOUT, "10.0.0.1");
+        cycle(data(web, 120, 0), failed);
+
+        assertTotals("all", 2, 160, 60);
+        assertTotals("type:L4", 2, 160, 60);
+        assertTotals("group:payment", 1, 40, 60);
+        assertEquals(1, aggregate("group:payment").getErrorServiceCount());
+        assertEquals("값이 없는 서비스 제외", 0, aggregate("type:GLB").getServiceCount());
+        assertEquals(0L, aggregate("type:GLB").getNbpSessions());
+
+        cycle(data(web, 120, 0), data(api, 40, 60), data(glb, 5, 5));
+        assertTotals("all", 3, 165, 65);
+        assertEquals(0, aggregate("all").getErrorServiceCount());
+
+        List<MonitoringData> recent = fleetService.getRecentData("all");
+        assertEquals(3, recent.size());
+        assertEquals(180L, recent.get(0).getNbpSessions());
+        assertTrue(recent.get(1).isHasError());
+        assertNull(fleetService.getRecentData("group:none"));
+    }
+
+    @Test
+    public void testReloadedServiceMovesBetweenGroups() {
+        cycle(data(web, 100, 10), data(api, 50, 50));
+
+        // 재로딩: 설정 변경 알림 후 다음 주기부터 새 설정 객체로 합계 반영
+        ServiceInfo movedApi = service("API", "GLB");
+        Map<String, ServiceInfo> config = new HashMap<String, ServiceInfo>();
+        config.put("WEB", web);
+        config.put("API", movedApi);
+        fleetService.onServiceConfigChanged(config);
+        assertNotNull("다음 주기 전까지는 이전 소속 유지", aggregate("group:payment"));
+        assertTotals("group:payment", 1, 50, 50);
+
+        cycle(data(web, 100, 10), data(movedApi, 50, 50));
+        assertTotals("type:L4", 1, 100, 10);
+        assertTotals("type:GLB", 1, 50, 50);
+        assertNull("서비스가 빠져나가 빈 그룹은 주기 완료 시 삭제", aggregate("group:payment"));
+        assertNull(fleetService.getRecentData("group:payment"));
+        assertEquals(Arrays.asList("all", "type:GLB", "type:L4"), ids(fleetService.getAggregates()));
+
+        config.remove("API");
+        fleetService.onServiceConfigChanged(config);
+        assertTotals("all", 1, 100, 10);
+        assertNull("설정에서 빠진 타입 삭제", aggregate("type:GLB"));
+    }
+
+    @Test
+    public void testRollupAveragesPerBucket() {
+        ReflectionTestUtils.setField(fleetService, "rollupMinutes", 5);
+        now = 1000L * MINUTE;
+        cycle(data(web, 100, 0));
+        now += MINUTE;
+        cycle(data(web, 200, 0));
+        now += 4L * MINUTE;
+        cycle(data(web, 50, 50));
+
+        List<MonitoringData> rollup = fleetService.getRollup("type:L4");
+        assertEquals("닫힌 구간 1개 + 진행 중인 구간", 2, rollup.size());
+        assertEquals(1000L * MINUTE, rollup.get(0).getTimestampMillis());
+        assertEquals(150L, rollup.get(0).getNbpSessions());
+        assertEquals(1005L * MINUTE, rollup.get(1).getTimestampMillis());
+        assertEquals(50L, rollup.get(1).getDrSessions());
+    }
+
+    private void cycle(Sample... samples) {
+        sequence++;
+        now += 5000L;
+        when(monitoringService.getSnapshot()).thenReturn(
+                new MonitoringSnapshot(sequence, now, Collections.<String, MonitoringData>emptyMap()));
+        for (Sample sample : samples) {
+            fleetService.onServiceAggregated(sample.service, sample.data, sequence);
+        }
+        fleetService.onPollCycleCompleted(new PollCycleStats(sequence, now, 10L, 0, 0, 0, true));
+    }
+
+    private void assertTotals(String id, int services, long nbpSessions, long drSessions) {
+        FleetAggregate aggregate = aggregate(id);
+        assertNotNull(id, aggregate);
+        assertEquals(id + " 서비스 수", services, aggregate.getServiceCount());
+        assertEquals(id + " NBP 세션", nbpSessions, aggregate.getNbpSessions());
+        assertEquals(id + " DR 세션", drSessions, aggregate.getDrSessions());
+        assertEquals(id + " NBP 트래픽", nbpSessions * 10L, aggregate.getNbpTraffic());
+    }
+
+    private FleetAggregate aggregate(String id) {
+        for (FleetAggregate aggregate : fleetService.getAggregates()) {
+            if (aggregate.getId().equals(id)) {
+                return aggregate;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> ids(List<FleetAggregate> aggregates) {
+        String[] ids = new String[aggregates.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = aggregates.get(i).getId();
+        }
+        return Arrays.asList(ids);
+    }
+
+    private static ServiceInfo service(String id, String type, String... groups) {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId(id);
+        service.setMonitoringType(type);
+        service.setEnabled(true);
+        service.setGroups(Arrays.asList(groups));
+        return service;
+    }
+
+    private static Sample data(ServiceInfo service, long nbpSessions, long drSessions) {
+        MonitoringData data = new MonitoringData();
+        data.setServiceId(service.getServiceId());
+        data.setNbpSessions(nbpSessions);
+        data.setDrSessions(drSessions);
+        data.setNbpTraffic(nbpSessions * 10L);
+        data.setDrTraffic(drSessions * 10L);
+        return new Sample(service, data);
+    }
+
+    /**
+     * 서비스 설정과 주기 합계
+     */
+    private static class Sample {
+        final ServiceInfo service;
+        final MonitoringData data;
+
+        Sample(ServiceInfo service, MonitoringData data) {
+            this.service = service;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.util.FlightEvents;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * FlightRecordingService 테스트 (상시 기록, 사용자 정의 이벤트, 기록 저장)
+ * - Java 7 빌드이므로 기록 파일은 jdk.jfr.consumer를 리플렉션으로 호출하여 확인
+ */
+public class FlightRecordingServiceTest {
+
+    private File baseDir;
+    private FlightRecordingService service;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("jfr").toFile();
+        service = new FlightRecordingService();
+        ReflectionTestUtils.setField(service, "dumpPath", new File(baseDir, "dump").getPath());
+    }
+
+    @After
+    public void tearDown() {
+        service.cleanup();
+        FileSystemUtils.deleteRecursively(baseDir);
+    }
+
+    @Test
+    public void testDumpContainsCustomEvents() throws Exception {
+        Assume.assumeTrue("jdk.jfr을 지원하는 JVM에서만 수행", FlightEvents.isSupported());
+        service.initialize();
+        assertTrue(service.isRecording());
+        assertEquals("running", service.getStatus().get("state"));
+
+        Object cycle = FlightEvents.beginPollCycle();
+        assertNotNull(cycle);
+        FlightEvents.endPollCycle(cycle, 987654321L, 3, 6, 1, 2L, 15L, true);
+        FlightEvents.snmpFailure("JFR-TEST", "192.0.2.1", "TIMEOUT", 3000000000L);
+        Object read = FlightEvents.beginHistoryRead();
+        FlightEvents.endHistoryRead(read, "JFR-TEST", "daily", 7, 120, 2, 5);
+
+        File file = service.dump();
+        assertTrue(file.isFile());
+        assertTrue(file.getName().endsWith(".jfr"));
+
+        boolean cycleFound = false;
+        boolean failureFound = false;
+        boolean readFound = false;
+        List<?> events = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                .getMethod("readAllEvents", Path.class).invoke(null, file.toPath());
+        for (Object event : events) {
+            Object type = event.getClass().getMethod("getEventType").invoke(event);
+            String name = (String) type.getClass().getMethod("getName").invoke(type);
+            if ("kgm.PollCycle".equals(name) && Long.valueOf(987654321L).equals(value(event, "getLong", "sequence"))) {
+                assertEquals(6, value(event, "getInt", "requests"));
+                assertEquals(1, value(event, "getInt", "failures"));
+                assertEquals(Boolean.TRUE, value(event, "getBoolean", "completed"));
+                cycleFound = true;
+            } else if ("kgm.SnmpFailure".equals(name) && "192.0.2.1".equals(value(event, "getString", "ip"))) {
+                assertEquals("JFR-TEST", value(event, "getString", "serviceId"));
+                assertEquals("TIMEOUT", value(event, "getString", "error"));
+                failureFound = true;
+            } else if ("kgm.HistoryRead".equals(name)
+                    && "JFR-TEST".equals(value(event, "getString", "serviceId"))) {
+                assertEquals("daily", value(event, "getString", "kind"));
+                assertEquals(5, value(event, "getInt", "cachedDays"));
+                readFound = true;
+            }
+        }
+        assertTrue(cycleFound);
+        assertTrue(failureFound);
+        assertTrue(readFound);
+    }
+
+    @Test
+    public void testDumpIsRateLimitedAndOldDumpsArePruned() throws Exception {
+        Assume.assumeTrue("jdk.jfr을 지원하는 JVM에서만 수행", FlightEvents.isSupported());
+        ReflectionTestUtils.setField(service, "dumpKeep", 2);
+        ReflectionTestUtils.setField(service, "dumpIntervalSeconds", 0L);
+        service.initialize();
+
+        File first = service.dump();
+        Thread.sleep(5L);
+        service.dump();
+        Thread.sleep(5L);
+        File third = service.dump();
+        String[] kept = new File(baseDir, "dump").list();
+        Arrays.sort(kept);
+        assertEquals("최근 2개만 보관", 2, kept.length);
+        assertFalse("가장 오래된 저장 파일 삭제", first.exists());
+        assertEquals(third.getName(), kept[1]);
+
+        ReflectionTestUtils.setField(service, "dumpIntervalSeconds", 60L);
+        try {
+            service.dump();
+            fail("저장 간격 이내의 요청은 거부");
+        } catch (RejectedExecutionException expected) {
+            assertTrue(service.getDumpRetryAfterSeconds() > 0L);
+        }
+
+        ReflectionTestUtils.setField(service, "dumpIntervalSeconds", 0L);
+        ((AtomicBoolean) ReflectionTestUtils.getField(service, "dumping")).set(true);
+        try {
+            service.dump();
+            fail("저장 중에는 다른 저장 요청 거부");
+        } catch (RejectedExecutionException expected) {
+            // Retry-After와 함께 503으로 응답
+        }
+        assertEquals(2, new File(baseDir, "dump").list().length);
+    }
+
+    @Test
+    public void testDumpRequiresRecording() throws Exception {
+        ReflectionTestUtils.setField(service, "enabled", false);
+        service.initialize();
+        assertFalse(service.isRecording());
+        try {
+            service.dump();
+            fail("기록 중이 아니면 저장 불가");
+        } catch (IllegalStateException expected) {
+            // 503으로 응답
+        }
+        assertFalse(new File(baseDir, "dump").exists());
+    }
+
+    private static Object value(Object event, String getter, String field) throws Exception {
+        return event.getClass().getMethod(getter, String.class).invoke(event, field);
+    }
+}
@@ -0,0 +1,192 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.HistorySeries;
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.model.SketchSeries;
+import com.kgm.monitoring.util.VirtualThreads;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * HistoryService 테스트 (로그 기록 → 집계 → 조회)
+ */
+public class HistoryServiceTest {
+
+    private File baseDir;
+    private HistoryService historyService;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("history").toFile();
+        historyService = new HistoryService();
+        ReflectionTestUtils.setField(historyService, "historyPath", new File(baseDir, "history").getPath());
+        ReflectionTestUtils.setField(historyService, "summaryPath", new File(baseDir, "summary").getPath());
+    }
+
+    @After
+    public void tearDown() {
+        historyService.cleanup();
+        FileSystemUtils.deleteRecursively(baseDir);
+    }
+
+    @Test
+    public void testRecentHistoryKeepsCutoverWithMaxPoints() throws Exception {
+        long now = System.currentTimeMillis();
+        long start = now - 2L * 60L * 60L * 1000L;
+        int cutover = 700;
+        for (int i = 0; i < 1440; i++) {
+            // 한 주기만 DR로 전환된 후 복귀
+            long nbp = i == cutover ? 0L : 100L;
+            append(start + i * 5000L, "WEB", nbp, 100L - nbp);
+            append(start + i * 5000L, "OTHER", 1L, 1L);
+        }
+
+        HistorySeries averaged = historyService.getRecentHistory("WEB", 24, null);
+        assertTrue("5분 평균은 약 24개 구간", averaged.size() >= 24 && averaged.size() <= 25);
+        for (long value : averaged.getNbpSessions()) {
+            assertTrue("평균에서는 전환이 드러나지 않음", value > 90L);
+        }
+
+        HistorySeries sampled = historyService.getRecentHistory("WEB", 24, 50);
+        assertEquals(50, sampled.size());
+        boolean found = false;
+        for (long value : sampled.getNbpSessions()) {
+            found |= value == 0L;
+        }
+        assertTrue("LTTB는 전환 시점을 유지해야 합니다", found);
+    }
+
+    @Test
+    public void testQueryExecutorFollowsVirtualThreadMode() throws Exception {
+        ReflectionTestUtils.setField(historyService, "monitoringService", new MonitoringService());
+        ReflectionTestUtils.setField(historyService, "virtualThreads", true);
+        historyService.initialize();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            append(now - (10 - i) * 5000L, "WEB", 100L, 0L);
+        }
+
+        HistorySeries series = historyService.submitQuery("WEB", 1, null, null).get(5, TimeUnit.SECONDS);
+        assertTrue(series.size() > 0);
+        // 가상 스레드를 지원하지 않는 JVM에서는 스레드 풀로 대체
+        Object threads = historyService.getQueryStats().get("threads");
+        assertEquals(VirtualThreads.isSupported() ? "virtual" : (Object) 2, threads);
+    }
+
+    @Test
+    public void testSummarizeAndDailyHistory() throws Exception {
+        // 전일 12:00 (자정 경계 회피)
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+        calendar.set(Calendar.HOUR_OF_DAY, 12);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+        String dayName = HistoryService.dayOf(start);
+        for (int i = 0; i < 120; i++) {
+            append(start + i * 5000L, "WEB", 100L + i % 2, 10L);
+        }
+
+        assertEquals(1, historyService.summarize(dayName));
+        List<String> lines = Files.readAllLines(new File(baseDir, "summary/" + dayName + ".csv").toPath(),
+                java.nio.charset.Charset.forName("UTF-8"));
+        assertEquals("10분 데이터는 5분 구간 2개", 2, lines.size());
+        assertTrue(lines.get(0).startsWith(start + ",WEB,100,10,"));
+        assertTrue(lines.get(0).endsWith(",0,60"));
+
+        HistorySeries history = historyService.getDailyHistory("WEB", 2, null);
+        assertTrue(history.size() >= 1);
+        assertEquals(100L, history.getNbpSessions()[0]);
+    }
+
+    @Test
+    public void testDailyHistoryFromSummaryCache() throws Exception {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+        calendar.set(Calendar.HOUR_OF_DAY, 12);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+        String dayName = HistoryService.dayOf(start);
+        for (int i = 0; i < 120; i++) {
+            append(start + i * 5000L, "WEB", 100L, 10L);
+            append(start + i * 5000L, "API", 50L, 50L);
+        }
+        assertEquals(2, historyService.summarize(dayName));
+        HistorySeries fromFile = historyService.getDailyHistory("WEB", 2, 1000);
+
+        assertEquals(Collections.singletonList(dayName), historyService.listSummaryDays());
+        assertTrue(historyService.cacheSummaryDay(dayName) > 0);
+        assertEquals(1, historyService.getCachedDayCount());
+        HistorySeries fromCache = historyService.getDailyHistory("WEB", 2, 1000);
+        assertArrayEquals(fromFile.getTimestamps(), fromCache.getTimestamps());
+        assertArrayEquals(fromFile.getNbpSessions(), fromCache.getNbpSessions());
+        assertArrayEquals(fromFile.getErrors(), fromCache.getErrors());
+
+        // 캐시 적재 후 바뀐 집계 파일은 파일에서 다시 읽음
+        File summary = new File(baseDir, "summary/" + dayName + ".csv");
+        Files.write(summary.toPath(), (start + ",WEB,7,3,0,0,0,60\n").getBytes("UTF-8"));
+        assertEquals(7L, historyService.getDailyHistory("WEB", 2, 1000).getNbpSessions()[0]);
+
+        assertEquals(-1L, historyService.cacheSummaryDay("20000101"));
+        assertEquals(2, historyService.summarize(dayName));
+        assertEquals("다시 집계하면 캐시에서 제외", 0, historyService.getCachedDayCount());
+    }
+
+    @Test
+    public void testPercentilesFromSummarySketches() throws Exception {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -1);
+        calendar.set(Calendar.HOUR_OF_DAY, 12);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+        String dayName = HistoryService.dayOf(start);
+        for (int i = 0; i < 120; i++) {
+            // 전체 세션 100~219, 첫 5분은 100~159
+            append(start + i * 5000L, "WEB", 100L + i - (i % 3), i % 3);
+        }
+        SketchSeries fromLog = historyService.getSessionPercentiles("WEB", 2, HistoryService.FIVE_MINUTES);
+
+        assertEquals(1, historyService.summarize(dayName));
+        // 원본 로그 삭제 후에도 스케치로 조회
+        assertTrue(new File(baseDir, "history/" + dayName + ".csv").delete());
+        SketchSeries fromSketch = historyService.getSessionPercentiles("WEB", 2, HistoryService.FIVE_MINUTES);
+
+        assertEquals(120L, fromSketch.getTotal().getCount());
+        assertEquals(fromLog.getTotal().quantile(0.95), fromSketch.getTotal().quantile(0.95), 0.0);
+        assertEquals(213.0, fromSketch.getTotal().quantile(0.95), 213.0 * 0.01);
+        assertEquals(2, fromSketch.getTimestamps().size());
+        assertEquals(Long.valueOf(start), fromSketch.getTimestamps().get(0));
+        assertEquals(159.0, fromSketch.getSketches().get(0).quantile(1.0), 159.0 * 0.01);
+    }
+
+    private void append(long timestamp, String serviceId, long nbp, long dr) throws Exception {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId(serviceId);
+        MonitoringData data = new MonitoringData();
+        data.setServiceId(serviceId);
+        data.setTimestamp(new Date(timestamp));
+        data.setNbpSessions(nbp);
+        data.setDrSessions(dr);
+        historyService.onServiceAggregated(service, data, 1L);
+        historyService.append(timestamp);
+    }
+}
@@ -0,0 +1,104 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.HistorySeries;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Calendar;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * HistoryWarmupService 테스트 (백그라운드 캐시 적재 및 진행 현황)
+ */
+public class HistoryWarmupServiceTest {
+
+    private File baseDir;
+    private HistoryService historyService;
+    private HistoryWarmupService warmupService;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("warmup").toFile();
+        historyService = new HistoryService();
+        ReflectionTestUtils.setField(historyService, "historyPath", new File(baseDir, "history").getPath());
+        ReflectionTestUtils.setField(historyService, "summaryPath", new File(baseDir, "summary").getPath());
+        ReflectionTestUtils.setField(historyService, "prewarmDays", 3);
+
+        warmupService = new HistoryWarmupService();
+        ReflectionTestUtils.setField(warmupService, "historyService", historyService);
+        ReflectionTestUtils.setField(warmupService, "pauseMillis", 0L);
+    }
+
+    @After
+    public void tearDown() {
+        warmupService.cleanup();
+        historyService.cleanup();
+        FileSystemUtils.deleteRecursively(baseDir);
+    }
+
+    @Test
+    public void testWarmupLoadsRecentSummaryDays() throws Exception {
+        File summaryDir = new File(baseDir, "summary");
+        assertTrue(summaryDir.mkdirs());
+        long yesterday = 0L;
+        for (int daysAgo = 1; daysAgo <= 5; daysAgo++) {
+            long start = noonDaysAgo(daysAgo);
+            if (daysAgo == 1) {
+                yesterday = start;
+            }
+            Files.write(new File(summaryDir, HistoryService.dayOf(start) + ".csv").toPath(),
+                    (start + ",WEB," + daysAgo + ",0,0,0,0,60\n").getBytes("UTF-8"));
+        }
+        Files.write(new File(summaryDir, "notes.txt").toPath(), "x".getBytes("UTF-8"));
+
+        // 적재 전에도 파일에서 조회
+        assertFalse(warmupService.isReady());
+        HistorySeries before = historyService.getDailyHistory("WEB", 7, 1000);
+        assertEquals(5, before.size());
+
+        warmupService.start();
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!warmupService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        Map<String, Object> status = warmupService.getStatus();
+        assertEquals(HistoryWarmupService.READY, status.get("state"));
+        assertEquals("최근 3일만 대상", 3, status.get("days"));
+        assertEquals(3, status.get("loaded"));
+        assertEquals(0, status.get("failed"));
+        assertEquals(100, status.get("progress"));
+        assertEquals(3, historyService.getCachedDayCount());
+
+        HistorySeries after = historyService.getDailyHistory("WEB", 7, 1000);
+        assertArrayEquals(before.getTimestamps(), after.getTimestamps());
+        assertArrayEquals(before.getNbpSessions(), after.getNbpSessions());
+        assertEquals(yesterday, after.getTimestamps()[after.size() - 1]);
+    }
+
+    @Test
+    public void testDisabledWarmupIsReady() {
+        ReflectionTestUtils.setField(warmupService, "enabled", false);
+        warmupService.start();
+        assertTrue(warmupService.isReady());
+        assertEquals(HistoryWarmupService.DISABLED, warmupService.getStatus().get("state"));
+        assertEquals(0, historyService.getCachedDayCount());
+    }
+
+    private static long noonDaysAgo(int days) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_MONTH, -days);
+        calendar.set(Calendar.HOUR_OF_DAY, 12);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,384 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.MonitoringSnapshot;
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.MetricRegistry;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * MonitoringService 추가 지표 수집/합계 테스트 (SNMP 응답은 mock으로 즉시 전달)
+ */
+public class MonitoringServiceTest {
+
+    private MonitoringService monitoringService;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Before
+    public void setUp() {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId("WEB");
+        service.setEnabled(true);
+        service.setNbpServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.0.1", "NBP-01"),
+                new ServiceInfo.ServerInfo("10.0.0.2", "NBP-02")));
+        service.setDrServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.1.1", "DR-01")));
+        ServiceInfo.SnmpConfig snmpConfig = new ServiceInfo.SnmpConfig();
+        snmpConfig.setTimeout(1000);
+        snmpConfig.setMetrics(
+                new int[] { MetricRegistry.intern("cpu"), MetricRegistry.intern("outOctets") },
+                new String[] { "1.3.6.1.4.1.2021.11.9.0", "1.3.6.1.2.1.2.2.1.16.1" },
+                new boolean[] { false, true },
+                new int[] { ServiceInfo.SnmpConfig.AGGREGATE_AVG, ServiceInfo.SnmpConfig.AGGREGATE_SUM });
+        service.setSnmpConfig(snmpConfig);
+
+        ConfigService configService = mock(ConfigService.class);
+        when(configService.getEnabledServices()).thenReturn(Arrays.asList(service));
+        when(configService.getRingBufferSize()).thenReturn(10);
+
+        SnmpService snmpService = mock(SnmpService.class);
+        doAnswer(new Answer<Void>() {
+            public Void answer(InvocationOnMock invocation) {
+                String ip = (String) invocation.getArguments()[0];
+                ServerPollResult result = new ServerPollResult(ip);
+                result.setSuccess(true);
+                result.setSessions(10L);
+                result.setTrafficCounter(counter.get());
+                result.initMetrics(2);
+                result.setMetric(0, "10.0.0.1".equals(ip) ? 40L : "10.0.0.2".equals(ip) ? 60L : 20L, 0L);
+                result.setMetric(1, counter.get(), 0L);
+                result.setTag((Long) invocation.getArguments()[2]);
+                ((SnmpService.PollCallback) invocation.getArguments()[3]).onPollComplete(result);
+                return null;
+            }
+        }).when(snmpService).pollServer(anyString(), any(ServiceInfo.SnmpConfig.class), anyLong(),
+                any(SnmpService.PollCallback.class));
+
+        monitoringService = new MonitoringService();
+        ReflectionTestUtils.setField(monitoringService, "configService", configService);
+        ReflectionTestUtils.setField(monitoringService, "snmpService", snmpService);
+    }
+
+    @Test
+    public void testMetricsAggregatedPerSite() throws Exception {
+        monitoringService.pollAllServices();
+        MonitoringData first = monitoringService.getCurrentData("WEB");
+        assertEquals(2, first.getMetricIds().length);
+        assertEquals("cpu", MetricRegistry.name(first.getMetricIds()[0]));
+        assertEquals("게이지 평균", 50L, first.getNbpMetrics()[0]);
+        assertEquals(20L, first.getDrMetrics()[0]);
+        assertEquals("카운터는 첫 주기에 증가량 없음", 0L, first.getNbpMetrics()[1]);
+
+        Thread.sleep(50L);
+        counter.set(100000L);
+        monitoringService.pollAllServices();
+        MonitoringData second = monitoringService.getCurrentData("WEB");
+        assertTrue("카운터 초당 증가량 합계", second.getNbpMetrics()[1] > second.getDrMetrics()[1]);
+        assertTrue(second.getDrMetrics()[1] > 0L);
+        assertEquals(1, second.metricColumn(MetricRegistry.find("outOctets")));
+
+        long[] values = new long[5];
+        assertTrue(monitoringService.copyServerValues("WEB", "10.0.0.2", values));
+        assertEquals(60L, values[3]);
+        assertTrue(values[4] > 0L);
+    }
+
+    @Test
+    public void testErrorRecordedAsCode() throws Exception {
+        SnmpService snmpService = new SnmpService() {
+            @Override
+            public void pollServer(String ip, ServiceInfo.SnmpConfig snmpConfig, long tag, PollCallback callback) {
+                ServerPollResult result = new ServerPollResult(ip);
+                result.setTag(tag);
+                if ("10.0.0.2".equals(ip)) {
+                    result.setTimeout(true);
+                    result.setError(PollError.TIMEOUT, "SNMP 응답 시간 초과");
+                } else {
+                    result.setSuccess(true);
+                    result.setSessions(10L);
+                }
+                callback.onPollComplete(result);
+            }
+        };
+        ReflectionTestUtils.setField(monitoringService, "snmpService", snmpService);
+
+        monitoringService.pollAllServices();
+        MonitoringData data = monitoringService.getCurrentData("WEB");
+        assertTrue(data.isHasError());
+        assertEquals(PollError.TIMEOUT, data.getErrorCode());
+        assertEquals("10.0.0.2", data.getErrorServer());
+        assertEquals("10.0.0.2: SNMP 응답 시간 초과", data.getErrorMessage());
+        assertEquals("직전 값이 없는 오류 서버는 합계에서 제외", 10L, data.getNbpSessions());
+    }
+
+    @Test
+    public void testLateResponseFromEarlierCycleIgnored() throws Exception {
+        final Map<String, SnmpService.PollCallback> callbacks = new HashMap<String, SnmpService.PollCallback>();
+        SnmpService snmpService = new SnmpService() {
+            @Override
+            public void pollServer(String ip, ServiceInfo.SnmpConfig snmpConfig, long tag, PollCallback callback) {
+                callbacks.put(ip, callback);
+                callback.onPollComplete(response(ip, tag, 10L * tag, 1000L * tag));
+            }
+        };
+        ReflectionTestUtils.setField(monitoringService, "snmpService", snmpService);
+
+        monitoringService.pollAllServices();
+        Thread.sleep(50L);
+        monitoringService.pollAllServices();
+        long[] before = new long[5];
+        assertTrue(monitoringService.copyServerValues("WEB", "10.0.0.1", before));
+        assertEquals(20L, before[0]);
+        assertTrue(before[1] > 0L);
+
+        // 1주기 응답이 2주기 응답 뒤에 도착 (카운터가 뒤로 가므로 순환 보정 시 2^32 급증)
+        Thread.sleep(50L);
+        callbacks.get("10.0.0.1").onPollComplete(response("10.0.0.1", 1L, 10L, 1000L));
+        long[] after = new long[5];
+        assertTrue(monitoringService.copyServerValues("WEB", "10.0.0.1", after));
+        assertEquals("이전 주기 세션 수로 되돌리지 않음", 20L, after[0]);
+        assertEquals("이전 주기 카운터로 증가율을 계산하지 않음", before[1], after[1]);
+        assertEquals(1L, after[2]);
+
+        Thread.sleep(50L);
+        monitoringService.pollAllServices();
+        long[] next = new long[5];
+        assertTrue(monitoringService.copyServerValues("WEB", "10.0.0.1", next));
+        assertTrue("다음 주기는 2주기 카운터 기준: " + next[1], next[1] > 0L && next[1] < 1000000L);
+    }
+
+    private static ServerPollResult response(String ip, long tag, long sessions, long counter) {
+        ServerPollResult result = new ServerPollResult(ip);
+        result.setTag(tag);
+        result.setSuccess(true);
+        result.setSessions(sessions);
+        result.setTrafficCounter(counter);
+        result.setTrafficCounterRange(1L << 32);
+        return result;
+    }
+
+    @Test
+    public void testRecentDataSinceCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            monitoringService.pollAllServices();
+        }
+        MonitoringSnapshot snapshot = monitoringService.getSnapshot();
+        assertEquals(3L, snapshot.getSequence());
+        assertEquals(2, monitoringService.getRecentDataSince("WEB", 1L, snapshot).size());
+        assertEquals(0, monitoringService.getRecentDataSince("WEB", 3L, snapshot).size());
+        assertNull("이후 주기 커서(다른 기동 시점)는 재전송", monitoringService.getRecentDataSince("WEB", 4L, snapshot));
+        assertNull(monitoringService.getRecentDataSince("NONE", 1L, snapshot));
+
+        // Ring Buffer(10개)에서 1~5주기 값이 밀려남
+        for (int i = 0; i < 12; i++) {
+            monitoringService.pollAllServices();
+        }
+        snapshot = monitoringService.getSnapshot();
+        assertNull("밀려난 값 이전 커서는 재전송", monitoringService.getRecentDataSince("WEB", 3L, snapshot));
+        List<MonitoringData> delta = monitoringService.getRecentDataSince("WEB", 5L, snapshot);
+        assertEquals(10, delta.size());
+        assertEquals(monitoringService.getRecentData("WEB").get(0).getTimestampMillis(),
+                delta.get(0).getTimestampMillis());
+    }
+
+    /**
+     * 정상 상태 폴링 주기의 객체 할당량
+     * - 서비스/서버 수와 무관하게 주기마다 고정 크기(래치, 스냅샷, 주기 통계)만 할당되어야 함
+     */
+    @Test
+    public void testSteadyStateCycleAllocatesAlmostNothing() throws Exception {
+        com.sun.management.ThreadMXBean allocation = allocationMXBean();
+        MonitoringService service = steadyStateService(steadyStateServices());
+
+        for (int i = 0; i < 2000; i++) {
+            service.pollAllServices();
+        }
+        int cycles = 200;
+        long perCycle = allocatedPerCycle(allocation, service, cycles);
+        System.out.println("정상 상태 폴링 주기 할당량: " + perCycle + " bytes/cycle (서비스 50, 서버 200)");
+        assertTrue("주기당 할당량이 서버 수에 비례하지 않아야 합니다: " + perCycle, perCycle < 2048L);
+
+        // 조회 시점에만 MonitoringData 생성
+        MonitoringData current = service.getCurrentData("SVC-7");
+        assertEquals(2 * ((2000 + 3 * cycles) & 0xFF), current.getNbpSessions());
+        assertEquals(10, service.getRecentData("SVC-7").size());
+    }
+
+    /**
+     * 운영과 같이 이력 로그/서버 시계열/Prometheus 리스너를 등록한 정상 상태 폴링 주기의 객체 할당량
+     * - 주기마다 새로 게시하는 Prometheus 본문 배열을 제외하면 서비스/서버 수와 무관해야 함
+     */
+    @Test
+    public void testSteadyStateCycleWithListenersAllocatesAlmostNothing() throws Exception {
+        com.sun.management.ThreadMXBean allocation = allocationMXBean();
+        final List<ServiceInfo> services = steadyStateServices();
+        MonitoringService service = steadyStateService(services);
+        ConfigService configService = (ConfigService) ReflectionTestUtils.getField(service, "configService");
+
+        File historyDir = Files.createTempDirectory("allocation").toFile();
+        HistoryService historyService = new HistoryService();
+        ReflectionTestUtils.setField(historyService, "historyPath", historyDir.getPath());
+        ReflectionTestUtils.setField(historyService, "summaryPath", new File(historyDir, "summary").getPath());
+        service.addServiceAggregateListener(historyService);
+        service.addPollCycleListener(historyService);
+
+        ServerSeriesService serverSeriesService = new ServerSeriesService();
+        ReflectionTestUtils.setField(serverSeriesService, "configService", configService);
+        ReflectionTestUtils.setField(serverSeriesService, "monitoringService", service);
+        service.addPollCycleListener(serverSeriesService);
+
+        PrometheusExportService prometheusExportService = new PrometheusExportService();
+        ReflectionTestUtils.setField(prometheusExportService, "configService", configService);
+        ReflectionTestUtils.setField(prometheusExportService, "monitoringService", service);
+        service.addServiceAggregateListener(prometheusExportService);
+        service.addPollCycleListener(prometheusExportService);
+
+        try {
+            for (int i = 0; i < 2000; i++) {
+                service.pollAllServices();
+            }
+            long perCycle = allocatedPerCycle(allocation, service, 200);
+            // 게시 본문: byte[] 헤더(16) + 길이를 8바이트 단위로 올림
+            long body = 16L + ((prometheusExportService.getBody().length + 7) & ~7L);
+            System.out.println("정상 상태 폴링 주기 할당량 (리스너 포함): " + perCycle + " bytes/cycle, Prometheus 본문 "
+                    + body + " bytes (서비스 50, 서버 200)");
+            assertTrue("본문 외 주기당 할당량이 서버 수에 비례하지 않아야 합니다: " + (perCycle - body),
+                    perCycle - body < 2048L);
+
+            File log = new File(historyDir, HistoryService.dayOf(System.currentTimeMillis()) + ".csv");
+            assertTrue("이력 로그가 기록되어야 합니다", log.length() > 0);
+            assertTrue("서버 시계열이 기록되어야 합니다", ((long[]) serverSeriesService
+                    .getServerHistory("SVC-7", "10.1.7.1", 0L, Long.MAX_VALUE).get("timestamps")).length > 0);
+            assertTrue("Prometheus 본문에 서비스 합계가 있어야 합니다", new String(prometheusExportService.getBody(),
+                    "UTF-8").contains("nbp_dr_service_sessions{service=\"SVC-7\""));
+        } finally {
+            historyService.cleanup();
+            FileSystemUtils.deleteRecursively(historyDir);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocation.isThreadAllocatedMemorySupported());
+        allocation.setThreadAllocatedMemoryEnabled(true);
+        return allocation;
+    }
+
+    private static long allocatedPerCycle(com.sun.management.ThreadMXBean allocation, MonitoringService service,
+                                          int cycles) {
+        // 버퍼 확장/JIT 재컴파일 같은 일회성 할당이 섞이지 않도록 여러 구간 중 최소값 사용
+        long threadId = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long before = allocation.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < cycles; i++) {
+                service.pollAllServices();
+            }
+            min = Math.min(min, (allocation.getThreadAllocatedBytes(threadId) - before) / cycles);
+        }
+        return min;
+    }
+
+    /**
+     * 서비스 50개, 서비스당 NBP/DR 서버 각 2대, 추가 지표 1개
+     */
+    private static List<ServiceInfo> steadyStateServices() {
+        List<ServiceInfo> services = new ArrayList<ServiceInfo>();
+        for (int i = 0; i < 50; i++) {
+            ServiceInfo service = new ServiceInfo();
+            service.setServiceId("SVC-" + i);
+            service.setEnabled(true);
+            service.setNbpServers(Arrays.asList(new ServiceInfo.ServerInfo("10.1." + i + ".1", "NBP-01"),
+                    new ServiceInfo.ServerInfo("10.1." + i + ".2", "NBP-02")));
+            service.setDrServers(Arrays.asList(new ServiceInfo.ServerInfo("10.2." + i + ".1", "DR-01"),
+                    new ServiceInfo.ServerInfo("10.2." + i + ".2", "DR-02")));
+            ServiceInfo.SnmpConfig snmpConfig = new ServiceInfo.SnmpConfig();
+            snmpConfig.setTimeout(1000);
+            snmpConfig.setMetrics(new int[] { MetricRegistry.intern("cpu") },
+                    new String[] { "1.3.6.1.4.1.2021.11.9.0" }, new boolean[] { false },
+                    new int[] { ServiceInfo.SnmpConfig.AGGREGATE_AVG });
+            service.setSnmpConfig(snmpConfig);
+            services.add(service);
+        }
+        return services;
+    }
+
+    private static MonitoringService steadyStateService(List<ServiceInfo> services) {
+        final List<ServiceInfo> enabled = Collections.unmodifiableList(services);
+        final Map<String, ServiceInfo> all = new LinkedHashMap<String, ServiceInfo>();
+        for (ServiceInfo service : services) {
+            all.put(service.getServiceId(), service);
+        }
+        ConfigService configService = new ConfigService() {
+            @Override
+            public List<ServiceInfo> getEnabledServices() {
+                return enabled;
+            }
+
+            @Override
+            public Map<String, ServiceInfo> getAllServices() {
+                return all;
+            }
+
+            @Override
+            public ServiceInfo getService(String serviceId) {
+                return all.get(serviceId);
+            }
+
+            @Override
+            public int getRingBufferSize() {
+                return 10;
+            }
+        };
+        // 응답 객체도 서버별로 재사용 (SNMP4J 요청 객체를 제외한 수집 경로만 측정)
+        final Map<String, ServerPollResult> results = new HashMap<String, ServerPollResult>();
+        SnmpService snmpService = new SnmpService() {
+            @Override
+            public void pollServer(String ip, ServiceInfo.SnmpConfig snmpConfig, long tag, PollCallback callback) {
+                ServerPollResult result = results.get(ip);
+                if (result == null) {
+                    result = new ServerPollResult(ip);
+                    result.setSuccess(true);
+                    result.initMetrics(1);
+                    results.put(ip, result);
+                }
+                result.setTag(tag);
+                result.setSessions(tag & 0xFF);
+                result.setTrafficCounter(tag * 1000L);
+                result.setMetric(0, tag & 0x3F, 0L);
+                callback.onPollComplete(result);
+            }
+        };
+        MonitoringService service = new MonitoringService();
+        ReflectionTestUtils.setField(service, "configService", configService);
+        ReflectionTestUtils.setField(service, "snmpService", snmpService);
+        return service;
+    }
+}
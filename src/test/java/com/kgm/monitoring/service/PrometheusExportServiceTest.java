@@ -0,0 +1,117 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PrometheusExportService 테스트
+ */
+public class PrometheusExportServiceTest {
+
+    private PrometheusExportService exportService;
+    private ConfigService configService;
+    private MonitoringService monitoringService;
+
+    @Before
+    public void setUp() {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId("WEB");
+        service.setMonitoringType("L4");
+        service.setEnabled(true);
+        service.setNbpServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.0.1", "WEB-\"NBP\"-01")));
+        service.setDrServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.1.1", "WEB-DR-01")));
+
+        Map<String, ServiceInfo> services = new HashMap<String, ServiceInfo>();
+        services.put("WEB", service);
+
+        configService = mock(ConfigService.class);
+        when(configService.getAllServices()).thenReturn(services);
+        monitoringService = mock(MonitoringService.class);
+        when(monitoringService.copyServerValues(eq("WEB/10.0.0.1"), Matchers.any(long[].class)))
+                .thenAnswer(new org.mockito.stubbing.Answer<Boolean>() {
+                    public Boolean answer(org.mockito.invocation.InvocationOnMock invocation) {
+                        long[] values = (long[]) invocation.getArguments()[1];
+                        values[0] = 70L;
+                        values[1] = 2048L;
+                        values[2] = 1L;
+                        return true;
+                    }
+                });
+
+        exportService = new PrometheusExportService();
+        ReflectionTestUtils.setField(exportService, "configService", configService);
+        ReflectionTestUtils.setField(exportService, "monitoringService", monitoringService);
+    }
+
+    @Test
+    public void testRenderServiceAndServerGauges() throws Exception {
+        render(1L, 100L, 30L);
+        String body = new String(exportService.getBody(), "UTF-8");
+
+        assertTrue(body.contains("nbp_dr_service_sessions{service=\"WEB\",type=\"L4\",site=\"nbp\"} 100\n"));
+        assertTrue(body.contains("nbp_dr_service_sessions{service=\"WEB\",type=\"L4\",site=\"dr\"} 30\n"));
+        assertTrue(body.contains("nbp_dr_service_error{service=\"WEB\",type=\"L4\"} 0\n"));
+        assertTrue("라벨 값의 따옴표는 escape 되어야 합니다", body.contains(
+                "nbp_dr_server_sessions{service=\"WEB\",type=\"L4\",site=\"nbp\",server=\"10.0.0.1\","
+                        + "name=\"WEB-\\\"NBP\\\"-01\"} 70\n"));
+        assertTrue(body.contains("# TYPE nbp_dr_server_up gauge\n"));
+        assertFalse("값이 없는 서버는 출력하지 않아야 합니다", body.contains("server=\"10.0.1.1\""));
+    }
+
+    @Test
+    public void testServiceWithoutCurrentCycleValueIsSkipped() throws Exception {
+        render(1L, 100L, 30L);
+        exportService.render(2L, System.currentTimeMillis());
+        String body = new String(exportService.getBody(), "UTF-8");
+
+        assertTrue(body.contains("nbp_dr_snapshot_sequence 2\n"));
+        assertFalse("이번 주기에 집계되지 않은 서비스는 출력하지 않아야 합니다",
+                body.contains("nbp_dr_service_sessions{"));
+        assertTrue(body.contains("server=\"10.0.0.1\""));
+    }
+
+    @Test
+    public void testBodyIsRenderedOncePerCycle() {
+        render(1L, 100L, 30L);
+        byte[] first = exportService.getBody();
+        assertSame("렌더링 사이에는 같은 본문을 재사용해야 합니다", first, exportService.getBody());
+
+        render(2L, 90L, 40L);
+        assertNotSame("새 주기에는 본문이 갱신되어야 합니다", first, exportService.getBody());
+    }
+
+    @Test
+    public void testLabelsAreBuiltOncePerConfigVersion() {
+        render(1L, 100L, 30L);
+        render(2L, 100L, 30L);
+        verify(configService, times(1)).getAllServices();
+
+        exportService.onServiceConfigChanged(new HashMap<String, ServiceInfo>());
+        render(3L, 100L, 30L);
+        verify(configService, times(2)).getAllServices();
+    }
+
+    private void render(long sequence, long nbpSessions, long drSessions) {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId("WEB");
+        MonitoringData data = new MonitoringData();
+        data.setServiceId("WEB");
+        data.setTimestamp(new Date());
+        data.setNbpSessions(nbpSessions);
+        data.setDrSessions(drSessions);
+        exportService.onServiceAggregated(service, data, sequence);
+        exportService.render(sequence, System.currentTimeMillis());
+    }
+}
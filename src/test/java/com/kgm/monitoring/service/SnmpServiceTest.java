@@ -0,0 +1,378 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServerPollResult;
+import com.kgm.monitoring.model.ServiceInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.snmp4j.CommandResponder;
+import org.snmp4j.CommandResponderEvent;
+import org.snmp4j.MessageDispatcherImpl;
+import org.snmp4j.PDU;
+import org.snmp4j.Snmp;
+import org.snmp4j.mp.MPv2c;
+import org.snmp4j.mp.MPv3;
+import org.snmp4j.mp.StatusInformation;
+import org.snmp4j.security.AuthSHA;
+import org.snmp4j.security.PrivAES128;
+import org.snmp4j.security.SecurityProtocols;
+import org.snmp4j.security.USM;
+import org.snmp4j.security.UsmUser;
+import org.snmp4j.smi.Counter64;
+import org.snmp4j.smi.Gauge32;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.UdpAddress;
+import org.snmp4j.smi.VariableBinding;
+import org.snmp4j.transport.DefaultUdpTransportMapping;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * SnmpService 테스트 (127.0.0.1에 authPriv 사용자를 가진 응답기를 띄워 실제 요청 수행)
+ */
+public class SnmpServiceTest {
+
+    private static final String SESSIONS_OID = "1.3.6.1.2.1.6.9.0";
+    private static final String TRAFFIC_OID = "1.3.6.1.2.1.2.2.1.10.1";
+
+    private Snmp agent;
+    private int agentPort;
+    private SnmpService snmpService;
+
+    @Before
+    public void setUp() throws Exception {
+        SecurityProtocols.getInstance().addDefaultProtocols();
+        USM agentUsm = new USM(SecurityProtocols.getInstance(), new OctetString(MPv3.createLocalEngineID()), 0);
+        agentUsm.addUser(new OctetString("monitor"), new UsmUser(new OctetString("monitor"),
+                AuthSHA.ID, new OctetString("authpass123"), PrivAES128.ID, new OctetString("privpass123")));
+        MessageDispatcherImpl dispatcher = new MessageDispatcherImpl();
+        dispatcher.addMessageProcessingModel(new MPv3(agentUsm));
+        DefaultUdpTransportMapping transport = new DefaultUdpTransportMapping(new UdpAddress("127.0.0.1/0"));
+        agent = new Snmp(dispatcher, transport);
+        agent.addCommandResponder(new CommandResponder() {
+            public void processPdu(CommandResponderEvent event) {
+                PDU pdu = event.getPDU();
+                if (pdu == null || pdu.getType() != PDU.GET) {
+                    return;
+                }
+                PDU response = (PDU) pdu.clone();
+                response.setType(PDU.RESPONSE);
+                response.set(0, new VariableBinding(pdu.get(0).getOid(), new Gauge32(42)));
+                response.set(1, new VariableBinding(pdu.get(1).getOid(), new Counter64(1000)));
+                try {
+                    event.getMessageDispatcher().returnResponsePdu(event.getMessageProcessingModel(),
+                            event.getSecurityModel(), event.getSecurityName(), event.getSecurityLevel(),
+                            response, event.getMaxSizeResponsePDU(), event.getStateReference(),
+                            new StatusInformation());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                event.setProcessed(true);
+            }
+        });
+        transport.listen();
+        agentPort = transport.getListenAddress().getPort();
+
+        snmpService = new SnmpService();
+        snmpService.initialize();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        snmpService.cleanup();
+        agent.close();
+    }
+
+    @Test
+    public void testV3PollDiscoversEngineAndLocalizesKeysOnce() throws Exception {
+        ServiceInfo.SnmpConfig snmpConfig = v3Config("authpass123");
+
+        for (int i = 0; i < 3; i++) {
+            ServerPollResult result = poll(snmpConfig);
+            assertTrue("v3 요청 성공: " + result.getErrorMessage(), result.isSuccess());
+            assertEquals(42L, result.getSessions());
+            assertEquals(1000L, result.getTrafficCounter());
+        }
+
+        Map<String, Object> stats = snmpService.getV3Stats();
+        assertEquals("엔진 ID는 1회만 탐색", 1L, stats.get("discoveries"));
+        assertEquals("지역화 키는 1회만 계산", 1L, stats.get("keyLocalizations"));
+        assertEquals(1, stats.get("engines"));
+    }
+
+    @Test
+    public void testV3WrongPasswordFails() throws Exception {
+        ServerPollResult result = poll(v3Config("wrongpass123"));
+        assertFalse(result.isSuccess());
+        assertNotNull(result.getErrorMessage());
+    }
+
+    @Test
+    public void testV3DiscoveryJoinedPerAddressAndBackedOffAfterFailure() throws Exception {
+        // 응답하지 않는 에이전트 (수신 패킷 수만 기록)
+        final DatagramSocket silent = new DatagramSocket(0, InetAddress.getByName("127.0.0.1"));
+        final AtomicInteger received = new AtomicInteger();
+        Thread reader = new Thread(new Runnable() {
+            public void run() {
+                byte[] buffer = new byte[1500];
+                while (!silent.isClosed()) {
+                    try {
+                        silent.receive(new DatagramPacket(buffer, buffer.length));
+                        received.incrementAndGet();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        snmpService.cleanup();
+        snmpService = new SnmpService();
+        ReflectionTestUtils.setField(snmpService, "maxQueuedPerAgent", 1);
+        snmpService.initialize();
+
+        ServiceInfo.SnmpConfig snmpConfig = v3Config("authpass123");
+        snmpConfig.setPort(silent.getLocalPort());
+        snmpConfig.setTimeout(300);
+
+        final CountDownLatch done = new CountDownLatch(3);
+        final List<ServerPollResult> results = Collections.synchronizedList(new ArrayList<ServerPollResult>());
+        SnmpService.PollCallback callback = new SnmpService.PollCallback() {
+            public void onPollComplete(ServerPollResult result) {
+                results.add(result);
+                done.countDown();
+            }
+        };
+        try {
+            for (int i = 0; i < 3; i++) {
+                snmpService.pollServer("127.0.0.1", snmpConfig, callback);
+            }
+            assertEquals("탐색 대기 한도를 넘은 요청은 즉시 실패", 1, results.size());
+            assertEquals(PollError.AGENT_LIMIT, results.get(0).getErrorCode());
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(PollError.V3_DISCOVERY, results.get(1).getErrorCode());
+            assertEquals(PollError.V3_DISCOVERY, results.get(2).getErrorCode());
+            Map<String, Object> stats = snmpService.getV3Stats();
+            assertEquals("같은 주소 요청은 진행 중인 탐색에 합류", 1L, stats.get("discoveries"));
+            assertEquals(0, stats.get("pendingDiscoveries"));
+            assertEquals(1, stats.get("discoveryBackoffs"));
+            int sent = received.get();
+
+            ServerPollResult backedOff = poll(snmpConfig);
+            assertEquals(PollError.V3_DISCOVERY, backedOff.getErrorCode());
+            assertTrue("실패한 주소는 재탐색 대기 중 즉시 실패", backedOff.getLatencyNanos() < TimeUnit.MILLISECONDS.toNanos(100L));
+            assertEquals(1L, snmpService.getV3Stats().get("discoveries"));
+            assertEquals(sent, received.get());
+        } finally {
+            silent.close();
+        }
+    }
+
+    @Test
+    public void testAgentInFlightLimitQueuesThenRejects() throws Exception {
+        // 응답하지 않는 에이전트 (수신 패킷 수만 기록)
+        final DatagramSocket silent = new DatagramSocket(0, InetAddress.getByName("127.0.0.1"));
+        final AtomicInteger received = new AtomicInteger();
+        Thread reader = new Thread(new Runnable() {
+            public void run() {
+                byte[] buffer = new byte[1500];
+                while (!silent.isClosed()) {
+                    try {
+                        silent.receive(new DatagramPacket(buffer, buffer.length));
+                        received.incrementAndGet();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        snmpService.cleanup();
+        snmpService = new SnmpService();
+        ReflectionTestUtils.setField(snmpService, "transportCount", 2);
+        ReflectionTestUtils.setField(snmpService, "maxInFlightPerAgent", 1);
+        ReflectionTestUtils.setField(snmpService, "maxQueuedPerAgent", 1);
+        snmpService.initialize();
+
+        ServiceInfo.SnmpConfig snmpConfig = new ServiceInfo.SnmpConfig();
+        snmpConfig.setPort(silent.getLocalPort());
+        snmpConfig.setCommunity("public");
+        snmpConfig.setTimeout(300);
+        snmpConfig.setRetries(0);
+        snmpConfig.setSessionsOid(SESSIONS_OID);
+        snmpConfig.setTrafficOid(TRAFFIC_OID);
+
+        final CountDownLatch done = new CountDownLatch(3);
+        final List<ServerPollResult> results = Collections.synchronizedList(new ArrayList<ServerPollResult>());
+        SnmpService.PollCallback callback = new SnmpService.PollCallback() {
+            public void onPollComplete(ServerPollResult result) {
+                results.add(result);
+                done.countDown();
+            }
+        };
+        try {
+            for (int i = 0; i < 3; i++) {
+                snmpService.pollServer("127.0.0.1", snmpConfig, callback);
+            }
+            assertEquals("대기열 초과 요청은 즉시 실패", 1, results.size());
+            assertFalse(results.get(0).isSuccess());
+            Thread.sleep(100L);
+            assertEquals("동시 요청은 1건만 전송", 1, received.get());
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals("대기 요청은 앞선 요청 완료 후 전송", 2, received.get());
+            Map<String, Object> stats = snmpService.getTransportStats();
+            assertEquals(2, stats.get("sockets"));
+            assertEquals(1L, stats.get("deferred"));
+            assertEquals(1L, stats.get("rejected"));
+            assertEquals(0, stats.get("inFlight"));
+        } finally {
+            silent.close();
+        }
+    }
+
+    @Test
+    public void testRttEstimatorTimeout() {
+        SnmpService.RttEstimator rtt = new SnmpService.RttEstimator();
+        assertEquals("측정 전에는 설정값", 3000L, rtt.timeout(20L, 3000L));
+        for (int i = 0; i < 20; i++) {
+            rtt.sample(2.0);
+        }
+        assertEquals("안정된 에이전트는 하한", 20L, rtt.timeout(20L, 3000L));
+        rtt.sample(200.0);
+        long afterSpike = rtt.timeout(20L, 3000L);
+        assertTrue("지연 급증 시 편차만큼 증가: " + afterSpike, afterSpike > 100L && afterSpike < 3000L);
+
+        rtt.timedOut();
+        assertEquals("타임아웃 시 2배", afterSpike * 2, rtt.timeout(20L, 3000L));
+        for (int i = 0; i < 10; i++) {
+            rtt.timedOut();
+        }
+        assertEquals("상한 적용", 3000L, rtt.timeout(20L, 3000L));
+        rtt.sample(2.0);
+        assertTrue(rtt.timeout(20L, 3000L) < afterSpike);
+    }
+
+    @Test
+    public void testLostPacketRetriedWithAdaptiveTimeout() throws Exception {
+        // 요청 ID별 첫 패킷을 버릴 수 있는 v2c 응답기
+        final AtomicInteger dropFirst = new AtomicInteger();
+        final List<Integer> seen = Collections.synchronizedList(new ArrayList<Integer>());
+        MessageDispatcherImpl dispatcher = new MessageDispatcherImpl();
+        dispatcher.addMessageProcessingModel(new MPv2c());
+        DefaultUdpTransportMapping transport = new DefaultUdpTransportMapping(new UdpAddress("127.0.0.1/0"));
+        Snmp lossy = new Snmp(dispatcher, transport);
+        lossy.addCommandResponder(new CommandResponder() {
+            public void processPdu(CommandResponderEvent event) {
+                PDU pdu = event.getPDU();
+                int requestId = pdu.getRequestID().getValue();
+                if (!seen.contains(requestId)) {
+                    seen.add(requestId);
+                    if (dropFirst.get() > 0) {
+                        dropFirst.decrementAndGet();
+                        event.setProcessed(true);
+                        return;
+                    }
+                }
+                PDU response = (PDU) pdu.clone();
+                response.setType(PDU.RESPONSE);
+                response.set(0, new VariableBinding(pdu.get(0).getOid(), new Gauge32(42)));
+                response.set(1, new VariableBinding(pdu.get(1).getOid(), new Counter64(1000)));
+                try {
+                    event.getMessageDispatcher().returnResponsePdu(event.getMessageProcessingModel(),
+                            event.getSecurityModel(), event.getSecurityName(), event.getSecurityLevel(),
+                            response, event.getMaxSizeResponsePDU(), event.getStateReference(),
+                            new StatusInformation());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                event.setProcessed(true);
+            }
+        });
+        transport.listen();
+
+        ServiceInfo.SnmpConfig snmpConfig = new ServiceInfo.SnmpConfig();
+        snmpConfig.setPort(transport.getListenAddress().getPort());
+        snmpConfig.setCommunity("public");
+        snmpConfig.setTimeout(3000);
+        snmpConfig.setRetries(2);
+        snmpConfig.setSessionsOid(SESSIONS_OID);
+        snmpConfig.setTrafficOid(TRAFFIC_OID);
+        try {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(poll(snmpConfig).isSuccess());
+            }
+            long measured = agentMaxMillis();
+            dropFirst.set(1);
+            ServerPollResult result = poll(snmpConfig);
+            assertTrue(result.getErrorMessage(), result.isSuccess());
+            assertTrue("설정 타임아웃(3초)이 아닌 측정값 기준으로 재전송: " + result.getLatencyNanos() / 1000000L + "ms",
+                    result.getLatencyNanos() < TimeUnit.MILLISECONDS.toNanos(1000L));
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> timeouts = (Map<String, Object>) snmpService.getTransportStats().get("timeouts");
+            assertEquals(1, timeouts.get("measuredAgents"));
+            assertEquals("재전송 후 응답은 측정하지 않고 타임아웃 2배", measured * 2, agentMaxMillis());
+            assertTrue(agentMaxMillis() < 3000L);
+
+            assertTrue(poll(snmpConfig).isSuccess());
+            assertTrue("재전송 없는 응답 측정 후 원래 타임아웃으로 복귀", agentMaxMillis() < measured * 2);
+        } finally {
+            lossy.close();
+        }
+    }
+
+    private long agentMaxMillis() {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> timeouts = (Map<String, Object>) snmpService.getTransportStats().get("timeouts");
+        return (Long) timeouts.get("agentMaxMillis");
+    }
+
+    private ServiceInfo.SnmpConfig v3Config(String authPassword) {
+        ServiceInfo.SnmpConfig snmpConfig = new ServiceInfo.SnmpConfig();
+        snmpConfig.setVersion("3");
+        snmpConfig.setPort(agentPort);
+        snmpConfig.setTimeout(500);
+        snmpConfig.setRetries(0);
+        snmpConfig.setSessionsOid(SESSIONS_OID);
+        snmpConfig.setTrafficOid(TRAFFIC_OID);
+        snmpConfig.setSecurityName("monitor");
+        snmpConfig.setAuthProtocol("SHA");
+        snmpConfig.setAuthPassword(authPassword);
+        snmpConfig.setPrivProtocol("AES");
+        snmpConfig.setPrivPassword("privpass123");
+        return snmpConfig;
+    }
+
+    private ServerPollResult poll(ServiceInfo.SnmpConfig snmpConfig) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<ServerPollResult> received = new AtomicReference<ServerPollResult>();
+        snmpService.pollServer("127.0.0.1", snmpConfig, new SnmpService.PollCallback() {
+            public void onPollComplete(ServerPollResult result) {
+                received.set(result);
+                done.countDown();
+            }
+        });
+        assertTrue("응답 대기 시간 초과", done.await(5, TimeUnit.SECONDS));
+        return received.get();
+    }
+}
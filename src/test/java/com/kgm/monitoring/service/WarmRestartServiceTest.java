@@ -0,0 +1,190 @@
+package com.kgm.monitoring.service;
+
+import com.kgm.monitoring.model.MonitoringData;
+import com.kgm.monitoring.model.PollError;
+import com.kgm.monitoring.model.ServiceInfo;
+import com.kgm.monitoring.util.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WarmRestartService 테스트 (저장 → 새 인스턴스 복원)
+ */
+public class WarmRestartServiceTest {
+
+    private ConfigService configService;
+    private File snapshotFile;
+
+    @Before
+    public void setUp() throws Exception {
+        ServiceInfo service = new ServiceInfo();
+        service.setServiceId("WEB");
+        service.setEnabled(true);
+        service.setNbpServers(Arrays.asList(new ServiceInfo.ServerInfo("10.0.0.1", "WEB-NBP-01")));
+        service.setDrServers(new ArrayList<ServiceInfo.ServerInfo>());
+
+        configService = mock(ConfigService.class);
+        when(configService.getRingBufferSize()).thenReturn(3);
+        when(configService.getPollingInterval()).thenReturn(5000);
+        when(configService.hasService("WEB")).thenReturn(true);
+        when(configService.getService("WEB")).thenReturn(service);
+
+        snapshotFile = File.createTempFile("ringbuffer", ".snapshot");
+    }
+
+    @After
+    public void tearDown() {
+        snapshotFile.delete();
+    }
+
+    @Test
+    public void testSaveAndRestore() throws Exception {
+        MonitoringService before = monitoringService();
+        long now = System.currentTimeMillis();
+        Map<String, List<MonitoringData>> recentData = new HashMap<String, List<MonitoringData>>();
+        recentData.put("WEB", Arrays.asList(data("WEB", now - 10000L, 10L), data("WEB", now - 5000L, 20L)));
+        recentData.put("REMOVED", Arrays.asList(data("REMOVED", now, 99L)));
+        when(configService.hasService("REMOVED")).thenReturn(true);
+        before.restoreRecentData(recentData);
+        Map<String, long[]> counters = new HashMap<String, long[]>();
+        counters.put("WEB/10.0.0.1", new long[] { 20L, 4096L, 123456L, now - 5000L });
+        before.restoreServerCounters(counters);
+        warmRestartService(before).save(snapshotFile);
+
+        // 재기동 후 설정에서 제거된 서비스는 복원하지 않음
+        when(configService.hasService("REMOVED")).thenReturn(false);
+        MonitoringService after = monitoringService();
+        assertEquals(1, warmRestartService(after).restore(snapshotFile));
+
+        List<MonitoringData> restored = after.getRecentData("WEB");
+        assertEquals(2, restored.size());
+        assertEquals(10L, restored.get(0).getNbpSessions());
+        assertEquals(20L, after.getCurrentData("WEB").getNbpSessions());
+        assertTrue(after.getRecentData("REMOVED").isEmpty());
+
+        long[] values = new long[3];
+        assertTrue(after.copyServerValues("WEB", "10.0.0.1", values));
+        assertEquals(4096L, values[1]);
+        assertEquals("첫 폴링 전에는 정상으로 표시하지 않아야 합니다", 0L, values[2]);
+        assertEquals(123456L, after.exportServerCounters().get("WEB/10.0.0.1")[2]);
+    }
+
+    @Test
+    public void testMetricColumnsAndErrorCodeRestored() throws Exception {
+        int cpu = MetricRegistry.intern("cpu");
+        int connections = MetricRegistry.intern("connections");
+        MonitoringService before = monitoringService();
+        long now = System.currentTimeMillis();
+        MonitoringData failed = data("WEB", now - 5000L, 10L);
+        failed.setError(PollError.TIMEOUT, "10.0.0.1");
+        failed.setMetrics(new int[] { cpu, connections }, new long[] { 45L, 300L }, new long[] { 5L, 30L });
+        Map<String, List<MonitoringData>> recentData = new HashMap<String, List<MonitoringData>>();
+        recentData.put("WEB", Arrays.asList(data("WEB", now - 10000L, 9L), failed));
+        before.restoreRecentData(recentData);
+        warmRestartService(before).save(snapshotFile);
+
+        MonitoringService after = monitoringService();
+        assertEquals(1, warmRestartService(after).restore(snapshotFile));
+        List<MonitoringData> restored = after.getRecentData("WEB");
+        assertEquals(2, restored.size());
+        assertEquals(PollError.NONE, restored.get(0).getErrorCode());
+        assertEquals(0, restored.get(0).getMetricIds().length);
+
+        MonitoringData last = restored.get(1);
+        assertTrue(last.isHasError());
+        assertEquals(PollError.TIMEOUT, last.getErrorCode());
+        assertEquals("10.0.0.1", last.getErrorServer());
+        assertArrayEquals(new int[] { cpu, connections }, last.getMetricIds());
+        assertEquals(300L, last.getNbpMetrics()[last.metricColumn(connections)]);
+        assertEquals(5L, last.getDrMetrics()[last.metricColumn(cpu)]);
+    }
+
+    @Test
+    public void testOlderVersionIsRejected() throws Exception {
+        MonitoringService before = monitoringService();
+        Map<String, List<MonitoringData>> recentData = new HashMap<String, List<MonitoringData>>();
+        recentData.put("WEB", Arrays.asList(data("WEB", System.currentTimeMillis(), 10L)));
+        before.restoreRecentData(recentData);
+        warmRestartService(before).save(snapshotFile);
+
+        // 이전 버전으로 바꾸고 CRC를 다시 계산
+        byte[] bytes = Files.readAllBytes(snapshotFile.toPath());
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putShort(4, (short) (WarmRestartService.VERSION - 1));
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        buffer.putLong(bytes.length - 8, crc.getValue());
+        Files.write(snapshotFile.toPath(), bytes);
+
+        MonitoringService after = monitoringService();
+        try {
+            warmRestartService(after).restore(snapshotFile);
+            fail("이전 버전 스냅샷은 복원하지 않아야 합니다");
+        } catch (java.io.IOException expected) {
+            assertTrue(after.getRecentData("WEB").isEmpty());
+        }
+    }
+
+    @Test
+    public void testCorruptedSnapshotIsRejected() throws Exception {
+        MonitoringService before = monitoringService();
+        Map<String, List<MonitoringData>> recentData = new HashMap<String, List<MonitoringData>>();
+        recentData.put("WEB", Arrays.asList(data("WEB", System.currentTimeMillis(), 10L)));
+        before.restoreRecentData(recentData);
+        warmRestartService(before).save(snapshotFile);
+
+        RandomAccessFile raf = new RandomAccessFile(snapshotFile, "rw");
+        try {
+            raf.seek(20);
+            raf.write(0x7F);
+        } finally {
+            raf.close();
+        }
+
+        MonitoringService after = monitoringService();
+        try {
+            warmRestartService(after).restore(snapshotFile);
+            fail("CRC가 맞지 않는 스냅샷은 복원하지 않아야 합니다");
+        } catch (java.io.IOException expected) {
+            assertTrue(after.getRecentData("WEB").isEmpty());
+        }
+    }
+
+    private MonitoringService monitoringService() {
+        MonitoringService service = new MonitoringService();
+        ReflectionTestUtils.setField(service, "configService", configService);
+        return service;
+    }
+
+    private WarmRestartService warmRestartService(MonitoringService monitoringService) {
+        WarmRestartService service = new WarmRestartService();
+        ReflectionTestUtils.setField(service, "configService", configService);
+        ReflectionTestUtils.setField(service, "monitoringService", monitoringService);
+        return service;
+    }
+
+    private static MonitoringData data(String serviceId, long timestamp, long nbpSessions) {
+        MonitoringData data = new MonitoringData();
+        data.setServiceId(serviceId);
+        data.setTimestamp(new Date(timestamp));
+        data.setNbpSessions(nbpSessions);
+        return data;
+    }
+}
@@ -0,0 +1,81 @@
+package com.kgm.monitoring.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompressedSeries 테스트
+ */
+public class CompressedSeriesTest {
+
+    @Test
+    public void testRoundTrip() {
+        Random random = new Random(42L);
+        CompressedSeries series = new CompressedSeries(2, 100);
+        int count = 1000;
+        long[] timestamps = new long[count];
+        long[][] values = new long[2][count];
+        long timestamp = 1700000000L;
+        long[] row = new long[2];
+        for (int i = 0; i < count; i++) {
+            // 대부분 5초 간격, 가끔 지연/공백
+            timestamp += i % 97 == 0 ? 5 + random.nextInt(5000) : 5 + random.nextInt(3) - 1;
+            timestamps[i] = timestamp;
+            values[0][i] = i % 50 == 0 ? Long.MIN_VALUE + i : random.nextInt(1000);
+            values[1][i] = i % 70 == 0 ? Long.MAX_VALUE - i : (long) random.nextInt() * 1000L;
+            row[0] = values[0][i];
+            row[1] = values[1][i];
+            assertTrue(series.append(timestamp, row));
+        }
+        assertEquals(count, series.size());
+
+        CompressedSeries.Points points = series.read(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(count, points.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(timestamps[i], points.getTimestamps()[i]);
+            assertEquals(values[0][i], points.getValues(0)[i]);
+            assertEquals(values[1][i], points.getValues(1)[i]);
+        }
+    }
+
+    @Test
+    public void testRangeReadAndRetention() {
+        CompressedSeries series = new CompressedSeries(1, 10);
+        for (int i = 0; i < 35; i++) {
+            series.append(i * 5L, new long[] { i });
+        }
+        assertFalse("같은 시각은 추가하지 않아야 합니다", series.append(170L, new long[] { 0 }));
+
+        CompressedSeries.Points points = series.read(50L, 100L);
+        assertEquals(11, points.size());
+        assertEquals(10L, points.getValues(0)[0]);
+        assertEquals(100L, points.getTimestamps()[10]);
+
+        series.removeBefore(100L);
+        assertEquals("마지막 시각이 기준보다 이전인 블록만 삭제", 15, series.size());
+        assertEquals(100L, series.read(0L, Long.MAX_VALUE).getTimestamps()[0]);
+    }
+
+    @Test
+    public void testCompressionForOneDayAtFiveSeconds() {
+        Random random = new Random(7L);
+        CompressedSeries series = new CompressedSeries(2);
+        long sessions = 500;
+        long traffic = 10000000L;
+        long[] row = new long[2];
+        int points = 24 * 60 * 60 / 5;
+        for (int i = 0; i < points; i++) {
+            sessions = Math.max(0, sessions + random.nextInt(21) - 10);
+            traffic = Math.max(0, traffic + random.nextInt(200001) - 100000);
+            row[0] = sessions;
+            row[1] = traffic;
+            series.append(1700000000L + i * 5L, row);
+        }
+        // 원본 (시각 + 값 2개 = 24바이트/시점) 대비 최소 4배 이상 압축
+        long rawBytes = points * 24L;
+        assertTrue("인코딩 크기: " + series.encodedBytes(), series.encodedBytes() * 4 < rawBytes);
+    }
+}
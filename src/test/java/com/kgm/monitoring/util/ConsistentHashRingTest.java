@@ -0,0 +1,54 @@
+package com.kgm.monitoring.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * ConsistentHashRing 테스트
+ */
+public class ConsistentHashRingTest {
+
+    private static final List<String> NODES = Arrays.asList("http://a:8080", "http://b:8080", "http://c:8080");
+
+    @Test
+    public void testSameRingRegardlessOfOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 64);
+        ConsistentHashRing reversed = new ConsistentHashRing(
+                Arrays.asList("http://c:8080", "http://b:8080", "http://a:8080"), 64);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ring.nodeFor("SERVICE_" + i), reversed.nodeFor("SERVICE_" + i));
+        }
+    }
+
+    @Test
+    public void testOnlyRemovedNodeKeysMove() {
+        List<String> keys = new ArrayList<String>();
+        for (int i = 0; i < 300; i++) {
+            keys.add("SERVICE_" + i);
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, List<String>> assigned = ring.assign(keys);
+        for (List<String> owned : assigned.values()) {
+            assertTrue("노드별로 고르게 분산되어야 합니다: " + owned.size(), owned.size() > 50);
+        }
+
+        ConsistentHashRing shrunk = new ConsistentHashRing(Arrays.asList("http://a:8080", "http://c:8080"), 128);
+        for (String key : keys) {
+            String before = ring.nodeFor(key);
+            if (!"http://b:8080".equals(before)) {
+                assertEquals("빠진 노드 외의 담당은 유지되어야 합니다", before, shrunk.nodeFor(key));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyRing() {
+        assertNull(new ConsistentHashRing(new ArrayList<String>(), 8).nodeFor("WEB"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.kgm.monitoring.util;
+
+import com.kgm.monitoring.model.HistorySeries;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * HistoryCodec 테스트
+ */
+public class HistoryCodecTest {
+
+    @Test
+    public void testColumnarOmitsRegularTimestamps() {
+        HistorySeries raw = new HistorySeries();
+        raw.add(600000L, 100L, 10L, 1000L, 0L, 0L);
+        raw.add(900000L, 120L, 10L, 1000L, 0L, 1L);
+        raw.add(1200000L, 90L, 30L, 1000L, 0L, 0L);
+        HistorySeries averaged = raw.average(300000L);
+
+        Map<String, Object> columnar = HistoryCodec.toColumnar("WEB", averaged);
+        assertEquals(600000L, columnar.get("start"));
+        assertEquals(300000L, columnar.get("step"));
+        assertFalse("간격이 일정하면 시각 배열 생략", columnar.containsKey("timestampDeltas"));
+        assertArrayEquals(new long[] { 100L, 20L, -30L }, (long[]) columnar.get("nbpSessions"));
+        assertArrayEquals(new long[] { 1000L, 0L, 0L }, (long[]) columnar.get("nbpTraffic"));
+    }
+
+    @Test
+    public void testBinaryLayout() {
+        HistorySeries series = new HistorySeries();
+        series.add(1000L, 5L, 6L, 7L, 8L, 0L);
+        series.add(1700L, 9L, 10L, 11L, 12L, 1L);
+
+        ByteBuffer buffer = ByteBuffer.wrap(HistoryCodec.toBinary(series)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(HistoryCodec.BINARY_VERSION, buffer.getInt(0));
+        assertEquals(2, buffer.getInt(4));
+        assertEquals(1000.0, buffer.getDouble(8), 0.0);
+        assertEquals("불규칙 간격은 시각 배열 포함", HistoryCodec.FLAG_TIMESTAMPS, buffer.getInt(24));
+        assertEquals(32 + 6 * 2 * 8, buffer.capacity());
+        assertEquals(1700.0, buffer.getDouble(32 + 8), 0.0);
+        assertEquals(9.0, buffer.getDouble(32 + 16 + 8), 0.0);
+        assertEquals(1.0, buffer.getDouble(32 + 5 * 16 + 8), 0.0);
+    }
+}
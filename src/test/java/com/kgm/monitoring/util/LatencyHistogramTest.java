@@ -0,0 +1,81 @@
+package com.kgm.monitoring.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * LatencyHistogram 테스트
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals("기록 수", 0L, histogram.getTotalCount());
+        assertEquals("빈 히스토그램 p99", 0L, histogram.getValueAtPercentile(99.0));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100000; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        assertEquals("기록 수", 100000L, histogram.getTotalCount());
+        assertEquals("최대값", 100000L, histogram.getMaxMicros());
+        assertWithin("p50", 50000L, histogram.getValueAtPercentile(50.0));
+        assertWithin("p90", 90000L, histogram.getValueAtPercentile(90.0));
+        assertWithin("p99", 99000L, histogram.getValueAtPercentile(99.0));
+        assertEquals("p100은 최대값", 100000L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(3);
+        histogram.recordMicros(3);
+        histogram.recordMicros(7);
+        assertEquals("p50", 3L, histogram.getValueAtPercentile(50.0));
+        assertEquals("p99", 7L, histogram.getValueAtPercentile(99.0));
+    }
+
+    @Test
+    public void testBucketIndexIsMonotonic() {
+        int previous = -1;
+        for (long micros = 0; micros < (1L << 32); micros = micros * 2 + 1) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertTrue("버킷 번호는 값에 따라 증가해야 합니다: " + micros, index >= previous);
+            previous = index;
+        }
+        assertEquals("범위 초과 값은 마지막 버킷",
+                LatencyHistogram.bucketIndex(Long.MAX_VALUE), LatencyHistogram.bucketIndex(1L << 40));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        histogram.recordNanos(1500000L);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("동시 기록 수", 40000L, histogram.getTotalCount());
+        assertWithin("p50", 1500L, histogram.getValueAtPercentile(50.0));
+    }
+
+    private static void assertWithin(String message, long expected, long actual) {
+        assertTrue(message + " 기대값 " + expected + ", 실제값 " + actual,
+                Math.abs(actual - expected) <= expected * 0.04);
+    }
+}
@@ -0,0 +1,41 @@
+package com.kgm.monitoring.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Lttb 테스트
+ */
+public class LttbTest {
+
+    @Test
+    public void testKeepsEndpointsAndSpike() {
+        int length = 10000;
+        long[] x = new long[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i * 5000L;
+            y[i] = 1.0 + (i % 7) * 0.001;
+        }
+        // 짧은 전환 스파이크
+        y[6543] = 0.0;
+
+        int[] selected = Lttb.downsample(x, y, length, 100);
+        assertEquals(100, selected.length);
+        assertEquals(0, selected[0]);
+        assertEquals(length - 1, selected[99]);
+        boolean spike = false;
+        for (int i = 1; i < selected.length; i++) {
+            assertTrue("선택된 점은 시간순이어야 합니다", selected[i] > selected[i - 1]);
+            spike |= selected[i] == 6543;
+        }
+        assertTrue("스파이크 지점이 유지되어야 합니다", spike);
+    }
+
+    @Test
+    public void testReturnsAllWhenUnderThreshold() {
+        int[] selected = Lttb.downsample(new long[] { 1, 2, 3 }, new double[] { 1, 2, 3 }, 3, 10);
+        assertArrayEquals(new int[] { 0, 1, 2 }, selected);
+    }
+}
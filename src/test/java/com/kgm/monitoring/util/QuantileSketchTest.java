@@ -0,0 +1,75 @@
+package com.kgm.monitoring.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * QuantileSketch 테스트
+ */
+public class QuantileSketchTest {
+
+    @Test
+    public void testRelativeAccuracy() {
+        Random random = new Random(7L);
+        long[] values = new long[10000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // 대부분 수천 세션, 가끔 0 또는 급증
+            values[i] = i % 500 == 0 ? 0L : i % 97 == 0 ? 50000L + random.nextInt(10000) : 1000L + random.nextInt(4000);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        for (double q : new double[]{0.0, 0.5, 0.95, 0.99, 1.0}) {
+            long exact = values[(int) (q * (values.length - 1))];
+            double estimate = sketch.quantile(q);
+            assertEquals("q=" + q, exact, estimate, exact * QuantileSketch.RELATIVE_ACCURACY + 1e-9);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertTrue(Double.isNaN(new QuantileSketch().quantile(0.5)));
+    }
+
+    @Test
+    public void testMergeMatchesSingleSketch() {
+        Random random = new Random(11L);
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch merged = new QuantileSketch();
+        for (int bucket = 0; bucket < 288; bucket++) {
+            QuantileSketch part = new QuantileSketch();
+            long base = 100L + bucket * 10L;
+            for (int i = 0; i < 60; i++) {
+                long value = base + random.nextInt(50);
+                whole.add(value);
+                part.add(value);
+            }
+            merged.merge(part);
+        }
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.encode(), merged.encode());
+        assertEquals(whole.quantile(0.95), merged.quantile(0.95), 0.0);
+    }
+
+    @Test
+    public void testEncodeRoundTrip() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0L, 3L);
+        sketch.add(100L, 5L);
+        sketch.add(150L);
+        String text = sketch.encode();
+        assertFalse("CSV 필드에 쉼표가 없어야 합니다", text.contains(","));
+
+        QuantileSketch decoded = QuantileSketch.decode(text);
+        assertEquals(text, decoded.encode());
+        assertEquals(9L, decoded.getCount());
+        assertEquals(sketch.quantile(0.9), decoded.quantile(0.9), 0.0);
+        assertEquals("0/", QuantileSketch.decode("0/").encode());
+        try {
+            QuantileSketch.decode("abc");
+            fail("잘못된 형식은 거부되어야 합니다");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.kgm.monitoring.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * SingleFlight 테스트
+ */
+public class SingleFlightTest {
+
+    private ThreadPoolExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(1));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        Callable<Integer> slow = new Callable<Integer>() {
+            public Integer call() throws Exception {
+                release.await();
+                return calls.incrementAndGet();
+            }
+        };
+
+        SingleFlight<String, Integer> flight = new SingleFlight<String, Integer>();
+        Future<Integer> first = flight.execute("WEB|d90", slow, executor);
+        Future<Integer> second = flight.execute("WEB|d90", slow, executor);
+        assertSame(first, second);
+        assertEquals(1, flight.getInFlight());
+
+        release.countDown();
+        assertEquals(Integer.valueOf(1), first.get(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(1), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1L, flight.getExecuted());
+        assertEquals(1L, flight.getShared());
+        assertEquals("완료 후에는 키 제거", 0, flight.getInFlight());
+
+        assertEquals("완료 후 요청은 다시 실행", Integer.valueOf(2),
+                flight.execute("WEB|d90", slow, executor).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectedCallIsNotShared() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        Callable<Integer> blocked = new Callable<Integer>() {
+            public Integer call() throws Exception {
+                release.await();
+                return 0;
+            }
+        };
+        SingleFlight<String, Integer> flight = new SingleFlight<String, Integer>();
+        flight.execute("A", blocked, executor);   // 실행 중
+        flight.execute("B", blocked, executor);   // 대기열
+        try {
+            flight.execute("C", blocked, executor);
+            fail("대기열이 가득 차면 거부되어야 합니다");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(2, flight.getInFlight());
+        }
+        release.countDown();
+    }
+
+    @Test
+    public void testLastWaiterLeavingCancelsFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        Callable<Integer> blocking = new Callable<Integer>() {
+            public Integer call() throws Exception {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return 0;
+            }
+        };
+        SingleFlight<String, Integer> flight = new SingleFlight<String, Integer>();
+        SingleFlight.Flight<Integer> first = flight.execute("WEB|d90", blocking, executor);
+        SingleFlight.Flight<Integer> second = flight.execute("WEB|d90", blocking, executor);
+        final CountDownLatch notified = new CountDownLatch(1);
+        first.addListener(new Runnable() {
+            public void run() {
+                notified.countDown();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        first.leave();
+        assertFalse("대기자가 남아 있으면 계속 실행", second.isCancelled());
+
+        second.leave();
+        assertTrue(second.isCancelled());
+        assertTrue("실행 중인 작업에 인터럽트 전달", interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue("취소 시에도 리스너 호출", notified.await(5, TimeUnit.SECONDS));
+        assertEquals(1L, flight.getCancelled());
+        assertEquals(0, flight.getInFlight());
+    }
+}
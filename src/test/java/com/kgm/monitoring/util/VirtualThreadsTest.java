@@ -0,0 +1,113 @@
+package com.kgm.monitoring.util;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * VirtualThreads / BoundedExecutor 테스트
+ * - 가상 스레드 테스트는 Java 21 이상에서 실행할 때만 수행
+ *   mvn test -Dtest=VirtualThreadsTest -Djvm={JDK 21 경로}/bin/java
+ */
+public class VirtualThreadsTest {
+
+    @Test
+    public void testPlatformExecutorUsesNamedDaemonThreads() throws Exception {
+        ExecutorService executor = VirtualThreads.newExecutor("test-io", 2, false);
+        try {
+            final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+            executor.submit(new Runnable() {
+                public void run() {
+                    thread.set(Thread.currentThread());
+                }
+            }).get(5, TimeUnit.SECONDS);
+            assertEquals("test-io-1", thread.get().getName());
+            assertTrue(thread.get().isDaemon());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testVirtualExecutorRunsBlockingTasksConcurrently() throws Exception {
+        Assume.assumeTrue("가상 스레드를 지원하는 JVM에서만 수행", VirtualThreads.isSupported());
+
+        ExecutorService executor = VirtualThreads.newExecutor("test-io", 2, true);
+        try {
+            int tasks = 5000;
+            final CountDownLatch done = new CountDownLatch(tasks);
+            final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+            long start = System.nanoTime();
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        thread.set(Thread.currentThread());
+                        try {
+                            Thread.sleep(200L);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue("블로킹 작업이 동시에 수행되어야 합니다: " + elapsedMillis + "ms", elapsedMillis < 5000L);
+            assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread.get()));
+            assertTrue(thread.get().getName().startsWith("test-io-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testThreadPerTaskExecutorRequiresSupport() {
+        Assume.assumeFalse(VirtualThreads.isSupported());
+        VirtualThreads.newThreadPerTaskExecutor("test-io");
+    }
+
+    @Test
+    public void testBoundedExecutorRejectsOverLimit() throws Exception {
+        BoundedExecutor executor = new BoundedExecutor(VirtualThreads.newExecutor("test-io", 2, true), 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.countDown();
+                }
+            });
+            assertEquals(1, executor.getActiveCount());
+            try {
+                executor.execute(new Runnable() {
+                    public void run() {
+                    }
+                });
+                fail("상한 도달 시 거부되어야 합니다");
+            } catch (RejectedExecutionException expected) {
+                // 정상
+            }
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 100 && executor.getActiveCount() > 0; i++) {
+                Thread.sleep(10L);
+            }
+            assertEquals("완료 후 허가 반환", 0, executor.getActiveCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}